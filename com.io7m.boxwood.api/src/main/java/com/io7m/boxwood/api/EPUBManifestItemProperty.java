@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.api;
+
+import java.util.Optional;
+
+/**
+ * The manifest item properties defined by the EPUB specification.
+ *
+ * See "https://www.w3.org/publishing/epub3/epub-packages.html#app-item-properties-vocab"
+ */
+
+public enum EPUBManifestItemProperty
+{
+  /**
+   * The item is the cover image of the publication.
+   */
+
+  COVER_IMAGE("cover-image"),
+
+  /**
+   * The item contains embedded MathML.
+   */
+
+  MATHML("mathml"),
+
+  /**
+   * The item is the navigation document of the publication.
+   */
+
+  NAV("nav"),
+
+  /**
+   * The item references remote resources.
+   */
+
+  REMOTE_RESOURCES("remote-resources"),
+
+  /**
+   * The item contains scripts.
+   */
+
+  SCRIPTED("scripted"),
+
+  /**
+   * The item contains embedded SVG.
+   */
+
+  SVG("svg"),
+
+  /**
+   * The item contains {@code epub:switch} elements.
+   */
+
+  SWITCH("switch");
+
+  private final String propertyName;
+
+  EPUBManifestItemProperty(
+    final String inPropertyName)
+  {
+    this.propertyName = inPropertyName;
+  }
+
+  /**
+   * @return The property name as it appears in a manifest
+   */
+
+  public String propertyName()
+  {
+    return this.propertyName;
+  }
+
+  /**
+   * @return The bit that represents this property in a property set
+   *
+   * @see EPUBManifestItemType#knownProperties()
+   */
+
+  public int bit()
+  {
+    return 1 << this.ordinal();
+  }
+
+  /**
+   * Find the property with the given name.
+   *
+   * @param name The property name
+   *
+   * @return The property, or nothing if the name is not a known property
+   */
+
+  public static Optional<EPUBManifestItemProperty> ofName(
+    final String name)
+  {
+    return switch (name) {
+      case "cover-image" -> Optional.of(COVER_IMAGE);
+      case "mathml" -> Optional.of(MATHML);
+      case "nav" -> Optional.of(NAV);
+      case "remote-resources" -> Optional.of(REMOTE_RESOURCES);
+      case "scripted" -> Optional.of(SCRIPTED);
+      case "svg" -> Optional.of(SVG);
+      case "switch" -> Optional.of(SWITCH);
+      default -> Optional.empty();
+    };
+  }
+}
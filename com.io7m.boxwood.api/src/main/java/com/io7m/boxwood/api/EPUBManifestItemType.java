@@ -19,6 +19,7 @@ package com.io7m.boxwood.api;
 import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -65,4 +66,86 @@ public interface EPUBManifestItemType
    */
 
   List<String> properties();
+
+  /**
+   * The set of known properties declared by the item, represented as a
+   * bitset of {@link EPUBManifestItemProperty#bit()} values.
+   *
+   * @return The known properties of the item
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default int knownProperties()
+  {
+    var bits = 0;
+    for (final var name : this.properties()) {
+      final var property = EPUBManifestItemProperty.ofName(name);
+      if (property.isPresent()) {
+        bits |= property.get().bit();
+      }
+    }
+    return bits;
+  }
+
+  /**
+   * @return The properties of the item that are not known properties
+   *
+   * @see EPUBManifestItemProperty
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default List<String> unknownProperties()
+  {
+    final var properties = this.properties();
+    final var unknown = new ArrayList<String>(0);
+    for (final var name : properties) {
+      if (EPUBManifestItemProperty.ofName(name).isEmpty()) {
+        unknown.add(name);
+      }
+    }
+    return List.copyOf(unknown);
+  }
+
+  /**
+   * @return The category of the media type of the item
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default EPUBMediaTypeCategory mediaTypeCategory()
+  {
+    return EPUBMediaTypeCategory.ofMediaType(this.mediaType());
+  }
+
+  /**
+   * @param property The property
+   *
+   * @return {@code true} if the item declares the given property
+   */
+
+  default boolean hasProperty(
+    final EPUBManifestItemProperty property)
+  {
+    return (this.knownProperties() & property.bit()) != 0;
+  }
+
+  /**
+   * @return {@code true} if the item is the cover image
+   */
+
+  default boolean isCoverImage()
+  {
+    return this.hasProperty(EPUBManifestItemProperty.COVER_IMAGE);
+  }
+
+  /**
+   * @return {@code true} if the item is the navigation document
+   */
+
+  default boolean isNavigation()
+  {
+    return this.hasProperty(EPUBManifestItemProperty.NAV);
+  }
 }
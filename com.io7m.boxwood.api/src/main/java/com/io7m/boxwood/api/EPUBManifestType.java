@@ -19,7 +19,12 @@ package com.io7m.boxwood.api;
 import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * The manifest section in a package.
@@ -36,4 +41,84 @@ public interface EPUBManifestType
    */
 
   List<EPUBManifestItem> items();
+
+  /**
+   * The manifest items indexed by ID. If more than one item declares the same
+   * ID, the first such item in {@link #items()} is indexed.
+   *
+   * @return The manifest items by ID
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, EPUBManifestItem> itemsById()
+  {
+    return indexUnique(this.items(), EPUBManifestItem::id);
+  }
+
+  /**
+   * The manifest items indexed by the declared path. If more than one item
+   * declares the same path, the first such item in {@link #items()} is
+   * indexed.
+   *
+   * @return The manifest items by declared path
+   *
+   * @see EPUBManifestItemType#href()
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, EPUBManifestItem> itemsByHref()
+  {
+    return indexUnique(this.items(), EPUBManifestItem::href);
+  }
+
+  /**
+   * The manifest items indexed by real path. If more than one item resolves
+   * to the same path, the first such item in {@link #items()} is indexed.
+   *
+   * @return The manifest items by real path
+   *
+   * @see EPUBManifestItemType#realPath()
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, EPUBManifestItem> itemsByRealPath()
+  {
+    return indexUnique(this.items(), EPUBManifestItem::realPath);
+  }
+
+  /**
+   * The manifest items indexed by property. Each list preserves the order
+   * of {@link #items()}.
+   *
+   * @return The manifest items that declare each property
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, List<EPUBManifestItem>> itemsByProperty()
+  {
+    final var items = this.items();
+    final var index = new HashMap<String, List<EPUBManifestItem>>();
+    for (final var item : items) {
+      for (final var property : item.properties()) {
+        index.computeIfAbsent(property, k -> new ArrayList<>(1)).add(item);
+      }
+    }
+    index.replaceAll((k, v) -> List.copyOf(v));
+    return Collections.unmodifiableMap(index);
+  }
+
+  private static Map<String, EPUBManifestItem> indexUnique(
+    final List<EPUBManifestItem> items,
+    final Function<EPUBManifestItem, String> key)
+  {
+    final var index = new HashMap<String, EPUBManifestItem>(items.size() * 2);
+    for (final var item : items) {
+      index.putIfAbsent(key.apply(item), item);
+    }
+    return Collections.unmodifiableMap(index);
+  }
 }
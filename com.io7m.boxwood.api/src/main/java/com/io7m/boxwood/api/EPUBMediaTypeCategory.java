@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.api;
+
+import java.util.Locale;
+
+/**
+ * A broad classification of the media types of publication resources.
+ *
+ * See "https://www.w3.org/publishing/epub3/epub-spec.html#sec-core-media-types"
+ */
+
+public enum EPUBMediaTypeCategory
+{
+  /**
+   * An XHTML content document.
+   */
+
+  XHTML,
+
+  /**
+   * An SVG image or content document.
+   */
+
+  SVG,
+
+  /**
+   * A raster image.
+   */
+
+  IMAGE,
+
+  /**
+   * A CSS style sheet.
+   */
+
+  STYLESHEET,
+
+  /**
+   * A font.
+   */
+
+  FONT,
+
+  /**
+   * An audio resource.
+   */
+
+  AUDIO,
+
+  /**
+   * A video resource.
+   */
+
+  VIDEO,
+
+  /**
+   * A script.
+   */
+
+  SCRIPT,
+
+  /**
+   * An EPUB 2 NCX navigation document.
+   */
+
+  NCX,
+
+  /**
+   * A media overlay document.
+   */
+
+  SMIL,
+
+  /**
+   * Any other resource.
+   */
+
+  OTHER;
+
+  /**
+   * Classify the given media type. Parameters such as {@code charset} are
+   * ignored, as is case.
+   *
+   * @param mediaType The media type
+   *
+   * @return The category of the media type
+   */
+
+  public static EPUBMediaTypeCategory ofMediaType(
+    final String mediaType)
+  {
+    final var semicolon = mediaType.indexOf(';');
+    final var essence =
+      (semicolon >= 0 ? mediaType.substring(0, semicolon) : mediaType)
+        .trim()
+        .toLowerCase(Locale.ROOT);
+
+    final var exact = ofExactType(essence);
+    if (exact != OTHER) {
+      return exact;
+    }
+
+    final var slash = essence.indexOf('/');
+    return ofTopLevelType(slash >= 0 ? essence.substring(0, slash) : essence);
+  }
+
+  private static EPUBMediaTypeCategory ofExactType(
+    final String essence)
+  {
+    return switch (essence) {
+      case "application/xhtml+xml" -> XHTML;
+      case "image/svg+xml" -> SVG;
+      case "text/css" -> STYLESHEET;
+      case "application/javascript",
+           "application/ecmascript",
+           "text/javascript" -> SCRIPT;
+      case "application/x-dtbncx+xml" -> NCX;
+      case "application/smil+xml" -> SMIL;
+      case "application/vnd.ms-opentype",
+           "application/font-sfnt",
+           "application/font-woff" -> FONT;
+      default -> OTHER;
+    };
+  }
+
+  private static EPUBMediaTypeCategory ofTopLevelType(
+    final String type)
+  {
+    return switch (type) {
+      case "image" -> IMAGE;
+      case "font" -> FONT;
+      case "audio" -> AUDIO;
+      case "video" -> VIDEO;
+      default -> OTHER;
+    };
+  }
+}
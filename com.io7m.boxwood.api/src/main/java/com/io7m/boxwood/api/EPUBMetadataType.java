@@ -19,7 +19,12 @@ package com.io7m.boxwood.api;
 import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The manifest section of an EPUB package.
@@ -42,4 +47,164 @@ public interface EPUBMetadataType
    */
 
   List<EPUBMetadataLegacyProperty> legacyProperties();
+
+  /**
+   * The metadata properties indexed by ID. Properties that do not declare an
+   * ID are not indexed. If more than one property declares the same ID, the
+   * first such property in {@link #properties()} is indexed.
+   *
+   * @return The metadata properties by ID
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, EPUBMetadataProperty> propertiesById()
+  {
+    final var properties = this.properties();
+    final var index =
+      new HashMap<String, EPUBMetadataProperty>(properties.size() * 2);
+    for (final var property : properties) {
+      final var id = property.id().orElse("");
+      if (!id.isEmpty()) {
+        index.putIfAbsent(id, property);
+      }
+    }
+    return Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * The metadata properties indexed by name. Each list preserves the order
+   * of {@link #properties()}.
+   *
+   * @return The metadata properties with each name
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, List<EPUBMetadataProperty>> propertiesByName()
+  {
+    final var index = new HashMap<String, List<EPUBMetadataProperty>>();
+    for (final var property : this.properties()) {
+      index.computeIfAbsent(property.name(), k -> new ArrayList<>(1))
+        .add(property);
+    }
+    return freeze(index);
+  }
+
+  /**
+   * The metadata properties indexed by the ID of the property that they
+   * refine. The keys are plain IDs: the leading {@code #} of a
+   * {@code refines} reference is removed. Each list preserves the order
+   * of {@link #properties()}.
+   *
+   * @return The metadata properties refining each property
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, List<EPUBMetadataProperty>> propertiesByRefines()
+  {
+    final var index = new HashMap<String, List<EPUBMetadataProperty>>();
+    for (final var property : this.properties()) {
+      final var refines = property.refines().orElse("");
+      final var target =
+        refines.startsWith("#") ? refines.substring(1) : refines;
+      if (!target.isEmpty()) {
+        index.computeIfAbsent(target, k -> new ArrayList<>(1))
+          .add(property);
+      }
+    }
+    return freeze(index);
+  }
+
+  /**
+   * The legacy metadata properties indexed by name. Each list preserves the
+   * order of {@link #legacyProperties()}.
+   *
+   * @return The legacy metadata properties with each name
+   */
+
+  @Value.Derived
+  @Value.Auxiliary
+  default Map<String, List<EPUBMetadataLegacyProperty>> legacyPropertiesByName()
+  {
+    final var index = new HashMap<String, List<EPUBMetadataLegacyProperty>>();
+    for (final var property : this.legacyProperties()) {
+      index.computeIfAbsent(property.name(), k -> new ArrayList<>(1))
+        .add(property);
+    }
+    return freeze(index);
+  }
+
+  /**
+   * The refinement graph of the metadata. The graph is computed once, on
+   * first use, in time linear in the number of properties.
+   *
+   * @return The refinement graph
+   */
+
+  @Value.Lazy
+  default EPUBRefinementGraph refinementGraph()
+  {
+    final var refinements = this.propertiesByRefines();
+    final var titles = new ArrayList<EPUBRefinedProperty>(1);
+    final var creators = new ArrayList<EPUBRefinedProperty>(1);
+    final var contributors = new ArrayList<EPUBRefinedProperty>();
+    final var collections = new ArrayList<EPUBRefinedProperty>();
+
+    for (final var property : this.properties()) {
+      final List<EPUBRefinedProperty> target;
+      switch (property.name()) {
+        case "dc:title" -> target = titles;
+        case "dc:creator" -> target = creators;
+        case "dc:contributor" -> target = contributors;
+        case "belongs-to-collection" -> {
+          if (!property.refines().orElse("").isEmpty()) {
+            continue;
+          }
+          target = collections;
+        }
+        default -> {
+          continue;
+        }
+      }
+
+      final var id = property.id().orElse("");
+      target.add(
+        EPUBRefinedProperty.builder()
+          .setProperty(property)
+          .setRefinements(
+            id.isEmpty() ? List.of() : refinements.getOrDefault(id, List.of()))
+          .build()
+      );
+    }
+
+    /*
+     * The sort is stable, so properties without a display sequence retain
+     * their document order after those with one.
+     */
+
+    final Comparator<EPUBRefinedProperty> bySequence =
+      Comparator.comparingInt(
+        p -> p.displaySequence().orElse(Integer.MAX_VALUE));
+
+    titles.sort(bySequence);
+    creators.sort(bySequence);
+    contributors.sort(bySequence);
+
+    return EPUBRefinementGraph.builder()
+      .setRefinements(refinements)
+      .setTitles(titles)
+      .setCreators(creators)
+      .setContributors(contributors)
+      .setCollections(collections)
+      .build();
+  }
+
+  private static <T> Map<String, List<T>> freeze(
+    final Map<String, List<T>> index)
+  {
+    index.replaceAll((k, v) -> List.copyOf(v));
+    return Collections.unmodifiableMap(index);
+  }
 }
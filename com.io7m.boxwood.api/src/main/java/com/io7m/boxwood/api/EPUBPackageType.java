@@ -19,7 +19,6 @@ package com.io7m.boxwood.api;
 import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
-import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -57,52 +56,55 @@ public interface EPUBPackageType
   String uniqueIdentifierReference();
 
   /**
+   * The unique identifier of the package. The value is computed once, on
+   * first use.
+   *
    * @return The unique identifier of the package
    */
 
+  @Value.Lazy
   default String uniqueIdentifier()
   {
-    final var refOpt = Optional.of(this.uniqueIdentifierReference());
-    return this.metadata()
-      .properties()
-      .stream()
-      .filter(property -> Objects.equals(property.id(), refOpt))
-      .findFirst()
-      .map(EPUBMetadataProperty::value)
-      .orElseThrow(IllegalStateException::new);
+    final var property =
+      this.metadata()
+        .propertiesById()
+        .get(this.uniqueIdentifierReference());
+
+    if (property == null) {
+      throw new IllegalStateException();
+    }
+    return property.value();
   }
 
   /**
+   * The cover image of the package. The value is computed once, on first
+   * use.
+   *
    * @return The cover image of the package, if one is defined
    */
 
+  @Value.Lazy
   default Optional<EPUBManifestItem> coverImage()
   {
-    final var coverItem =
-      this.manifest()
-        .items()
-        .stream()
-        .filter(item -> item.properties().contains("cover-image"))
-        .findFirst();
-
-    if (coverItem.isPresent()) {
-      return coverItem;
+    final var manifest = this.manifest();
+    final var coverItems =
+      manifest.itemsByProperty().get("cover-image");
+
+    if (coverItems != null) {
+      return Optional.of(coverItems.get(0));
     }
 
-    final var legacyProperty =
+    final var legacyProperties =
       this.metadata()
-        .legacyProperties()
-        .stream()
-        .filter(property -> Objects.equals(property.name(), "cover"))
-        .findFirst();
-
-    return legacyProperty.flatMap(
-      property ->
-        this.manifest()
-          .items()
-          .stream()
-          .filter(p -> Objects.equals(p.id(), property.content()))
-          .findFirst()
+        .legacyPropertiesByName()
+        .get("cover");
+
+    if (legacyProperties == null) {
+      return Optional.empty();
+    }
+
+    return Optional.ofNullable(
+      manifest.itemsById().get(legacyProperties.get(0).content())
     );
   }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A single item in the reading order of a package: a spine item bound to
+ * the manifest item that it references, and to a handle for the file that
+ * holds the content of the manifest item.
+ *
+ * @see EPUBType#readingOrder(EPUBPackage)
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBReadingOrderItemType
+{
+  /**
+   * @return The index of the item within the spine
+   */
+
+  int index();
+
+  /**
+   * @return The spine item
+   */
+
+  EPUBSpineItem spineItem();
+
+  /**
+   * @return The manifest item referenced by the spine item
+   */
+
+  EPUBManifestItem manifestItem();
+
+  /**
+   * @return A handle to the file holding the manifest item content
+   */
+
+  EPUBFileHandleType file();
+}
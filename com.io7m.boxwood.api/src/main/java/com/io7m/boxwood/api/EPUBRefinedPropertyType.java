@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * A primary metadata property together with the properties that directly
+ * refine it.
+ *
+ * See "https://www.w3.org/publishing/epub3/epub-packages.html#attrdef-refines"
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBRefinedPropertyType
+{
+  /**
+   * @return The refined property
+   */
+
+  EPUBMetadataProperty property();
+
+  /**
+   * @return The properties that directly refine the property, in document order
+   */
+
+  List<EPUBMetadataProperty> refinements();
+
+  /**
+   * @return The property name
+   */
+
+  default String name()
+  {
+    return this.property().name();
+  }
+
+  /**
+   * @return The property value
+   */
+
+  default String value()
+  {
+    return this.property().value();
+  }
+
+  /**
+   * @param name The refinement property name
+   *
+   * @return The values of all refinements with the given name
+   */
+
+  default List<String> refinementValues(
+    final String name)
+  {
+    final var values = new ArrayList<String>(1);
+    for (final var refinement : this.refinements()) {
+      if (refinement.name().equals(name)) {
+        values.add(refinement.value());
+      }
+    }
+    return List.copyOf(values);
+  }
+
+  /**
+   * @param name The refinement property name
+   *
+   * @return The value of the first refinement with the given name
+   */
+
+  default Optional<String> refinementValue(
+    final String name)
+  {
+    for (final var refinement : this.refinements()) {
+      if (refinement.name().equals(name)) {
+        return Optional.of(refinement.value());
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return The values of any {@code role} refinements
+   */
+
+  default List<String> roles()
+  {
+    return this.refinementValues("role");
+  }
+
+  /**
+   * @return The value of the {@code file-as} refinement, if any
+   */
+
+  default Optional<String> fileAs()
+  {
+    return this.refinementValue("file-as");
+  }
+
+  /**
+   * @return The value of the {@code title-type} refinement, if any
+   */
+
+  default Optional<String> titleType()
+  {
+    return this.refinementValue("title-type");
+  }
+
+  /**
+   * @return The value of the {@code collection-type} refinement, if any
+   */
+
+  default Optional<String> collectionType()
+  {
+    return this.refinementValue("collection-type");
+  }
+
+  /**
+   * @return The value of the {@code group-position} refinement, if any
+   */
+
+  default Optional<String> groupPosition()
+  {
+    return this.refinementValue("group-position");
+  }
+
+  /**
+   * @return The value of the {@code display-seq} refinement, if it is present
+   * and is an integer
+   */
+
+  default OptionalInt displaySequence()
+  {
+    final var text = this.refinementValue("display-seq");
+    if (text.isEmpty()) {
+      return OptionalInt.empty();
+    }
+
+    try {
+      return OptionalInt.of(Integer.parseInt(text.get().trim()));
+    } catch (final NumberFormatException e) {
+      return OptionalInt.empty();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The refinement graph of a metadata section. Primary properties, such as
+ * titles and creators, are paired with the properties that refine them.
+ *
+ * @see EPUBMetadataType#refinementGraph()
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBRefinementGraphType
+{
+  /**
+   * The adjacency lists of the graph: the properties that directly refine
+   * each property, keyed by the ID of the refined property.
+   *
+   * @return The refinements of each property
+   */
+
+  Map<String, List<EPUBMetadataProperty>> refinements();
+
+  /**
+   * @return The {@code dc:title} properties, ordered by display sequence
+   */
+
+  List<EPUBRefinedProperty> titles();
+
+  /**
+   * @return The {@code dc:creator} properties, ordered by display sequence
+   */
+
+  List<EPUBRefinedProperty> creators();
+
+  /**
+   * @return The {@code dc:contributor} properties, ordered by display sequence
+   */
+
+  List<EPUBRefinedProperty> contributors();
+
+  /**
+   * @return The {@code belongs-to-collection} properties that do not
+   * refine another property, in document order
+   */
+
+  List<EPUBRefinedProperty> collections();
+
+  /**
+   * @param id The ID of a property
+   *
+   * @return The properties that directly refine the property with the given ID
+   */
+
+  default List<EPUBMetadataProperty> refinementsOf(
+    final String id)
+  {
+    return this.refinements().getOrDefault(id, List.of());
+  }
+}
@@ -21,8 +21,10 @@ import com.io7m.junreachable.UnreachableCodeException;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -55,6 +57,99 @@ public interface EPUBType extends Closeable
   InputStream openFile(String name)
     throws IOException, NoSuchFileException;
 
+  /**
+   * Open a file from the container using a handle obtained from this EPUB.
+   * Implementations may open a file by handle without looking up the file
+   * by name, and may reject handles that were produced by another EPUB. The
+   * default implementation cannot tell where a handle came from, and so
+   * opens the file with the handle's name.
+   *
+   * @param file The file handle
+   *
+   * @return A stream representing the file
+   *
+   * @throws IllegalArgumentException If the implementation detects that the
+   *                                  handle was not produced by this EPUB
+   * @throws NoSuchFileException      If the specified file does not exist
+   * @throws IOException              On I/O errors
+   */
+
+  default InputStream openFile(
+    final EPUBFileHandleType file)
+    throws IOException
+  {
+    return this.openFile(file.name());
+  }
+
+  /**
+   * The reading order of the given package. Each spine item is bound to the
+   * manifest item that it references, and to a handle to the file within the
+   * container. Spine items that reference nonexistent manifest items, or
+   * manifest items that refer to files that do not exist, are omitted.
+   * Implementations may compute the reading order once per package; the
+   * default implementation resolves it on every call, opening each file to
+   * check that it exists.
+   *
+   * @param epubPackage A package belonging to this EPUB
+   *
+   * @return The reading order of the package
+   *
+   * @throws IllegalArgumentException If the package does not belong to this EPUB
+   * @throws UncheckedIOException     On I/O errors
+   */
+
+  default List<EPUBReadingOrderItem> readingOrder(
+    final EPUBPackage epubPackage)
+  {
+    if (!this.packages().contains(epubPackage)) {
+      throw new IllegalArgumentException(
+        "Package does not belong to this EPUB");
+    }
+
+    final var manifestItems =
+      epubPackage.manifest().itemsById();
+    final var spineItems =
+      epubPackage.spine().items();
+    final var items =
+      new ArrayList<EPUBReadingOrderItem>(spineItems.size());
+
+    for (var index = 0; index < spineItems.size(); ++index) {
+      final var spineItem = spineItems.get(index);
+      final var manifestItem = manifestItems.get(spineItem.reference());
+      if (manifestItem == null) {
+        continue;
+      }
+
+      final var name = manifestItem.realPath();
+      try (var ignored = this.openFile(name)) {
+        items.add(
+          EPUBReadingOrderItem.builder()
+            .setIndex(index)
+            .setSpineItem(spineItem)
+            .setManifestItem(manifestItem)
+            .setFile(() -> name)
+            .build()
+        );
+      } catch (final NoSuchFileException e) {
+        // The file does not exist, so the item is omitted.
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return List.copyOf(items);
+  }
+
+  /**
+   * @return The reading order of the first package in the EPUB
+   *
+   * @see #readingOrder(EPUBPackage)
+   */
+
+  default List<EPUBReadingOrderItem> readingOrder()
+  {
+    return this.readingOrder(this.packages().get(0));
+  }
+
   /**
    * @return The unique identifier of the EPUB
    */
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The books used by the benchmarks.
+ */
+
+public final class EPUBBenchmarkBooks
+{
+  /**
+   * The name of the real-world sample book.
+   */
+
+  public static final String DICKENS =
+    "charles-dickens_great-expectations.epub";
+
+  private EPUBBenchmarkBooks()
+  {
+
+  }
+
+  /**
+   * The generator used for synthetic books. Content entries are a few
+   * kilobytes and mixed between stored and deflated, as in typical books.
+   *
+   * @param items The number of manifest items
+   *
+   * @return The generator
+   */
+
+  public static EPUBSyntheticBook synthetic(
+    final int items)
+  {
+    return EPUBSyntheticBook.create(0x626f78776f6f64L)
+      .setManifestItems(items)
+      .setMetadataProperties(20)
+      .setRefinesChainLength(3)
+      .setEntrySizes(1024L, 8192L)
+      .setCompression(EPUBSyntheticBook.Compression.MIXED)
+      .setCover(EPUBSyntheticBook.Cover.PROPERTY, new byte[1024]);
+  }
+
+  /**
+   * Produce a package document with the given number of manifest items.
+   *
+   * @param items The number of manifest items
+   *
+   * @return The package document
+   */
+
+  public static byte[] packageDocument(
+    final int items)
+  {
+    return synthetic(items).packageDocument(0);
+  }
+
+  /**
+   * Resolve a book by name: either {@link #DICKENS}, or a number of
+   * manifest items for a synthetic book.
+   *
+   * @param directory The output directory
+   * @param name      The name
+   *
+   * @return The book file
+   *
+   * @throws IOException On errors
+   */
+
+  public static Path book(
+    final Path directory,
+    final String name)
+    throws IOException
+  {
+    if (DICKENS.equals(name)) {
+      return EPUBTestDirectories.resourceOf(
+        EPUBBenchmarkBooks.class, directory, DICKENS);
+    }
+    final var items = Integer.parseInt(name);
+    return synthetic(items)
+      .write(directory.resolve("synthetic-" + items + ".epub"));
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.api.EPUBFileHandleType;
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBReadingOrderItem;
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The derived accessors of parsed books. The {@code computed} benchmarks
+ * call the default implementations in {@link EPUBType}, which derive their
+ * values on every call, for comparison with the memoized accessors of the
+ * parser's implementation.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EPUBModelBenchmark
+{
+  @Param({EPUBBenchmarkBooks.DICKENS, "20000"})
+  public String book;
+
+  private EPUBType epub;
+  private EPUBType computed;
+
+  /**
+   * Parse the book.
+   *
+   * @throws IOException On errors
+   */
+
+  @Setup
+  public void setup()
+    throws IOException
+  {
+    final var file =
+      EPUBBenchmarkBooks.book(
+        EPUBTestDirectories.createTempDirectory(), this.book);
+
+    final var request =
+      EPUBParseRequest.builder()
+        .setChannel(FileChannel.open(file))
+        .setUri(file.toUri())
+        .build();
+
+    this.epub =
+      new EPUBParserFactory()
+        .createParser(request)
+        .execute()
+        .orElseThrow();
+    this.computed = new Computed(this.epub);
+  }
+
+  /**
+   * Close the book.
+   *
+   * @throws IOException On errors
+   */
+
+  @TearDown
+  public void tearDown()
+    throws IOException
+  {
+    this.epub.close();
+  }
+
+  /**
+   * @return The memoized cover image
+   */
+
+  @Benchmark
+  public Optional<EPUBManifestItem> coverImage()
+  {
+    return this.epub.coverImage();
+  }
+
+  /**
+   * @return The cover image, derived on every call
+   */
+
+  @Benchmark
+  public Optional<EPUBManifestItem> coverImageComputed()
+  {
+    return this.computed.coverImage();
+  }
+
+  /**
+   * @return The memoized UUID
+   */
+
+  @Benchmark
+  public UUID uuid()
+  {
+    return this.epub.uuid();
+  }
+
+  /**
+   * @return The UUID, derived on every call
+   */
+
+  @Benchmark
+  public UUID uuidComputed()
+  {
+    return this.computed.uuid();
+  }
+
+  /**
+   * A book that only delegates the abstract methods of {@link EPUBType}, so
+   * that the default methods are used for everything else.
+   */
+
+  private static final class Computed implements EPUBType
+  {
+    private final EPUBType delegate;
+
+    Computed(
+      final EPUBType inDelegate)
+    {
+      this.delegate = inDelegate;
+    }
+
+    @Override
+    public List<EPUBPackage> packages()
+    {
+      return this.delegate.packages();
+    }
+
+    @Override
+    public InputStream openFile(
+      final String name)
+      throws IOException
+    {
+      return this.delegate.openFile(name);
+    }
+
+    @Override
+    public InputStream openFile(
+      final EPUBFileHandleType file)
+      throws IOException
+    {
+      return this.delegate.openFile(file);
+    }
+
+    @Override
+    public List<EPUBReadingOrderItem> readingOrder(
+      final EPUBPackage epubPackage)
+    {
+      return this.delegate.readingOrder(epubPackage);
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      this.delegate.close();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading files from an open book, from one thread and from several.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EPUBOpenFileBenchmark
+{
+  private EPUBType epub;
+  private List<EPUBManifestItem> items;
+
+  /**
+   * The position of a thread in the manifest.
+   */
+
+  @State(Scope.Thread)
+  public static class Cursor
+  {
+    private int index;
+
+    int next(
+      final int size)
+    {
+      final var current = this.index;
+      this.index = (current + 1) % size;
+      return current;
+    }
+  }
+
+  /**
+   * Parse the book.
+   *
+   * @throws IOException On errors
+   */
+
+  @Setup
+  public void setup()
+    throws IOException
+  {
+    final var file =
+      EPUBBenchmarkBooks.book(
+        EPUBTestDirectories.createTempDirectory(),
+        EPUBBenchmarkBooks.DICKENS
+      );
+
+    final var request =
+      EPUBParseRequest.builder()
+        .setChannel(FileChannel.open(file))
+        .setUri(file.toUri())
+        .build();
+
+    this.epub =
+      new EPUBParserFactory()
+        .createParser(request)
+        .execute()
+        .orElseThrow();
+    this.items = this.epub.packages().get(0).manifest().items();
+  }
+
+  /**
+   * Close the book.
+   *
+   * @throws IOException On errors
+   */
+
+  @TearDown
+  public void tearDown()
+    throws IOException
+  {
+    this.epub.close();
+  }
+
+  private long readNext(
+    final Cursor cursor)
+    throws IOException
+  {
+    final var item = this.items.get(cursor.next(this.items.size()));
+    try (var stream = this.epub.openFile(item.realPath())) {
+      return stream.transferTo(OutputStream.nullOutputStream());
+    }
+  }
+
+  /**
+   * Read each manifest item in turn on a single thread.
+   *
+   * @param cursor The thread's position
+   *
+   * @return The number of bytes read
+   *
+   * @throws IOException On errors
+   */
+
+  @Benchmark
+  @Threads(1)
+  public long sequential(
+    final Cursor cursor)
+    throws IOException
+  {
+    return this.readNext(cursor);
+  }
+
+  /**
+   * Read each manifest item in turn on several threads at once.
+   *
+   * @param cursor The thread's position
+   *
+   * @return The number of bytes read
+   *
+   * @throws IOException On errors
+   */
+
+  @Benchmark
+  @Threads(4)
+  public long concurrent(
+    final Cursor cursor)
+    throws IOException
+  {
+    return this.readNext(cursor);
+  }
+}
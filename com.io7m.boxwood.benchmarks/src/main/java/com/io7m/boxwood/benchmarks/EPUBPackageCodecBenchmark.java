@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.vanilla.EPUBPackageCodec;
+import com.io7m.boxwood.vanilla.internal.EPUBErrorLogger;
+import com.io7m.boxwood.vanilla.internal.EPUBPackageParser;
+import com.io7m.boxwood.vanilla.internal.EPUBStringPool;
+import com.io7m.boxwood.vanilla.internal.EPUBStrings;
+import com.io7m.boxwood.vanilla.internal.EPUBXMLException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of parsed packages with the binary codec, against
+ * parsing the package document that the encoded form replaces.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EPUBPackageCodecBenchmark
+{
+  private static final URI SOURCE =
+    URI.create("urn:benchmark/OEBPS/content.opf");
+
+  @Param({"10", "1000", "50000"})
+  public int items;
+
+  private byte[] document;
+  private List<EPUBPackage> packages;
+  private ByteBuffer encoded;
+  private EPUBStringPool stringPool;
+
+  /**
+   * Produce the package document, and the package in encoded form.
+   *
+   * @throws IOException       On errors
+   * @throws EPUBXMLException On errors
+   */
+
+  @Setup
+  public void setup()
+    throws IOException, EPUBXMLException
+  {
+    this.document = EPUBBenchmarkBooks.packageDocument(this.items);
+    this.stringPool = EPUBStringPool.create(4096);
+    this.packages = List.of(this.parse());
+    this.encoded = ByteBuffer.wrap(EPUBPackageCodec.encode(this.packages));
+  }
+
+  /**
+   * Encode the package.
+   *
+   * @return The encoded package
+   */
+
+  @Benchmark
+  public byte[] encode()
+  {
+    return EPUBPackageCodec.encode(this.packages);
+  }
+
+  /**
+   * Decode the package.
+   *
+   * @return The package
+   *
+   * @throws IOException On errors
+   */
+
+  @Benchmark
+  public List<EPUBPackage> decode()
+    throws IOException
+  {
+    return EPUBPackageCodec.decode(this.encoded.duplicate());
+  }
+
+  /**
+   * Parse the package document.
+   *
+   * @return The package
+   *
+   * @throws IOException       On errors
+   * @throws EPUBXMLException On errors
+   */
+
+  @Benchmark
+  public EPUBPackage parse()
+    throws IOException, EPUBXMLException
+  {
+    final var errors = new ArrayList<EPUBParseError>();
+    final var result =
+      EPUBPackageParser.parse(
+        new EPUBErrorLogger(EPUBStrings.create(), errors::add),
+        this.stringPool,
+        SOURCE,
+        "OEBPS/content.opf",
+        new ByteArrayInputStream(this.document)
+      );
+
+    if (!errors.isEmpty()) {
+      throw new IllegalStateException(errors.get(0).show());
+    }
+    return result;
+  }
+}
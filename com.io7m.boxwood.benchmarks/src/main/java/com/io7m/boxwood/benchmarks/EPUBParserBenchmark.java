@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end parsing of books from files.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EPUBParserBenchmark
+{
+  @Param({EPUBBenchmarkBooks.DICKENS, "100", "1000", "20000"})
+  public String book;
+
+  private Path file;
+  private EPUBParserFactory parsers;
+
+  /**
+   * Write the book and create a parser factory without a cache.
+   *
+   * @throws IOException On errors
+   */
+
+  @Setup
+  public void setup()
+    throws IOException
+  {
+    this.file =
+      EPUBBenchmarkBooks.book(
+        EPUBTestDirectories.createTempDirectory(), this.book);
+    this.parsers = new EPUBParserFactory();
+  }
+
+  /**
+   * Parse the book.
+   *
+   * @return The number of packages
+   *
+   * @throws IOException On errors
+   */
+
+  @Benchmark
+  public int execute()
+    throws IOException
+  {
+    try (var channel = FileChannel.open(this.file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.file.toUri())
+          .build();
+
+      final var result = this.parsers.createParser(request).execute();
+      if (result.isEmpty()) {
+        throw new IllegalStateException("Parse failed: " + this.file);
+      }
+      try (EPUBType epub = result.get()) {
+        return epub.packages().size();
+      }
+    }
+  }
+}
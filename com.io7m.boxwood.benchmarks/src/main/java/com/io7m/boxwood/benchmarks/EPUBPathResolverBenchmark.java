@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.vanilla.internal.EPUBPathResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the hrefs of a 20000 item manifest, against the
+ * {@link URI#resolve(URI)} approach that the resolver replaced. Plain
+ * hrefs take the fast path; percent-encoded and relative hrefs require
+ * decoding and the removal of dot segments.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EPUBPathResolverBenchmark
+{
+  private static final int ITEMS = 20_000;
+  private static final String PACKAGE_FILE = "OEBPS/content.opf";
+
+  @Param({"plain", "encoded", "relative"})
+  public String hrefs;
+
+  private String[] values;
+  private EPUBPathResolver resolver;
+  private URI base;
+
+  private static String href(
+    final String kind,
+    final int index)
+  {
+    return switch (kind) {
+      case "plain" -> "text/chapter-%d.xhtml".formatted(index);
+      case "encoded" -> "text/chapter%%20%d%%C3%%A9.xhtml".formatted(index);
+      case "relative" -> "../OEBPS/text/./chapter-%d.xhtml#p1".formatted(index);
+      default -> throw new IllegalArgumentException(kind);
+    };
+  }
+
+  /**
+   * Produce the hrefs.
+   */
+
+  @Setup
+  public void setup()
+  {
+    this.values = new String[ITEMS];
+    for (var index = 0; index < ITEMS; ++index) {
+      this.values[index] = href(this.hrefs, index);
+    }
+    this.resolver = EPUBPathResolver.forPackage(PACKAGE_FILE);
+    this.base = URI.create(PACKAGE_FILE);
+  }
+
+  /**
+   * Resolve every href with the path resolver.
+   *
+   * @param blackhole The sink for results
+   */
+
+  @Benchmark
+  public void resolve(
+    final Blackhole blackhole)
+  {
+    for (final var value : this.values) {
+      blackhole.consume(this.resolver.resolve(value));
+    }
+  }
+
+  /**
+   * Resolve every href as a URI.
+   *
+   * @param blackhole The sink for results
+   */
+
+  @Benchmark
+  public void resolveURI(
+    final Blackhole blackhole)
+  {
+    for (final var value : this.values) {
+      blackhole.consume(this.base.resolve(value).getPath());
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.benchmarks;
+
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.boxwood.vanilla.internal.EPUBErrorLogger;
+import com.io7m.boxwood.vanilla.internal.EPUBLimits;
+import com.io7m.boxwood.vanilla.internal.EPUBPositionalXML;
+import com.io7m.boxwood.vanilla.internal.EPUBStrings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of documents into position-annotated DOM trees.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EPUBPositionalXMLBenchmark
+{
+  private static final URI SOURCE =
+    URI.create("urn:benchmark/OEBPS/content.opf");
+
+  @Param({"10", "1000", "50000"})
+  public int items;
+
+  private byte[] document;
+  private EPUBLimits limits;
+
+  /**
+   * Produce the document.
+   */
+
+  @Setup
+  public void setup()
+  {
+    this.document = EPUBBenchmarkBooks.packageDocument(this.items);
+    this.limits =
+      new EPUBLimits(
+        EPUBParseLimits.builder().build(),
+        new EPUBErrorLogger(EPUBStrings.create(), error -> {
+          throw new IllegalStateException(error.show());
+        })
+      );
+  }
+
+  /**
+   * Read the document.
+   *
+   * @return The document
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public Document readXML()
+    throws IOException, SAXException, ParserConfigurationException
+  {
+    return EPUBPositionalXML.readXML(
+      SOURCE,
+      this.limits,
+      new ByteArrayInputStream(this.document)
+    );
+  }
+}
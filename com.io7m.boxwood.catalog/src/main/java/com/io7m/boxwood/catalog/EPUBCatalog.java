@@ -0,0 +1,465 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.catalog;
+
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.catalog.internal.EPUBCatalogIndex;
+import com.io7m.boxwood.catalog.internal.EPUBCatalogRecords;
+import com.io7m.boxwood.catalog.internal.EPUBCatalogSegment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * An append-only catalog of book summaries stored in memory-mapped segment
+ * files.
+ *
+ * Each appended package is reduced to a summary (its unique identifier,
+ * UUID, Dublin Core metadata properties, cover image, and manifest size)
+ * that is written into the current segment file. Summaries are read back
+ * through {@link EPUBCatalogView} flyweights that read directly from the
+ * mapped segments, and a primary index on the package UUID is held
+ * off-heap. Appending a package with a UUID that is already present
+ * replaces the indexed summary; the older summary remains in its segment.
+ *
+ * Catalogs are thread-safe. The index is rebuilt by scanning the segments
+ * when a catalog is opened.
+ */
+
+public final class EPUBCatalog implements Closeable
+{
+  /**
+   * The default size of segment files.
+   */
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final StampedLock lock;
+  private final EPUBCatalogIndex index;
+  private EPUBCatalogSegment[] segments;
+  private boolean closed;
+
+  private EPUBCatalog(
+    final Path inDirectory,
+    final int inSegmentSize,
+    final EPUBCatalogSegment[] inSegments)
+  {
+    this.directory =
+      Objects.requireNonNull(inDirectory, "directory");
+    this.segments =
+      Objects.requireNonNull(inSegments, "segments");
+    this.segmentSize = inSegmentSize;
+    this.lock = new StampedLock();
+    this.index = new EPUBCatalogIndex();
+  }
+
+  /**
+   * Open or create a catalog in the given directory, using the default
+   * segment size.
+   *
+   * @param directory The directory
+   *
+   * @return A catalog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static EPUBCatalog open(
+    final Path directory)
+    throws IOException
+  {
+    return open(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Open or create a catalog in the given directory.
+   *
+   * @param directory   The directory
+   * @param segmentSize The size of newly created segment files
+   *
+   * @return A catalog
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static EPUBCatalog open(
+    final Path directory,
+    final int segmentSize)
+    throws IOException
+  {
+    Objects.requireNonNull(directory, "directory");
+    if (segmentSize <= EPUBCatalogSegment.HEADER_SIZE) {
+      throw new IllegalArgumentException(
+        "Segment size must be greater than " + EPUBCatalogSegment.HEADER_SIZE
+      );
+    }
+
+    Files.createDirectories(directory);
+
+    final var segments = new ArrayList<EPUBCatalogSegment>();
+    try {
+      for (var number = 0; ; ++number) {
+        final var file = segmentFile(directory, number);
+        if (!Files.isRegularFile(file)) {
+          break;
+        }
+        segments.add(EPUBCatalogSegment.open(file));
+      }
+      if (segments.isEmpty()) {
+        segments.add(
+          EPUBCatalogSegment.create(segmentFile(directory, 0), segmentSize));
+      }
+    } catch (final IOException e) {
+      for (final var segment : segments) {
+        segment.close();
+      }
+      throw e;
+    }
+
+    final var catalog = new EPUBCatalog(
+      directory,
+      segmentSize,
+      segments.toArray(new EPUBCatalogSegment[0])
+    );
+    try {
+      catalog.rebuildIndex();
+    } catch (final IOException e) {
+      catalog.close();
+      throw e;
+    }
+    return catalog;
+  }
+
+  private static Path segmentFile(
+    final Path directory,
+    final int number)
+  {
+    return directory.resolve(String.format("segment-%08d.bin", Integer.valueOf(number)));
+  }
+
+  private void rebuildIndex()
+    throws IOException
+  {
+    for (var segmentIndex = 0; segmentIndex < this.segments.length; ++segmentIndex) {
+      final var segment = this.segments[segmentIndex];
+      final var buffer = segment.buffer();
+      final var used = segment.used();
+
+      var offset = EPUBCatalogSegment.HEADER_SIZE;
+      while (offset < used) {
+        final var length =
+          buffer.getInt(offset + EPUBCatalogRecords.OFFSET_LENGTH);
+        if (length < EPUBCatalogRecords.OFFSET_PROPERTIES
+            || length > used - offset) {
+          throw new IOException(String.format(
+            "Segment %s has a record of invalid length %d at offset %d",
+            segmentFile(this.directory, segmentIndex),
+            Integer.valueOf(length),
+            Integer.valueOf(offset)
+          ));
+        }
+
+        final var msb =
+          buffer.getLong(offset + EPUBCatalogRecords.OFFSET_UUID_MSB);
+        final var lsb =
+          buffer.getLong(offset + EPUBCatalogRecords.OFFSET_UUID_LSB);
+
+        this.checkIndexAccepts(msb, lsb);
+        this.index.put(
+          msb,
+          lsb,
+          EPUBCatalogIndex.address(segmentIndex, offset)
+        );
+        offset += length;
+      }
+    }
+  }
+
+  /**
+   * @return The directory containing the catalog segments
+   */
+
+  public Path directory()
+  {
+    return this.directory;
+  }
+
+  /**
+   * Append a summary of the given package to the catalog.
+   *
+   * @param epubPackage The package
+   *
+   * @return The UUID of the package
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public UUID append(
+    final EPUBPackage epubPackage)
+    throws IOException
+  {
+    Objects.requireNonNull(epubPackage, "epubPackage");
+
+    final var uuid = EPUBCatalogRecords.uuidOf(epubPackage);
+    final var record = EPUBCatalogRecords.encode(epubPackage, uuid);
+    if (record.capacity() > this.segmentSize - EPUBCatalogSegment.HEADER_SIZE) {
+      throw new IOException(String.format(
+        "Summary of size %d cannot fit into a segment of size %d",
+        Integer.valueOf(record.capacity()),
+        Integer.valueOf(this.segmentSize)
+      ));
+    }
+
+    final var stamp = this.lock.writeLock();
+    try {
+      this.checkNotClosed();
+      this.checkIndexAccepts(
+        uuid.getMostSignificantBits(),
+        uuid.getLeastSignificantBits()
+      );
+
+      var segmentIndex = this.segments.length - 1;
+      var offset = this.segments[segmentIndex].append(record);
+      if (offset < 0) {
+        segmentIndex = this.segments.length;
+        final var segment = EPUBCatalogSegment.create(
+          segmentFile(this.directory, segmentIndex),
+          this.segmentSize
+        );
+        this.segments = Arrays.copyOf(this.segments, segmentIndex + 1);
+        this.segments[segmentIndex] = segment;
+        offset = segment.append(record);
+      }
+
+      this.index.put(
+        uuid.getMostSignificantBits(),
+        uuid.getLeastSignificantBits(),
+        EPUBCatalogIndex.address(segmentIndex, offset)
+      );
+      return uuid;
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * @return A new view that can be positioned over catalog records
+   */
+
+  public EPUBCatalogView createView()
+  {
+    return new EPUBCatalogView();
+  }
+
+  /**
+   * Position the given view over the summary of the book with the given UUID.
+   *
+   * @param uuid The UUID
+   * @param view The view
+   *
+   * @return {@code true} if the book exists in the catalog
+   */
+
+  public boolean find(
+    final UUID uuid,
+    final EPUBCatalogView view)
+  {
+    return this.find(
+      uuid.getMostSignificantBits(),
+      uuid.getLeastSignificantBits(),
+      view
+    );
+  }
+
+  /**
+   * Position the given view over the summary of the book with the given UUID.
+   * This method allocates nothing.
+   *
+   * @param msb  The most significant bits of the UUID
+   * @param lsb  The least significant bits of the UUID
+   * @param view The view
+   *
+   * @return {@code true} if the book exists in the catalog
+   */
+
+  public boolean find(
+    final long msb,
+    final long lsb,
+    final EPUBCatalogView view)
+  {
+    Objects.requireNonNull(view, "view");
+
+    final var stamp = this.lock.readLock();
+    try {
+      this.checkNotClosed();
+
+      final var address = this.index.find(msb, lsb);
+      if (address == 0L) {
+        return false;
+      }
+
+      final var segment =
+        this.segments[EPUBCatalogIndex.addressSegment(address)];
+      view.bind(segment.buffer(), EPUBCatalogIndex.addressOffset(address));
+      return true;
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Position the given view over every indexed summary in turn, passing the
+   * view to the given receiver. Appends are blocked until iteration is
+   * complete.
+   *
+   * @param view     The view
+   * @param receiver The receiver
+   */
+
+  public void forEach(
+    final EPUBCatalogView view,
+    final Consumer<EPUBCatalogView> receiver)
+  {
+    Objects.requireNonNull(view, "view");
+    Objects.requireNonNull(receiver, "receiver");
+
+    final var stamp = this.lock.readLock();
+    try {
+      this.checkNotClosed();
+
+      final var capacity = this.index.capacity();
+      for (var slot = 0; slot < capacity; ++slot) {
+        final var address = this.index.slotAddress(slot);
+        if (address != 0L) {
+          final var segment =
+            this.segments[EPUBCatalogIndex.addressSegment(address)];
+          view.bind(segment.buffer(), EPUBCatalogIndex.addressOffset(address));
+          receiver.accept(view);
+        }
+      }
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * @return The number of distinct books in the catalog
+   */
+
+  public int size()
+  {
+    final var stamp = this.lock.readLock();
+    try {
+      return this.index.size();
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * @return The number of segment files in the catalog
+   */
+
+  public int segmentCount()
+  {
+    final var stamp = this.lock.readLock();
+    try {
+      return this.segments.length;
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Flush all segments to storage.
+   */
+
+  public void flush()
+  {
+    final var stamp = this.lock.readLock();
+    try {
+      this.checkNotClosed();
+      for (final var segment : this.segments) {
+        segment.flush();
+      }
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  private void checkIndexAccepts(
+    final long msb,
+    final long lsb)
+    throws IOException
+  {
+    if (this.index.isFull() && this.index.find(msb, lsb) == 0L) {
+      throw new IOException(String.format(
+        "The catalog cannot hold more than %d packages",
+        Integer.valueOf(EPUBCatalogIndex.MAXIMUM_SIZE)
+      ));
+    }
+  }
+
+  private void checkNotClosed()
+  {
+    if (this.closed) {
+      throw new IllegalStateException("Catalog is closed");
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    final var stamp = this.lock.writeLock();
+    try {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+
+      IOException exception = null;
+      for (final var segment : this.segments) {
+        try {
+          segment.flush();
+          segment.close();
+        } catch (final IOException e) {
+          if (exception == null) {
+            exception = e;
+          } else {
+            exception.addSuppressed(e);
+          }
+        }
+      }
+      if (exception != null) {
+        throw exception;
+      }
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+}
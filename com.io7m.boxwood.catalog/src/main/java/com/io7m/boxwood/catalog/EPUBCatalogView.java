@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.catalog;
+
+import com.io7m.boxwood.catalog.internal.EPUBCatalogRecords;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_COVER_MEDIA_TYPE;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_COVER_PATH;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_IDENTIFIER;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_MANIFEST_SIZE;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_PROPERTIES;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_PROPERTY_COUNT;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_UUID_LSB;
+import static com.io7m.boxwood.catalog.internal.EPUBCatalogRecords.OFFSET_UUID_MSB;
+
+/**
+ * A flyweight view of a single catalog record.
+ *
+ * A view is positioned over a record by {@link EPUBCatalog#find(long, long, EPUBCatalogView)}
+ * and reads the record directly from the mapped segment. Views are cheap,
+ * reusable, and are not thread-safe; each thread should use its own view.
+ * The primitive accessors allocate nothing; the accessors that return
+ * strings decode them from the segment on each call.
+ */
+
+public final class EPUBCatalogView
+{
+  private ByteBuffer buffer;
+  private int offset;
+
+  EPUBCatalogView()
+  {
+    this.offset = -1;
+  }
+
+  void bind(
+    final ByteBuffer inBuffer,
+    final int inOffset)
+  {
+    this.buffer = inBuffer;
+    this.offset = inOffset;
+  }
+
+  private void checkBound()
+  {
+    if (this.offset < 0) {
+      throw new IllegalStateException("View is not positioned over a record");
+    }
+  }
+
+  /**
+   * @return The most significant bits of the book UUID
+   */
+
+  public long uuidMostSignificantBits()
+  {
+    this.checkBound();
+    return this.buffer.getLong(this.offset + OFFSET_UUID_MSB);
+  }
+
+  /**
+   * @return The least significant bits of the book UUID
+   */
+
+  public long uuidLeastSignificantBits()
+  {
+    this.checkBound();
+    return this.buffer.getLong(this.offset + OFFSET_UUID_LSB);
+  }
+
+  /**
+   * @return The book UUID
+   *
+   * @see com.io7m.boxwood.api.EPUBType#uuid()
+   */
+
+  public UUID uuid()
+  {
+    return new UUID(
+      this.uuidMostSignificantBits(),
+      this.uuidLeastSignificantBits()
+    );
+  }
+
+  /**
+   * @return The number of items in the manifest of the book
+   */
+
+  public int manifestSize()
+  {
+    this.checkBound();
+    return this.buffer.getInt(this.offset + OFFSET_MANIFEST_SIZE);
+  }
+
+  /**
+   * @return The unique identifier of the book
+   */
+
+  public String identifier()
+  {
+    return this.stringAt(OFFSET_IDENTIFIER);
+  }
+
+  /**
+   * @return {@code true} if the book has a cover image
+   */
+
+  public boolean hasCoverImage()
+  {
+    this.checkBound();
+    return this.buffer.getInt(this.offset + OFFSET_COVER_PATH) >= 0;
+  }
+
+  /**
+   * @return The real path of the cover image within the book, if any
+   */
+
+  public Optional<String> coverImagePath()
+  {
+    if (this.hasCoverImage()) {
+      return Optional.of(this.stringAt(OFFSET_COVER_PATH));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return The media type of the cover image, if any
+   */
+
+  public Optional<String> coverImageMediaType()
+  {
+    if (this.hasCoverImage()) {
+      return Optional.of(this.stringAt(OFFSET_COVER_MEDIA_TYPE));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return The number of Dublin Core metadata properties in the record
+   */
+
+  public int propertyCount()
+  {
+    this.checkBound();
+    return this.buffer.getInt(this.offset + OFFSET_PROPERTY_COUNT);
+  }
+
+  /**
+   * @param index The property index in the range {@code [0, propertyCount())}
+   *
+   * @return The name of the given property, such as {@code dc:title}
+   */
+
+  public String propertyName(
+    final int index)
+  {
+    return this.stringAt(this.propertyTableOffset(index));
+  }
+
+  /**
+   * @param index The property index in the range {@code [0, propertyCount())}
+   *
+   * @return The value of the given property
+   */
+
+  public String propertyValue(
+    final int index)
+  {
+    return this.stringAt(this.propertyTableOffset(index) + 4);
+  }
+
+  private int propertyTableOffset(
+    final int index)
+  {
+    final var count = this.propertyCount();
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return OFFSET_PROPERTIES + (index * 8);
+  }
+
+  private String stringAt(
+    final int fieldOffset)
+  {
+    this.checkBound();
+    final var stringOffset = this.buffer.getInt(this.offset + fieldOffset);
+    return EPUBCatalogRecords.getString(
+      this.buffer,
+      this.offset + stringOffset
+    );
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.catalog.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An off-heap open-addressing hash table mapping UUIDs to record addresses.
+ *
+ * Each slot holds the two halves of a UUID and a record address. An address
+ * of {@code 0} marks an empty slot; no record can ever have that address, as
+ * every segment begins with a header.
+ *
+ * The slots are held in a single buffer, and so the capacity of an index is
+ * limited to {@link #MAXIMUM_CAPACITY} slots.
+ */
+
+public final class EPUBCatalogIndex
+{
+  /**
+   * The maximum number of slots: the largest power of two for which the
+   * slots fit into a single buffer.
+   */
+
+  public static final int MAXIMUM_CAPACITY = 1 << 26;
+
+  /**
+   * The maximum number of entries. The index is resized when it becomes
+   * half full.
+   */
+
+  public static final int MAXIMUM_SIZE = MAXIMUM_CAPACITY / 2;
+
+  private static final int SLOT_SIZE = 24;
+  private static final int SLOT_MSB = 0;
+  private static final int SLOT_LSB = 8;
+  private static final int SLOT_ADDRESS = 16;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private ByteBuffer slots;
+  private int capacity;
+  private int size;
+
+  /**
+   * Create an empty index.
+   */
+
+  public EPUBCatalogIndex()
+  {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Create an empty index.
+   *
+   * @param initialCapacity The initial number of slots; a power of two no
+   *                        greater than {@link #MAXIMUM_CAPACITY}
+   */
+
+  public EPUBCatalogIndex(
+    final int initialCapacity)
+  {
+    if (initialCapacity <= 0
+      || initialCapacity > MAXIMUM_CAPACITY
+      || Integer.bitCount(initialCapacity) != 1) {
+      throw new IllegalArgumentException(String.format(
+        "Index capacity %d must be a power of two in the range [1, %d]",
+        Integer.valueOf(initialCapacity),
+        Integer.valueOf(MAXIMUM_CAPACITY)
+      ));
+    }
+    this.allocate(initialCapacity);
+  }
+
+  /**
+   * Pack a segment number and offset into an address.
+   *
+   * @param segment The segment
+   * @param offset  The offset within the segment
+   *
+   * @return An address
+   */
+
+  public static long address(
+    final int segment,
+    final int offset)
+  {
+    return ((long) segment << 32) | (offset & 0xffff_ffffL);
+  }
+
+  /**
+   * @param address An address
+   *
+   * @return The segment of the address
+   */
+
+  public static int addressSegment(
+    final long address)
+  {
+    return (int) (address >>> 32);
+  }
+
+  /**
+   * @param address An address
+   *
+   * @return The offset of the address
+   */
+
+  public static int addressOffset(
+    final long address)
+  {
+    return (int) address;
+  }
+
+  private static int hash(
+    final long msb,
+    final long lsb)
+  {
+    var h = msb ^ Long.rotateLeft(lsb, 29);
+    h *= 0x9e37_79b9_7f4a_7c15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private static int offsetOf(
+    final int slot)
+  {
+    return Math.toIntExact((long) slot * SLOT_SIZE);
+  }
+
+  private void allocate(
+    final int newCapacity)
+  {
+    this.capacity = newCapacity;
+    this.slots =
+      ByteBuffer.allocateDirect(offsetOf(newCapacity))
+        .order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * @return The number of entries in the index
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return The number of slots in the index
+   */
+
+  public int capacity()
+  {
+    return this.capacity;
+  }
+
+  /**
+   * @return {@code true} if the index holds {@link #MAXIMUM_SIZE} entries,
+   * and so cannot accept another new entry
+   */
+
+  public boolean isFull()
+  {
+    return this.size >= MAXIMUM_SIZE;
+  }
+
+  /**
+   * @param slot The slot
+   *
+   * @return The address in the given slot, or {@code 0} if the slot is empty
+   */
+
+  public long slotAddress(
+    final int slot)
+  {
+    return this.slots.getLong(offsetOf(slot) + SLOT_ADDRESS);
+  }
+
+  /**
+   * Find the address of the record with the given UUID.
+   *
+   * @param msb The most significant bits of the UUID
+   * @param lsb The least significant bits of the UUID
+   *
+   * @return The record address, or {@code 0} if no record exists
+   */
+
+  public long find(
+    final long msb,
+    final long lsb)
+  {
+    final var mask = this.capacity - 1;
+    var slot = hash(msb, lsb) & mask;
+
+    while (true) {
+      final var base = offsetOf(slot);
+      final var address = this.slots.getLong(base + SLOT_ADDRESS);
+      if (address == 0L) {
+        return 0L;
+      }
+      if (this.slots.getLong(base + SLOT_MSB) == msb
+        && this.slots.getLong(base + SLOT_LSB) == lsb) {
+        return address;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Insert or replace the address of the record with the given UUID.
+   *
+   * @param msb     The most significant bits of the UUID
+   * @param lsb     The least significant bits of the UUID
+   * @param address The record address
+   *
+   * @throws IllegalStateException If the index is full
+   */
+
+  public void put(
+    final long msb,
+    final long lsb,
+    final long address)
+  {
+    if ((this.size + 1) * 2 > this.capacity) {
+      this.resize();
+    }
+    if (this.insert(msb, lsb, address)) {
+      ++this.size;
+    }
+  }
+
+  private boolean insert(
+    final long msb,
+    final long lsb,
+    final long address)
+  {
+    final var mask = this.capacity - 1;
+    var slot = hash(msb, lsb) & mask;
+
+    while (true) {
+      final var base = offsetOf(slot);
+      final var existing = this.slots.getLong(base + SLOT_ADDRESS);
+      if (existing == 0L) {
+        this.slots.putLong(base + SLOT_MSB, msb);
+        this.slots.putLong(base + SLOT_LSB, lsb);
+        this.slots.putLong(base + SLOT_ADDRESS, address);
+        return true;
+      }
+      if (this.slots.getLong(base + SLOT_MSB) == msb
+        && this.slots.getLong(base + SLOT_LSB) == lsb) {
+        this.slots.putLong(base + SLOT_ADDRESS, address);
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private void resize()
+  {
+    final var oldSlots = this.slots;
+    final var oldCapacity = this.capacity;
+    if (oldCapacity >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException(String.format(
+        "The index cannot hold more than %d entries",
+        Integer.valueOf(MAXIMUM_SIZE)
+      ));
+    }
+    this.allocate(oldCapacity * 2);
+
+    for (var slot = 0; slot < oldCapacity; ++slot) {
+      final var base = offsetOf(slot);
+      final var address = oldSlots.getLong(base + SLOT_ADDRESS);
+      if (address != 0L) {
+        this.insert(
+          oldSlots.getLong(base + SLOT_MSB),
+          oldSlots.getLong(base + SLOT_LSB),
+          address
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.catalog.internal;
+
+import com.io7m.boxwood.api.EPUBPackage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * The layout of catalog records.
+ *
+ * A record consists of a fixed-size header, a table of string offsets for
+ * the metadata properties, and a string area. All offsets are relative to
+ * the start of the record. Strings are stored as a 32-bit byte length
+ * followed by UTF-8 bytes. Records are padded to a multiple of
+ * {@link #RECORD_ALIGNMENT} bytes.
+ */
+
+public final class EPUBCatalogRecords
+{
+  /**
+   * The offset of the total record length.
+   */
+
+  public static final int OFFSET_LENGTH = 0;
+
+  /**
+   * The offset of the manifest size.
+   */
+
+  public static final int OFFSET_MANIFEST_SIZE = 4;
+
+  /**
+   * The offset of the most significant bits of the UUID.
+   */
+
+  public static final int OFFSET_UUID_MSB = 8;
+
+  /**
+   * The offset of the least significant bits of the UUID.
+   */
+
+  public static final int OFFSET_UUID_LSB = 16;
+
+  /**
+   * The offset of the metadata property count.
+   */
+
+  public static final int OFFSET_PROPERTY_COUNT = 24;
+
+  /**
+   * The offset of the offset of the identifier string.
+   */
+
+  public static final int OFFSET_IDENTIFIER = 28;
+
+  /**
+   * The offset of the offset of the cover path string, or {@code -1}.
+   */
+
+  public static final int OFFSET_COVER_PATH = 32;
+
+  /**
+   * The offset of the offset of the cover media type string, or {@code -1}.
+   */
+
+  public static final int OFFSET_COVER_MEDIA_TYPE = 36;
+
+  /**
+   * The offset of the property string offset table. Each property has
+   * two entries: the name offset, followed by the value offset.
+   */
+
+  public static final int OFFSET_PROPERTIES = 40;
+
+  /**
+   * The alignment of records.
+   */
+
+  public static final int RECORD_ALIGNMENT = 8;
+
+  private static final String DUBLIN_CORE_PREFIX = "dc:";
+
+  private EPUBCatalogRecords()
+  {
+
+  }
+
+  /**
+   * @param epubPackage The package
+   *
+   * @return The UUID that identifies the given package
+   */
+
+  public static UUID uuidOf(
+    final EPUBPackage epubPackage)
+  {
+    return UUID.nameUUIDFromBytes(
+      epubPackage.uniqueIdentifier().getBytes(StandardCharsets.UTF_8)
+    );
+  }
+
+  /**
+   * Encode a summary of the given package as a record.
+   *
+   * @param epubPackage The package
+   * @param uuid        The package UUID
+   *
+   * @return An encoded record
+   */
+
+  public static ByteBuffer encode(
+    final EPUBPackage epubPackage,
+    final UUID uuid)
+  {
+    final var strings = new ArrayList<byte[]>();
+    strings.add(utf8(epubPackage.uniqueIdentifier()));
+
+    final var cover = epubPackage.coverImage();
+    if (cover.isPresent()) {
+      strings.add(utf8(cover.get().realPath()));
+      strings.add(utf8(cover.get().mediaType()));
+    }
+
+    var propertyCount = 0;
+    for (final var property : epubPackage.metadata().properties()) {
+      if (property.name().startsWith(DUBLIN_CORE_PREFIX)) {
+        strings.add(utf8(property.name()));
+        strings.add(utf8(property.value()));
+        ++propertyCount;
+      }
+    }
+
+    final var stringsStart = OFFSET_PROPERTIES + (propertyCount * 8);
+    var size = stringsStart;
+    for (final var bytes : strings) {
+      size += 4 + bytes.length;
+    }
+    size = align(size);
+
+    final var buffer = ByteBuffer.allocate(size);
+    buffer.putInt(OFFSET_LENGTH, size);
+    buffer.putInt(OFFSET_MANIFEST_SIZE, epubPackage.manifest().items().size());
+    buffer.putLong(OFFSET_UUID_MSB, uuid.getMostSignificantBits());
+    buffer.putLong(OFFSET_UUID_LSB, uuid.getLeastSignificantBits());
+    buffer.putInt(OFFSET_PROPERTY_COUNT, propertyCount);
+    buffer.putInt(OFFSET_COVER_PATH, -1);
+    buffer.putInt(OFFSET_COVER_MEDIA_TYPE, -1);
+
+    var stringOffset = stringsStart;
+    var stringIndex = 0;
+
+    stringOffset = putString(buffer, stringOffset, strings.get(stringIndex));
+    buffer.putInt(OFFSET_IDENTIFIER, stringsStart);
+    ++stringIndex;
+
+    if (cover.isPresent()) {
+      buffer.putInt(OFFSET_COVER_PATH, stringOffset);
+      stringOffset = putString(buffer, stringOffset, strings.get(stringIndex));
+      ++stringIndex;
+      buffer.putInt(OFFSET_COVER_MEDIA_TYPE, stringOffset);
+      stringOffset = putString(buffer, stringOffset, strings.get(stringIndex));
+      ++stringIndex;
+    }
+
+    for (var index = 0; index < propertyCount; ++index) {
+      final var tableOffset = OFFSET_PROPERTIES + (index * 8);
+      buffer.putInt(tableOffset, stringOffset);
+      stringOffset = putString(buffer, stringOffset, strings.get(stringIndex));
+      ++stringIndex;
+      buffer.putInt(tableOffset + 4, stringOffset);
+      stringOffset = putString(buffer, stringOffset, strings.get(stringIndex));
+      ++stringIndex;
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Decode the string at the given absolute offset.
+   *
+   * @param buffer The buffer
+   * @param offset The absolute offset of the string
+   *
+   * @return The string
+   */
+
+  public static String getString(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    final var length = buffer.getInt(offset);
+    return StandardCharsets.UTF_8.decode(buffer.slice(offset + 4, length))
+      .toString();
+  }
+
+  private static int putString(
+    final ByteBuffer buffer,
+    final int offset,
+    final byte[] bytes)
+  {
+    buffer.putInt(offset, bytes.length);
+    buffer.put(offset + 4, bytes);
+    return offset + 4 + bytes.length;
+  }
+
+  private static byte[] utf8(
+    final String text)
+  {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int align(
+    final int size)
+  {
+    return (size + (RECORD_ALIGNMENT - 1)) & ~(RECORD_ALIGNMENT - 1);
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.catalog.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A single memory-mapped catalog segment file.
+ *
+ * A segment begins with a header containing a magic number, a version
+ * number, and the number of bytes of the segment that are in use. Records
+ * are appended immediately after the used area; the used size is only
+ * updated once a record has been written completely, so a reader that
+ * opens a segment never observes a partially written record.
+ */
+
+public final class EPUBCatalogSegment implements Closeable
+{
+  /**
+   * The segment magic number ("BXCT").
+   */
+
+  public static final int MAGIC = 0x42584354;
+
+  /**
+   * The segment format version.
+   */
+
+  public static final int VERSION = 1;
+
+  /**
+   * The size of the segment header.
+   */
+
+  public static final int HEADER_SIZE = 16;
+
+  private static final int OFFSET_MAGIC = 0;
+  private static final int OFFSET_VERSION = 4;
+  private static final int OFFSET_USED = 8;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+
+  private EPUBCatalogSegment(
+    final FileChannel inChannel,
+    final MappedByteBuffer inBuffer)
+  {
+    this.channel = Objects.requireNonNull(inChannel, "channel");
+    this.buffer = Objects.requireNonNull(inBuffer, "buffer");
+  }
+
+  /**
+   * Create a new, empty segment.
+   *
+   * @param file The segment file
+   * @param size The segment size
+   *
+   * @return A new segment
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static EPUBCatalogSegment create(
+    final Path file,
+    final int size)
+    throws IOException
+  {
+    final var channel = FileChannel.open(file, CREATE_NEW, READ, WRITE);
+    try {
+      final var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+      buffer.putInt(OFFSET_MAGIC, MAGIC);
+      buffer.putInt(OFFSET_VERSION, VERSION);
+      buffer.putInt(OFFSET_USED, HEADER_SIZE);
+      return new EPUBCatalogSegment(channel, buffer);
+    } catch (final IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Open an existing segment.
+   *
+   * @param file The segment file
+   *
+   * @return A segment
+   *
+   * @throws IOException On I/O errors, or if the segment is not valid
+   */
+
+  public static EPUBCatalogSegment open(
+    final Path file)
+    throws IOException
+  {
+    final var channel = FileChannel.open(file, READ, WRITE);
+    try {
+      final var size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("Segment has an invalid size: " + file);
+      }
+
+      final var buffer =
+        channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+      if (buffer.getInt(OFFSET_MAGIC) != MAGIC) {
+        throw new IOException("Segment has an invalid magic number: " + file);
+      }
+      if (buffer.getInt(OFFSET_VERSION) != VERSION) {
+        throw new IOException("Segment has an unsupported version: " + file);
+      }
+
+      final var used = buffer.getInt(OFFSET_USED);
+      if (used < HEADER_SIZE || used > buffer.capacity()) {
+        throw new IOException("Segment has an invalid used size: " + file);
+      }
+      return new EPUBCatalogSegment(channel, buffer);
+    } catch (final IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return The underlying buffer
+   */
+
+  public ByteBuffer buffer()
+  {
+    return this.buffer;
+  }
+
+  /**
+   * @return The number of bytes in use, including the header
+   */
+
+  public int used()
+  {
+    return this.buffer.getInt(OFFSET_USED);
+  }
+
+  /**
+   * Append a record to the segment.
+   *
+   * @param record The record
+   *
+   * @return The offset of the record, or {@code -1} if the segment is full
+   */
+
+  public int append(
+    final ByteBuffer record)
+  {
+    final var used = this.used();
+    final var size = record.capacity();
+    if (size > this.buffer.capacity() - used) {
+      return -1;
+    }
+
+    this.buffer.put(used, record, 0, size);
+    this.buffer.putInt(OFFSET_USED, used + size);
+    return used;
+  }
+
+  /**
+   * Flush the segment to storage.
+   */
+
+  public void flush()
+  {
+    this.buffer.force();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.channel.close();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBSpineItem;
+
+/**
+ * A receiver of package contents as they are parsed.
+ *
+ * When a visitor is included in a parse request, the parser delivers each
+ * metadata property, manifest item, and spine item to the visitor in
+ * document order as soon as it has been parsed, and does not retain the
+ * contents of packages itself. All methods are called on the thread that
+ * executes the parser.
+ *
+ * @see EPUBParseRequestType#packageVisitor()
+ */
+
+public interface EPUBPackageVisitorType
+{
+  /**
+   * Parsing of a package has started.
+   *
+   * @param packageFile The name of the package file within the container
+   */
+
+  default void onPackageStart(
+    final String packageFile)
+  {
+
+  }
+
+  /**
+   * A metadata property was parsed.
+   *
+   * @param property The property
+   */
+
+  default void onMetadataProperty(
+    final EPUBMetadataProperty property)
+  {
+
+  }
+
+  /**
+   * A legacy (EPUB 2) metadata property was parsed.
+   *
+   * @param property The property
+   */
+
+  default void onMetadataLegacyProperty(
+    final EPUBMetadataLegacyProperty property)
+  {
+
+  }
+
+  /**
+   * A manifest item was parsed.
+   *
+   * @param item The item
+   */
+
+  default void onManifestItem(
+    final EPUBManifestItem item)
+  {
+
+  }
+
+  /**
+   * A spine item was parsed.
+   *
+   * @param item The item
+   */
+
+  default void onSpineItem(
+    final EPUBSpineItem item)
+  {
+
+  }
+
+  /**
+   * Parsing of a package has finished. This method is called even if the
+   * package contained errors.
+   *
+   * @param packageFile The name of the package file within the container
+   */
+
+  default void onPackageEnd(
+    final String packageFile)
+  {
+
+  }
+}
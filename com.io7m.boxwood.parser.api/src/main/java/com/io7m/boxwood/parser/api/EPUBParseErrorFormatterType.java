@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import java.util.List;
+
+/**
+ * A function that renders the message of a parse error.
+ *
+ * @see EPUBParseErrorType#message()
+ */
+
+@FunctionalInterface
+public interface EPUBParseErrorFormatterType
+{
+  /**
+   * Render a message. Implementations must be safe to call from any thread,
+   * as errors may be inspected on threads other than the one that parsed
+   * the book.
+   *
+   * @param code      The message code
+   * @param arguments The message arguments
+   *
+   * @return The rendered message
+   */
+
+  String format(
+    String code,
+    List<Object> arguments);
+}
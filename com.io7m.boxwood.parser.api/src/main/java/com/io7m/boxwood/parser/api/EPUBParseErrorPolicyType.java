@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * The policy that controls how a parser records errors, and whether it may
+ * continue after encountering them.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParseErrorPolicyType
+{
+  /**
+   * The maximum number of errors and warnings that will be recorded. A parse
+   * that would record more is abandoned, and records one final error of kind
+   * {@link EPUBParseErrorType.Kind#LIMIT_EXCEEDED} in addition to the
+   * errors that it has already recorded.
+   *
+   * @return The maximum number of recorded errors
+   */
+
+  @Value.Default
+  default int maximumErrors()
+  {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * If {@code true}, the parse is abandoned as soon as the first error of
+   * severity {@link EPUBParseErrorType.Severity#ERROR} is recorded. This
+   * suits workloads that only need to know whether a book is valid.
+   *
+   * @return {@code true} if the parse stops at the first error
+   */
+
+  @Value.Default
+  default boolean failFast()
+  {
+    return false;
+  }
+
+  /**
+   * If {@code true}, errors that have the same code and severity as an
+   * error that has already been recorded are not recorded separately.
+   * Instead, the first such error records the number of times that it
+   * occurred in {@link EPUBParseErrorType#occurrences()}.
+   *
+   * @return {@code true} if repeated errors are aggregated
+   */
+
+  @Value.Default
+  default boolean aggregateRepeated()
+  {
+    return false;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumErrors() <= 0) {
+      throw new IllegalArgumentException(
+        "Maximum error count must be positive: " + this.maximumErrors());
+    }
+  }
+}
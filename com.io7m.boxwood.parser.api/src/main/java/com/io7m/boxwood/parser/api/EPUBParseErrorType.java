@@ -22,6 +22,7 @@ import com.io7m.jlexing.core.LexicalType;
 import org.immutables.value.Value;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -42,10 +43,42 @@ public interface EPUBParseErrorType extends LexicalType<URI>
   LexicalPosition<URI> lexical();
 
   /**
+   * @return The code that identifies the message that describes the error
+   */
+
+  String code();
+
+  /**
+   * @return The arguments of the message that describes the error
+   */
+
+  List<Object> arguments();
+
+  /**
+   * @return The formatter that renders the message of the error
+   */
+
+  @Value.Auxiliary
+  @Value.Default
+  default EPUBParseErrorFormatterType formatter()
+  {
+    return (code, arguments) -> code + ": " + arguments;
+  }
+
+  /**
+   * The error message. The message is rendered from the {@link #code()} and
+   * {@link #arguments()} by the {@link #formatter()} the first time that it
+   * is requested, so that parses that produce large numbers of errors do
+   * not pay for messages that are never read.
+   *
    * @return The error message
    */
 
-  String message();
+  @Value.Lazy
+  default String message()
+  {
+    return this.formatter().format(this.code(), this.arguments());
+  }
 
   /**
    * @return The exception associated with the error, if any
@@ -53,11 +86,47 @@ public interface EPUBParseErrorType extends LexicalType<URI>
 
   Optional<Exception> exception();
 
+  /**
+   * @return The kind of the error
+   */
+
+  @Value.Default
+  default Kind kind()
+  {
+    return Kind.GENERAL;
+  }
+
+  /**
+   * @return The number of times that the error occurred, if repeated errors
+   * were aggregated
+   *
+   * @see EPUBParseErrorPolicyType#aggregateRepeated()
+   */
+
+  @Value.Default
+  default int occurrences()
+  {
+    return 1;
+  }
+
   /**
    * @return A humanly-readable formatted message
    */
 
   default String show()
+  {
+    final var occurrences = this.occurrences();
+    if (occurrences > 1) {
+      return String.format(
+        "%s (occurred %d times)",
+        this.showOne(),
+        Integer.valueOf(occurrences)
+      );
+    }
+    return this.showOne();
+  }
+
+  private String showOne()
   {
     final var lexical = this.lexical();
     final var uri = lexical.file().orElse(URI.create("urn:unspecified"));
@@ -105,4 +174,40 @@ public interface EPUBParseErrorType extends LexicalType<URI>
 
     WARNING
   }
+
+  /**
+   * The kind of the parse error.
+   */
+
+  enum Kind
+  {
+    /**
+     * The error was caused by the content of the document, or by an I/O
+     * error encountered whilst reading it.
+     */
+
+    GENERAL,
+
+    /**
+     * The parse was abandoned because it was cancelled.
+     */
+
+    CANCELLED,
+
+    /**
+     * The parse was abandoned because it did not complete before its
+     * deadline.
+     */
+
+    DEADLINE_EXCEEDED,
+
+    /**
+     * The parse was abandoned because the document exceeded one of the
+     * resource limits of the parse.
+     *
+     * @see EPUBParseLimitsType
+     */
+
+    LIMIT_EXCEEDED
+  }
 }
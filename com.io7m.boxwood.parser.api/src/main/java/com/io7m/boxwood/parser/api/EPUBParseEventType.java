@@ -20,7 +20,11 @@ import com.io7m.immutables.styles.ImmutablesStyleType;
 import org.immutables.value.Value;
 
 /**
- * An event raised during parsing.
+ * An event raised during parsing. Events are raised when a phase begins,
+ * and then at a limited rate as the phase progresses.
+ *
+ * @see EPUBParseRequestType#progressInterval()
+ * @see EPUBParseRequestType#progressStep()
  */
 
 @ImmutablesStyleType
@@ -28,14 +32,57 @@ import org.immutables.value.Value;
 public interface EPUBParseEventType
 {
   /**
-   * @return The parse progress in the range {@code [0, 1]}
+   * @return The current phase of the parse
+   */
+
+  EPUBParsePhase phase();
+
+  /**
+   * @return The number of items of the current phase that have been processed
+   */
+
+  @Value.Default
+  default long itemsProcessed()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The total number of items in the current phase, or {@code 0} if
+   * the phase has no countable items
    */
 
-  double progress();
+  @Value.Default
+  default long itemsTotal()
+  {
+    return 0L;
+  }
 
   /**
-   * @return The event message
+   * @return The number of decompressed bytes of XML processed so far by the
+   * parse
    */
 
-  String message();
+  @Value.Default
+  default long bytesProcessed()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The progress of the current phase in the range {@code [0, 1]}
+   */
+
+  default double progress()
+  {
+    if (this.phase() == EPUBParsePhase.FINISHED) {
+      return 1.0;
+    }
+
+    final var total = this.itemsTotal();
+    if (total <= 0L) {
+      return 0.0;
+    }
+    return Math.min(1.0, (double) this.itemsProcessed() / (double) total);
+  }
 }
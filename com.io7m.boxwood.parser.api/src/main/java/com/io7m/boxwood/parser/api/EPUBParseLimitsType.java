@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * Limits on the resources that a single parse may consume. A parse that
+ * exceeds any limit is abandoned as soon as the limit is exceeded, and
+ * produces an error of kind {@link EPUBParseErrorType.Kind#LIMIT_EXCEEDED}.
+ * The default limits are far larger than anything required by a legitimate
+ * book.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParseLimitsType
+{
+  /**
+   * The maximum number of entries in the archive. The number of entries is
+   * read from the end of the archive before the central directory is
+   * loaded, so that an archive with an excessive number of entries is
+   * rejected without allocating anything for them.
+   *
+   * @return The maximum number of entries
+   */
+
+  @Value.Default
+  default long maximumEntries()
+  {
+    return 100_000L;
+  }
+
+  /**
+   * @return The maximum size in bytes of any decompressed XML file
+   */
+
+  @Value.Default
+  default long maximumXMLSize()
+  {
+    return 64L * 1024L * 1024L;
+  }
+
+  /**
+   * The maximum size of a cover image opened through a preview. The cover
+   * image is not read by the parse itself, but is subject to this limit and
+   * to the compression ratio limit when opened.
+   *
+   * @return The maximum size in bytes of a decompressed cover image
+   *
+   * @see EPUBPreviewType#openCoverImage()
+   */
+
+  @Value.Default
+  default long maximumCoverImageSize()
+  {
+    return 32L * 1024L * 1024L;
+  }
+
+  /**
+   * The maximum ratio of the decompressed size of an XML file or cover image
+   * to its compressed size. The ratio is only checked once the decompressed
+   * size reaches a small threshold, so that tiny, highly repetitive files
+   * are not rejected.
+   *
+   * @return The maximum compression ratio
+   */
+
+  @Value.Default
+  default double maximumCompressionRatio()
+  {
+    return 200.0;
+  }
+
+  /**
+   * @return The maximum number of elements in any XML file
+   */
+
+  @Value.Default
+  default int maximumElements()
+  {
+    return 1_000_000;
+  }
+
+  /**
+   * @return The maximum nesting depth of elements in any XML file
+   */
+
+  @Value.Default
+  default int maximumDepth()
+  {
+    return 64;
+  }
+
+  /**
+   * @return The maximum length in characters of any attribute value
+   */
+
+  @Value.Default
+  default int maximumAttributeLength()
+  {
+    return 64 * 1024;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumEntries() <= 0L
+      || this.maximumXMLSize() <= 0L
+      || this.maximumCoverImageSize() <= 0L
+      || this.maximumElements() <= 0) {
+      throw new IllegalArgumentException(
+        "Entry, size, and element limits must be positive");
+    }
+    if (this.maximumDepth() <= 0 || this.maximumAttributeLength() <= 0) {
+      throw new IllegalArgumentException(
+        "Depth and attribute length limits must be positive");
+    }
+    if (!(this.maximumCompressionRatio() >= 1.0)) {
+      throw new IllegalArgumentException(
+        "Compression ratio limit must be at least 1.0: "
+          + this.maximumCompressionRatio());
+    }
+  }
+}
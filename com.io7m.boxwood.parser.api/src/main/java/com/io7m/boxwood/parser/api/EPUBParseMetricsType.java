@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+/**
+ * A receiver of parser metrics.
+ *
+ * A single receiver is typically shared by every parser created by a
+ * factory, and so implementations must be safe to call from many threads
+ * at once, and must return quickly. All methods do nothing by default.
+ */
+
+public interface EPUBParseMetricsType
+{
+  /**
+   * @return A receiver that ignores all metrics
+   */
+
+  static EPUBParseMetricsType none()
+  {
+    return EPUBParseMetricsNone.INSTANCE;
+  }
+
+  /**
+   * A parse has started.
+   */
+
+  default void onParseStarted()
+  {
+
+  }
+
+  /**
+   * A parse has finished.
+   *
+   * @param succeeded {@code true} if the parse produced a book
+   * @param nanos     The total duration of the parse in nanoseconds
+   */
+
+  default void onParseFinished(
+    final boolean succeeded,
+    final long nanos)
+  {
+
+  }
+
+  /**
+   * A phase of a parse has completed. The duration of a phase is the
+   * wall-clock time from the start of the phase to the start of the next
+   * phase. Phases that are not reached are not reported, and
+   * {@link EPUBParsePhase#FINISHED} is never reported.
+   *
+   * @param phase The phase
+   * @param nanos The duration of the phase in nanoseconds
+   */
+
+  default void onPhaseCompleted(
+    final EPUBParsePhase phase,
+    final long nanos)
+  {
+
+  }
+
+  /**
+   * A read operation completed on the channel of a book. Channels are only
+   * instrumented when a receiver other than {@link #none()} is configured,
+   * or when a parse is profiled. Reads continue to be reported for as long
+   * as the parsed book is open.
+   *
+   * @param bytes The number of bytes read, possibly zero
+   */
+
+  default void onChannelBytesRead(
+    final long bytes)
+  {
+
+  }
+
+  /**
+   * A read on the channel of a book did not start where the previous read
+   * ended.
+   *
+   * @param distance The distance in bytes between the two positions
+   */
+
+  default void onChannelSeek(
+    final long distance)
+  {
+
+  }
+
+  /**
+   * An entry of an archive was opened for inflation, either during a parse
+   * or through {@link com.io7m.boxwood.api.EPUBType#openFile(String)}.
+   */
+
+  default void onEntryInflated()
+  {
+
+  }
+
+  /**
+   * An entry of an archive that was opened for inflation has been closed.
+   *
+   * @param bytes The number of decompressed bytes read from the entry
+   */
+
+  default void onEntryBytesInflated(
+    final long bytes)
+  {
+
+  }
+
+  /**
+   * A parse reused a cached result.
+   */
+
+  default void onCacheHit()
+  {
+
+  }
+
+  /**
+   * A parse did not find a cached result in an enabled cache.
+   */
+
+  default void onCacheMiss()
+  {
+
+  }
+
+  /**
+   * A parse produced an error. The error is reported once regardless of
+   * the number of {@link EPUBParseErrorType#occurrences()} it represents.
+   *
+   * @param error The error
+   */
+
+  default void onError(
+    final EPUBParseError error)
+  {
+
+  }
+}
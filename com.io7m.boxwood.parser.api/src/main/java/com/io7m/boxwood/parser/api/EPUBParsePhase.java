@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+/**
+ * The phases of a parse, in the order in which they occur.
+ */
+
+public enum EPUBParsePhase
+{
+  /**
+   * The parse has started, and the archive is being opened.
+   */
+
+  STARTED,
+
+  /**
+   * The container file is being parsed.
+   */
+
+  CONTAINER,
+
+  /**
+   * The package files are being parsed. The items of this phase are
+   * packages.
+   */
+
+  PACKAGES,
+
+  /**
+   * The files named by the manifests are being checked. The items of this
+   * phase are manifest items.
+   */
+
+  MANIFEST,
+
+  /**
+   * The parse has finished, successfully or otherwise.
+   */
+
+  FINISHED
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * The resources consumed by a single phase of a parse.
+ *
+ * @see EPUBParseProfileType
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParsePhaseProfileType
+{
+  /**
+   * @return The wall-clock time from the start of the phase to the start of
+   * the next phase, in nanoseconds
+   */
+
+  long wallNanos();
+
+  /**
+   * @return The CPU time consumed by the parsing threads during the phase in
+   * nanoseconds, or {@code -1} if the platform cannot measure it
+   */
+
+  long cpuNanos();
+
+  /**
+   * @return The number of bytes allocated by the parsing threads during the
+   * phase, or {@code -1} if the platform cannot measure it
+   */
+
+  long allocatedBytes();
+}
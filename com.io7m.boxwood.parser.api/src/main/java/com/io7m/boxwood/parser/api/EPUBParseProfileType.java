@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * A profile of the resources consumed by a single parse. CPU time and
+ * allocations are measured on whichever threads ran the stages of the
+ * parse, and so include work that other code did on those threads between
+ * stages only if it was done inside a stage.
+ *
+ * @see EPUBParseRequestType#profiled()
+ * @see EPUBParserType#profile()
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParseProfileType
+{
+  /**
+   * @return The profiles of the phases that were reached, excluding
+   * {@link EPUBParsePhase#FINISHED}
+   */
+
+  Map<EPUBParsePhase, EPUBParsePhaseProfile> phases();
+
+  /**
+   * @return The wall-clock duration of the parse in nanoseconds
+   */
+
+  long wallNanos();
+
+  /**
+   * @return The number of read operations performed on the channel
+   */
+
+  long channelReads();
+
+  /**
+   * @return The number of channel reads that did not start where the
+   * previous read ended
+   */
+
+  long channelSeeks();
+
+  /**
+   * @return The total distance in bytes of the {@link #channelSeeks()}
+   */
+
+  long channelSeekDistance();
+
+  /**
+   * @return The number of bytes read from the channel
+   */
+
+  long channelBytesRead();
+
+  /**
+   * @return The size of the archive in bytes
+   */
+
+  long archiveSize();
+
+  /**
+   * @return The number of archive entries inflated during the parse
+   */
+
+  long entriesInflated();
+
+  /**
+   * @return The number of XML elements parsed
+   */
+
+  long xmlElements();
+
+  /**
+   * @return The total CPU time of all phases in nanoseconds, or {@code -1}
+   * if the platform cannot measure it
+   */
+
+  default long cpuNanos()
+  {
+    return sum(this.phases(), EPUBParsePhaseProfileType::cpuNanos);
+  }
+
+  /**
+   * @return The total bytes allocated in all phases, or {@code -1} if the
+   * platform cannot measure it
+   */
+
+  default long allocatedBytes()
+  {
+    return sum(this.phases(), EPUBParsePhaseProfileType::allocatedBytes);
+  }
+
+  /**
+   * @return The number of bytes read from the channel per byte of archive
+   */
+
+  default double readAmplification()
+  {
+    final var size = this.archiveSize();
+    return size <= 0L ? 0.0 : (double) this.channelBytesRead() / (double) size;
+  }
+
+  private static long sum(
+    final Map<EPUBParsePhase, EPUBParsePhaseProfile> phases,
+    final ToLongFunction<EPUBParsePhaseProfileType> field)
+  {
+    var total = 0L;
+    for (final var phase : phases.values()) {
+      final var value = field.applyAsLong(phase);
+      if (value < 0L) {
+        return -1L;
+      }
+      total += value;
+    }
+    return total;
+  }
+}
@@ -21,6 +21,10 @@ import org.immutables.value.Value;
 
 import java.net.URI;
 import java.nio.channels.SeekableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 /**
@@ -44,13 +48,114 @@ public interface EPUBParseRequestType
   SeekableByteChannel channel();
 
   /**
+   * A receiver of parse events. If no receiver is present, the parser does
+   * no work at all to track its progress.
+   *
    * @return A receiver of parse events
    */
 
+  Optional<Consumer<EPUBParseEvent>> events();
+
+  /**
+   * The minimum interval between successive progress events within a phase.
+   * An event is raised if either this interval has elapsed or the progress
+   * of the phase has advanced by at least {@link #progressStep()}.
+   *
+   * @return The minimum interval between progress events
+   */
+
   @Value.Default
-  default Consumer<EPUBParseEvent> events() {
-    return event -> {
+  default Duration progressInterval()
+  {
+    return Duration.ofMillis(100L);
+  }
+
+  /**
+   * @return The fraction of a phase by which progress must advance to raise
+   * an event before {@link #progressInterval()} has elapsed
+   */
+
+  @Value.Default
+  default double progressStep()
+  {
+    return 0.01;
+  }
 
-    };
+  /**
+   * A visitor that receives package contents as they are parsed. If a
+   * visitor is present, the parser runs in streaming mode: package contents
+   * are delivered to the visitor and are not retained, so that very large
+   * packages can be parsed in memory that does not grow with the size of the
+   * package. In this mode, the packages of the resulting EPUB retain only
+   * what is needed to compute the unique identifier and the cover image: the
+   * unique identifier property, the legacy metadata properties, and the
+   * cover image manifest items. Their spines are empty.
+   *
+   * @return A visitor for package contents
+   */
+
+  Optional<EPUBPackageVisitorType> packageVisitor();
+
+  /**
+   * The time by which the parse must complete. The parser checks the deadline
+   * as each element of a package is parsed and as each manifest item is
+   * checked; a parse that exceeds its deadline is abandoned, and produces an
+   * error of kind {@link EPUBParseErrorType.Kind#DEADLINE_EXCEEDED}.
+   *
+   * @return The deadline of the parse
+   */
+
+  Optional<Instant> deadline();
+
+  /**
+   * A function that returns {@code true} if the parse should be abandoned.
+   * The parser calls the function as often as it checks the
+   * {@link #deadline()}, and so the function should be cheap (such as a read
+   * of a volatile flag). A cancelled parse produces an error of kind
+   * {@link EPUBParseErrorType.Kind#CANCELLED}.
+   *
+   * @return A function that indicates that the parse has been cancelled
+   */
+
+  @Value.Default
+  default BooleanSupplier cancelled()
+  {
+    return () -> false;
+  }
+
+  /**
+   * @return The resource limits that apply to the parse
+   */
+
+  @Value.Default
+  default EPUBParseLimits limits()
+  {
+    return EPUBParseLimits.builder().build();
+  }
+
+  /**
+   * @return The policy that controls how errors are recorded
+   */
+
+  @Value.Default
+  default EPUBParseErrorPolicy errorPolicy()
+  {
+    return EPUBParseErrorPolicy.builder().build();
+  }
+
+  /**
+   * Whether the parse should be profiled. A profiled parse measures the
+   * time, CPU time, and allocations of each phase, and reads the channel
+   * through an instrumented wrapper, at some cost in throughput.
+   *
+   * @return {@code true} if the parse should be profiled
+   *
+   * @see EPUBParserType#profile()
+   */
+
+  @Value.Default
+  default boolean profiled()
+  {
+    return false;
   }
 }
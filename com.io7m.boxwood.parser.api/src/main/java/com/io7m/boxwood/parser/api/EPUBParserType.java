@@ -20,7 +20,11 @@ import com.io7m.boxwood.api.EPUBType;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * The type of parsers.
@@ -40,6 +44,18 @@ public interface EPUBParserType
 
   List<EPUBParseError> errors();
 
+  /**
+   * @return The profile of the most recent execution, if the request asked
+   * for the parse to be profiled and an execution has completed
+   *
+   * @see EPUBParseRequestType#profiled()
+   */
+
+  default Optional<EPUBParseProfile> profile()
+  {
+    return Optional.empty();
+  }
+
   /**
    * Execute the parser.
    *
@@ -50,4 +66,77 @@ public interface EPUBParserType
 
   Optional<EPUBType> execute()
     throws IOException;
+
+  /**
+   * Execute the parser asynchronously. Opening the archive, parsing the
+   * container, parsing the packages, and checking the manifests each run as
+   * separate stages on the given executor, and so a parse never occupies a
+   * thread for the whole of its duration. The {@link #errors()} method may
+   * be called once the returned future has completed. An I/O error that
+   * would have been raised by {@link #execute()} completes the future
+   * exceptionally with a {@link java.util.concurrent.CompletionException}
+   * whose cause is the original {@link IOException}. Cancelling the returned
+   * future abandons the parse at the next point at which the parser checks
+   * for cancellation.
+   *
+   * The default implementation runs {@link #execute()} as a single task on
+   * the given executor, and cancelling the returned future does not stop
+   * the parse.
+   *
+   * @param executor The executor that will run the stages of the parser
+   *
+   * @return The parsed EPUB, if enough data was present to produce one
+   */
+
+  default CompletableFuture<Optional<EPUBType>> executeAsync(
+    final Executor executor)
+  {
+    Objects.requireNonNull(executor, "executor");
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return this.execute();
+      } catch (final IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * Execute the parser on the given executor, delivering results in two
+   * stages: a preview containing the metadata and cover image of the book,
+   * followed by the fully parsed book. The {@link #errors()} method may be
+   * called once the result has completed.
+   *
+   * The default implementation cannot produce a preview: it runs
+   * {@link #executeAsync(Executor)}, and completes the preview with an empty
+   * value (or the same exception) at the same time as the result.
+   *
+   * @param executor The executor that will run the parser
+   *
+   * @return The stages of the parse
+   */
+
+  default EPUBProgressiveParseType executeProgressive(
+    final Executor executor)
+  {
+    final var result =
+      this.executeAsync(executor);
+    final var preview =
+      result.thenApply(ignored -> Optional.<EPUBPreview>empty());
+
+    return new EPUBProgressiveParseType()
+    {
+      @Override
+      public CompletableFuture<Optional<EPUBPreview>> preview()
+      {
+        return preview;
+      }
+
+      @Override
+      public CompletableFuture<Optional<EPUBType>> result()
+      {
+        return result;
+      }
+    };
+  }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A function that opens the cover image of a book named by a preview.
+ *
+ * @see EPUBPreviewType#openCoverImage()
+ */
+
+@FunctionalInterface
+public interface EPUBPreviewCoverOpenerType
+{
+  /**
+   * Open the cover image.
+   *
+   * @param item The manifest item of the cover image
+   *
+   * @return A stream of the content of the cover image
+   *
+   * @throws IOException On errors, including the cover image exceeding
+   *                     the resource limits of the parse
+   */
+
+  InputStream openCoverImage(EPUBManifestItem item)
+    throws IOException;
+}
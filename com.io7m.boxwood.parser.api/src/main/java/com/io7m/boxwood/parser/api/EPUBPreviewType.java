@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Optional;
+
+/**
+ * An early view of a book, available before the book has been completely
+ * parsed and validated. The preview is taken from the first package in the
+ * book.
+ *
+ * @see EPUBParserType#executeProgressive(java.util.concurrent.Executor)
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBPreviewType
+{
+  /**
+   * @return The name of the package file within the container
+   */
+
+  String packageFile();
+
+  /**
+   * @return The metadata section of the package
+   */
+
+  EPUBMetadata metadata();
+
+  /**
+   * @return The cover image of the package, if one is defined
+   */
+
+  Optional<EPUBManifestItem> coverImage();
+
+  /**
+   * @return The function used to open the cover image
+   */
+
+  @Value.Auxiliary
+  @Value.Default
+  default EPUBPreviewCoverOpenerType coverImageOpener()
+  {
+    return item -> {
+      throw new NoSuchFileException(item.realPath());
+    };
+  }
+
+  /**
+   * Open the cover image. The cover image is not read until it is opened,
+   * and it can only be opened for as long as the archive of the book is
+   * open: until the parse fails, or until the parsed book is closed. The
+   * stream is subject to the size and compression ratio limits of the
+   * parse.
+   *
+   * @return A stream of the content of the cover image
+   *
+   * @throws IOException         On errors
+   * @throws NoSuchFileException If there is no cover image
+   * @see EPUBParseLimitsType#maximumCoverImageSize()
+   */
+
+  default InputStream openCoverImage()
+    throws IOException, NoSuchFileException
+  {
+    final var cover = this.coverImage();
+    if (cover.isEmpty()) {
+      throw new NoSuchFileException("cover-image");
+    }
+    return this.coverImageOpener().openCoverImage(cover.get());
+  }
+}
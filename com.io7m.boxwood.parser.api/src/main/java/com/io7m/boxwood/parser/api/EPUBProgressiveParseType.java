@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.parser.api;
+
+import com.io7m.boxwood.api.EPUBType;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A parse that delivers its results in two stages.
+ *
+ * @see EPUBParserType#executeProgressive(java.util.concurrent.Executor)
+ */
+
+public interface EPUBProgressiveParseType
+{
+  /**
+   * The first stage of the parse. The preview completes as soon as the
+   * metadata and cover image of the first package are known, and always
+   * completes no later than {@link #result()}. The preview is empty if the
+   * parse failed before a preview could be produced. A preview is not a
+   * guarantee that the full parse will succeed.
+   *
+   * @return The preview of the book
+   */
+
+  CompletableFuture<Optional<EPUBPreview>> preview();
+
+  /**
+   * The second stage of the parse. The result completes once all packages
+   * have been fully parsed and validated, with the value that
+   * {@link EPUBParserType#execute()} would have returned.
+   *
+   * @return The parsed book
+   */
+
+  CompletableFuture<Optional<EPUBType>> result();
+}
@@ -0,0 +1,689 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests.fixtures;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A generator of synthetic books. Everything that is not configured
+ * explicitly is derived from the seed, and so writing the same configuration
+ * twice produces byte-for-byte identical archives.
+ *
+ * <p>Each rendition has a package document that lists a number of content
+ * items, named {@code i0} onwards, plus an optional cover image. Content
+ * items are filled with seeded text of a configurable size range and are
+ * not well-formed documents; the parser does not read them.</p>
+ */
+
+public final class EPUBSyntheticBook
+{
+  private static final int BUFFER_SIZE = 8192;
+  private static final long ENTRY_TIME = 1_577_836_800_000L;
+
+  private final long seed;
+  private String directory;
+  private String title;
+  private Optional<String> identifier;
+  private int renditions;
+  private int manifestItems;
+  private int spineItems;
+  private int metadataProperties;
+  private int refinesChainLength;
+  private long entrySizeMinimum;
+  private long entrySizeMaximum;
+  private int missingEvery;
+  private Compression compression;
+  private Cover cover;
+  private byte[] coverData;
+  private final EnumSet<Fault> faults;
+
+  private EPUBSyntheticBook(
+    final long inSeed)
+  {
+    this.seed = inSeed;
+    this.directory = "OEBPS";
+    this.title = "Synthetic";
+    this.identifier = Optional.empty();
+    this.renditions = 1;
+    this.manifestItems = 10;
+    this.spineItems = -1;
+    this.metadataProperties = 0;
+    this.refinesChainLength = 0;
+    this.entrySizeMinimum = 0L;
+    this.entrySizeMaximum = 0L;
+    this.missingEvery = 0;
+    this.compression = Compression.DEFLATED;
+    this.cover = Cover.NONE;
+    this.coverData = new byte[0];
+    this.faults = EnumSet.noneOf(Fault.class);
+  }
+
+  /**
+   * The compression applied to content entries.
+   */
+
+  public enum Compression
+  {
+    /**
+     * Entries are stored without compression.
+     */
+
+    STORED,
+
+    /**
+     * Entries are deflated.
+     */
+
+    DEFLATED,
+
+    /**
+     * Each entry is stored or deflated at (seeded) random.
+     */
+
+    MIXED
+  }
+
+  /**
+   * The way in which the cover image is declared.
+   */
+
+  public enum Cover
+  {
+    /**
+     * There is no cover image.
+     */
+
+    NONE,
+
+    /**
+     * The cover item has the EPUB 3 {@code cover-image} property.
+     */
+
+    PROPERTY,
+
+    /**
+     * The cover item is named by an EPUB 2 {@code meta name="cover"}
+     * element.
+     */
+
+    META
+  }
+
+  /**
+   * Faults that can be injected into a book. Faults apply to the first
+   * rendition.
+   */
+
+  public enum Fault
+  {
+    /**
+     * The container file is omitted.
+     */
+
+    MISSING_CONTAINER,
+
+    /**
+     * The package document is listed in the container but omitted from the
+     * archive.
+     */
+
+    MISSING_ROOT_FILE,
+
+    /**
+     * The package document is truncated half way through.
+     */
+
+    MALFORMED_PACKAGE,
+
+    /**
+     * The package's {@code unique-identifier} names no element.
+     */
+
+    MISSING_UNIQUE_IDENTIFIER,
+
+    /**
+     * The first content item has no {@code media-type} attribute.
+     */
+
+    MISSING_MEDIA_TYPE
+  }
+
+  /**
+   * Create a generator.
+   *
+   * @param seed The seed from which all unspecified values are derived
+   *
+   * @return A generator with a small, valid default configuration
+   */
+
+  public static EPUBSyntheticBook create(
+    final long seed)
+  {
+    return new EPUBSyntheticBook(seed);
+  }
+
+  /**
+   * Set the directory that holds the package document and content. The
+   * second and subsequent renditions use the same name with a numeric
+   * suffix.
+   *
+   * @param name The directory, or the empty string for the archive root
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setDirectory(
+    final String name)
+  {
+    this.directory = Objects.requireNonNull(name, "name");
+    return this;
+  }
+
+  /**
+   * @param text The title of the book
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setTitle(
+    final String text)
+  {
+    this.title = Objects.requireNonNull(text, "text");
+    return this;
+  }
+
+  /**
+   * @param text The unique identifier; a UUID URN derived from the seed
+   *             is used if this is not set
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setIdentifier(
+    final String text)
+  {
+    this.identifier = Optional.of(text);
+    return this;
+  }
+
+  /**
+   * @param count The number of renditions (root files)
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setRenditions(
+    final int count)
+  {
+    this.renditions = Math.max(1, count);
+    return this;
+  }
+
+  /**
+   * @param count The number of content items in each manifest, excluding
+   *              the cover image
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setManifestItems(
+    final int count)
+  {
+    this.manifestItems = Math.max(0, count);
+    return this;
+  }
+
+  /**
+   * @param count The number of content items placed in the spine; every
+   *              content item is placed in the spine if this is not set
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setSpineItems(
+    final int count)
+  {
+    this.spineItems = Math.max(0, count);
+    return this;
+  }
+
+  /**
+   * @param count The number of additional metadata elements
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setMetadataProperties(
+    final int count)
+  {
+    this.metadataProperties = Math.max(0, count);
+    return this;
+  }
+
+  /**
+   * @param length The length of a chain of {@code meta} elements, each of
+   *               which refines the previous, starting at the title
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setRefinesChainLength(
+    final int length)
+  {
+    this.refinesChainLength = Math.max(0, length);
+    return this;
+  }
+
+  /**
+   * @param minimum The minimum size of a content entry
+   * @param maximum The maximum size of a content entry
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setEntrySizes(
+    final long minimum,
+    final long maximum)
+  {
+    if (minimum < 0L || maximum < minimum) {
+      throw new IllegalArgumentException(
+        "Invalid entry sizes: [%d, %d]".formatted(
+          Long.valueOf(minimum), Long.valueOf(maximum)));
+    }
+    this.entrySizeMinimum = minimum;
+    this.entrySizeMaximum = maximum;
+    return this;
+  }
+
+  /**
+   * @param interval Omit the content entry of every item whose index is a
+   *                 multiple of {@code interval}; {@code 0} omits nothing
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setMissingEvery(
+    final int interval)
+  {
+    this.missingEvery = Math.max(0, interval);
+    return this;
+  }
+
+  /**
+   * @param mode The compression applied to content entries
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setCompression(
+    final Compression mode)
+  {
+    this.compression = Objects.requireNonNull(mode, "mode");
+    return this;
+  }
+
+  /**
+   * @param mode The way the cover image is declared
+   * @param data The content of the cover image
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook setCover(
+    final Cover mode,
+    final byte[] data)
+  {
+    this.cover = Objects.requireNonNull(mode, "mode");
+    this.coverData = data.clone();
+    return this;
+  }
+
+  /**
+   * @param fault A fault to inject
+   *
+   * @return this
+   */
+
+  public EPUBSyntheticBook addFault(
+    final Fault fault)
+  {
+    this.faults.add(Objects.requireNonNull(fault, "fault"));
+    return this;
+  }
+
+  /**
+   * @return The unique identifier of the book
+   */
+
+  public String identifier()
+  {
+    return this.identifier.orElseGet(() -> {
+      final var random = new Random(this.seed);
+      return "urn:uuid:" + new UUID(random.nextLong(), random.nextLong());
+    });
+  }
+
+  /**
+   * @param rendition The rendition index
+   *
+   * @return The path of the package document of the rendition
+   */
+
+  public String packagePath(
+    final int rendition)
+  {
+    return this.directoryOf(rendition) + "content.opf";
+  }
+
+  private String directoryOf(
+    final int rendition)
+  {
+    final var name =
+      rendition == 0 ? this.directory : this.directory + "-" + rendition;
+    return name.isEmpty() ? "" : name + "/";
+  }
+
+  private static String itemName(
+    final int index)
+  {
+    return "text/%d.xhtml".formatted(Integer.valueOf(index));
+  }
+
+  /**
+   * @param rendition The rendition index
+   *
+   * @return The package document of the rendition, as it would be written
+   */
+
+  public byte[] packageDocument(
+    final int rendition)
+  {
+    final var faulty = rendition == 0;
+    final var text = new StringBuilder(512 + this.manifestItems * 128);
+    text.append("""
+      <?xml version="1.0" encoding="UTF-8"?>
+      <package xmlns="http://www.idpf.org/2007/opf" unique-identifier="uid" version="3.0">
+        <metadata xmlns:dc="http://purl.org/dc/elements/1.1/">
+      """);
+
+    final var identifierId =
+      faulty && this.faults.contains(Fault.MISSING_UNIQUE_IDENTIFIER)
+        ? "other" : "uid";
+    text.append("    <dc:identifier id=\"%s\">%s</dc:identifier>\n"
+                  .formatted(identifierId, this.identifier()));
+    text.append("    <dc:title id=\"title\">%s</dc:title>\n"
+                  .formatted(this.title));
+    this.appendMetadata(text);
+    text.append("  </metadata>\n  <manifest>\n");
+    this.appendManifest(text, faulty);
+    text.append("  </manifest>\n  <spine>\n");
+
+    final var spineCount =
+      this.spineItems < 0
+        ? this.manifestItems
+        : Math.min(this.spineItems, this.manifestItems);
+    for (var index = 0; index < spineCount; ++index) {
+      text.append("    <itemref idref=\"i%d\"/>\n"
+                    .formatted(Integer.valueOf(index)));
+    }
+    text.append("  </spine>\n</package>\n");
+
+    final var bytes = text.toString().getBytes(UTF_8);
+    if (faulty && this.faults.contains(Fault.MALFORMED_PACKAGE)) {
+      return Arrays.copyOf(bytes, bytes.length / 2);
+    }
+    return bytes;
+  }
+
+  private void appendMetadata(
+    final StringBuilder text)
+  {
+    for (var index = 0; index < this.refinesChainLength; ++index) {
+      final var target = index == 0 ? "title" : "r" + (index - 1);
+      final var property = index == 0 ? "file-as" : "alternate-script";
+      text.append(
+        "    <meta id=\"r%d\" refines=\"#%s\" property=\"%s\">%s %d</meta>\n"
+          .formatted(
+            Integer.valueOf(index),
+            target,
+            property,
+            this.title,
+            Integer.valueOf(index)));
+    }
+
+    final var random = new Random(this.seed ^ 0x6d657461L);
+    for (var index = 0; index < this.metadataProperties; ++index) {
+      text.append("    <dc:subject>Subject %d-%08x</dc:subject>\n"
+                    .formatted(
+                      Integer.valueOf(index),
+                      Integer.valueOf(random.nextInt())));
+    }
+
+    if (this.cover == Cover.META) {
+      text.append("    <meta name=\"cover\" content=\"cover\"/>\n");
+    }
+  }
+
+  private void appendManifest(
+    final StringBuilder text,
+    final boolean faulty)
+  {
+    switch (this.cover) {
+      case NONE -> {
+        // No cover item.
+      }
+      case PROPERTY -> text.append(
+        "    <item id=\"cover\" href=\"cover.png\" media-type=\"image/png\" properties=\"cover-image\"/>\n");
+      case META -> text.append(
+        "    <item id=\"cover\" href=\"cover.png\" media-type=\"image/png\"/>\n");
+    }
+
+    for (var index = 0; index < this.manifestItems; ++index) {
+      final var mediaType =
+        faulty && index == 0 && this.faults.contains(Fault.MISSING_MEDIA_TYPE)
+          ? "" : " media-type=\"application/xhtml+xml\"";
+      text.append("    <item id=\"i%d\" href=\"%s\"%s/>\n"
+                    .formatted(
+                      Integer.valueOf(index),
+                      itemName(index),
+                      mediaType));
+    }
+  }
+
+  private byte[] containerDocument()
+  {
+    final var text = new StringBuilder(256 + this.renditions * 96);
+    text.append("""
+      <?xml version="1.0" encoding="UTF-8"?>
+      <container xmlns="urn:oasis:names:tc:opendocument:xmlns:container" version="1.0">
+        <rootfiles>
+      """);
+    for (var index = 0; index < this.renditions; ++index) {
+      text.append(
+        "    <rootfile full-path=\"%s\" media-type=\"application/oebps-package+xml\"/>\n"
+          .formatted(this.packagePath(index)));
+    }
+    text.append("  </rootfiles>\n</container>\n");
+    return text.toString().getBytes(UTF_8);
+  }
+
+  /**
+   * Write the book.
+   *
+   * @param file The output file
+   *
+   * @return {@code file}
+   *
+   * @throws IOException On errors
+   */
+
+  public Path write(
+    final Path file)
+    throws IOException
+  {
+    try (var output = new ZipOutputStream(Files.newOutputStream(file))) {
+      writeStored(output, "mimetype", "application/epub+zip".getBytes(UTF_8));
+
+      if (!this.faults.contains(Fault.MISSING_CONTAINER)) {
+        writeDeflated(output, "META-INF/container.xml", this.containerDocument());
+      }
+
+      final var random = new Random(this.seed);
+      for (var rendition = 0; rendition < this.renditions; ++rendition) {
+        this.writeRendition(output, random, rendition);
+      }
+    }
+    return file;
+  }
+
+  private void writeRendition(
+    final ZipOutputStream output,
+    final Random random,
+    final int rendition)
+    throws IOException
+  {
+    final var missingRoot =
+      rendition == 0 && this.faults.contains(Fault.MISSING_ROOT_FILE);
+    if (!missingRoot) {
+      writeDeflated(
+        output, this.packagePath(rendition), this.packageDocument(rendition));
+    }
+
+    final var base = this.directoryOf(rendition);
+    if (this.cover != Cover.NONE) {
+      writeDeflated(output, base + "cover.png", this.coverData);
+    }
+
+    final var range = this.entrySizeMaximum - this.entrySizeMinimum;
+    for (var index = 0; index < this.manifestItems; ++index) {
+      final var size =
+        this.entrySizeMinimum + (range == 0L ? 0L : random.nextLong(range + 1L));
+      final var stored = switch (this.compression) {
+        case STORED -> true;
+        case DEFLATED -> false;
+        case MIXED -> random.nextBoolean();
+      };
+      final var contentSeed = random.nextLong();
+
+      if (this.missingEvery > 0 && index % this.missingEvery == 0) {
+        continue;
+      }
+
+      final var entry = entryOf(base + itemName(index));
+      if (stored) {
+        final var crc = new CRC32();
+        writeContent(contentSeed, size, crc::update);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(size);
+        entry.setCompressedSize(size);
+        entry.setCrc(crc.getValue());
+      }
+      output.putNextEntry(entry);
+      writeContent(contentSeed, size, output::write);
+      output.closeEntry();
+    }
+  }
+
+  private interface ChunkConsumerType
+  {
+    void accept(
+      byte[] data,
+      int offset,
+      int length)
+      throws IOException;
+  }
+
+  /**
+   * Produce {@code size} bytes of lowercase text from the given seed. The
+   * content is generated in chunks so that entries may be arbitrarily large.
+   */
+
+  private static void writeContent(
+    final long contentSeed,
+    final long size,
+    final ChunkConsumerType consumer)
+    throws IOException
+  {
+    final var random = new Random(contentSeed);
+    final var buffer = new byte[BUFFER_SIZE];
+    var remaining = size;
+    while (remaining > 0L) {
+      final var count = (int) Math.min(remaining, buffer.length);
+      for (var index = 0; index < count; ++index) {
+        final var value = random.nextInt(27);
+        buffer[index] = (byte) (value == 26 ? ' ' : 'a' + value);
+      }
+      consumer.accept(buffer, 0, count);
+      remaining -= count;
+    }
+  }
+
+  /**
+   * Entries are given a fixed timestamp, as the current time would otherwise
+   * make every archive different.
+   */
+
+  private static ZipEntry entryOf(
+    final String name)
+  {
+    final var entry = new ZipEntry(name);
+    entry.setTime(ENTRY_TIME);
+    return entry;
+  }
+
+  private static void writeStored(
+    final ZipOutputStream output,
+    final String name,
+    final byte[] data)
+    throws IOException
+  {
+    final var crc = new CRC32();
+    crc.update(data);
+    final var entry = entryOf(name);
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(data.length);
+    entry.setCompressedSize(data.length);
+    entry.setCrc(crc.getValue());
+    output.putNextEntry(entry);
+    output.write(data);
+    output.closeEntry();
+  }
+
+  private static void writeDeflated(
+    final ZipOutputStream output,
+    final String name,
+    final byte[] data)
+    throws IOException
+  {
+    output.putNextEntry(entryOf(name));
+    output.write(data);
+    output.closeEntry();
+  }
+}
@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-package com.io7m.boxwood.tests;
+package com.io7m.boxwood.tests.fixtures;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,7 +60,8 @@ public final class EPUBTestDirectories
     final String name)
     throws IOException
   {
-    final var internal = String.format("/com/io7m/boxwood/tests/%s", name);
+    final var internal =
+      String.format("/com/io7m/boxwood/tests/fixtures/%s", name);
     final var url = clazz.getResource(internal);
     if (url == null) {
       throw new NoSuchFileException(internal);
@@ -0,0 +1,225 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.parser.api.EPUBParserType;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class EPUBAsyncParseTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBAsyncParseTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  /**
+   * An asynchronous parse produces the same book as a synchronous parse, and
+   * runs each of its stages as a separate task on the given executor.
+   */
+
+  @Test
+  public void testSameAsSynchronous()
+    throws Exception
+  {
+    final var parsers = new EPUBParserFactory();
+
+    final EPUBType expected;
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.dickens.toUri())
+          .build();
+      expected = parsers.createParser(request).execute().orElseThrow();
+      expected.close();
+    }
+
+    final var tasks = new AtomicInteger();
+    final var pool = Executors.newSingleThreadExecutor();
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final Executor executor = task -> {
+        tasks.incrementAndGet();
+        pool.execute(task);
+      };
+
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.dickens.toUri())
+          .build();
+
+      final var parser = parsers.createParser(request);
+      try (var epub = parser.executeAsync(executor).get().orElseThrow()) {
+        Assertions.assertEquals(expected.packages(), epub.packages());
+        Assertions.assertEquals(0, parser.errors().size());
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    Assertions.assertTrue(
+      tasks.get() >= 4,
+      "Expected at least four stages, got " + tasks.get());
+  }
+
+  /**
+   * A book that cannot be parsed produces an empty result and errors.
+   */
+
+  @Test
+  public void testEmpty()
+    throws Exception
+  {
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBAsyncParseTest.class,
+        this.directory,
+        "empty.epub"
+      );
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      Assertions.assertEquals(
+        Optional.empty(),
+        parser.executeAsync(Runnable::run).get());
+      Assertions.assertEquals(1, parser.errors().size());
+    }
+  }
+
+  /**
+   * The default implementation produces the same book as a synchronous
+   * parse, and reports I/O errors through the future.
+   */
+
+  @Test
+  public void testDefault()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.dickens.toUri())
+          .build();
+
+      final var parser =
+        new EPUBMinimalParser(new EPUBParserFactory().createParser(request));
+      try (var epub = parser.executeAsync(Runnable::run).get().orElseThrow()) {
+        Assertions.assertEquals(1, epub.packages().size());
+        Assertions.assertEquals(0, parser.errors().size());
+      }
+    }
+
+    final EPUBParserType failing = new EPUBParserType()
+    {
+      @Override
+      public List<EPUBParseError> errors()
+      {
+        return List.of();
+      }
+
+      @Override
+      public Optional<EPUBType> execute()
+        throws IOException
+      {
+        throw new IOException("Failed!");
+      }
+    };
+
+    final var ex =
+      Assertions.assertThrows(
+        ExecutionException.class,
+        () -> failing.executeAsync(Runnable::run).get());
+    Assertions.assertInstanceOf(IOException.class, ex.getCause());
+  }
+
+  /**
+   * Many books can be parsed concurrently on virtual threads.
+   */
+
+  @Test
+  public void testManyConcurrent()
+    throws Exception
+  {
+    final var parsers = new EPUBParserFactory();
+    final var channels = new ArrayList<SeekableByteChannel>();
+    final var futures = new ArrayList<CompletableFuture<Optional<EPUBType>>>();
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var index = 0; index < 32; ++index) {
+        final var channel = Files.newByteChannel(this.dickens);
+        channels.add(channel);
+        final var request =
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(this.dickens.toUri())
+            .build();
+        futures.add(parsers.createParser(request).executeAsync(executor));
+      }
+
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+      final var first = futures.get(0).get().orElseThrow();
+      for (final var future : futures) {
+        try (var epub = future.get().orElseThrow()) {
+          Assertions.assertEquals(first.packages(), epub.packages());
+        }
+      }
+    } finally {
+      for (final var channel : channels) {
+        channel.close();
+      }
+    }
+  }
+}
@@ -20,6 +20,8 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import com.io7m.boxwood.parser.api.EPUBParseError;
 import com.io7m.boxwood.parser.api.EPUBParseEvent;
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.boxwood.parser.api.EPUBParseProfile;
 import com.io7m.boxwood.parser.api.EPUBParseRequest;
 import com.io7m.boxwood.vanilla.EPUBParserFactory;
 import org.slf4j.LoggerFactory;
@@ -59,6 +61,7 @@ public final class EPUBBatchDemo
             .setChannel(channel)
             .setUri(file.toUri())
             .setEvents(this::showProgress)
+            .setProfiled(true)
             .build();
 
         final var parser = parsers.createParser(request);
@@ -68,6 +71,7 @@ public final class EPUBBatchDemo
         for (final var error : parser.errors()) {
           showError(error);
         }
+        parser.profile().ifPresent(EPUBBatchDemo::showProfile);
         result.ifPresent(epubType -> {
           try {
             System.out.printf("Epub: %s\n", epubType.uniqueIdentifier());
@@ -106,17 +110,33 @@ public final class EPUBBatchDemo
   private void showProgress(
     final EPUBParseEvent event)
   {
-    if (event.progress() * 80 > this.progressBar) {
-      System.out.printf("#");
-      this.progressBar += 1;
+    if (event.phase() == EPUBParsePhase.MANIFEST) {
+      while (event.progress() * 80 > this.progressBar) {
+        System.out.printf("#");
+        this.progressBar += 1;
+      }
     }
 
-    if (event.progress() >= 1.0) {
+    if (event.phase() == EPUBParsePhase.FINISHED) {
       System.out.printf("\n");
       this.progressBar = 0;
     }
   }
 
+  private static void showProfile(
+    final EPUBParseProfile profile)
+  {
+    System.out.printf(
+      "Profile: %d us wall, %d us cpu, %d bytes allocated, %d reads, %d seeks, %.2fx read amplification\n",
+      Long.valueOf(profile.wallNanos() / 1000L),
+      Long.valueOf(profile.cpuNanos() / 1000L),
+      Long.valueOf(profile.allocatedBytes()),
+      Long.valueOf(profile.channelReads()),
+      Long.valueOf(profile.channelSeeks()),
+      Double.valueOf(profile.readAmplification())
+    );
+  }
+
   private static void showError(
     final EPUBParseError error)
   {
@@ -21,8 +21,13 @@ import com.io7m.boxwood.api.EPUBManifestItem;
 import com.io7m.boxwood.api.EPUBMetadata;
 import com.io7m.boxwood.api.EPUBMetadataProperty;
 import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBReadingOrderItem;
+import com.io7m.boxwood.api.EPUBRefinedProperty;
+import com.io7m.boxwood.api.EPUBRefinementGraph;
 import com.io7m.boxwood.api.EPUBSpine;
 import com.io7m.boxwood.api.EPUBSpineItem;
+import com.io7m.boxwood.vanilla.EPUBParserCacheConfiguration;
+import com.io7m.boxwood.vanilla.EPUBParserCacheStatistics;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DynamicTest;
@@ -42,7 +47,10 @@ import java.util.stream.Stream;
 public final class EPUBBruteForceEqualityTest
 {
   private static final Set<Class<?>> NO_COPY_CLASSES = Set.of(
-    EPUBPackage.class
+    EPUBPackage.class,
+    EPUBParserCacheConfiguration.class,
+    EPUBReadingOrderItem.class,
+    EPUBRefinedProperty.class
   );
   private static final Class<?> COLLECTION_CLASSES[] = {
     EPUBManifest.class,
@@ -50,11 +58,15 @@ public final class EPUBBruteForceEqualityTest
     EPUBMetadata.class,
     EPUBMetadataProperty.class,
     EPUBPackage.class,
+    EPUBReadingOrderItem.class,
+    EPUBRefinedProperty.class,
+    EPUBRefinementGraph.class,
     EPUBSpine.class,
     EPUBSpineItem.class
   };
   private static final Class<?> OTHER_CLASSES[] = {
-
+    EPUBParserCacheConfiguration.class,
+    EPUBParserCacheStatistics.class,
   };
 
   private static void checkClassEquality(
@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.internal.EPUBParseCancelledException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class EPUBCancellationTest
+{
+  private static final int ITEM_COUNT = 10_000;
+
+  private Path directory;
+  private Path book;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.book =
+      EPUBSyntheticBook.create(0L)
+        .setDirectory("")
+        .setIdentifier("urn:x")
+        .setManifestItems(ITEM_COUNT)
+        .setSpineItems(1)
+        .setMissingEvery(1)
+        .write(this.directory.resolve("large.epub"));
+  }
+
+  private static List<EPUBParseErrorType.Kind> kinds(
+    final List<EPUBParseError> errors)
+  {
+    return errors.stream().map(EPUBParseError::kind).toList();
+  }
+
+  /**
+   * A parse that is cancelled before it starts produces a single error of
+   * the right kind, and releases the archive.
+   */
+
+  @Test
+  public void testCancelledImmediately()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.book)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.book.toUri())
+          .setCancelled(() -> true)
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+      Assertions.assertEquals(
+        List.of(EPUBParseErrorType.Kind.CANCELLED),
+        kinds(parser.errors()));
+      Assertions.assertEquals(
+        "epub.error.cancelled", parser.errors().get(0).code());
+      Assertions.assertFalse(channel.isOpen());
+    }
+  }
+
+  /**
+   * A parse whose deadline has passed produces a single error of the
+   * right kind, and releases the archive.
+   */
+
+  @Test
+  public void testDeadlineExceeded()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.book)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.book.toUri())
+          .setDeadline(Instant.now().minusSeconds(1L))
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+      Assertions.assertEquals(
+        List.of(EPUBParseErrorType.Kind.DEADLINE_EXCEEDED),
+        kinds(parser.errors()));
+      Assertions.assertEquals(
+        "epub.error.deadlineExceeded", parser.errors().get(0).code());
+      Assertions.assertFalse(channel.isOpen());
+    }
+  }
+
+  /**
+   * A deadline far in the future has no effect.
+   */
+
+  @Test
+  public void testDeadlineDistant()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.book)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.book.toUri())
+          .setDeadline(Instant.MAX)
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(
+          ITEM_COUNT,
+          epub.packages().get(0).manifest().items().size());
+      }
+    }
+  }
+
+  /**
+   * Cancellation is checked as each element of the package is parsed, and
+   * so a parse that is cancelled part of the way through a large package
+   * stops promptly.
+   */
+
+  @Test
+  public void testCancelledDuringPackage()
+    throws Exception
+  {
+    final var checks = new AtomicInteger();
+    try (var channel = Files.newByteChannel(this.book)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.book.toUri())
+          .setCancelled(() -> checks.incrementAndGet() > 100)
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+      Assertions.assertEquals(
+        List.of(EPUBParseErrorType.Kind.CANCELLED),
+        kinds(parser.errors()));
+      Assertions.assertEquals(101, checks.get());
+      Assertions.assertFalse(channel.isOpen());
+    }
+  }
+
+  /**
+   * Cancelling the future returned by an asynchronous parse abandons the
+   * parse at the next stage.
+   */
+
+  @Test
+  public void testCancelledAsync()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.book)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.book.toUri())
+          .build();
+
+      final var tasks = new ArrayList<Runnable>();
+      final var parser = new EPUBParserFactory().createParser(request);
+      final var future = parser.executeAsync(tasks::add);
+
+      tasks.remove(0).run();
+      Assertions.assertTrue(channel.isOpen());
+      Assertions.assertTrue(future.cancel(false));
+
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+
+      Assertions.assertEquals(
+        List.of(EPUBParseErrorType.Kind.CANCELLED),
+        kinds(parser.errors()));
+      Assertions.assertFalse(channel.isOpen());
+    }
+  }
+
+  /**
+   * Only cancellation and deadlines can abandon a parse as a cancellation.
+   */
+
+  @Test
+  public void testCancellationKinds()
+  {
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> new EPUBParseCancelledException(EPUBParseErrorType.Kind.GENERAL));
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> new EPUBParseCancelledException(
+        EPUBParseErrorType.Kind.LIMIT_EXCEEDED));
+  }
+}
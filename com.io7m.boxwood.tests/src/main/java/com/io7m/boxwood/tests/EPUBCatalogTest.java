@@ -0,0 +1,331 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifest;
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpine;
+import com.io7m.boxwood.catalog.EPUBCatalog;
+import com.io7m.boxwood.catalog.EPUBCatalogView;
+import com.io7m.boxwood.catalog.internal.EPUBCatalogIndex;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public final class EPUBCatalogTest
+{
+  private Path directory;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+  }
+
+  private static EPUBPackage bookOf(
+    final int number,
+    final String title)
+  {
+    final var manifest = EPUBManifest.builder();
+    for (var index = 0; index < number % 7; ++index) {
+      manifest.addItems(
+        EPUBManifestItem.builder()
+          .setId("item" + index)
+          .setHref("item" + index + ".xhtml")
+          .setRealPath("OEBPS/item" + index + ".xhtml")
+          .setMediaType("application/xhtml+xml")
+          .build()
+      );
+    }
+
+    return EPUBPackage.builder()
+      .setUniqueIdentifierReference("uid")
+      .setMetadata(
+        EPUBMetadata.builder()
+          .addProperties(
+            EPUBMetadataProperty.builder()
+              .setName("dc:identifier")
+              .setId("uid")
+              .setValue("urn:book:" + number)
+              .build())
+          .addProperties(
+            EPUBMetadataProperty.builder()
+              .setName("dc:title")
+              .setValue(title)
+              .build())
+          .addProperties(
+            EPUBMetadataProperty.builder()
+              .setName("dcterms:modified")
+              .setValue("2020-01-01T00:00:00Z")
+              .build())
+          .build())
+      .setManifest(manifest.build())
+      .setSpine(EPUBSpine.builder().build())
+      .build();
+  }
+
+  @Test
+  public void testAppendFind()
+    throws Exception
+  {
+    try (var catalog = EPUBCatalog.open(this.directory)) {
+      final var uuid = catalog.append(bookOf(3, "Ünïcödé"));
+      final var view = catalog.createView();
+
+      Assertions.assertTrue(catalog.find(uuid, view));
+      Assertions.assertEquals(uuid, view.uuid());
+      Assertions.assertEquals("urn:book:3", view.identifier());
+      Assertions.assertEquals(3, view.manifestSize());
+      Assertions.assertFalse(view.hasCoverImage());
+      Assertions.assertEquals(Optional.empty(), view.coverImagePath());
+      Assertions.assertEquals(2, view.propertyCount());
+      Assertions.assertEquals("dc:identifier", view.propertyName(0));
+      Assertions.assertEquals("urn:book:3", view.propertyValue(0));
+      Assertions.assertEquals("dc:title", view.propertyName(1));
+      Assertions.assertEquals("Ünïcödé", view.propertyValue(1));
+      Assertions.assertThrows(
+        IndexOutOfBoundsException.class, () -> view.propertyName(2));
+
+      Assertions.assertFalse(catalog.find(UUID.randomUUID(), view));
+      Assertions.assertEquals(1, catalog.size());
+    }
+  }
+
+  @Test
+  public void testUnboundView()
+    throws Exception
+  {
+    try (var catalog = EPUBCatalog.open(this.directory)) {
+      final var view = catalog.createView();
+      Assertions.assertThrows(IllegalStateException.class, view::identifier);
+    }
+  }
+
+  @Test
+  public void testReplace()
+    throws Exception
+  {
+    try (var catalog = EPUBCatalog.open(this.directory)) {
+      final var uuid0 = catalog.append(bookOf(1, "First"));
+      final var uuid1 = catalog.append(bookOf(1, "Second"));
+      Assertions.assertEquals(uuid0, uuid1);
+      Assertions.assertEquals(1, catalog.size());
+
+      final var view = catalog.createView();
+      Assertions.assertTrue(catalog.find(uuid0, view));
+      Assertions.assertEquals("Second", view.propertyValue(1));
+    }
+  }
+
+  @Test
+  public void testManySegmentsReopen()
+    throws Exception
+  {
+    final var uuids = new HashSet<UUID>();
+    try (var catalog = EPUBCatalog.open(this.directory, 4096)) {
+      for (var index = 0; index < 5000; ++index) {
+        uuids.add(catalog.append(bookOf(index, "Book " + index)));
+      }
+      Assertions.assertEquals(5000, catalog.size());
+      Assertions.assertTrue(catalog.segmentCount() > 1);
+    }
+
+    try (var catalog = EPUBCatalog.open(this.directory, 4096)) {
+      Assertions.assertEquals(5000, catalog.size());
+
+      final var view = catalog.createView();
+      for (var index = 0; index < 5000; ++index) {
+        final var book = bookOf(index, "Book " + index);
+        final var uuid = UUID.nameUUIDFromBytes(
+          book.uniqueIdentifier().getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(catalog.find(uuid, view));
+        Assertions.assertEquals("urn:book:" + index, view.identifier());
+        Assertions.assertEquals(index % 7, view.manifestSize());
+        Assertions.assertEquals("Book " + index, view.propertyValue(1));
+      }
+
+      final var seen = new HashSet<UUID>();
+      catalog.forEach(view, v -> seen.add(v.uuid()));
+      Assertions.assertEquals(uuids, seen);
+    }
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> testCorruptRecordLength()
+  {
+    return IntStream.of(0, -8, 8, 1 << 20)
+      .mapToObj(length -> DynamicTest.dynamicTest(
+        "testCorruptRecordLength_" + length, () -> {
+          final var directory =
+            this.directory.resolve("corrupt" + length);
+          try (var catalog = EPUBCatalog.open(directory, 4096)) {
+            catalog.append(bookOf(1, "First"));
+            catalog.append(bookOf(2, "Second"));
+          }
+
+          /*
+           * Overwrite the length of the second record, which follows the
+           * 16 byte segment header and the first record.
+           */
+
+          final var file = directory.resolve("segment-00000000.bin");
+          try (var channel = FileChannel.open(file, READ, WRITE)) {
+            final var lengthData = ByteBuffer.allocate(4);
+            channel.read(lengthData, 16L);
+            final var second = 16L + lengthData.getInt(0);
+
+            lengthData.clear();
+            lengthData.putInt(0, length);
+            channel.write(lengthData, second);
+          }
+
+          final var ex =
+            Assertions.assertThrows(IOException.class, () -> {
+              EPUBCatalog.open(directory, 4096).close();
+            });
+          Assertions.assertTrue(
+            ex.getMessage().contains("segment-00000000.bin"),
+            ex::getMessage);
+        }));
+  }
+
+  @Test
+  public void testRecordTooLarge()
+    throws Exception
+  {
+    try (var catalog = EPUBCatalog.open(this.directory, 64)) {
+      Assertions.assertThrows(IOException.class, () -> {
+        catalog.append(bookOf(1, "A title that cannot fit"));
+      });
+    }
+  }
+
+  @Test
+  public void testIndexCapacity()
+  {
+    for (final var capacity : new int[]{
+      0, 3, -1, EPUBCatalogIndex.MAXIMUM_CAPACITY << 1, Integer.MAX_VALUE,
+    }) {
+      final var ex =
+        Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> new EPUBCatalogIndex(capacity));
+      Assertions.assertTrue(
+        ex.getMessage().contains("power of two"), ex::getMessage);
+    }
+
+    final var index = new EPUBCatalogIndex(1);
+    for (var value = 1L; value <= 100L; ++value) {
+      index.put(value, value, value);
+    }
+    Assertions.assertEquals(100, index.size());
+    Assertions.assertEquals(256, index.capacity());
+    Assertions.assertFalse(index.isFull());
+    for (var value = 1L; value <= 100L; ++value) {
+      Assertions.assertEquals(value, index.find(value, value));
+    }
+  }
+
+  @Test
+  public void testClosed()
+    throws Exception
+  {
+    final var catalog = EPUBCatalog.open(this.directory);
+    final EPUBCatalogView view = catalog.createView();
+    catalog.close();
+
+    Assertions.assertThrows(IllegalStateException.class, () -> {
+      catalog.find(UUID.randomUUID(), view);
+    });
+  }
+
+  @Test
+  public void testCharlesDickens()
+    throws Exception
+  {
+    final var epubFile =
+      EPUBTestDirectories.resourceOf(
+        EPUBCatalogTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(epubFile)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(epubFile.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow();
+           var catalog = EPUBCatalog.open(this.directory.resolve("catalog"))) {
+        final var epubPackage = epub.packages().get(0);
+        final var uuid = catalog.append(epubPackage);
+        Assertions.assertEquals(epub.uuid(), uuid);
+
+        final var view = catalog.createView();
+        Assertions.assertTrue(catalog.find(uuid, view));
+        Assertions.assertEquals(epub.uniqueIdentifier(), view.identifier());
+        Assertions.assertEquals(
+          epubPackage.manifest().items().size(),
+          view.manifestSize()
+        );
+        Assertions.assertEquals(
+          epub.coverImage().map(EPUBManifestItem::realPath),
+          view.coverImagePath()
+        );
+        Assertions.assertEquals(
+          epub.coverImage().map(EPUBManifestItem::mediaType),
+          view.coverImageMediaType()
+        );
+
+        final var dcCount =
+          epubPackage.metadata()
+            .properties()
+            .stream()
+            .filter(p -> p.name().startsWith("dc:"))
+            .count();
+        Assertions.assertEquals(dcCount, view.propertyCount());
+      }
+    }
+  }
+}
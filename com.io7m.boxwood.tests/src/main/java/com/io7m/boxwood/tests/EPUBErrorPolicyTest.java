@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseErrorPolicy;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.parser.api.EPUBParserType;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public final class EPUBErrorPolicyTest
+{
+  private static final int ITEM_COUNT = 1_000;
+
+  private Path book;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    final var directory = EPUBTestDirectories.createTempDirectory();
+    this.book =
+      EPUBSyntheticBook.create(0L)
+        .setDirectory("")
+        .setIdentifier("urn:x")
+        .setManifestItems(ITEM_COUNT)
+        .setSpineItems(1)
+        .setMissingEvery(1)
+        .write(directory.resolve("missing.epub"));
+  }
+
+  /**
+   * Write a book in which every manifest item is missing.
+   */
+
+  private interface ParserCheckType
+  {
+    void check(
+      SeekableByteChannel channel,
+      EPUBParserType parser)
+      throws Exception;
+  }
+
+  private void withParser(
+    final EPUBParseErrorPolicy policy,
+    final ParserCheckType check)
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.book)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.book.toUri())
+          .setErrorPolicy(policy)
+          .build();
+
+      check.check(channel, new EPUBParserFactory().createParser(request));
+    }
+  }
+
+  /**
+   * By default, every error is recorded.
+   */
+
+  @Test
+  public void testDefault()
+    throws Exception
+  {
+    this.withParser(EPUBParseErrorPolicy.builder().build(), (channel, parser) -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(ITEM_COUNT, parser.errors().size());
+      }
+    });
+  }
+
+  /**
+   * A parse that produces too many errors is abandoned.
+   */
+
+  @Test
+  public void testMaximumErrors()
+    throws Exception
+  {
+    final var policy =
+      EPUBParseErrorPolicy.builder()
+        .setMaximumErrors(10)
+        .build();
+
+    this.withParser(policy, (channel, parser) -> {
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+      Assertions.assertEquals(11, parser.errors().size());
+
+      final var last = parser.errors().get(10);
+      Assertions.assertEquals(EPUBParseErrorType.Kind.LIMIT_EXCEEDED, last.kind());
+      Assertions.assertEquals("epub.error.limit.errors", last.code());
+      Assertions.assertFalse(channel.isOpen());
+    });
+  }
+
+  /**
+   * A fail-fast parse stops at the first error.
+   */
+
+  @Test
+  public void testFailFast()
+    throws Exception
+  {
+    final var policy =
+      EPUBParseErrorPolicy.builder()
+        .setFailFast(true)
+        .build();
+
+    this.withParser(policy, (channel, parser) -> {
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+      Assertions.assertEquals(1, parser.errors().size());
+      Assertions.assertEquals(
+        "epub.error.requiredFileMissing",
+        parser.errors().get(0).code());
+      Assertions.assertFalse(channel.isOpen());
+    });
+  }
+
+  /**
+   * A fail-fast parse stops at the first error when run asynchronously.
+   */
+
+  @Test
+  public void testFailFastAsync()
+    throws Exception
+  {
+    final var policy =
+      EPUBParseErrorPolicy.builder()
+        .setFailFast(true)
+        .build();
+
+    this.withParser(policy, (channel, parser) -> {
+      Assertions.assertEquals(
+        Optional.empty(),
+        parser.executeAsync(Runnable::run).get());
+      Assertions.assertEquals(1, parser.errors().size());
+      Assertions.assertFalse(channel.isOpen());
+    });
+  }
+
+  /**
+   * Repeated errors are aggregated, and do not count towards the maximum.
+   */
+
+  @Test
+  public void testAggregated()
+    throws Exception
+  {
+    final var policy =
+      EPUBParseErrorPolicy.builder()
+        .setAggregateRepeated(true)
+        .setMaximumErrors(1)
+        .build();
+
+    this.withParser(policy, (channel, parser) -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(1, parser.errors().size());
+
+        final var error = parser.errors().get(0);
+        Assertions.assertEquals(ITEM_COUNT, error.occurrences());
+        Assertions.assertEquals(
+          "A required file was missing: text/0.xhtml",
+          error.message());
+        Assertions.assertTrue(
+          error.show().endsWith("(occurred %d times)".formatted(ITEM_COUNT)),
+          error.show());
+      }
+    });
+  }
+}
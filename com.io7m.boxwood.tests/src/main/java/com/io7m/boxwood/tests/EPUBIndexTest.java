@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifest;
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class EPUBIndexTest
+{
+  private static EPUBManifestItem item(
+    final String id,
+    final String href,
+    final String... properties)
+  {
+    return EPUBManifestItem.builder()
+      .setId(id)
+      .setHref(href)
+      .setRealPath("OEBPS/" + href)
+      .setMediaType("application/xhtml+xml")
+      .setProperties(List.of(properties))
+      .build();
+  }
+
+  private static EPUBMetadataProperty property(
+    final String name,
+    final String id,
+    final String refines,
+    final String value)
+  {
+    return EPUBMetadataProperty.builder()
+      .setName(name)
+      .setId(id)
+      .setRefines(refines)
+      .setValue(value)
+      .build();
+  }
+
+  private static EPUBPackage packageOf(
+    final EPUBMetadata metadata,
+    final EPUBManifest manifest)
+  {
+    return EPUBPackage.builder()
+      .setUniqueIdentifierReference("uid")
+      .setMetadata(metadata)
+      .setManifest(manifest)
+      .setSpine(EPUBSpine.builder().build())
+      .build();
+  }
+
+  @Test
+  public void testManifestIndexes()
+  {
+    final var a = item("a", "a.xhtml", "nav");
+    final var b = item("b", "b.xhtml", "cover-image", "svg");
+    final var c = item("c", "c.xhtml", "svg");
+    final var d = item("a", "d.xhtml");
+
+    final var manifest =
+      EPUBManifest.builder()
+        .setItems(List.of(a, b, c, d))
+        .build();
+
+    Assertions.assertEquals(3, manifest.itemsById().size());
+    Assertions.assertSame(a, manifest.itemsById().get("a"));
+    Assertions.assertSame(c, manifest.itemsById().get("c"));
+    Assertions.assertSame(d, manifest.itemsByHref().get("d.xhtml"));
+    Assertions.assertSame(b, manifest.itemsByRealPath().get("OEBPS/b.xhtml"));
+    Assertions.assertEquals(List.of(b, c), manifest.itemsByProperty().get("svg"));
+    Assertions.assertEquals(List.of(a), manifest.itemsByProperty().get("nav"));
+    Assertions.assertNull(manifest.itemsByProperty().get("scripted"));
+
+    Assertions.assertThrows(
+      UnsupportedOperationException.class,
+      () -> manifest.itemsById().clear());
+    Assertions.assertThrows(
+      UnsupportedOperationException.class,
+      () -> manifest.itemsByProperty().get("svg").clear());
+  }
+
+  @Test
+  public void testMetadataIndexes()
+  {
+    final var title = property("dc:title", "t", "", "Great Expectations");
+    final var titleType = property("title-type", "", "#t", "main");
+    final var fileAs = property("file-as", "", "#t", "Great Expectations");
+    final var uid = property("dc:identifier", "uid", "", "urn:x");
+    final var other = property("dc:title", "", "", "Subtitle");
+
+    final var metadata =
+      EPUBMetadata.builder()
+        .setProperties(List.of(title, titleType, fileAs, uid, other))
+        .addLegacyProperties(
+          EPUBMetadataLegacyProperty.builder()
+            .setName("cover")
+            .setContent("x")
+            .build())
+        .build();
+
+    Assertions.assertEquals(
+      Map.of("t", title, "uid", uid), metadata.propertiesById());
+    Assertions.assertEquals(
+      List.of(title, other), metadata.propertiesByName().get("dc:title"));
+    Assertions.assertEquals(
+      Map.of("t", List.of(titleType, fileAs)),
+      metadata.propertiesByRefines());
+    Assertions.assertEquals(
+      "x", metadata.legacyPropertiesByName().get("cover").get(0).content());
+  }
+
+  @Test
+  public void testIndexesIgnoredByEquality()
+  {
+    final var items = List.of(item("a", "a.xhtml"), item("b", "b.xhtml"));
+    final var m0 = EPUBManifest.builder().setItems(items).build();
+    final var m1 = EPUBManifest.copyOf(m0).withItems(items);
+
+    Assertions.assertEquals(m0, m1);
+    Assertions.assertEquals(m0.hashCode(), m1.hashCode());
+    Assertions.assertEquals(m0.itemsById(), m1.itemsById());
+    Assertions.assertFalse(m0.toString().contains("itemsById"));
+  }
+
+  @Test
+  public void testPackageLookups()
+  {
+    final var cover = item("cov", "cover.jpg");
+    final var manifest =
+      EPUBManifest.builder()
+        .setItems(List.of(item("a", "a.xhtml"), cover))
+        .build();
+
+    final var metadata =
+      EPUBMetadata.builder()
+        .addProperties(property("dc:identifier", "uid", "", "urn:x"))
+        .addLegacyProperties(
+          EPUBMetadataLegacyProperty.builder()
+            .setName("cover")
+            .setContent("cov")
+            .build())
+        .build();
+
+    final var pack = packageOf(metadata, manifest);
+    Assertions.assertEquals("urn:x", pack.uniqueIdentifier());
+    Assertions.assertEquals(Optional.of(cover), pack.coverImage());
+
+    final var modern = item("img", "img.png", "cover-image");
+    final var packModern =
+      packageOf(
+        metadata,
+        EPUBManifest.builder()
+          .setItems(List.of(cover, modern))
+          .build()
+      );
+    Assertions.assertEquals(Optional.of(modern), packModern.coverImage());
+
+    final var packNone =
+      packageOf(
+        EPUBMetadata.builder()
+          .addProperties(property("dc:identifier", "uid", "", "urn:x"))
+          .build(),
+        manifest
+      );
+    Assertions.assertEquals(Optional.empty(), packNone.coverImage());
+
+    final var packBroken =
+      packageOf(EPUBMetadata.builder().build(), manifest);
+    Assertions.assertThrows(
+      IllegalStateException.class, packBroken::uniqueIdentifier);
+  }
+}
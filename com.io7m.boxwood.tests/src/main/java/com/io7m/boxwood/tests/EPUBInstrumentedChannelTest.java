@@ -0,0 +1,252 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBChannelStatistics;
+import com.io7m.boxwood.vanilla.EPUBInstrumentedChannelType;
+import com.io7m.boxwood.vanilla.EPUBParseMetrics;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.EPUBParserFactoryConfiguration;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public final class EPUBInstrumentedChannelTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(EPUBInstrumentedChannelTest.class);
+
+  private Path directory;
+
+  /**
+   * A sample book and the maximum number of channel reads permitted when
+   * parsing it. Opening an archive currently costs about four reads per
+   * entry: the central directory record, and the local file header that is
+   * read to find the start of the entry data.
+   */
+
+  private record Bound(
+    String name,
+    long maximumReads)
+  {
+
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+  }
+
+  private EPUBChannelStatistics parse(
+    final String name,
+    final SeekableByteChannel channel)
+    throws IOException
+  {
+    final var file = this.directory.resolve(name);
+    try (var instrumented = EPUBInstrumentedChannelType.wrap(channel)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(instrumented)
+          .setUri(file.toUri())
+          .build();
+
+      new EPUBParserFactory().createParser(request)
+        .execute()
+        .ifPresent(epub -> {
+          try {
+            epub.close();
+          } catch (final IOException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+
+      final var statistics = instrumented.statistics();
+      LOG.debug("{}: {}", name, statistics);
+      return statistics;
+    }
+  }
+
+  /**
+   * Parsing the sample books performs a bounded number of channel reads.
+   *
+   * @return The tests
+   */
+
+  @TestFactory
+  public Stream<DynamicTest> testReadBounds()
+  {
+    return Stream.of(
+      new Bound("charles-dickens_great-expectations.epub", 320L),
+      new Bound("empty.epub", 4L),
+      new Bound("no-container.epub", 16L)
+    ).map(bound -> DynamicTest.dynamicTest("testReadBounds_" + bound.name, () -> {
+      final var file =
+        EPUBTestDirectories.resourceOf(
+          EPUBInstrumentedChannelTest.class,
+          this.directory,
+          bound.name
+        );
+
+      final var fileStatistics =
+        this.parse(bound.name, FileChannel.open(file));
+      Assertions.assertTrue(
+        fileStatistics.readCalls() <= bound.maximumReads,
+        () -> "File channel reads " + fileStatistics.readCalls());
+      Assertions.assertTrue(
+        fileStatistics.bytesRead() <= 2L * Files.size(file),
+        () -> "File channel bytes " + fileStatistics.bytesRead());
+
+      final var memoryStatistics =
+        this.parse(
+          bound.name,
+          new SeekableInMemoryByteChannel(Files.readAllBytes(file)));
+      Assertions.assertTrue(
+        memoryStatistics.readCalls() <= bound.maximumReads,
+        () -> "Memory channel reads " + memoryStatistics.readCalls());
+    }));
+  }
+
+  /**
+   * Wrapping a file channel produces a file channel.
+   */
+
+  @Test
+  public void testFileChannelPreserved()
+    throws Exception
+  {
+    final var file = this.directory.resolve("file.bin");
+    Files.write(file, new byte[100]);
+
+    try (var channel = EPUBInstrumentedChannelType.wrap(FileChannel.open(file))) {
+      Assertions.assertInstanceOf(FileChannel.class, channel);
+
+      final var fileChannel = (FileChannel) channel;
+      fileChannel.read(ByteBuffer.allocate(10), 50L);
+      fileChannel.read(ByteBuffer.allocate(10), 60L);
+
+      final var statistics = channel.statistics();
+      Assertions.assertEquals(2L, statistics.readCalls());
+      Assertions.assertEquals(20L, statistics.bytesRead());
+      Assertions.assertEquals(1L, statistics.seeks());
+      Assertions.assertEquals(50L, statistics.seekDistance());
+      Assertions.assertEquals(0L, statistics.positionCalls());
+    }
+
+    Assertions.assertTrue(Files.exists(file));
+  }
+
+  /**
+   * Reads, seeks, and read sizes are counted.
+   */
+
+  @Test
+  public void testCounts()
+    throws Exception
+  {
+    final var data = new byte[4096];
+    try (var channel =
+           EPUBInstrumentedChannelType.wrap(
+             new SeekableInMemoryByteChannel(data))) {
+      channel.read(ByteBuffer.allocate(1));
+      channel.read(ByteBuffer.allocate(100));
+      channel.position(1000L);
+      channel.read(ByteBuffer.allocate(1000));
+      channel.position(4096L);
+      channel.read(ByteBuffer.allocate(10));
+      channel.size();
+      channel.position();
+
+      final var statistics = channel.statistics();
+      Assertions.assertEquals(4L, statistics.readCalls());
+      Assertions.assertEquals(1101L, statistics.bytesRead());
+      Assertions.assertEquals(2L, statistics.positionCalls());
+      Assertions.assertEquals(1L, statistics.positionQueries());
+      Assertions.assertEquals(1L, statistics.sizeCalls());
+      Assertions.assertEquals(2L, statistics.seeks());
+      Assertions.assertEquals(899L + 2096L, statistics.seekDistance());
+
+      final var sizes = statistics.readSizes();
+      Assertions.assertEquals(1L, sizes.get(0).longValue());
+      Assertions.assertEquals(1L, sizes.get(1).longValue());
+      Assertions.assertEquals(1L, sizes.get(7).longValue());
+      Assertions.assertEquals(1L, sizes.get(10).longValue());
+    }
+  }
+
+  /**
+   * Channel reads are reported to metrics exactly.
+   */
+
+  @Test
+  public void testMetrics()
+    throws Exception
+  {
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBInstrumentedChannelTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    final var metrics = new EPUBParseMetrics();
+    final var parsers =
+      new EPUBParserFactory(
+        EPUBParserFactoryConfiguration.builder()
+          .setMetrics(metrics)
+          .build()
+      );
+
+    try (var channel = EPUBInstrumentedChannelType.wrap(FileChannel.open(file))) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .setProfiled(true)
+          .build();
+
+      final var parser = parsers.createParser(request);
+      parser.execute().orElseThrow();
+
+      final var outer = channel.statistics();
+      final var profile = parser.profile().orElseThrow();
+      final var snapshot = metrics.snapshot();
+      Assertions.assertEquals(outer.readCalls(), profile.channelReads());
+      Assertions.assertEquals(outer.bytesRead(), profile.channelBytesRead());
+      Assertions.assertEquals(outer.seeks(), profile.channelSeeks());
+      Assertions.assertEquals(outer.readCalls(), snapshot.channelReads());
+      Assertions.assertEquals(outer.bytesRead(), snapshot.channelBytesRead());
+      Assertions.assertEquals(outer.seeks(), snapshot.channelSeeks());
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+public final class EPUBJFREventsTest
+{
+  private static final List<String> EVENTS =
+    List.of(
+      "com.io7m.boxwood.ArchiveOpen",
+      "com.io7m.boxwood.CentralDirectoryRead",
+      "com.io7m.boxwood.ContainerParse",
+      "com.io7m.boxwood.PackageParse",
+      "com.io7m.boxwood.ManifestCheck",
+      "com.io7m.boxwood.FileInflate"
+    );
+
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBJFREventsTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private static RecordedEvent only(
+    final List<RecordedEvent> events,
+    final String name)
+  {
+    final var matching =
+      events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .toList();
+    Assertions.assertEquals(1, matching.size(), name);
+    return matching.get(0);
+  }
+
+  /**
+   * Every stage of a parse, and every file opened, is recorded.
+   */
+
+  @Test
+  public void testEventsRecorded()
+    throws Exception
+  {
+    final var output = this.directory.resolve("parse.jfr");
+    final var size = Files.size(this.dickens);
+    final String itemPath;
+    final long itemSize;
+
+    try (var recording = new Recording()) {
+      for (final var name : EVENTS) {
+        recording.enable(name).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+
+      try (var channel = Files.newByteChannel(this.dickens)) {
+        final var request =
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(this.dickens.toUri())
+            .build();
+
+        try (var epub = new EPUBParserFactory()
+          .createParser(request)
+          .execute()
+          .orElseThrow()) {
+          final var item =
+            epub.packages().get(0).manifest().items().get(0);
+          itemPath = item.realPath();
+          try (var stream = epub.openFile(itemPath)) {
+            itemSize = stream.readAllBytes().length;
+          }
+        }
+      }
+
+      recording.stop();
+      recording.dump(output);
+    }
+
+    final var events = RecordingFile.readAllEvents(output);
+
+    final var open = only(events, "com.io7m.boxwood.ArchiveOpen");
+    Assertions.assertEquals(size, open.getLong("archiveSize"));
+    Assertions.assertTrue(open.getLong("entries") > 0L);
+    Assertions.assertTrue(open.getBoolean("succeeded"));
+
+    final var directory = only(events, "com.io7m.boxwood.CentralDirectoryRead");
+    Assertions.assertEquals(open.getLong("entries"), directory.getLong("entries"));
+
+    final var container = only(events, "com.io7m.boxwood.ContainerParse");
+    Assertions.assertEquals(1, container.getInt("rootFiles"));
+    Assertions.assertTrue(container.getLong("size") > 0L);
+
+    final var pack = only(events, "com.io7m.boxwood.PackageParse");
+    Assertions.assertTrue(pack.getLong("bytes") > 0L);
+    Assertions.assertTrue(pack.getInt("manifestItems") > 0);
+    Assertions.assertTrue(pack.getInt("spineItems") > 0);
+
+    final var manifest = only(events, "com.io7m.boxwood.ManifestCheck");
+    Assertions.assertEquals(
+      (long) pack.getInt("manifestItems"), manifest.getLong("items"));
+    Assertions.assertEquals(0L, manifest.getLong("missing"));
+
+    final var inflate = only(events, "com.io7m.boxwood.FileInflate");
+    Assertions.assertEquals(itemPath, inflate.getString("name"));
+    Assertions.assertEquals(itemSize, inflate.getLong("bytesRead"));
+    Assertions.assertEquals(itemSize, inflate.getLong("size"));
+  }
+}
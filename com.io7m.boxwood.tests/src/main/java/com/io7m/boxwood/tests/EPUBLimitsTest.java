@@ -0,0 +1,427 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.parser.api.EPUBParserType;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Synthetic hostile inputs are rejected quickly, with precise errors.
+ */
+
+public final class EPUBLimitsTest
+{
+  private static final Duration TIMEOUT = Duration.ofSeconds(10L);
+
+  private static final String CONTAINER = """
+    <?xml version="1.0" encoding="UTF-8"?>
+    <container xmlns="urn:oasis:names:tc:opendocument:xmlns:container" version="1.0">
+      <rootfiles>
+        <rootfile full-path="content.opf" media-type="application/oebps-package+xml"/>
+      </rootfiles>
+    </container>
+    """.strip();
+
+  private static final String PACKAGE_START = """
+    <?xml version="1.0" encoding="UTF-8"?>
+    <package xmlns="http://www.idpf.org/2007/opf" unique-identifier="uid" version="3.0">
+      <metadata xmlns:dc="http://purl.org/dc/elements/1.1/">
+        <dc:identifier id="uid">urn:x</dc:identifier>
+      </metadata>
+    """;
+
+  private static final String PACKAGE_END = """
+      <manifest><item id="i" href="i.xhtml" media-type="application/xhtml+xml"/></manifest>
+      <spine><itemref idref="i"/></spine>
+    </package>
+    """;
+
+  private Path directory;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+  }
+
+  private interface PackageWriterType
+  {
+    void write(OutputStream output)
+      throws IOException;
+  }
+
+  private Path writeBook(
+    final String name,
+    final PackageWriterType opf)
+    throws IOException
+  {
+    final var file = this.directory.resolve(name);
+    try (var output = new ZipOutputStream(Files.newOutputStream(file))) {
+      output.putNextEntry(new ZipEntry("META-INF/container.xml"));
+      output.write(CONTAINER.getBytes(UTF_8));
+      output.closeEntry();
+      output.putNextEntry(new ZipEntry("content.opf"));
+      opf.write(output);
+      output.closeEntry();
+      output.putNextEntry(new ZipEntry("i.xhtml"));
+      output.closeEntry();
+    }
+    return file;
+  }
+
+  private static List<EPUBParseError> parse(
+    final Path file,
+    final EPUBParseLimits limits)
+    throws IOException
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .setLimits(limits)
+          .build();
+
+      final EPUBParserType parser =
+        new EPUBParserFactory().createParser(request);
+      final var result =
+        Assertions.assertTimeoutPreemptively(TIMEOUT, parser::execute);
+      Assertions.assertEquals(Optional.empty(), result);
+      return List.copyOf(parser.errors());
+    }
+  }
+
+  private static void checkLimitError(
+    final List<EPUBParseError> errors,
+    final String fragment)
+  {
+    Assertions.assertEquals(1, errors.size(), errors::toString);
+    final var error = errors.get(0);
+    Assertions.assertEquals(EPUBParseErrorType.Kind.LIMIT_EXCEEDED, error.kind());
+    Assertions.assertTrue(
+      error.message().contains(fragment),
+      () -> "%s contains %s".formatted(error.message(), fragment));
+  }
+
+  /**
+   * A book that is within the default limits is parsed normally.
+   */
+
+  @Test
+  public void testWithinLimits()
+    throws Exception
+  {
+    final var file =
+      this.writeBook("ok.epub", output -> {
+        output.write(PACKAGE_START.getBytes(UTF_8));
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+      }
+    }
+  }
+
+  /**
+   * An archive with too many entries is rejected before its central
+   * directory is loaded.
+   */
+
+  @Test
+  public void testTooManyEntries()
+    throws Exception
+  {
+    final var file = this.directory.resolve("entries.epub");
+    try (var output = new ZipOutputStream(Files.newOutputStream(file))) {
+      for (var index = 0; index < 2_000; ++index) {
+        output.putNextEntry(new ZipEntry("e%d".formatted(index)));
+        output.closeEntry();
+      }
+    }
+
+    checkLimitError(
+      parse(file, EPUBParseLimits.builder().setMaximumEntries(1_000L).build()),
+      "2000 entries"
+    );
+  }
+
+  /**
+   * The real number of entries is read from the ZIP64 record of an archive
+   * that has too many entries for the classic record. The archive consists
+   * of nothing but the records at the end of the archive, claiming far more
+   * entries than are present.
+   */
+
+  @Test
+  public void testTooManyEntriesZip64()
+    throws Exception
+  {
+    final var buffer =
+      ByteBuffer.allocate(56 + 20 + 22)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.putInt(0x06064b50);
+    buffer.putLong(44L);
+    buffer.putShort((short) 45);
+    buffer.putShort((short) 45);
+    buffer.putInt(0);
+    buffer.putInt(0);
+    buffer.putLong(100_000_000L);
+    buffer.putLong(100_000_000L);
+    buffer.putLong(0L);
+    buffer.putLong(0L);
+
+    buffer.putInt(0x07064b50);
+    buffer.putInt(0);
+    buffer.putLong(0L);
+    buffer.putInt(1);
+
+    buffer.putInt(0x06054b50);
+    buffer.putShort((short) 0);
+    buffer.putShort((short) 0);
+    buffer.putShort((short) 0xffff);
+    buffer.putShort((short) 0xffff);
+    buffer.putInt(0xffffffff);
+    buffer.putInt(0xffffffff);
+    buffer.putShort((short) 0);
+
+    final var file = this.directory.resolve("entries64.epub");
+    Files.write(file, buffer.array());
+
+    checkLimitError(
+      parse(file, EPUBParseLimits.builder().build()),
+      "100000000 entries"
+    );
+  }
+
+  /**
+   * A package that decompresses to a very large amount of whitespace is
+   * rejected by the compression ratio limit long before it is fully
+   * inflated.
+   */
+
+  @Test
+  public void testCompressionBomb()
+    throws Exception
+  {
+    final var file =
+      this.writeBook("bomb.epub", output -> {
+        output.write(PACKAGE_START.getBytes(UTF_8));
+        final var spaces = " ".repeat(1024 * 1024).getBytes(UTF_8);
+        for (var index = 0; index < 64; ++index) {
+          output.write(spaces);
+        }
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    checkLimitError(
+      parse(file, EPUBParseLimits.builder().build()),
+      "times its compressed size"
+    );
+  }
+
+  /**
+   * A package that is larger than the size limit is rejected.
+   */
+
+  @Test
+  public void testTooLarge()
+    throws Exception
+  {
+    final var file =
+      this.writeBook("large.epub", output -> {
+        output.write(PACKAGE_START.getBytes(UTF_8));
+        final var spaces = " ".repeat(1024 * 1024).getBytes(UTF_8);
+        for (var index = 0; index < 4; ++index) {
+          output.write(spaces);
+        }
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    checkLimitError(
+      parse(
+        file,
+        EPUBParseLimits.builder()
+          .setMaximumXMLSize(1024L * 1024L)
+          .setMaximumCompressionRatio(1_000_000.0)
+          .build()),
+      "larger than the limit of 1048576 bytes"
+    );
+  }
+
+  /**
+   * A package with too many elements is rejected.
+   */
+
+  @Test
+  public void testTooManyElements()
+    throws Exception
+  {
+    final var file =
+      this.writeBook("elements.epub", output -> {
+        output.write(PACKAGE_START.getBytes(UTF_8));
+        output.write("<manifest>".getBytes(UTF_8));
+        for (var index = 0; index < 10_000; ++index) {
+          output.write(
+            "<item id=\"x%d\" href=\"x.xhtml\" media-type=\"text/css\"/>"
+              .formatted(index)
+              .getBytes(UTF_8));
+        }
+        output.write("</manifest>".getBytes(UTF_8));
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    checkLimitError(
+      parse(file, EPUBParseLimits.builder().setMaximumElements(1_000).build()),
+      "limit of 1000 elements"
+    );
+  }
+
+  /**
+   * A package with deeply nested elements is rejected.
+   */
+
+  @Test
+  public void testTooDeep()
+    throws Exception
+  {
+    final var file =
+      this.writeBook("deep.epub", output -> {
+        output.write(PACKAGE_START.getBytes(UTF_8));
+        output.write("<x>".repeat(100_000).getBytes(UTF_8));
+        output.write("</x>".repeat(100_000).getBytes(UTF_8));
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    final var errors = parse(file, EPUBParseLimits.builder().build());
+    checkLimitError(errors, "limit of 64 elements");
+    Assertions.assertEquals(6, errors.get(0).lexical().line());
+  }
+
+  /**
+   * A container with deeply nested elements is rejected.
+   */
+
+  @Test
+  public void testContainerTooDeep()
+    throws Exception
+  {
+    final var file = this.directory.resolve("deep-container.epub");
+    try (var output = new ZipOutputStream(Files.newOutputStream(file))) {
+      output.putNextEntry(new ZipEntry("META-INF/container.xml"));
+      output.write("<container>".getBytes(UTF_8));
+      output.write("<x>".repeat(100_000).getBytes(UTF_8));
+      output.write("</x>".repeat(100_000).getBytes(UTF_8));
+      output.write("</container>".getBytes(UTF_8));
+      output.closeEntry();
+    }
+
+    checkLimitError(
+      parse(file, EPUBParseLimits.builder().setMaximumDepth(8).build()),
+      "limit of 8 elements"
+    );
+  }
+
+  /**
+   * A package with a very long attribute is rejected.
+   */
+
+  @Test
+  public void testAttributeTooLong()
+    throws Exception
+  {
+    final var file =
+      this.writeBook("attribute.epub", output -> {
+        output.write(PACKAGE_START.getBytes(UTF_8));
+        output.write("<x y=\"".getBytes(UTF_8));
+        output.write("a".repeat(1024 * 1024).getBytes(UTF_8));
+        output.write("\"/>".getBytes(UTF_8));
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    checkLimitError(
+      parse(
+        file,
+        EPUBParseLimits.builder()
+          .setMaximumCompressionRatio(1_000_000.0)
+          .build()),
+      "attribute \"y\" of element \"x\" is 1048576 characters long"
+    );
+  }
+
+  /**
+   * Exponential entity expansion is rejected by the XML parser itself.
+   */
+
+  @Test
+  public void testEntityExpansion()
+    throws Exception
+  {
+    final var entities = new StringBuilder(1024);
+    entities.append("<!DOCTYPE package [\n<!ENTITY e0 \"lol\">\n");
+    for (var index = 1; index < 12; ++index) {
+      entities.append("<!ENTITY e%d \"%s\">\n".formatted(
+        index, "&e%d;".formatted(index - 1).repeat(10)));
+    }
+    entities.append("]>\n");
+
+    final var file =
+      this.writeBook("laughs.epub", output -> {
+        output.write(entities.toString().getBytes(UTF_8));
+        output.write(PACKAGE_START.strip()
+          .replace("<?xml version=\"1.0\" encoding=\"UTF-8\"?>", "")
+          .getBytes(UTF_8));
+        output.write("<x>&e11;</x>".getBytes(UTF_8));
+        output.write(PACKAGE_END.getBytes(UTF_8));
+      });
+
+    final var errors = parse(file, EPUBParseLimits.builder().build());
+    Assertions.assertFalse(errors.isEmpty());
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBManifestItemProperty;
+import com.io7m.boxwood.api.EPUBMediaTypeCategory;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.io7m.boxwood.api.EPUBManifestItemProperty.COVER_IMAGE;
+import static com.io7m.boxwood.api.EPUBManifestItemProperty.NAV;
+import static com.io7m.boxwood.api.EPUBManifestItemProperty.SCRIPTED;
+import static com.io7m.boxwood.api.EPUBManifestItemProperty.SVG;
+
+public final class EPUBManifestItemTest
+{
+  private static EPUBManifestItem item(
+    final String mediaType,
+    final String... properties)
+  {
+    return EPUBManifestItem.builder()
+      .setId("x")
+      .setHref("x")
+      .setRealPath("x")
+      .setMediaType(mediaType)
+      .setProperties(List.of(properties))
+      .build();
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> testPropertyNames()
+  {
+    return Stream.of(EPUBManifestItemProperty.values())
+      .map(property -> DynamicTest.dynamicTest(
+        "testPropertyNames" + property,
+        () -> {
+          Assertions.assertEquals(
+            Optional.of(property),
+            EPUBManifestItemProperty.ofName(property.propertyName())
+          );
+          Assertions.assertEquals(1, Integer.bitCount(property.bit()));
+        }));
+  }
+
+  @Test
+  public void testKnownProperties()
+  {
+    final var item =
+      item("image/svg+xml", "svg", "x-custom", "cover-image", "ext:other");
+
+    Assertions.assertEquals(SVG.bit() | COVER_IMAGE.bit(), item.knownProperties());
+    Assertions.assertEquals(List.of("x-custom", "ext:other"), item.unknownProperties());
+    Assertions.assertTrue(item.hasProperty(SVG));
+    Assertions.assertTrue(item.isCoverImage());
+    Assertions.assertFalse(item.isNavigation());
+    Assertions.assertFalse(item.hasProperty(SCRIPTED));
+
+    final var nav = item("application/xhtml+xml", "nav");
+    Assertions.assertTrue(nav.isNavigation());
+    Assertions.assertEquals(NAV.bit(), nav.knownProperties());
+    Assertions.assertEquals(List.of(), nav.unknownProperties());
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> testMediaTypeCategory()
+  {
+    final var cases = Map.ofEntries(
+      Map.entry("application/xhtml+xml", EPUBMediaTypeCategory.XHTML),
+      Map.entry("APPLICATION/XHTML+XML; charset=utf-8", EPUBMediaTypeCategory.XHTML),
+      Map.entry("image/svg+xml", EPUBMediaTypeCategory.SVG),
+      Map.entry("image/png", EPUBMediaTypeCategory.IMAGE),
+      Map.entry("image/jpeg", EPUBMediaTypeCategory.IMAGE),
+      Map.entry("text/css", EPUBMediaTypeCategory.STYLESHEET),
+      Map.entry("font/woff2", EPUBMediaTypeCategory.FONT),
+      Map.entry("application/vnd.ms-opentype", EPUBMediaTypeCategory.FONT),
+      Map.entry("audio/mpeg", EPUBMediaTypeCategory.AUDIO),
+      Map.entry("video/mp4", EPUBMediaTypeCategory.VIDEO),
+      Map.entry("text/javascript", EPUBMediaTypeCategory.SCRIPT),
+      Map.entry("application/x-dtbncx+xml", EPUBMediaTypeCategory.NCX),
+      Map.entry("application/smil+xml", EPUBMediaTypeCategory.SMIL),
+      Map.entry("application/pdf", EPUBMediaTypeCategory.OTHER),
+      Map.entry("nonsense", EPUBMediaTypeCategory.OTHER)
+    );
+
+    return cases.entrySet()
+      .stream()
+      .map(entry -> DynamicTest.dynamicTest(
+        "testMediaTypeCategory" + entry.getKey(),
+        () -> {
+          Assertions.assertEquals(
+            entry.getValue(),
+            EPUBMediaTypeCategory.ofMediaType(entry.getKey()));
+          Assertions.assertEquals(
+            entry.getValue(),
+            item(entry.getKey()).mediaTypeCategory());
+        }));
+  }
+
+  @Test
+  public void testParsedProperties()
+    throws Exception
+  {
+    final var directory = EPUBTestDirectories.createTempDirectory();
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBManifestItemTest.class,
+        directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        for (final var item : epub.packages().get(0).manifest().items()) {
+          Assertions.assertFalse(item.properties().contains(""));
+          for (final var name : item.properties()) {
+            Assertions.assertFalse(name.isBlank());
+          }
+        }
+        Assertions.assertTrue(epub.coverImage().orElseThrow().isCoverImage());
+      }
+    }
+  }
+}
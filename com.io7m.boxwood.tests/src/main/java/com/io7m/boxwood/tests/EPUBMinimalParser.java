@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParserType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A parser that implements only the abstract methods of
+ * {@link EPUBParserType}, delegating to another parser, so that the
+ * default methods of the interface can be tested.
+ */
+
+final class EPUBMinimalParser implements EPUBParserType
+{
+  private final EPUBParserType delegate;
+
+  EPUBMinimalParser(
+    final EPUBParserType inDelegate)
+  {
+    this.delegate = Objects.requireNonNull(inDelegate, "delegate");
+  }
+
+  @Override
+  public List<EPUBParseError> errors()
+  {
+    return this.delegate.errors();
+  }
+
+  @Override
+  public Optional<EPUBType> execute()
+    throws IOException
+  {
+    return this.delegate.execute();
+  }
+}
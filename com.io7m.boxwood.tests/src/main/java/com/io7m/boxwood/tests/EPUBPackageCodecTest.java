@@ -0,0 +1,290 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifest;
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpine;
+import com.io7m.boxwood.api.EPUBSpineItem;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBPackageCodec;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public final class EPUBPackageCodecTest
+{
+  private Path directory;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+  }
+
+  private static EPUBPackage examplePackage()
+  {
+    return EPUBPackage.builder()
+      .setUniqueIdentifierReference("uid")
+      .setMetadata(
+        EPUBMetadata.builder()
+          .addProperties(
+            EPUBMetadataProperty.builder()
+              .setName("dc:identifier")
+              .setId("uid")
+              .setValue("urn:uuid:0d2c9e8c-8a1c-4c1e-9a59-6bd1fba8f0a5")
+              .build())
+          .addProperties(
+            EPUBMetadataProperty.builder()
+              .setName("dc:title")
+              .setValue("Ünïcödé 📖")
+              .build())
+          .addProperties(
+            EPUBMetadataProperty.builder()
+              .setName("file-as")
+              .setRefines("#creator")
+              .setScheme("marc:relators")
+              .setValue("Dickens, Charles")
+              .build())
+          .addLegacyProperties(
+            EPUBMetadataLegacyProperty.builder()
+              .setName("cover")
+              .setContent("cover-image")
+              .build())
+          .build())
+      .setManifest(
+        EPUBManifest.builder()
+          .addItems(
+            EPUBManifestItem.builder()
+              .setId("cover-image")
+              .setHref("images/cover.jpg")
+              .setRealPath("OEBPS/images/cover.jpg")
+              .setMediaType("image/jpeg")
+              .addProperties("cover-image")
+              .build())
+          .addItems(
+            EPUBManifestItem.builder()
+              .setId("c1")
+              .setHref("c1.xhtml")
+              .setRealPath("OEBPS/c1.xhtml")
+              .setMediaType("application/xhtml+xml")
+              .addProperties("scripted", "svg")
+              .build())
+          .build())
+      .setSpine(
+        EPUBSpine.builder()
+          .addItems(EPUBSpineItem.builder().setReference("c1").build())
+          .build())
+      .build();
+  }
+
+  @Test
+  public void testRoundTripExample()
+    throws Exception
+  {
+    final var packages = List.of(examplePackage(), examplePackage());
+    final var data = EPUBPackageCodec.encode(packages);
+    final var buffer = ByteBuffer.wrap(data);
+    Assertions.assertEquals(packages, EPUBPackageCodec.decode(buffer));
+    Assertions.assertEquals(0, buffer.remaining());
+  }
+
+  @Test
+  public void testRoundTripEmpty()
+    throws Exception
+  {
+    final var data = EPUBPackageCodec.encode(List.of());
+    Assertions.assertEquals(
+      List.of(),
+      EPUBPackageCodec.decode(ByteBuffer.wrap(data))
+    );
+  }
+
+  @Test
+  public void testRoundTripDirectBuffer()
+    throws Exception
+  {
+    final var packages = List.of(examplePackage());
+    final var data = EPUBPackageCodec.encode(packages);
+    final var buffer = ByteBuffer.allocateDirect(data.length);
+    buffer.put(data);
+    buffer.flip();
+    Assertions.assertEquals(packages, EPUBPackageCodec.decode(buffer));
+  }
+
+  @Test
+  public void testRoundTripOffsetBuffer()
+    throws Exception
+  {
+    final var packages = List.of(examplePackage());
+    final var data = EPUBPackageCodec.encode(packages);
+    final var padded = new byte[data.length + 7];
+    System.arraycopy(data, 0, padded, 7, data.length);
+    final var buffer = ByteBuffer.wrap(padded, 7, data.length).slice();
+    Assertions.assertEquals(packages, EPUBPackageCodec.decode(buffer));
+  }
+
+  @Test
+  public void testRoundTripLittleEndianBuffer()
+    throws Exception
+  {
+    final var packages = List.of(examplePackage());
+    final var data = EPUBPackageCodec.encode(packages);
+    final var buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+    Assertions.assertEquals(packages, EPUBPackageCodec.decode(buffer));
+    Assertions.assertEquals(data.length, buffer.position());
+    Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+  }
+
+  @Test
+  public void testRoundTripCharlesDickens()
+    throws Exception
+  {
+    final var epubFile =
+      EPUBTestDirectories.resourceOf(
+        EPUBPackageCodecTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(epubFile)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(epubFile.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        final var packages = epub.packages();
+        final var data = EPUBPackageCodec.encode(packages);
+        final var decoded = EPUBPackageCodec.decode(ByteBuffer.wrap(data));
+        Assertions.assertEquals(packages, decoded);
+      }
+    }
+  }
+
+  @Test
+  public void testStringsShared()
+    throws Exception
+  {
+    final var data = EPUBPackageCodec.encode(List.of(examplePackage()));
+    final var decoded =
+      EPUBPackageCodec.decode(ByteBuffer.wrap(data)).get(0);
+
+    final var coverId =
+      decoded.manifest().items().get(0).id();
+    final var coverContent =
+      decoded.metadata().legacyProperties().get(0).content();
+
+    Assertions.assertSame(coverId, coverContent);
+  }
+
+  @Test
+  public void testBadMagic()
+  {
+    final var data = EPUBPackageCodec.encode(List.of(examplePackage()));
+    data[0] = 0;
+
+    Assertions.assertThrows(IOException.class, () -> {
+      EPUBPackageCodec.decode(ByteBuffer.wrap(data));
+    });
+  }
+
+  @Test
+  public void testBadVersion()
+  {
+    final var data = EPUBPackageCodec.encode(List.of(examplePackage()));
+    data[4] = (byte) (EPUBPackageCodec.FORMAT_VERSION + 1);
+
+    Assertions.assertThrows(IOException.class, () -> {
+      EPUBPackageCodec.decode(ByteBuffer.wrap(data));
+    });
+  }
+
+  @Test
+  public void testVarIntOverflow()
+  {
+    final var data = EPUBPackageCodec.encode(List.of(examplePackage()));
+
+    /*
+     * Replace the version with a five-byte integer whose final byte has
+     * bits set above the 32 bits that an int can hold.
+     */
+
+    final var overflowing = new byte[data.length + 4];
+    System.arraycopy(data, 0, overflowing, 0, 4);
+    overflowing[4] = (byte) 0x81;
+    overflowing[5] = (byte) 0x80;
+    overflowing[6] = (byte) 0x80;
+    overflowing[7] = (byte) 0x80;
+    overflowing[8] = (byte) 0x10;
+    System.arraycopy(data, 5, overflowing, 9, data.length - 5);
+
+    final var ex =
+      Assertions.assertThrows(IOException.class, () -> {
+        EPUBPackageCodec.decode(ByteBuffer.wrap(overflowing));
+      });
+    Assertions.assertTrue(ex.getMessage().contains("Malformed"));
+  }
+
+  @Test
+  public void testTruncated()
+  {
+    final var data = EPUBPackageCodec.encode(List.of(examplePackage()));
+
+    for (var size = 0; size < data.length; ++size) {
+      final var truncated = Arrays.copyOf(data, size);
+      Assertions.assertThrows(IOException.class, () -> {
+        EPUBPackageCodec.decode(ByteBuffer.wrap(truncated));
+      });
+    }
+  }
+
+  @Test
+  public void testOptionalsPreserved()
+    throws Exception
+  {
+    final var data = EPUBPackageCodec.encode(List.of(examplePackage()));
+    final var decoded =
+      EPUBPackageCodec.decode(ByteBuffer.wrap(data)).get(0);
+    final var properties =
+      decoded.metadata().properties();
+
+    Assertions.assertEquals(Optional.of("uid"), properties.get(0).id());
+    Assertions.assertEquals(Optional.empty(), properties.get(0).refines());
+    Assertions.assertEquals(Optional.empty(), properties.get(1).id());
+    Assertions.assertEquals(Optional.of("#creator"), properties.get(2).refines());
+    Assertions.assertEquals(Optional.of("marc:relators"), properties.get(2).scheme());
+  }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpineItem;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.parser.api.EPUBParserType;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.internal.EPUBCancellation;
+import com.io7m.boxwood.vanilla.internal.EPUBErrorLogger;
+import com.io7m.boxwood.vanilla.internal.EPUBLimits;
+import com.io7m.boxwood.vanilla.internal.EPUBPackageParser;
+import com.io7m.boxwood.vanilla.internal.EPUBStringPool;
+import com.io7m.boxwood.vanilla.internal.EPUBStrings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public final class EPUBPackageVisitorTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBPackageVisitorTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private static final class Recorder implements EPUBPackageVisitorType
+  {
+    private final List<String> packages = new ArrayList<>();
+    private final List<EPUBMetadataProperty> properties = new ArrayList<>();
+    private final List<EPUBMetadataLegacyProperty> legacy = new ArrayList<>();
+    private final List<EPUBManifestItem> items = new ArrayList<>();
+    private final List<EPUBSpineItem> spine = new ArrayList<>();
+
+    @Override
+    public void onPackageStart(
+      final String packageFile)
+    {
+      this.packages.add("start:" + packageFile);
+    }
+
+    @Override
+    public void onMetadataProperty(
+      final EPUBMetadataProperty property)
+    {
+      this.properties.add(property);
+    }
+
+    @Override
+    public void onMetadataLegacyProperty(
+      final EPUBMetadataLegacyProperty property)
+    {
+      this.legacy.add(property);
+    }
+
+    @Override
+    public void onManifestItem(
+      final EPUBManifestItem item)
+    {
+      this.items.add(item);
+    }
+
+    @Override
+    public void onSpineItem(
+      final EPUBSpineItem item)
+    {
+      this.spine.add(item);
+    }
+
+    @Override
+    public void onPackageEnd(
+      final String packageFile)
+    {
+      this.packages.add("end:" + packageFile);
+    }
+  }
+
+  private interface ParserConsumerType
+  {
+    void accept(EPUBParserType parser)
+      throws Exception;
+  }
+
+  private static void withParser(
+    final Path file,
+    final Optional<EPUBPackageVisitorType> visitor,
+    final ParserConsumerType consumer)
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .setPackageVisitor(visitor)
+          .build();
+
+      consumer.accept(new EPUBParserFactory().createParser(request));
+    }
+  }
+
+  /**
+   * Write a book with the given number of manifest and spine items. Every
+   * tenth item refers to a file that does not exist.
+   */
+
+  private static Path writeBook(
+    final Path file,
+    final int itemCount)
+    throws IOException
+  {
+    return EPUBSyntheticBook.create(0L)
+      .setIdentifier("urn:uuid:3f8cf194-2de5-4ef6-a9ae-586303f83e0f")
+      .setRefinesChainLength(1)
+      .setCover(EPUBSyntheticBook.Cover.META, new byte[0])
+      .setManifestItems(itemCount)
+      .setMissingEvery(10)
+      .write(file);
+  }
+
+  private static EPUBPackage parseRetained(
+    final Path file)
+    throws Exception
+  {
+    final var result = new ArrayList<EPUBPackage>();
+    withParser(file, Optional.empty(), parser -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        result.add(epub.packages().get(0));
+      }
+    });
+    return result.get(0);
+  }
+
+  /**
+   * Write a book with the given number of manifest and spine items. Every
+   * tenth item refers to a file that does not exist.
+   */
+
+  @Test
+  public void testVisitorSeesEverything()
+    throws Exception
+  {
+    final var retained = parseRetained(this.dickens);
+    final var recorder = new Recorder();
+
+    withParser(this.dickens, Optional.of(recorder), parser -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+
+        Assertions.assertEquals(
+          List.of("start:epub/content.opf", "end:epub/content.opf"),
+          recorder.packages);
+        Assertions.assertEquals(
+          retained.metadata().properties(), recorder.properties);
+        Assertions.assertEquals(
+          retained.metadata().legacyProperties(), recorder.legacy);
+        Assertions.assertEquals(
+          retained.manifest().items(), recorder.items);
+        Assertions.assertEquals(
+          retained.spine().items(), recorder.spine);
+
+        final var streamed = epub.packages().get(0);
+        Assertions.assertEquals(retained.uniqueIdentifier(), epub.uniqueIdentifier());
+        Assertions.assertEquals(retained.coverImage(), epub.coverImage());
+        Assertions.assertEquals(1, streamed.metadata().properties().size());
+        Assertions.assertEquals(List.of(), streamed.spine().items());
+        Assertions.assertEquals(
+          List.of(retained.coverImage().orElseThrow()),
+          streamed.manifest().items());
+      }
+    });
+  }
+
+  @Test
+  public void testStreamingLargePackage()
+    throws Exception
+  {
+    final var itemCount = 10_000;
+    final var file =
+      writeBook(this.directory.resolve("large.epub"), itemCount);
+    final var recorder = new Recorder();
+
+    withParser(file, Optional.of(recorder), parser -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(itemCount + 1, recorder.items.size());
+        Assertions.assertEquals(itemCount, recorder.spine.size());
+        Assertions.assertEquals(itemCount / 10, parser.errors().size());
+
+        final var streamed = epub.packages().get(0);
+        Assertions.assertEquals(
+          "urn:uuid:3f8cf194-2de5-4ef6-a9ae-586303f83e0f",
+          epub.uniqueIdentifier());
+        Assertions.assertEquals(
+          "OEBPS/cover.png",
+          epub.coverImage().orElseThrow().realPath());
+        Assertions.assertEquals(1, streamed.manifest().items().size());
+        Assertions.assertEquals(0, streamed.spine().items().size());
+      }
+    });
+  }
+
+  @Test
+  public void testStreamingAndRetainedReportSameErrors()
+    throws Exception
+  {
+    final var file =
+      writeBook(this.directory.resolve("small.epub"), 100);
+
+    final var retainedErrors = new ArrayList<String>();
+    withParser(file, Optional.empty(), parser -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        parser.errors().forEach(e -> retainedErrors.add(e.message()));
+      }
+    });
+
+    final var streamedErrors = new ArrayList<String>();
+    withParser(file, Optional.of(new Recorder()), parser -> {
+      try (var epub = parser.execute().orElseThrow()) {
+        parser.errors().forEach(e -> streamedErrors.add(e.message()));
+      }
+    });
+
+    Assertions.assertEquals(10, retainedErrors.size());
+    Assertions.assertEquals(retainedErrors, streamedErrors);
+  }
+
+  /**
+   * Sections nested within other elements are not taken to be the sections
+   * of the package.
+   */
+
+  @Test
+  public void testNestedSectionsIgnored()
+    throws Exception
+  {
+    final var text = """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <package xmlns="http://www.idpf.org/2007/opf" unique-identifier="uid" version="3.0">
+        <metadata xmlns:dc="http://purl.org/dc/elements/1.1/">
+          <dc:identifier id="uid">urn:x</dc:identifier>
+          <dc:title>Right</dc:title>
+        </metadata>
+        <manifest>
+          <item id="i0" href="0.xhtml" media-type="application/xhtml+xml"/>
+        </manifest>
+        <spine>
+          <itemref idref="i0"/>
+        </spine>
+        <collection role="index">
+          <metadata xmlns:dc="http://purl.org/dc/elements/1.1/">
+            <dc:title>Wrong</dc:title>
+          </metadata>
+          <manifest>
+            <item id="i1" href="1.xhtml" media-type="application/xhtml+xml"/>
+          </manifest>
+        </collection>
+      </package>
+      """.strip();
+
+    final var errors = new ArrayList<EPUBParseError>();
+    final var epubPackage =
+      EPUBPackageParser.parse(
+        new EPUBErrorLogger(EPUBStrings.create(), errors::add),
+        EPUBStringPool.create(16),
+        URI.create("urn:test"),
+        "content.opf",
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))
+      );
+
+    Assertions.assertEquals(List.of(), errors);
+    Assertions.assertEquals(
+      "Right",
+      epubPackage.metadata().refinementGraph().titles().get(0).value());
+    Assertions.assertEquals(2, epubPackage.metadata().properties().size());
+    Assertions.assertEquals(1, epubPackage.manifest().items().size());
+  }
+
+  /**
+   * A legacy cover property in metadata that follows the manifest names the
+   * same cover image in both streaming and retaining modes.
+   */
+
+  @Test
+  public void testStreamingLegacyCoverAfterManifest()
+    throws Exception
+  {
+    final var text = """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <package xmlns="http://www.idpf.org/2007/opf" unique-identifier="uid" version="2.0">
+        <manifest>
+          <item id="i0" href="0.xhtml" media-type="application/xhtml+xml"/>
+          <item id="c" href="cover.png" media-type="image/png"/>
+          <item id="i1" href="1.xhtml" media-type="application/xhtml+xml"/>
+        </manifest>
+        <metadata xmlns:dc="http://purl.org/dc/elements/1.1/">
+          <dc:identifier id="uid">urn:x</dc:identifier>
+          <meta name="cover" content="c"/>
+        </metadata>
+        <spine>
+          <itemref idref="i0"/>
+          <itemref idref="i1"/>
+        </spine>
+      </package>
+      """.strip();
+
+    final var packages = new ArrayList<EPUBPackage>();
+    for (final var retain : List.of(Boolean.TRUE, Boolean.FALSE)) {
+      final var errors = new ArrayList<EPUBParseError>();
+      final var logger = new EPUBErrorLogger(EPUBStrings.create(), errors::add);
+      packages.add(
+        EPUBPackageParser.parse(
+          logger,
+          EPUBStringPool.create(16),
+          EPUBCancellation.create(),
+          new EPUBLimits(EPUBParseLimits.builder().build(), logger),
+          new Recorder(),
+          retain.booleanValue(),
+          URI.create("urn:test"),
+          "content.opf",
+          new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))
+        )
+      );
+      Assertions.assertEquals(List.of(), errors);
+    }
+
+    final var retained = packages.get(0);
+    final var streamed = packages.get(1);
+    Assertions.assertEquals(
+      "cover.png",
+      retained.coverImage().orElseThrow().realPath());
+    Assertions.assertEquals(retained.coverImage(), streamed.coverImage());
+    Assertions.assertEquals(3, retained.manifest().items().size());
+    Assertions.assertEquals(
+      List.of(retained.coverImage().orElseThrow()),
+      streamed.manifest().items());
+  }
+}
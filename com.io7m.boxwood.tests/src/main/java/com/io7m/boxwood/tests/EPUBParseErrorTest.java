@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.internal.EPUBErrorLogger;
+import com.io7m.boxwood.vanilla.internal.EPUBStrings;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class EPUBParseErrorTest
+{
+  /**
+   * Messages are rendered once, on demand.
+   */
+
+  @Test
+  public void testMessageLazy()
+  {
+    final var calls = new AtomicInteger();
+    final var error =
+      EPUBParseError.builder()
+        .setSeverity(EPUBParseErrorType.Severity.ERROR)
+        .setLexical(LexicalPosition.of(1, 2, Optional.of(URI.create("urn:x"))))
+        .setCode("code")
+        .addArguments("a", Integer.valueOf(23))
+        .setFormatter((code, arguments) -> {
+          calls.incrementAndGet();
+          return code + arguments;
+        })
+        .build();
+
+    Assertions.assertFalse(error.toString().contains("code[a, 23]"));
+    Assertions.assertEquals(0, calls.get());
+    Assertions.assertEquals("code[a, 23]", error.message());
+    Assertions.assertEquals("code[a, 23]", error.message());
+    Assertions.assertEquals("error: urn:x:1:2: code[a, 23]", error.show());
+    Assertions.assertEquals(1, calls.get());
+  }
+
+  /**
+   * The formatter does not take part in equality.
+   */
+
+  @Test
+  public void testFormatterNotEqual()
+  {
+    final var builder =
+      EPUBParseError.builder()
+        .setSeverity(EPUBParseErrorType.Severity.WARNING)
+        .setLexical(LexicalPosition.of(1, 2, Optional.empty()))
+        .setCode("code");
+
+    Assertions.assertEquals(
+      builder.setFormatter((code, arguments) -> "x").build(),
+      builder.setFormatter((code, arguments) -> "y").build()
+    );
+  }
+
+  /**
+   * Errors produced by the parser carry their codes and arguments, and
+   * render their messages from the parser's string resources.
+   */
+
+  @Test
+  public void testParserErrorsStructured()
+    throws Exception
+  {
+    final var directory = EPUBTestDirectories.createTempDirectory();
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBParseErrorTest.class,
+        directory,
+        "no-container.epub"
+      );
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+
+      final var error = parser.errors().get(0);
+      Assertions.assertEquals("epub.error.requiredFileMissing", error.code());
+      Assertions.assertEquals(
+        List.of("META-INF/container.xml"), error.arguments());
+      Assertions.assertEquals(
+        "A required file was missing: META-INF/container.xml",
+        error.message());
+    }
+  }
+
+  private static WeakReference<EPUBErrorLogger> logInto(
+    final List<EPUBParseError> errors)
+  {
+    final var logger = new EPUBErrorLogger(EPUBStrings.create(), errors::add);
+    logger.formattedError(
+      LexicalPosition.of(0, 0, Optional.empty()),
+      "epub.error.requiredFileMissing",
+      "META-INF/container.xml"
+    );
+    return new WeakReference<>(logger);
+  }
+
+  /**
+   * Errors do not retain the logger that produced them.
+   */
+
+  @Test
+  public void testErrorsDoNotRetainLogger()
+    throws Exception
+  {
+    final var errors = new ArrayList<EPUBParseError>();
+    final var logger = logInto(errors);
+
+    for (var index = 0; index < 50 && logger.get() != null; ++index) {
+      System.gc();
+      Thread.sleep(10L);
+    }
+
+    Assertions.assertNull(logger.get());
+    Assertions.assertEquals(
+      "A required file was missing: META-INF/container.xml",
+      errors.get(0).message());
+  }
+}
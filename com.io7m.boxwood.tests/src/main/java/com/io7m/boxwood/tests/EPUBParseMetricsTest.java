@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParseMetrics;
+import com.io7m.boxwood.vanilla.EPUBParserCacheConfiguration;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.EPUBParserFactoryConfiguration;
+import com.io7m.boxwood.vanilla.internal.EPUBLatencyHistogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+public final class EPUBParseMetricsTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBParseMetricsTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private static boolean parse(
+    final EPUBParserFactory parsers,
+    final Path file)
+    throws IOException
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var result = parsers.createParser(request).execute();
+      if (result.isPresent()) {
+        try (var epub = result.get()) {
+          final var item = epub.packages().get(0).manifest().items().get(0);
+          try (var stream = epub.openFile(item.realPath())) {
+            stream.readAllBytes();
+          }
+        }
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Histogram percentiles are accurate to within the bucket precision.
+   */
+
+  @Test
+  public void testHistogramPrecision()
+  {
+    final var histogram = new EPUBLatencyHistogram();
+    for (long value = 1L; value <= 100_000L; ++value) {
+      histogram.record(value);
+    }
+
+    final var snapshot = histogram.snapshot();
+    Assertions.assertEquals(100_000L, snapshot.count());
+    Assertions.assertEquals(100_000L, snapshot.maximumNanos());
+    Assertions.assertEquals(50_000.5, snapshot.meanNanos(), 0.001);
+    Assertions.assertEquals(50_000.0, snapshot.p50Nanos(), 50_000.0 * 0.04);
+    Assertions.assertEquals(90_000.0, snapshot.p90Nanos(), 90_000.0 * 0.04);
+    Assertions.assertEquals(99_000.0, snapshot.p99Nanos(), 99_000.0 * 0.04);
+    Assertions.assertTrue(snapshot.p999Nanos() <= snapshot.maximumNanos());
+  }
+
+  /**
+   * Small values are recorded exactly, and huge values are clamped but
+   * retain the exact maximum.
+   */
+
+  @Test
+  public void testHistogramExtremes()
+  {
+    final var histogram = new EPUBLatencyHistogram();
+    histogram.record(-1L);
+    histogram.record(7L);
+    histogram.record(Long.MAX_VALUE);
+
+    final var snapshot = histogram.snapshot();
+    Assertions.assertEquals(3L, snapshot.count());
+    Assertions.assertEquals(7L, snapshot.p50Nanos());
+    Assertions.assertEquals(Long.MAX_VALUE, snapshot.maximumNanos());
+    Assertions.assertEquals(Long.MAX_VALUE, snapshot.p999Nanos());
+  }
+
+  /**
+   * Parses, phases, inflated entries and bytes, and cache lookups are
+   * counted.
+   */
+
+  @Test
+  public void testParseCounted()
+    throws Exception
+  {
+    final var metrics = new EPUBParseMetrics();
+    final var parsers =
+      new EPUBParserFactory(
+        EPUBParserFactoryConfiguration.builder()
+          .setMetrics(metrics)
+          .setCache(EPUBParserCacheConfiguration.builder().build())
+          .build()
+      );
+
+    Assertions.assertTrue(parse(parsers, this.dickens));
+    Assertions.assertTrue(parse(parsers, this.dickens));
+
+    final var snapshot = metrics.snapshot();
+    Assertions.assertEquals(2L, snapshot.parsesStarted());
+    Assertions.assertEquals(0L, snapshot.parsesFailed());
+    Assertions.assertEquals(2L, snapshot.parseLatency().count());
+    Assertions.assertEquals(1L, snapshot.cacheHits());
+    Assertions.assertEquals(1L, snapshot.cacheMisses());
+    Assertions.assertTrue(snapshot.channelBytesRead() > 0L);
+    Assertions.assertTrue(snapshot.errorsByCode().isEmpty());
+
+    /*
+     * The first parse inflates the container and the package; the second
+     * is served from the cache. Each parse opens one file afterwards.
+     */
+
+    Assertions.assertEquals(4L, snapshot.entriesInflated());
+    Assertions.assertTrue(snapshot.bytesInflated() > 0L);
+
+    final var phases = snapshot.phaseLatencies();
+    Assertions.assertEquals(2L, phases.get(EPUBParsePhase.STARTED).count());
+    Assertions.assertEquals(2L, phases.get(EPUBParsePhase.CONTAINER).count());
+    Assertions.assertEquals(1L, phases.get(EPUBParsePhase.PACKAGES).count());
+    Assertions.assertEquals(2L, phases.get(EPUBParsePhase.MANIFEST).count());
+    Assertions.assertFalse(phases.containsKey(EPUBParsePhase.FINISHED));
+  }
+
+  /**
+   * Failed parses and their errors are counted.
+   */
+
+  @Test
+  public void testFailureCounted()
+    throws Exception
+  {
+    final var metrics = new EPUBParseMetrics();
+    final var parsers =
+      new EPUBParserFactory(
+        EPUBParserFactoryConfiguration.builder()
+          .setMetrics(metrics)
+          .build()
+      );
+
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBParseMetricsTest.class,
+        this.directory,
+        "empty.epub"
+      );
+
+    final List<EPUBParseError> errors;
+    try (var channel = Files.newByteChannel(file)) {
+      final var parser =
+        parsers.createParser(
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(file.toUri())
+            .build()
+        );
+      Assertions.assertEquals(Optional.empty(), parser.execute());
+      errors = parser.errors();
+    }
+
+    final var expected = new TreeMap<String, Long>();
+    for (final var error : errors) {
+      expected.merge(error.code(), Long.valueOf(1L), Long::sum);
+    }
+
+    final var snapshot = metrics.snapshot();
+    Assertions.assertEquals(1L, snapshot.parsesStarted());
+    Assertions.assertEquals(1L, snapshot.parsesFailed());
+    Assertions.assertEquals(0L, snapshot.cacheMisses());
+    Assertions.assertFalse(expected.isEmpty());
+    Assertions.assertEquals(expected, snapshot.errorsByCode());
+  }
+
+  /**
+   * Metrics may be shared by concurrent parses.
+   */
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final var metrics = new EPUBParseMetrics();
+    final var parsers =
+      new EPUBParserFactory(
+        EPUBParserFactoryConfiguration.builder()
+          .setMetrics(metrics)
+          .build()
+      );
+
+    final var single = new EPUBParseMetrics();
+    Assertions.assertTrue(
+      parse(
+        new EPUBParserFactory(
+          EPUBParserFactoryConfiguration.builder()
+            .setMetrics(single)
+            .build()),
+        this.dickens
+      )
+    );
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final var tasks = new ArrayList<Callable<Boolean>>();
+      for (var index = 0; index < 16; ++index) {
+        tasks.add(() -> Boolean.valueOf(parse(parsers, this.dickens)));
+      }
+      for (final var future : executor.invokeAll(tasks)) {
+        Assertions.assertTrue(future.get().booleanValue());
+      }
+    }
+
+    final var snapshot = metrics.snapshot();
+    Assertions.assertEquals(16L, snapshot.parsesStarted());
+    Assertions.assertEquals(16L, snapshot.parseLatency().count());
+    Assertions.assertEquals(
+      16L, snapshot.phaseLatencies().get(EPUBParsePhase.MANIFEST).count());
+    Assertions.assertEquals(48L, snapshot.entriesInflated());
+    Assertions.assertEquals(
+      16L * single.snapshot().bytesInflated(), snapshot.bytesInflated());
+  }
+}
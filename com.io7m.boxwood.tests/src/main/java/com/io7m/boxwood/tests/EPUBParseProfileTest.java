@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.boxwood.parser.api.EPUBParseProfile;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class EPUBParseProfileTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBParseProfileTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private void checkProfile(
+    final EPUBParseProfile profile)
+    throws IOException
+  {
+    Assertions.assertEquals(
+      Set.of(
+        EPUBParsePhase.STARTED,
+        EPUBParsePhase.CONTAINER,
+        EPUBParsePhase.PACKAGES,
+        EPUBParsePhase.MANIFEST),
+      profile.phases().keySet()
+    );
+
+    var phaseWall = 0L;
+    for (final var phase : profile.phases().values()) {
+      Assertions.assertTrue(phase.wallNanos() >= 0L);
+      Assertions.assertTrue(phase.cpuNanos() >= -1L);
+      phaseWall += phase.wallNanos();
+    }
+    Assertions.assertEquals(profile.wallNanos(), phaseWall);
+
+    Assertions.assertEquals(Files.size(this.dickens), profile.archiveSize());
+    Assertions.assertEquals(2L, profile.entriesInflated());
+    Assertions.assertTrue(profile.xmlElements() > 100L);
+    Assertions.assertTrue(profile.channelReads() > 0L);
+    Assertions.assertTrue(profile.channelSeeks() > 0L);
+    Assertions.assertTrue(profile.channelBytesRead() > 0L);
+    Assertions.assertTrue(profile.readAmplification() > 0.0);
+    Assertions.assertNotEquals(0L, profile.allocatedBytes());
+  }
+
+  /**
+   * Parses are not profiled unless requested.
+   */
+
+  @Test
+  public void testNotProfiled()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var parser =
+        new EPUBParserFactory().createParser(
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(this.dickens.toUri())
+            .build()
+        );
+
+      parser.execute().orElseThrow().close();
+      Assertions.assertEquals(Optional.empty(), parser.profile());
+    }
+  }
+
+  /**
+   * Parsers that do not support profiling report no profile.
+   */
+
+  @Test
+  public void testProfileDefault()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var parser =
+        new EPUBMinimalParser(
+          new EPUBParserFactory().createParser(
+            EPUBParseRequest.builder()
+              .setChannel(channel)
+              .setUri(this.dickens.toUri())
+              .setProfiled(true)
+              .build()
+          )
+        );
+
+      parser.execute().orElseThrow().close();
+      Assertions.assertEquals(Optional.empty(), parser.profile());
+    }
+  }
+
+  /**
+   * A profiled parse reports every phase and the channel usage.
+   */
+
+  @Test
+  public void testProfiled()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var parser =
+        new EPUBParserFactory().createParser(
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(this.dickens.toUri())
+            .setProfiled(true)
+            .build()
+        );
+
+      Assertions.assertEquals(Optional.empty(), parser.profile());
+      parser.execute().orElseThrow().close();
+      this.checkProfile(parser.profile().orElseThrow());
+    }
+  }
+
+  /**
+   * A profiled asynchronous parse accumulates the profile across the
+   * threads that run its stages.
+   */
+
+  @Test
+  public void testProfiledAsync()
+    throws Exception
+  {
+    try (var executor = Executors.newFixedThreadPool(4);
+         var channel = Files.newByteChannel(this.dickens)) {
+      final var parser =
+        new EPUBParserFactory().createParser(
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(this.dickens.toUri())
+            .setProfiled(true)
+            .build()
+        );
+
+      parser.executeAsync(executor)
+        .get(10L, TimeUnit.SECONDS)
+        .orElseThrow()
+        .close();
+      this.checkProfile(parser.profile().orElseThrow());
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserCacheConfiguration;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.EPUBParserFactoryConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+public final class EPUBParserCacheTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBParserCacheTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private static EPUBParserFactory cachingParsers(
+    final int maximumEntries)
+  {
+    return new EPUBParserFactory(
+      EPUBParserFactoryConfiguration.builder()
+        .setCache(
+          EPUBParserCacheConfiguration.builder()
+            .setMaximumEntries(maximumEntries)
+            .build())
+        .build()
+    );
+  }
+
+  private static List<EPUBPackage> parse(
+    final EPUBParserFactory parsers,
+    final Path file)
+    throws IOException
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = parsers.createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+        return epub.packages();
+      }
+    }
+  }
+
+  /**
+   * Rewrite the given book, appending the given text to the end of the
+   * package file.
+   */
+
+  private static Path rewrite(
+    final Path source,
+    final Path target,
+    final String extra)
+    throws IOException
+  {
+    try (var input = new ZipFile(source.toFile());
+         var output = new ZipOutputStream(Files.newOutputStream(target))) {
+      final var entries = input.entries();
+      while (entries.hasMoreElements()) {
+        final var entry = entries.nextElement();
+        var data = input.getInputStream(entry).readAllBytes();
+        if (entry.getName().endsWith(".opf")) {
+          data = (new String(data, StandardCharsets.UTF_8) + extra)
+            .getBytes(StandardCharsets.UTF_8);
+        }
+        output.putNextEntry(new ZipEntry(entry.getName()));
+        output.write(data);
+        output.closeEntry();
+      }
+    }
+    return target;
+  }
+
+  @Test
+  public void testDisabledByDefault()
+    throws Exception
+  {
+    final var parsers = new EPUBParserFactory();
+    final var first = parse(parsers, this.dickens);
+    final var second = parse(parsers, this.dickens);
+
+    Assertions.assertEquals(first, second);
+    Assertions.assertNotSame(first, second);
+
+    final var statistics = parsers.cacheStatistics();
+    Assertions.assertEquals(0L, statistics.hits());
+    Assertions.assertEquals(0L, statistics.misses());
+    Assertions.assertEquals(0L, statistics.entries());
+  }
+
+  @Test
+  public void testHit()
+    throws Exception
+  {
+    final var parsers = cachingParsers(8);
+    final var first = parse(parsers, this.dickens);
+    final var second = parse(parsers, this.dickens);
+
+    Assertions.assertSame(first, second);
+
+    final var statistics = parsers.cacheStatistics();
+    Assertions.assertEquals(1L, statistics.hits());
+    Assertions.assertEquals(1L, statistics.misses());
+    Assertions.assertEquals(1L, statistics.entries());
+    Assertions.assertTrue(statistics.weight() > 0L);
+  }
+
+  @Test
+  public void testChangedPackageMisses()
+    throws Exception
+  {
+    final var parsers = cachingParsers(8);
+    final var variant =
+      rewrite(this.dickens, this.directory.resolve("v0.epub"), "\n");
+    final var same =
+      rewrite(this.dickens, this.directory.resolve("v1.epub"), "\n");
+    final var changed =
+      rewrite(this.dickens, this.directory.resolve("v2.epub"), " \n");
+
+    final var p0 = parse(parsers, variant);
+    final var p1 = parse(parsers, same);
+    final var p2 = parse(parsers, changed);
+
+    Assertions.assertSame(p0, p1);
+    Assertions.assertNotSame(p0, p2);
+    Assertions.assertEquals(p0, p2);
+
+    final var statistics = parsers.cacheStatistics();
+    Assertions.assertEquals(1L, statistics.hits());
+    Assertions.assertEquals(2L, statistics.misses());
+  }
+
+  @Test
+  public void testEviction()
+    throws Exception
+  {
+    final var parsers = cachingParsers(1);
+    final var variant =
+      rewrite(this.dickens, this.directory.resolve("variant.epub"), "\n");
+
+    parse(parsers, this.dickens);
+    parse(parsers, variant);
+    parse(parsers, this.dickens);
+
+    final var statistics = parsers.cacheStatistics();
+    Assertions.assertEquals(0L, statistics.hits());
+    Assertions.assertEquals(3L, statistics.misses());
+    Assertions.assertEquals(2L, statistics.evictions());
+    Assertions.assertEquals(1L, statistics.entries());
+  }
+
+  @Test
+  public void testWeightBound()
+    throws Exception
+  {
+    final var parsers = new EPUBParserFactory(
+      EPUBParserFactoryConfiguration.builder()
+        .setCache(
+          EPUBParserCacheConfiguration.builder()
+            .setMaximumWeight(1L)
+            .build())
+        .build()
+    );
+
+    parse(parsers, this.dickens);
+    parse(parsers, this.dickens);
+
+    final var statistics = parsers.cacheStatistics();
+    Assertions.assertEquals(0L, statistics.hits());
+    Assertions.assertEquals(0L, statistics.entries());
+  }
+
+  @Test
+  public void testClear()
+    throws Exception
+  {
+    final var parsers = cachingParsers(8);
+    parse(parsers, this.dickens);
+    parsers.cacheClear();
+    parse(parsers, this.dickens);
+
+    final var statistics = parsers.cacheStatistics();
+    Assertions.assertEquals(0L, statistics.hits());
+    Assertions.assertEquals(1L, statistics.evictions());
+  }
+
+  @Test
+  public void testInvalidConfiguration()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      EPUBParserCacheConfiguration.builder()
+        .setMaximumEntries(0)
+        .build();
+    });
+  }
+}
@@ -16,10 +16,13 @@
 
 package com.io7m.boxwood.tests;
 
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBType;
 import com.io7m.boxwood.parser.api.EPUBParseError;
 import com.io7m.boxwood.parser.api.EPUBParseEvent;
 import com.io7m.boxwood.parser.api.EPUBParseRequest;
 import com.io7m.boxwood.parser.api.EPUBParserFactoryType;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +33,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public abstract class EPUBParserContract
@@ -80,6 +84,175 @@ public abstract class EPUBParserContract
     }
   }
 
+  @Test
+  public void testCharlesDickensReadingOrder()
+    throws Exception
+  {
+    final var epubFile =
+      EPUBTestDirectories.resourceOf(
+        EPUBParserContract.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(epubFile)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(epubFile.toUri())
+          .build();
+
+      final var parser = this.parsers().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        final var epubPackage = epub.packages().get(0);
+        final var order = epub.readingOrder();
+        final var spine = epubPackage.spine().items();
+
+        Assertions.assertSame(order, epub.readingOrder(epubPackage));
+        Assertions.assertEquals(spine.size(), order.size());
+
+        for (var index = 0; index < order.size(); ++index) {
+          final var item = order.get(index);
+          Assertions.assertEquals(index, item.index());
+          Assertions.assertEquals(spine.get(index), item.spineItem());
+          Assertions.assertEquals(
+            item.spineItem().reference(), item.manifestItem().id());
+          Assertions.assertEquals(
+            item.manifestItem().realPath(), item.file().name());
+
+          final byte[] byHandle;
+          try (var stream = epub.openFile(item.file())) {
+            byHandle = stream.readAllBytes();
+          }
+          try (var stream = epub.openFile(item.file().name())) {
+            Assertions.assertArrayEquals(stream.readAllBytes(), byHandle);
+          }
+        }
+
+        Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> epub.openFile(() -> "META-INF/container.xml"));
+      }
+    }
+  }
+
+  /**
+   * An EPUB that implements only the abstract methods of {@link EPUBType}
+   * gets a reading order equal to that of the parser's implementation.
+   */
+
+  @Test
+  public void testCharlesDickensReadingOrderDefault()
+    throws Exception
+  {
+    final var epubFile =
+      EPUBTestDirectories.resourceOf(
+        EPUBParserContract.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(epubFile)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(epubFile.toUri())
+          .build();
+
+      final var parser = this.parsers().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        final EPUBType minimal = new EPUBType()
+        {
+          @Override
+          public List<EPUBPackage> packages()
+          {
+            return epub.packages();
+          }
+
+          @Override
+          public InputStream openFile(
+            final String name)
+            throws IOException
+          {
+            return epub.openFile(name);
+          }
+
+          @Override
+          public void close()
+          {
+
+          }
+        };
+
+        final var expected = epub.readingOrder();
+        final var received = minimal.readingOrder();
+        Assertions.assertEquals(expected.size(), received.size());
+
+        for (var index = 0; index < expected.size(); ++index) {
+          final var e = expected.get(index);
+          final var r = received.get(index);
+          Assertions.assertEquals(e.index(), r.index());
+          Assertions.assertEquals(e.spineItem(), r.spineItem());
+          Assertions.assertEquals(e.manifestItem(), r.manifestItem());
+          Assertions.assertEquals(e.file().name(), r.file().name());
+
+          try (var stream = minimal.openFile(r.file())) {
+            Assertions.assertTrue(stream.readAllBytes().length > 0);
+          }
+        }
+
+        Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> minimal.readingOrder(
+            EPUBPackage.builder()
+              .from(epub.packages().get(0))
+              .setUniqueIdentifierReference("other")
+              .build()));
+      }
+    }
+  }
+
+  @Test
+  public void testCharlesDickensDerivedValuesMemoized()
+    throws Exception
+  {
+    final var epubFile =
+      EPUBTestDirectories.resourceOf(
+        EPUBParserContract.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(epubFile)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(epubFile.toUri())
+          .build();
+
+      final var parser = this.parsers().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        final var epubPackage = epub.packages().get(0);
+        Assertions.assertSame(epub.uuid(), epub.uuid());
+        Assertions.assertSame(epub.coverImage(), epub.coverImage());
+        Assertions.assertSame(
+          epubPackage.coverImage(), epubPackage.coverImage());
+        Assertions.assertSame(
+          epubPackage.uniqueIdentifier(), epubPackage.uniqueIdentifier());
+        Assertions.assertEquals(
+          epubPackage.uniqueIdentifier(), epub.uniqueIdentifier());
+
+        final var copy =
+          EPUBPackage.builder()
+            .from(epubPackage)
+            .build();
+        Assertions.assertEquals(epubPackage, copy);
+        Assertions.assertEquals(epubPackage.hashCode(), copy.hashCode());
+        Assertions.assertEquals(epubPackage.coverImage(), copy.coverImage());
+      }
+    }
+  }
+
   @Test
   public void testNotAZipFile()
     throws Exception
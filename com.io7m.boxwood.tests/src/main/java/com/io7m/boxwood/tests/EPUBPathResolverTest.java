@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.vanilla.internal.EPUBPathResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class EPUBPathResolverTest
+{
+  private record Case(
+    String packageFile,
+    String href,
+    String expected)
+  {
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> testResolve()
+  {
+    final var cases = List.of(
+      new Case("OEBPS/content.opf", "chapter1.xhtml", "OEBPS/chapter1.xhtml"),
+      new Case("content.opf", "chapter1.xhtml", "chapter1.xhtml"),
+      new Case("a/b/content.opf", "text/c.xhtml", "a/b/text/c.xhtml"),
+      new Case("a/b/content.opf", "../c.xhtml", "a/c.xhtml"),
+      new Case("a/b/content.opf", "../../c.xhtml", "c.xhtml"),
+      new Case("a/b/content.opf", "../../../c.xhtml", "c.xhtml"),
+      new Case("a/b/content.opf", "./x/./y/../c.xhtml", "a/b/x/c.xhtml"),
+      new Case("a/b/content.opf", "x//c.xhtml", "a/b/x/c.xhtml"),
+      new Case("a/b/content.opf", "/root.xhtml", "root.xhtml"),
+      new Case("OEBPS/content.opf", "c.xhtml#frag", "OEBPS/c.xhtml"),
+      new Case("OEBPS/content.opf", "c.xhtml?q=1#f", "OEBPS/c.xhtml"),
+      new Case("OEBPS/content.opf", "my%20file.xhtml", "OEBPS/my file.xhtml"),
+      new Case("OEBPS/content.opf", "caf%C3%A9.xhtml", "OEBPS/café.xhtml"),
+      new Case("OEBPS/content.opf", "café.xhtml", "OEBPS/café.xhtml"),
+      new Case("OEBPS/content.opf", "100%.xhtml", "OEBPS/100%.xhtml"),
+      new Case("OEBPS/content.opf", "bad%zz.xhtml", "OEBPS/bad%zz.xhtml"),
+      new Case("OEBPS/content.opf", "bad%FF.xhtml", "OEBPS/bad%FF.xhtml"),
+      new Case("OEBPS/content.opf", "%2E%2E/c.xhtml", "c.xhtml"),
+      new Case("OEBPS/content.opf", ".hidden", "OEBPS/.hidden"),
+      new Case("OEBPS/content.opf", "a..b.xhtml", "OEBPS/a..b.xhtml"),
+      new Case("OEBPS/content.opf", "http://example.com/x.css", "http://example.com/x.css"),
+      new Case("OEBPS/content.opf", "images/", "OEBPS/images/")
+    );
+
+    return cases.stream()
+      .map(c -> DynamicTest.dynamicTest(
+        "testResolve_" + c.href,
+        () -> {
+          Assertions.assertEquals(
+            c.expected,
+            EPUBPathResolver.forPackage(c.packageFile).resolve(c.href)
+          );
+        }));
+  }
+
+  /**
+   * For plain ASCII relative paths, the resolver agrees with URI resolution.
+   */
+
+  @Test
+  public void testAgreesWithURI()
+  {
+    final var hrefs = List.of(
+      "a.xhtml",
+      "text/a.xhtml",
+      "../a.xhtml",
+      "./x/../a.xhtml",
+      "images/cover.jpg"
+    );
+
+    for (final var packageFile : List.of("content.opf", "OEBPS/content.opf", "x/y/z.opf")) {
+      final var resolver = EPUBPathResolver.forPackage(packageFile);
+      final var base = URI.create(packageFile);
+      for (final var href : hrefs) {
+        final var expected = base.resolve(href).toString();
+        if (expected.startsWith("..")) {
+          continue;
+        }
+        Assertions.assertEquals(expected, resolver.resolve(href));
+      }
+    }
+  }
+}
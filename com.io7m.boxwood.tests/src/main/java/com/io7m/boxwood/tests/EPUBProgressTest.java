@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.parser.api.EPUBParseEvent;
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.internal.EPUBProgressReporter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public final class EPUBProgressTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBProgressTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private static List<EPUBParseEvent> parse(
+    final Path file,
+    final Duration interval,
+    final double step)
+    throws IOException
+  {
+    final var events = new ArrayList<EPUBParseEvent>();
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .setEvents(events::add)
+          .setProgressInterval(interval)
+          .setProgressStep(step)
+          .build();
+
+      new EPUBParserFactory().createParser(request)
+        .execute()
+        .orElseThrow()
+        .close();
+    }
+    return events;
+  }
+
+  /**
+   * Every phase is reported in order, and the counts are consistent.
+   */
+
+  @Test
+  public void testPhases()
+    throws Exception
+  {
+    final var events = parse(this.dickens, Duration.ofMillis(100L), 0.01);
+
+    final var phases = new ArrayList<EPUBParsePhase>();
+    var bytes = 0L;
+    for (final var event : events) {
+      if (phases.isEmpty() || phases.get(phases.size() - 1) != event.phase()) {
+        phases.add(event.phase());
+      }
+      Assertions.assertTrue(event.bytesProcessed() >= bytes);
+      Assertions.assertTrue(event.itemsProcessed() <= event.itemsTotal()
+        || event.itemsTotal() == 0L);
+      bytes = event.bytesProcessed();
+    }
+
+    Assertions.assertEquals(
+      List.of(
+        EPUBParsePhase.STARTED,
+        EPUBParsePhase.CONTAINER,
+        EPUBParsePhase.PACKAGES,
+        EPUBParsePhase.MANIFEST,
+        EPUBParsePhase.FINISHED),
+      phases
+    );
+    Assertions.assertTrue(bytes > 0L);
+
+    final var lastManifest =
+      events.stream()
+        .filter(e -> e.phase() == EPUBParsePhase.MANIFEST)
+        .reduce((x, y) -> y)
+        .orElseThrow();
+    Assertions.assertEquals(
+      lastManifest.itemsTotal(), lastManifest.itemsProcessed());
+    Assertions.assertEquals(1.0, lastManifest.progress());
+    Assertions.assertEquals(1.0, events.get(events.size() - 1).progress());
+  }
+
+  /**
+   * Events within a phase are limited by the progress step when the
+   * interval is long.
+   */
+
+  @Test
+  public void testThrottled()
+    throws Exception
+  {
+    final var itemCount = 10_000;
+    final var file =
+      EPUBSyntheticBook.create(0L)
+        .setManifestItems(itemCount)
+        .setSpineItems(1)
+        .write(this.directory.resolve("large.epub"));
+
+    final var events = parse(file, Duration.ofHours(1L), 0.1);
+    final var manifestEvents =
+      events.stream()
+        .filter(e -> e.phase() == EPUBParsePhase.MANIFEST)
+        .toList();
+
+    Assertions.assertTrue(
+      manifestEvents.size() <= 12,
+      () -> "Too many events: " + manifestEvents.size());
+    Assertions.assertEquals(
+      itemCount,
+      manifestEvents.get(manifestEvents.size() - 1).itemsProcessed());
+  }
+
+  /**
+   * Reaching the end of a phase raises one event, and does not disable
+   * the limit on the rate of later events.
+   */
+
+  @Test
+  public void testCompletionPublishedOnce()
+  {
+    final var events = new ArrayList<EPUBParseEvent>();
+    final var progress =
+      new EPUBProgressReporter(
+        Optional.of(events::add), Duration.ofHours(1L), 0.5);
+
+    progress.begin(EPUBParsePhase.MANIFEST, 1L);
+    progress.advance(1L);
+    for (var index = 0; index < 1000; ++index) {
+      progress.addBytes(100L);
+    }
+
+    Assertions.assertEquals(2, events.size());
+    Assertions.assertEquals(1L, events.get(1).itemsProcessed());
+    Assertions.assertEquals(0L, events.get(1).bytesProcessed());
+
+    progress.begin(EPUBParsePhase.PACKAGES, 1L);
+    progress.advance(1L);
+    Assertions.assertEquals(4, events.size());
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.parser.api.EPUBProgressiveParseType;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserCacheConfiguration;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.EPUBParserFactoryConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class EPUBProgressiveParseTest
+{
+  private static final byte[] COVER_DATA = {1, 2, 3, 4};
+
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBProgressiveParseTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  /**
+   * Write a book whose cover image is the first item of a large manifest.
+   */
+
+  @Test
+  public void testCharlesDickens()
+    throws Exception
+  {
+    final var executor = Executors.newSingleThreadExecutor();
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.dickens.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      final var parse = parser.executeProgressive(executor);
+
+      final var previewDoneFirst =
+        parse.result().thenApply(r -> parse.preview().isDone());
+
+      final var preview =
+        parse.preview().get(10L, TimeUnit.SECONDS).orElseThrow();
+      Assertions.assertTrue(previewDoneFirst.get(10L, TimeUnit.SECONDS));
+
+      try (var epub = parse.result().get().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+
+        final var epubPackage = epub.packages().get(0);
+        Assertions.assertEquals("epub/content.opf", preview.packageFile());
+        Assertions.assertEquals(epubPackage.metadata(), preview.metadata());
+        Assertions.assertEquals(epub.coverImage(), preview.coverImage());
+
+        final var cover = preview.coverImage().orElseThrow();
+        try (var stream = epub.openFile(cover.realPath());
+             var coverStream = preview.openCoverImage()) {
+          Assertions.assertArrayEquals(
+            stream.readAllBytes(), coverStream.readAllBytes());
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testPreviewBeforeManifestEnd()
+    throws Exception
+  {
+    final var file =
+      EPUBSyntheticBook.create(0L)
+        .setTitle("Progressive")
+        .setCover(EPUBSyntheticBook.Cover.PROPERTY, COVER_DATA)
+        .setManifestItems(1_000)
+        .write(this.directory.resolve("progressive.epub"));
+
+    final var parseRef = new AtomicReference<EPUBProgressiveParseType>();
+    final var previewDoneAtItems = new ArrayList<Boolean>();
+    final var visitor = new EPUBPackageVisitorType()
+    {
+      @Override
+      public void onManifestItem(
+        final EPUBManifestItem item)
+      {
+        previewDoneAtItems.add(
+          Boolean.valueOf(parseRef.get().preview().isDone()));
+      }
+    };
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .setPackageVisitor(visitor)
+          .build();
+
+      final var tasks = new ArrayList<Runnable>();
+      final var parser = new EPUBParserFactory().createParser(request);
+      parseRef.set(parser.executeProgressive(tasks::add));
+      Assertions.assertEquals(1, tasks.size());
+      Assertions.assertFalse(parseRef.get().preview().isDone());
+      tasks.get(0).run();
+
+      /*
+       * The preview was complete by the time that the visitor saw the
+       * cover image (the first item), and so it was complete for every
+       * item of the manifest.
+       */
+
+      Assertions.assertEquals(1_001, previewDoneAtItems.size());
+      Assertions.assertFalse(previewDoneAtItems.contains(Boolean.FALSE));
+
+      final var preview = parseRef.get().preview().get().orElseThrow();
+      Assertions.assertEquals(
+        "Progressive",
+        preview.metadata().refinementGraph().titles().get(0).value());
+
+      try (var epub = parseRef.get().result().get().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+        try (var stream = preview.openCoverImage()) {
+          Assertions.assertArrayEquals(COVER_DATA, stream.readAllBytes());
+        }
+      }
+    }
+  }
+
+  /**
+   * A cover image that decompresses far beyond its compressed size is not
+   * inflated by the parse, and fails when opened.
+   */
+
+  @Test
+  public void testCoverImageCompressionRatio()
+    throws Exception
+  {
+    final var file =
+      EPUBSyntheticBook.create(0L)
+        .setCover(EPUBSyntheticBook.Cover.PROPERTY, new byte[4 * 1024 * 1024])
+        .write(this.directory.resolve("bomb.epub"));
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      final var parse = parser.executeProgressive(Runnable::run);
+      final var preview = parse.preview().get().orElseThrow();
+
+      try (var epub = parse.result().get().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+        try (var stream = preview.openCoverImage()) {
+          final var ex =
+            Assertions.assertThrows(IOException.class, stream::readAllBytes);
+          Assertions.assertTrue(
+            ex.getMessage().contains("compression ratio"), ex.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * A cover image larger than the size limit fails when opened.
+   */
+
+  @Test
+  public void testCoverImageSize()
+    throws Exception
+  {
+    final var file =
+      EPUBSyntheticBook.create(0L)
+        .setCover(EPUBSyntheticBook.Cover.META, COVER_DATA)
+        .write(this.directory.resolve("cover.epub"));
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .setLimits(
+            EPUBParseLimits.builder()
+              .setMaximumCoverImageSize(COVER_DATA.length - 1)
+              .build())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      final var parse = parser.executeProgressive(Runnable::run);
+      final var preview = parse.preview().get().orElseThrow();
+
+      try (var epub = parse.result().get().orElseThrow()) {
+        try (var stream = preview.openCoverImage()) {
+          final var ex =
+            Assertions.assertThrows(IOException.class, stream::readAllBytes);
+          Assertions.assertTrue(
+            ex.getMessage().contains("limit of 3 bytes"), ex.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * A preview without a cover image cannot open one.
+   */
+
+  @Test
+  public void testCoverImageMissing()
+    throws Exception
+  {
+    final var file =
+      EPUBSyntheticBook.create(0L)
+        .write(this.directory.resolve("plain.epub"));
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parse =
+        new EPUBParserFactory().createParser(request)
+          .executeProgressive(Runnable::run);
+      final var preview = parse.preview().get().orElseThrow();
+
+      try (var epub = parse.result().get().orElseThrow()) {
+        Assertions.assertEquals(Optional.empty(), preview.coverImage());
+        Assertions.assertThrows(
+          NoSuchFileException.class, preview::openCoverImage);
+      }
+    }
+  }
+
+  @Test
+  public void testFailure()
+    throws Exception
+  {
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBProgressiveParseTest.class,
+        this.directory,
+        "empty.epub"
+      );
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      final var parse = parser.executeProgressive(Runnable::run);
+      Assertions.assertEquals(Optional.empty(), parse.preview().get());
+      Assertions.assertEquals(Optional.empty(), parse.result().get());
+      Assertions.assertEquals(1, parser.errors().size());
+    }
+  }
+
+  /**
+   * The default implementation produces no preview, and completes the
+   * preview no later than the result.
+   */
+
+  @Test
+  public void testDefault()
+    throws Exception
+  {
+    try (var channel = Files.newByteChannel(this.dickens)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(this.dickens.toUri())
+          .build();
+
+      final var parser =
+        new EPUBMinimalParser(new EPUBParserFactory().createParser(request));
+      final var parse = parser.executeProgressive(Runnable::run);
+      Assertions.assertTrue(parse.preview().isDone());
+      Assertions.assertEquals(Optional.empty(), parse.preview().get());
+
+      try (var epub = parse.result().get().orElseThrow()) {
+        Assertions.assertEquals(1, epub.packages().size());
+        Assertions.assertEquals(List.of(), parser.errors());
+      }
+    }
+  }
+
+  @Test
+  public void testCached()
+    throws Exception
+  {
+    final var parsers =
+      new EPUBParserFactory(
+        EPUBParserFactoryConfiguration.builder()
+          .setCache(EPUBParserCacheConfiguration.builder().build())
+          .build()
+      );
+
+    for (var index = 0; index < 2; ++index) {
+      try (var channel = Files.newByteChannel(this.dickens)) {
+        final var request =
+          EPUBParseRequest.builder()
+            .setChannel(channel)
+            .setUri(this.dickens.toUri())
+            .build();
+
+        final var parse =
+          parsers.createParser(request).executeProgressive(Runnable::run);
+        final var preview = parse.preview().get().orElseThrow();
+        try (var epub = parse.result().get().orElseThrow()) {
+          Assertions.assertEquals(epub.coverImage(), preview.coverImage());
+        }
+      }
+    }
+    Assertions.assertEquals(1L, parsers.cacheStatistics().hits());
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBRefinedProperty;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+public final class EPUBRefinementGraphTest
+{
+  private static EPUBMetadataProperty property(
+    final String name,
+    final String id,
+    final String refines,
+    final String value)
+  {
+    return EPUBMetadataProperty.builder()
+      .setName(name)
+      .setId(id)
+      .setRefines(refines)
+      .setValue(value)
+      .build();
+  }
+
+  private static List<String> values(
+    final List<EPUBRefinedProperty> properties)
+  {
+    return properties.stream()
+      .map(EPUBRefinedProperty::value)
+      .toList();
+  }
+
+  @Test
+  public void testCreatorsOrderedByDisplaySequence()
+  {
+    final var metadata =
+      EPUBMetadata.builder()
+        .addProperties(property("dc:creator", "c0", "", "Second"))
+        .addProperties(property("display-seq", "", "#c0", "2"))
+        .addProperties(property("role", "", "#c0", "ill"))
+        .addProperties(property("dc:creator", "", "", "Last"))
+        .addProperties(property("dc:creator", "c1", "", "First"))
+        .addProperties(property("display-seq", "", "#c1", "1"))
+        .addProperties(property("role", "", "#c1", "aut"))
+        .addProperties(property("role", "", "#c1", "edt"))
+        .addProperties(property("file-as", "", "#c1", "First, The"))
+        .build();
+
+    final var graph = metadata.refinementGraph();
+    Assertions.assertSame(graph, metadata.refinementGraph());
+
+    final var creators = graph.creators();
+    Assertions.assertEquals(List.of("First", "Second", "Last"), values(creators));
+    Assertions.assertEquals(List.of("aut", "edt"), creators.get(0).roles());
+    Assertions.assertEquals(Optional.of("First, The"), creators.get(0).fileAs());
+    Assertions.assertEquals(OptionalInt.of(1), creators.get(0).displaySequence());
+    Assertions.assertEquals(List.of("ill"), creators.get(1).roles());
+    Assertions.assertEquals(List.of(), creators.get(2).refinements());
+    Assertions.assertEquals(OptionalInt.empty(), creators.get(2).displaySequence());
+    Assertions.assertEquals(4, graph.refinementsOf("c1").size());
+    Assertions.assertEquals(List.of(), graph.refinementsOf("nonexistent"));
+  }
+
+  @Test
+  public void testTitlesContributorsCollections()
+  {
+    final var metadata =
+      EPUBMetadata.builder()
+        .addProperties(property("dc:title", "t0", "", "Main"))
+        .addProperties(property("title-type", "", "#t0", "main"))
+        .addProperties(property("dc:title", "t1", "", "Sub"))
+        .addProperties(property("title-type", "", "#t1", "subtitle"))
+        .addProperties(property("display-seq", "", "#t1", "not a number"))
+        .addProperties(property("dc:contributor", "k", "", "Someone"))
+        .addProperties(property("belongs-to-collection", "s", "", "Series"))
+        .addProperties(property("collection-type", "", "#s", "series"))
+        .addProperties(property("group-position", "", "#s", "2"))
+        .addProperties(property("belongs-to-collection", "p", "#s", "Parent"))
+        .addProperties(property("dc:creator", "loop", "#loop", "Loop"))
+        .build();
+
+    final var graph = metadata.refinementGraph();
+    Assertions.assertEquals(List.of("Main", "Sub"), values(graph.titles()));
+    Assertions.assertEquals(Optional.of("subtitle"), graph.titles().get(1).titleType());
+    Assertions.assertEquals(OptionalInt.empty(), graph.titles().get(1).displaySequence());
+    Assertions.assertEquals(List.of("Someone"), values(graph.contributors()));
+
+    final var collections = graph.collections();
+    Assertions.assertEquals(List.of("Series"), values(collections));
+    Assertions.assertEquals(Optional.of("series"), collections.get(0).collectionType());
+    Assertions.assertEquals(Optional.of("2"), collections.get(0).groupPosition());
+    Assertions.assertEquals(
+      List.of("Parent"),
+      collections.get(0).refinementValues("belongs-to-collection"));
+
+    final var loop = graph.creators().get(0);
+    Assertions.assertEquals(List.of(loop.property()), loop.refinements());
+  }
+
+  @Test
+  public void testCharlesDickens()
+    throws Exception
+  {
+    final var directory = EPUBTestDirectories.createTempDirectory();
+    final var file =
+      EPUBTestDirectories.resourceOf(
+        EPUBRefinementGraphTest.class,
+        directory,
+        "charles-dickens_great-expectations.epub"
+      );
+
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        final var graph =
+          epub.packages().get(0).metadata().refinementGraph();
+
+        final var title = graph.titles().get(0);
+        Assertions.assertEquals("Great Expectations", title.value());
+        Assertions.assertEquals(Optional.of("Great Expectations"), title.fileAs());
+
+        final var designer =
+          graph.contributors()
+            .stream()
+            .filter(c -> c.value().equals("The League of Moveable Type"))
+            .findFirst()
+            .orElseThrow();
+        Assertions.assertEquals(List.of("tyd"), designer.roles());
+
+        Assertions.assertEquals(
+          List.of("bkd", "mdc", "pbl"),
+          graph.refinementsOf("publisher")
+            .stream()
+            .filter(p -> p.name().equals("role"))
+            .map(EPUBMetadataProperty::value)
+            .toList()
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Checks that the cost of parsing grows linearly with the size of the
+ * book. Each book is parsed several times and the cheapest run is kept, and
+ * costs are compared between the smallest and largest books as an exponent
+ * of growth: linear costs have an exponent of about 1, and a quadratic scan
+ * of the manifest has an exponent of about 2.
+ *
+ * The tests take tens of seconds, and so are only run by the
+ * {@code scalability} build profile.
+ */
+
+@Tag("scalability")
+public final class EPUBScalabilityTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(EPUBScalabilityTest.class);
+
+  private static final int RUNS = 3;
+
+  /**
+   * Time is noisy, so its limit is looser than that of memory, but a
+   * quadratic algorithm still exceeds it by a wide margin.
+   */
+
+  private static final double TIME_EXPONENT_LIMIT = 1.5;
+  private static final double MEMORY_EXPONENT_LIMIT = 1.2;
+
+  private static final long ALLOCATED_BYTES_PER_ITEM = 16_384L;
+  private static final long RETAINED_BYTES_PER_ITEM = 2_048L;
+
+  private static final MemoryMXBean MEMORY =
+    ManagementFactory.getMemoryMXBean();
+
+  private Path directory;
+  private com.sun.management.ThreadMXBean threads;
+
+  private record Sample(
+    int items,
+    long cpuNanos,
+    long allocatedBytes,
+    long retainedBytes)
+  {
+
+  }
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+
+    final var bean = ManagementFactory.getThreadMXBean();
+    Assumptions.assumeTrue(
+      bean instanceof com.sun.management.ThreadMXBean,
+      "Per-thread allocation accounting is unavailable");
+
+    this.threads = (com.sun.management.ThreadMXBean) bean;
+    Assumptions.assumeTrue(
+      this.threads.isCurrentThreadCpuTimeSupported()
+      && this.threads.isThreadAllocatedMemorySupported(),
+      "Per-thread CPU time or allocation accounting is unavailable");
+
+    this.threads.setThreadCpuTimeEnabled(true);
+    this.threads.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  /**
+   * Measure the heap after collecting garbage. Collection is repeated with
+   * pauses in between, and the lowest reading is kept, because objects
+   * that are only released by finalizers or cleaners survive the first
+   * collection.
+   */
+
+  private static long usedHeap()
+    throws InterruptedException
+  {
+    var lowest = Long.MAX_VALUE;
+    for (var index = 0; index < 5; ++index) {
+      System.gc();
+      Thread.sleep(20L);
+      lowest = Math.min(lowest, MEMORY.getHeapMemoryUsage().getUsed());
+    }
+    return lowest;
+  }
+
+  /**
+   * Parse the book and use the accessors that derive values from the whole
+   * manifest, measuring the calling thread. The heap is measured while the
+   * book is open; the caller measures it again once the book is released.
+   */
+
+  private Sample parse(
+    final Path file,
+    final int items)
+    throws IOException, InterruptedException
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var cpuBefore = this.threads.getCurrentThreadCpuTime();
+      final var allocatedBefore =
+        this.threads.getCurrentThreadAllocatedBytes();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (EPUBType epub = parser.execute().orElseThrow()) {
+        epub.coverImage().orElseThrow();
+        epub.uuid();
+        epub.readingOrder();
+        for (final var epubPackage : epub.packages()) {
+          epubPackage.coverImage().orElseThrow();
+          epubPackage.manifest().itemsById();
+        }
+
+        final var cpu =
+          this.threads.getCurrentThreadCpuTime() - cpuBefore;
+        final var allocated =
+          this.threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Assertions.assertEquals(List.of(), parser.errors());
+
+        final var heap = usedHeap();
+        Reference.reachabilityFence(epub);
+        return new Sample(items, cpu, allocated, heap);
+      }
+    }
+  }
+
+  /**
+   * Measure a parse. The retained heap is the difference between the heap
+   * with the book open and the heap after it is released, so that anything
+   * else that the JVM accumulates between parses does not count against
+   * the book.
+   */
+
+  private Sample measure(
+    final Path file,
+    final int items)
+    throws IOException, InterruptedException
+  {
+    final var sample = this.parse(file, items);
+    return new Sample(
+      items,
+      sample.cpuNanos(),
+      sample.allocatedBytes(),
+      sample.retainedBytes() - usedHeap()
+    );
+  }
+
+  /**
+   * Measure each book {@link #RUNS} times and keep the cheapest result of
+   * each measure. The largest book is parsed first so that the smallest is
+   * not measured before the code has been compiled.
+   */
+
+  private List<Sample> measureAll(
+    final List<Path> files,
+    final List<Integer> sizes)
+    throws IOException, InterruptedException
+  {
+    final var last = files.size() - 1;
+    this.measure(files.get(last), sizes.get(last).intValue());
+
+    final var samples = new ArrayList<Sample>(files.size());
+    for (var index = 0; index < files.size(); ++index) {
+      final var items = sizes.get(index).intValue();
+      var best = this.measure(files.get(index), items);
+      for (var run = 1; run < RUNS; ++run) {
+        final var next = this.measure(files.get(index), items);
+        best = new Sample(
+          items,
+          Math.min(best.cpuNanos(), next.cpuNanos()),
+          Math.min(best.allocatedBytes(), next.allocatedBytes()),
+          Math.min(best.retainedBytes(), next.retainedBytes())
+        );
+      }
+      LOG.debug("{}", best);
+      samples.add(best);
+    }
+    return samples;
+  }
+
+  private static double exponent(
+    final List<Sample> samples,
+    final ToLongFunction<Sample> cost)
+  {
+    final var first = samples.get(0);
+    final var last = samples.get(samples.size() - 1);
+    final var costs =
+      (double) cost.applyAsLong(last)
+      / (double) Math.max(1L, cost.applyAsLong(first));
+    final var sizes =
+      (double) last.items() / (double) first.items();
+    return Math.log(costs) / Math.log(sizes);
+  }
+
+  private static void checkExponent(
+    final String name,
+    final List<Sample> samples,
+    final ToLongFunction<Sample> cost,
+    final double limit)
+  {
+    final var value = exponent(samples, cost);
+    LOG.debug("{} growth exponent: {}", name, Double.valueOf(value));
+    Assertions.assertTrue(
+      value < limit,
+      () -> "%s grows with exponent %.2f (limit %.2f): %s".formatted(
+        name, Double.valueOf(value), Double.valueOf(limit), samples));
+  }
+
+  /**
+   * Time, allocation and retained heap grow linearly with the size of the
+   * manifest, and allocation and retention per item stay within budget.
+   */
+
+  @Test
+  public void testManifestSize()
+    throws Exception
+  {
+    final var sizes = List.of(
+      Integer.valueOf(2_000),
+      Integer.valueOf(8_000),
+      Integer.valueOf(32_000)
+    );
+
+    final var files = new ArrayList<Path>();
+    for (final var size : sizes) {
+      files.add(
+        EPUBSyntheticBook.create(size.longValue())
+          .setManifestItems(size.intValue())
+          .setMetadataProperties(size.intValue() / 100)
+          .setRefinesChainLength(4)
+          .setCover(EPUBSyntheticBook.Cover.META, new byte[16])
+          .write(this.directory.resolve("manifest-%s.epub".formatted(size)))
+      );
+    }
+
+    final var samples = this.measureAll(files, sizes);
+    checkExponent("CPU time", samples, Sample::cpuNanos, TIME_EXPONENT_LIMIT);
+    checkExponent(
+      "Allocation", samples, Sample::allocatedBytes, MEMORY_EXPONENT_LIMIT);
+    checkExponent(
+      "Retained heap", samples, Sample::retainedBytes, MEMORY_EXPONENT_LIMIT);
+
+    final var largest = samples.get(samples.size() - 1);
+    final var allocatedPerItem = largest.allocatedBytes() / largest.items();
+    final var retainedPerItem = largest.retainedBytes() / largest.items();
+    Assertions.assertTrue(
+      allocatedPerItem <= ALLOCATED_BYTES_PER_ITEM,
+      () -> "Allocated %d bytes per item (budget %d)".formatted(
+        Long.valueOf(allocatedPerItem),
+        Long.valueOf(ALLOCATED_BYTES_PER_ITEM)));
+    Assertions.assertTrue(
+      retainedPerItem <= RETAINED_BYTES_PER_ITEM,
+      () -> "Retained %d bytes per item (budget %d)".formatted(
+        Long.valueOf(retainedPerItem),
+        Long.valueOf(RETAINED_BYTES_PER_ITEM)));
+  }
+
+  /**
+   * Time, allocation and retained heap grow linearly with the number of
+   * renditions, each of which is listed in the container and parsed
+   * separately.
+   */
+
+  @Test
+  public void testRenditions()
+    throws Exception
+  {
+    final var sizes = List.of(
+      Integer.valueOf(8),
+      Integer.valueOf(32),
+      Integer.valueOf(128)
+    );
+
+    final var files = new ArrayList<Path>();
+    for (final var size : sizes) {
+      files.add(
+        EPUBSyntheticBook.create(size.longValue())
+          .setRenditions(size.intValue())
+          .setManifestItems(100)
+          .setCover(EPUBSyntheticBook.Cover.PROPERTY, new byte[16])
+          .write(this.directory.resolve("renditions-%s.epub".formatted(size)))
+      );
+    }
+
+    final var samples = this.measureAll(files, sizes);
+    checkExponent("CPU time", samples, Sample::cpuNanos, TIME_EXPONENT_LIMIT);
+    checkExponent(
+      "Allocation", samples, Sample::allocatedBytes, MEMORY_EXPONENT_LIMIT);
+    checkExponent(
+      "Retained heap", samples, Sample::retainedBytes, MEMORY_EXPONENT_LIMIT);
+  }
+}
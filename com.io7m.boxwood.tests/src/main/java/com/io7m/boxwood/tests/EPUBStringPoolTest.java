@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import com.io7m.boxwood.vanilla.EPUBParserFactoryConfiguration;
+import com.io7m.boxwood.vanilla.internal.EPUBStringPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class EPUBStringPoolTest
+{
+  private Path directory;
+  private Path dickens;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+    this.dickens =
+      EPUBTestDirectories.resourceOf(
+        EPUBStringPoolTest.class,
+        this.directory,
+        "charles-dickens_great-expectations.epub"
+      );
+  }
+
+  private static EPUBPackage parse(
+    final EPUBParserFactory parsers,
+    final Path file)
+    throws IOException
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = parsers.createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+        return epub.packages().get(0);
+      }
+    }
+  }
+
+  private static List<String> pooledStrings(
+    final EPUBPackage pack)
+  {
+    final var items = pack.manifest().items();
+    final var strings =
+      items.stream()
+        .map(EPUBManifestItem::mediaType)
+        .collect(Collectors.toList());
+    for (final var item : items) {
+      strings.addAll(item.properties());
+    }
+    for (final var property : pack.metadata().properties()) {
+      strings.add(property.name());
+    }
+    return strings;
+  }
+
+  @Test
+  public void testSizeRounding()
+  {
+    Assertions.assertEquals(0, EPUBStringPool.create(0).size());
+    Assertions.assertEquals(1, EPUBStringPool.create(1).size());
+    Assertions.assertEquals(2, EPUBStringPool.create(2).size());
+    Assertions.assertEquals(4, EPUBStringPool.create(3).size());
+    Assertions.assertEquals(4096, EPUBStringPool.create(4096).size());
+    Assertions.assertEquals(8192, EPUBStringPool.create(4097).size());
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> EPUBStringPool.create(-1));
+  }
+
+  @Test
+  public void testInternCanonical()
+  {
+    final var pool = EPUBStringPool.create(16);
+    final var a = "application/" + "xhtml+xml".toLowerCase();
+    final var b = "application/" + "XHTML+XML".toLowerCase();
+    Assertions.assertNotSame(a, b);
+    Assertions.assertSame(a, pool.intern(a));
+    Assertions.assertSame(a, pool.intern(b));
+    Assertions.assertNull(pool.intern(null));
+  }
+
+  @Test
+  public void testInternDisabled()
+  {
+    final var pool = EPUBStringPool.create(0);
+    final var a = "application/" + "xhtml+xml".toLowerCase();
+    final var b = "application/" + "XHTML+XML".toLowerCase();
+    Assertions.assertSame(a, pool.intern(a));
+    Assertions.assertSame(b, pool.intern(b));
+  }
+
+  @Test
+  public void testInternBounded()
+  {
+    final var pool = EPUBStringPool.create(4);
+    for (var index = 0; index < 10_000; ++index) {
+      final var text = Integer.toString(index);
+      Assertions.assertEquals(text, pool.intern(text));
+    }
+    Assertions.assertEquals(4, pool.size());
+  }
+
+  @Test
+  public void testParsedStringsSharedAcrossBooks()
+    throws Exception
+  {
+    final var parsers = new EPUBParserFactory();
+    final var first = pooledStrings(parse(parsers, this.dickens));
+    final var second = pooledStrings(parse(parsers, this.dickens));
+
+    Assertions.assertEquals(first, second);
+    for (var index = 0; index < first.size(); ++index) {
+      Assertions.assertSame(first.get(index), second.get(index));
+    }
+
+    /*
+     * Equal strings within a single book share a single instance.
+     */
+
+    final Set<String> identities =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+    identities.addAll(first);
+    Assertions.assertEquals(Set.copyOf(first).size(), identities.size());
+  }
+
+  @Test
+  public void testParsedStringsNotSharedWhenDisabled()
+    throws Exception
+  {
+    final var parsers =
+      new EPUBParserFactory(
+        EPUBParserFactoryConfiguration.builder()
+          .setStringPoolSize(0)
+          .build()
+      );
+
+    final var first = parse(parsers, this.dickens);
+    final var second = parse(parsers, this.dickens);
+    Assertions.assertEquals(first, second);
+    Assertions.assertNotSame(
+      first.manifest().items().get(0).mediaType(),
+      second.manifest().items().get(0).mediaType()
+    );
+  }
+
+  @Test
+  public void testConfigurationRejectsNegativeSize()
+  {
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> EPUBParserFactoryConfiguration.builder()
+        .setStringPoolSize(-1)
+        .build());
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.tests;
+
+import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseRequest;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook.Compression;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook.Cover;
+import com.io7m.boxwood.tests.fixtures.EPUBSyntheticBook.Fault;
+import com.io7m.boxwood.tests.fixtures.EPUBTestDirectories;
+import com.io7m.boxwood.vanilla.EPUBParserFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public final class EPUBSyntheticBookTest
+{
+  private Path directory;
+
+  @BeforeEach
+  public void testSetup()
+    throws IOException
+  {
+    this.directory = EPUBTestDirectories.createTempDirectory();
+  }
+
+  private record Parsed(
+    Optional<EPUBType> epub,
+    List<EPUBParseError> errors)
+  {
+
+  }
+
+  private static Parsed parse(
+    final Path file)
+    throws IOException
+  {
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      final var result = parser.execute();
+      if (result.isPresent()) {
+        result.get().close();
+      }
+      return new Parsed(result, parser.errors());
+    }
+  }
+
+  private Path write(
+    final String name,
+    final EPUBSyntheticBook book)
+    throws IOException
+  {
+    return book.write(this.directory.resolve(name));
+  }
+
+  /**
+   * The same seed and configuration produce identical archives, and a
+   * different seed produces a different archive.
+   */
+
+  @Test
+  public void testDeterministic()
+    throws Exception
+  {
+    final var a =
+      this.write("a.epub", configured(EPUBSyntheticBook.create(23L)));
+    final var b =
+      this.write("b.epub", configured(EPUBSyntheticBook.create(23L)));
+    final var c =
+      this.write("c.epub", configured(EPUBSyntheticBook.create(24L)));
+
+    Assertions.assertArrayEquals(Files.readAllBytes(a), Files.readAllBytes(b));
+    Assertions.assertFalse(
+      Arrays.equals(Files.readAllBytes(a), Files.readAllBytes(c)));
+  }
+
+  private static EPUBSyntheticBook configured(
+    final EPUBSyntheticBook book)
+  {
+    return book.setManifestItems(50)
+      .setEntrySizes(0L, 4096L)
+      .setMetadataProperties(10)
+      .setRefinesChainLength(3)
+      .setCompression(Compression.MIXED);
+  }
+
+  /**
+   * A valid book parses without errors, and has the configured shape.
+   */
+
+  @Test
+  public void testValid()
+    throws Exception
+  {
+    final var book =
+      EPUBSyntheticBook.create(1L)
+        .setManifestItems(200)
+        .setSpineItems(20)
+        .setRenditions(3)
+        .setMetadataProperties(40)
+        .setRefinesChainLength(5)
+        .setCover(Cover.PROPERTY, new byte[]{1, 2, 3});
+
+    final var file = this.write("valid.epub", book);
+    try (var channel = Files.newByteChannel(file)) {
+      final var request =
+        EPUBParseRequest.builder()
+          .setChannel(channel)
+          .setUri(file.toUri())
+          .build();
+
+      final var parser = new EPUBParserFactory().createParser(request);
+      try (var epub = parser.execute().orElseThrow()) {
+        Assertions.assertEquals(List.of(), parser.errors());
+        Assertions.assertEquals(3, epub.packages().size());
+        Assertions.assertEquals(book.identifier(), epub.uniqueIdentifier());
+        Assertions.assertEquals(
+          "OEBPS/cover.png",
+          epub.coverImage().orElseThrow().realPath());
+
+        for (final var epubPackage : epub.packages()) {
+          Assertions.assertEquals(
+            201, epubPackage.manifest().items().size());
+          Assertions.assertEquals(
+            20, epubPackage.spine().items().size());
+
+          final var graph = epubPackage.metadata().refinementGraph();
+          Assertions.assertEquals(
+            List.of("Synthetic 0"),
+            graph.titles().get(0).refinementValues("file-as"));
+          for (var index = 1; index < 5; ++index) {
+            Assertions.assertEquals(
+              1, graph.refinementsOf("r" + (index - 1)).size());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Compression methods and entry sizes are applied as configured.
+   */
+
+  @TestFactory
+  public Stream<DynamicTest> testCompression()
+  {
+    return Stream.of(Compression.values())
+      .map(mode -> DynamicTest.dynamicTest("testCompression_" + mode, () -> {
+        final var file =
+          this.write(
+            mode + ".epub",
+            EPUBSyntheticBook.create(2L)
+              .setManifestItems(100)
+              .setEntrySizes(100L, 200L)
+              .setCompression(mode)
+          );
+
+        final var methods = new HashSet<Integer>();
+        try (var zip = new ZipFile(file.toFile())) {
+          final var entries =
+            zip.stream()
+              .filter(e -> e.getName().endsWith(".xhtml"))
+              .toList();
+
+          Assertions.assertEquals(100, entries.size());
+          for (final var entry : entries) {
+            Assertions.assertTrue(entry.getSize() >= 100L);
+            Assertions.assertTrue(entry.getSize() <= 200L);
+            Assertions.assertEquals(
+              entry.getSize(),
+              zip.getInputStream(entry).readAllBytes().length);
+            methods.add(Integer.valueOf(entry.getMethod()));
+          }
+        }
+
+        final var expected = switch (mode) {
+          case STORED -> Set.of(Integer.valueOf(ZipEntry.STORED));
+          case DEFLATED -> Set.of(Integer.valueOf(ZipEntry.DEFLATED));
+          case MIXED -> Set.of(
+            Integer.valueOf(ZipEntry.STORED),
+            Integer.valueOf(ZipEntry.DEFLATED));
+        };
+        Assertions.assertEquals(expected, methods);
+        Assertions.assertEquals(List.of(), parse(file).errors());
+      }));
+  }
+
+  /**
+   * Each missing entry produces an error.
+   */
+
+  @Test
+  public void testMissingEntries()
+    throws Exception
+  {
+    final var file =
+      this.write(
+        "missing.epub",
+        EPUBSyntheticBook.create(3L)
+          .setManifestItems(100)
+          .setMissingEvery(10)
+      );
+
+    final var parsed = parse(file);
+    Assertions.assertTrue(parsed.epub().isPresent());
+    Assertions.assertEquals(10, parsed.errors().size());
+    for (final var error : parsed.errors()) {
+      Assertions.assertEquals(
+        "epub.error.requiredFileMissing", error.code());
+    }
+  }
+
+  /**
+   * Each fault produces the expected error.
+   */
+
+  @TestFactory
+  public Stream<DynamicTest> testFaults()
+  {
+    final var expected = Map.of(
+      Fault.MISSING_CONTAINER,
+      "epub.error.requiredFileMissing",
+      Fault.MISSING_ROOT_FILE,
+      "epub.error.container.rootFileNonexistent",
+      Fault.MALFORMED_PACKAGE,
+      "epub.error.exception",
+      Fault.MISSING_UNIQUE_IDENTIFIER,
+      "epub.error.package.uniqueIdPropertyMissing",
+      Fault.MISSING_MEDIA_TYPE,
+      "epub.error.xml.requireAttribute"
+    );
+
+    return Stream.of(Fault.values())
+      .map(fault -> DynamicTest.dynamicTest("testFault_" + fault, () -> {
+        final var file =
+          this.write(
+            fault + ".epub",
+            EPUBSyntheticBook.create(4L).addFault(fault)
+          );
+
+        final var codes = new ArrayList<String>();
+        parse(file).errors().forEach(e -> codes.add(e.code()));
+        Assertions.assertTrue(
+          codes.contains(expected.get(fault)),
+          () -> "Expected %s in %s".formatted(expected.get(fault), codes));
+      }));
+  }
+}
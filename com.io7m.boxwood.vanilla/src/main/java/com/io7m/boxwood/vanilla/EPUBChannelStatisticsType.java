@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * A snapshot of the operations performed on an instrumented channel.
+ *
+ * @see EPUBInstrumentedChannelType
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBChannelStatisticsType
+{
+  /**
+   * @return The number of read operations, including positional reads
+   */
+
+  long readCalls();
+
+  /**
+   * @return The number of bytes read
+   */
+
+  long bytesRead();
+
+  /**
+   * @return The number of times the position was set explicitly
+   */
+
+  long positionCalls();
+
+  /**
+   * @return The number of times the position was queried
+   */
+
+  long positionQueries();
+
+  /**
+   * @return The number of times the size was queried
+   */
+
+  long sizeCalls();
+
+  /**
+   * @return The number of reads that did not start where the previous read
+   * ended
+   */
+
+  long seeks();
+
+  /**
+   * @return The total distance in bytes between the end of each read and
+   * the start of the next, over all {@link #seeks()}
+   */
+
+  long seekDistance();
+
+  /**
+   * A histogram of the sizes of reads. Element {@code 0} counts reads that
+   * returned no data, and element {@code i > 0} counts reads that returned
+   * at least {@code 2^(i-1)} and less than {@code 2^i} bytes.
+   *
+   * @return The histogram of read sizes
+   */
+
+  List<Long> readSizes();
+}
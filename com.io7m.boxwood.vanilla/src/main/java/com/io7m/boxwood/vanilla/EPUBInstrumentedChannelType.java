@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
+import com.io7m.boxwood.vanilla.internal.EPUBInstrumentedChannels;
+
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * A channel that counts the operations performed on an underlying channel.
+ * Wrapping a {@link java.nio.channels.FileChannel} produces a
+ * {@code FileChannel}, so that archives continue to use positional reads
+ * that do not require locking. Instrumented channels are safe for use from
+ * multiple threads if the underlying channel is; seek distances are
+ * approximate when reads are concurrent.
+ */
+
+public interface EPUBInstrumentedChannelType extends SeekableByteChannel
+{
+  /**
+   * Wrap a channel.
+   *
+   * @param channel The channel
+   *
+   * @return An instrumented channel
+   */
+
+  static EPUBInstrumentedChannelType wrap(
+    final SeekableByteChannel channel)
+  {
+    return EPUBInstrumentedChannels.wrap(channel, EPUBParseMetricsType.none());
+  }
+
+  /**
+   * @return A snapshot of the operations performed so far
+   */
+
+  EPUBChannelStatistics statistics();
+}
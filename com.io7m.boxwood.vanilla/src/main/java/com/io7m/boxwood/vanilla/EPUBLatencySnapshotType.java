@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A snapshot of a latency histogram. Percentiles are reported as the
+ * highest value in the bucket that contains them, and are accurate to
+ * within about 3%.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBLatencySnapshotType
+{
+  /**
+   * @return The number of recorded values
+   */
+
+  long count();
+
+  /**
+   * @return The sum of the recorded values in nanoseconds
+   */
+
+  long totalNanos();
+
+  /**
+   * @return The largest recorded value in nanoseconds
+   */
+
+  long maximumNanos();
+
+  /**
+   * @return The median in nanoseconds
+   */
+
+  long p50Nanos();
+
+  /**
+   * @return The 90th percentile in nanoseconds
+   */
+
+  long p90Nanos();
+
+  /**
+   * @return The 99th percentile in nanoseconds
+   */
+
+  long p99Nanos();
+
+  /**
+   * @return The 99.9th percentile in nanoseconds
+   */
+
+  long p999Nanos();
+
+  /**
+   * @return The mean of the recorded values in nanoseconds
+   */
+
+  default double meanNanos()
+  {
+    final var count = this.count();
+    return count == 0L ? 0.0 : (double) this.totalNanos() / (double) count;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.vanilla.internal.EPUBBinaryReader;
+import com.io7m.boxwood.vanilla.internal.EPUBBinaryWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compact, versioned binary codec for parsed EPUB packages.
+ *
+ * The encoded form begins with a magic number and a format version, followed
+ * by a table of every distinct string in the encoded packages, followed by
+ * the packages themselves. All integers are encoded as unsigned LEB128
+ * variable-length integers, and all strings within packages are encoded as
+ * indices into the string table. Repeated values such as media types and
+ * property names are therefore stored exactly once.
+ *
+ * Decoding reads directly from the given buffer; the input is never copied
+ * into an intermediate array, and each distinct string is decoded exactly
+ * once and shared between all of the values that refer to it.
+ */
+
+public final class EPUBPackageCodec
+{
+  /**
+   * The magic number that begins every encoded stream ("BXWD").
+   */
+
+  public static final int MAGIC_NUMBER = 0x42585744;
+
+  /**
+   * The current version of the encoded format.
+   */
+
+  public static final int FORMAT_VERSION = 1;
+
+  private EPUBPackageCodec()
+  {
+
+  }
+
+  /**
+   * Encode the given list of packages.
+   *
+   * @param packages The packages
+   *
+   * @return The encoded packages
+   */
+
+  public static byte[] encode(
+    final List<EPUBPackage> packages)
+  {
+    Objects.requireNonNull(packages, "packages");
+    return EPUBBinaryWriter.encode(MAGIC_NUMBER, FORMAT_VERSION, packages);
+  }
+
+  /**
+   * Decode a list of packages from the given buffer. The buffer is read from
+   * its current position, and the position is left immediately after the
+   * encoded data on return.
+   *
+   * @param buffer The buffer
+   *
+   * @return The decoded packages
+   *
+   * @throws IOException If the buffer does not contain a valid encoded stream
+   */
+
+  public static List<EPUBPackage> decode(
+    final ByteBuffer buffer)
+    throws IOException
+  {
+    Objects.requireNonNull(buffer, "buffer");
+    return EPUBBinaryReader.decode(MAGIC_NUMBER, FORMAT_VERSION, buffer);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.boxwood.vanilla.internal.EPUBLatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free metrics receiver that accumulates counters and latency
+ * histograms in memory. Snapshots can be taken at any time from any thread.
+ *
+ * @see EPUBParserFactoryConfigurationType#metrics()
+ */
+
+public final class EPUBParseMetrics implements EPUBParseMetricsType
+{
+  private final LongAdder parsesStarted;
+  private final LongAdder parsesFailed;
+  private final LongAdder channelReads;
+  private final LongAdder channelBytesRead;
+  private final LongAdder channelSeeks;
+  private final LongAdder channelSeekDistance;
+  private final LongAdder entriesInflated;
+  private final LongAdder bytesInflated;
+  private final LongAdder cacheHits;
+  private final LongAdder cacheMisses;
+  private final EPUBLatencyHistogram parseLatency;
+  private final EnumMap<EPUBParsePhase, EPUBLatencyHistogram> phaseLatencies;
+  private final ConcurrentHashMap<String, LongAdder> errors;
+
+  /**
+   * Create an empty set of metrics.
+   */
+
+  public EPUBParseMetrics()
+  {
+    this.parsesStarted = new LongAdder();
+    this.parsesFailed = new LongAdder();
+    this.channelReads = new LongAdder();
+    this.channelBytesRead = new LongAdder();
+    this.channelSeeks = new LongAdder();
+    this.channelSeekDistance = new LongAdder();
+    this.entriesInflated = new LongAdder();
+    this.bytesInflated = new LongAdder();
+    this.cacheHits = new LongAdder();
+    this.cacheMisses = new LongAdder();
+    this.parseLatency = new EPUBLatencyHistogram();
+    this.errors = new ConcurrentHashMap<>();
+
+    /*
+     * The map is fully populated here and never modified afterwards, so it
+     * may be read from any thread without synchronization.
+     */
+
+    this.phaseLatencies = new EnumMap<>(EPUBParsePhase.class);
+    for (final var phase : EPUBParsePhase.values()) {
+      if (phase != EPUBParsePhase.FINISHED) {
+        this.phaseLatencies.put(phase, new EPUBLatencyHistogram());
+      }
+    }
+  }
+
+  /**
+   * @return A snapshot of the current metrics
+   */
+
+  public EPUBParseMetricsSnapshot snapshot()
+  {
+    final var phases = new EnumMap<EPUBParsePhase, EPUBLatencySnapshot>(
+      EPUBParsePhase.class);
+    for (final var entry : this.phaseLatencies.entrySet()) {
+      phases.put(entry.getKey(), entry.getValue().snapshot());
+    }
+
+    final var errorCounts = new TreeMap<String, Long>();
+    for (final var entry : this.errors.entrySet()) {
+      errorCounts.put(entry.getKey(), Long.valueOf(entry.getValue().sum()));
+    }
+
+    return EPUBParseMetricsSnapshot.builder()
+      .setParsesStarted(this.parsesStarted.sum())
+      .setParsesFailed(this.parsesFailed.sum())
+      .setParseLatency(this.parseLatency.snapshot())
+      .setPhaseLatencies(phases)
+      .setChannelReads(this.channelReads.sum())
+      .setChannelBytesRead(this.channelBytesRead.sum())
+      .setChannelSeeks(this.channelSeeks.sum())
+      .setChannelSeekDistance(this.channelSeekDistance.sum())
+      .setEntriesInflated(this.entriesInflated.sum())
+      .setBytesInflated(this.bytesInflated.sum())
+      .setCacheHits(this.cacheHits.sum())
+      .setCacheMisses(this.cacheMisses.sum())
+      .setErrorsByCode(errorCounts)
+      .build();
+  }
+
+  @Override
+  public void onParseStarted()
+  {
+    this.parsesStarted.increment();
+  }
+
+  @Override
+  public void onParseFinished(
+    final boolean succeeded,
+    final long nanos)
+  {
+    if (!succeeded) {
+      this.parsesFailed.increment();
+    }
+    this.parseLatency.record(nanos);
+  }
+
+  @Override
+  public void onPhaseCompleted(
+    final EPUBParsePhase phase,
+    final long nanos)
+  {
+    final var histogram =
+      this.phaseLatencies.get(Objects.requireNonNull(phase, "phase"));
+    if (histogram != null) {
+      histogram.record(nanos);
+    }
+  }
+
+  @Override
+  public void onChannelBytesRead(
+    final long bytes)
+  {
+    this.channelReads.increment();
+    this.channelBytesRead.add(bytes);
+  }
+
+  @Override
+  public void onChannelSeek(
+    final long distance)
+  {
+    this.channelSeeks.increment();
+    this.channelSeekDistance.add(distance);
+  }
+
+  @Override
+  public void onEntryInflated()
+  {
+    this.entriesInflated.increment();
+  }
+
+  @Override
+  public void onEntryBytesInflated(
+    final long bytes)
+  {
+    this.bytesInflated.add(bytes);
+  }
+
+  @Override
+  public void onCacheHit()
+  {
+    this.cacheHits.increment();
+  }
+
+  @Override
+  public void onCacheMiss()
+  {
+    this.cacheMisses.increment();
+  }
+
+  @Override
+  public void onError(
+    final EPUBParseError error)
+  {
+    this.errors.computeIfAbsent(error.code(), k -> new LongAdder())
+      .add(error.occurrences());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Map;
+
+/**
+ * A snapshot of the metrics collected by {@link EPUBParseMetrics}.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParseMetricsSnapshotType
+{
+  /**
+   * @return The number of parses started
+   */
+
+  long parsesStarted();
+
+  /**
+   * @return The number of parses that did not produce a book
+   */
+
+  long parsesFailed();
+
+  /**
+   * @return The latencies of complete parses
+   */
+
+  EPUBLatencySnapshot parseLatency();
+
+  /**
+   * @return The latencies of each phase of parsing
+   */
+
+  Map<EPUBParsePhase, EPUBLatencySnapshot> phaseLatencies();
+
+  /**
+   * @return The number of read operations on book channels
+   */
+
+  long channelReads();
+
+  /**
+   * @return The number of bytes read from book channels
+   */
+
+  long channelBytesRead();
+
+  /**
+   * @return The number of non-contiguous reads on book channels
+   */
+
+  long channelSeeks();
+
+  /**
+   * @return The total distance in bytes of the non-contiguous reads
+   */
+
+  long channelSeekDistance();
+
+  /**
+   * @return The number of archive entries opened for inflation
+   */
+
+  long entriesInflated();
+
+  /**
+   * @return The number of decompressed bytes read from closed entries
+   */
+
+  long bytesInflated();
+
+  /**
+   * @return The number of parses that reused a cached result
+   */
+
+  long cacheHits();
+
+  /**
+   * @return The number of parses that missed an enabled cache
+   */
+
+  long cacheMisses();
+
+  /**
+   * @return The number of errors produced, by error code
+   */
+
+  Map<String, Long> errorsByCode();
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * The configuration of the parse result cache.
+ *
+ * The cache holds the packages of recently parsed books, keyed by a
+ * fingerprint taken from the central directory of the archive: the size of
+ * the archive, and the CRC32 values and sizes of {@code META-INF/container.xml}
+ * and of each package file. A book whose fingerprint matches a cached entry
+ * is not parsed again; the cached, immutable packages are reused. Only books
+ * whose container and packages parsed without errors are cached.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParserCacheConfigurationType
+{
+  /**
+   * @return The maximum number of books held in the cache
+   */
+
+  @Value.Default
+  default int maximumEntries()
+  {
+    return 256;
+  }
+
+  /**
+   * The maximum total weight of the books held in the cache. The weight of
+   * a book is the total number of metadata properties, manifest items, and
+   * spine items in its packages, and is used as an approximation of the
+   * memory retained by the book.
+   *
+   * @return The maximum total weight of the cache
+   */
+
+  @Value.Default
+  default long maximumWeight()
+  {
+    return 1_000_000L;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumEntries() < 1) {
+      throw new IllegalArgumentException(
+        "Maximum entries must be positive: " + this.maximumEntries());
+    }
+    if (this.maximumWeight() < 1L) {
+      throw new IllegalArgumentException(
+        "Maximum weight must be positive: " + this.maximumWeight());
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A snapshot of the statistics of the parse result cache.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParserCacheStatisticsType
+{
+  /**
+   * @return The number of parses that reused a cached result
+   */
+
+  long hits();
+
+  /**
+   * @return The number of parses that did not find a cached result
+   */
+
+  long misses();
+
+  /**
+   * @return The number of results evicted from the cache
+   */
+
+  long evictions();
+
+  /**
+   * @return The number of results currently held in the cache
+   */
+
+  long entries();
+
+  /**
+   * @return The total weight of the results currently held in the cache
+   */
+
+  long weight();
+}
@@ -16,11 +16,13 @@
 
 package com.io7m.boxwood.vanilla;
 
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
 import com.io7m.boxwood.parser.api.EPUBParseRequest;
 import com.io7m.boxwood.parser.api.EPUBParserFactoryType;
 import com.io7m.boxwood.parser.api.EPUBParserType;
 import com.io7m.boxwood.vanilla.internal.EPUBParser;
-import com.io7m.boxwood.vanilla.internal.EPUBStrings;
+import com.io7m.boxwood.vanilla.internal.EPUBParserCache;
+import com.io7m.boxwood.vanilla.internal.EPUBStringPool;
 import org.osgi.service.component.annotations.Component;
 
 import java.util.Objects;
@@ -33,6 +35,32 @@ import java.util.Objects;
 public final class EPUBParserFactory implements EPUBParserFactoryType
 {
   private final EPUBStringsType strings;
+  private final EPUBParserCache cache;
+  private final EPUBStringPool stringPool;
+  private final EPUBParseMetricsType metrics;
+
+  /**
+   * Construct a parser factory.
+   *
+   * @param configuration The factory configuration
+   */
+
+  public EPUBParserFactory(
+    final EPUBParserFactoryConfiguration configuration)
+  {
+    Objects.requireNonNull(configuration, "configuration");
+
+    this.strings =
+      configuration.strings();
+    this.cache =
+      configuration.cache()
+        .map(EPUBParserCache::create)
+        .orElseGet(EPUBParserCache::disabled);
+    this.stringPool =
+      EPUBStringPool.create(configuration.stringPoolSize());
+    this.metrics =
+      configuration.metrics();
+  }
 
   /**
    * Construct a parser factory.
@@ -43,7 +71,11 @@ public final class EPUBParserFactory implements EPUBParserFactoryType
   public EPUBParserFactory(
     final EPUBStringsType inStrings)
   {
-    this.strings = Objects.requireNonNull(inStrings, "inStrings");
+    this(
+      EPUBParserFactoryConfiguration.builder()
+        .setStrings(Objects.requireNonNull(inStrings, "inStrings"))
+        .build()
+    );
   }
 
   /**
@@ -52,7 +84,25 @@ public final class EPUBParserFactory implements EPUBParserFactoryType
 
   public EPUBParserFactory()
   {
-    this(EPUBStrings.create());
+    this(EPUBParserFactoryConfiguration.builder().build());
+  }
+
+  /**
+   * @return A snapshot of the statistics of the parse result cache
+   */
+
+  public EPUBParserCacheStatistics cacheStatistics()
+  {
+    return this.cache.statistics();
+  }
+
+  /**
+   * Remove all results from the parse result cache.
+   */
+
+  public void cacheClear()
+  {
+    this.cache.clear();
   }
 
   @Override
@@ -60,6 +110,12 @@ public final class EPUBParserFactory implements EPUBParserFactoryType
     final EPUBParseRequest request)
   {
     Objects.requireNonNull(request, "request");
-    return new EPUBParser(this.strings, request);
+    return new EPUBParser(
+      this.strings,
+      this.cache,
+      this.stringPool,
+      this.metrics,
+      request
+    );
   }
 }
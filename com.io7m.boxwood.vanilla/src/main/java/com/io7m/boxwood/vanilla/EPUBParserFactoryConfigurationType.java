@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla;
+
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
+import com.io7m.boxwood.vanilla.internal.EPUBStrings;
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+
+/**
+ * The configuration of a parser factory.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface EPUBParserFactoryConfigurationType
+{
+  /**
+   * @return The string resources used to produce messages
+   */
+
+  @Value.Default
+  default EPUBStringsType strings()
+  {
+    return EPUBStrings.create();
+  }
+
+  /**
+   * @return The configuration of the parse result cache, if caching is enabled
+   */
+
+  Optional<EPUBParserCacheConfiguration> cache();
+
+  /**
+   * The number of slots in the string pool shared by all parsers created by
+   * the factory. Frequently repeated strings in parsed packages, such as
+   * media types, manifest item properties, and metadata property names, are
+   * canonicalized through the pool so that parsed books share a single copy
+   * of each. A size of {@code 0} disables pooling.
+   *
+   * @return The number of slots in the string pool
+   */
+
+  @Value.Default
+  default int stringPoolSize()
+  {
+    return 4096;
+  }
+
+  /**
+   * The receiver of metrics for all parsers created by the factory. By
+   * default, metrics are ignored; {@link EPUBParseMetrics} provides an
+   * in-memory implementation.
+   *
+   * @return The metrics receiver
+   */
+
+  @Value.Default
+  default EPUBParseMetricsType metrics()
+  {
+    return EPUBParseMetricsType.none();
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.stringPoolSize() < 0) {
+      throw new IllegalArgumentException(
+        "String pool size must be non-negative: " + this.stringPoolSize());
+    }
+  }
+}
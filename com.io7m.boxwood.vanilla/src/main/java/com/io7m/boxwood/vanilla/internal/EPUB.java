@@ -16,15 +16,24 @@
 
 package com.io7m.boxwood.vanilla.internal;
 
+import com.io7m.boxwood.api.EPUBFileHandleType;
+import com.io7m.boxwood.api.EPUBManifestItem;
 import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBReadingOrderItem;
 import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * An EPUB.
@@ -34,15 +43,32 @@ public final class EPUB implements EPUBType
 {
   private final ZipFile file;
   private final EPUBContainer container;
+  private final EPUBParseMetricsType metrics;
+  private final AtomicReferenceArray<List<EPUBReadingOrderItem>> readingOrders;
+
+  /*
+   * Values derived from the (immutable) packages. These are computed on
+   * first use; computation is idempotent, so racing threads at worst
+   * compute equal values, and the values are safely published through the
+   * volatile fields.
+   */
+
+  private volatile UUID uuid;
+  private volatile Optional<EPUBManifestItem> coverImage;
 
   EPUB(
     final ZipFile inFile,
-    final EPUBContainer inContainer)
+    final EPUBContainer inContainer,
+    final EPUBParseMetricsType inMetrics)
   {
     this.file =
       Objects.requireNonNull(inFile, "file");
     this.container =
       Objects.requireNonNull(inContainer, "container");
+    this.metrics =
+      Objects.requireNonNull(inMetrics, "metrics");
+    this.readingOrders =
+      new AtomicReferenceArray<>(inContainer.packages().size());
   }
 
   @Override
@@ -51,6 +77,34 @@ public final class EPUB implements EPUBType
     return this.container.packages();
   }
 
+  @Override
+  public String uniqueIdentifier()
+  {
+    return this.container.packages().get(0).uniqueIdentifier();
+  }
+
+  @Override
+  public UUID uuid()
+  {
+    var result = this.uuid;
+    if (result == null) {
+      result = EPUBType.super.uuid();
+      this.uuid = result;
+    }
+    return result;
+  }
+
+  @Override
+  public Optional<EPUBManifestItem> coverImage()
+  {
+    var result = this.coverImage;
+    if (result == null) {
+      result = EPUBType.super.coverImage();
+      this.coverImage = result;
+    }
+    return result;
+  }
+
   @Override
   public InputStream openFile(
     final String name)
@@ -62,7 +116,124 @@ public final class EPUB implements EPUBType
     if (entry == null) {
       throw new NoSuchFileException(name);
     }
-    return this.file.getInputStream(entry);
+    return this.inflate(entry);
+  }
+
+  @Override
+  public InputStream openFile(
+    final EPUBFileHandleType handle)
+    throws IOException
+  {
+    Objects.requireNonNull(handle, "handle");
+
+    if (handle instanceof final ZipHandle zipHandle
+      && zipHandle.owner == this) {
+      return this.inflate(zipHandle.entry);
+    }
+    throw new IllegalArgumentException(
+      "File handle was not produced by this EPUB: " + handle.name());
+  }
+
+  private InputStream inflate(
+    final ZipArchiveEntry entry)
+    throws IOException
+  {
+    this.metrics.onEntryInflated();
+
+    /*
+     * The stream is only wrapped when the event is enabled in a running
+     * recording or when metrics are collected, so an unobserved open costs
+     * a single allocation that is usually eliminated by escape analysis.
+     */
+
+    final var event = new EPUBEventFileInflate();
+    final var recording = event.isEnabled();
+    if (!recording && this.metrics == EPUBParseMetricsType.none()) {
+      return this.file.getInputStream(entry);
+    }
+
+    if (recording) {
+      event.begin();
+    }
+    return new EPUBCountingInputStream(
+      this.file.getInputStream(entry),
+      new InflateListener(entry, recording ? event : null, this.metrics)
+    );
+  }
+
+  @Override
+  public List<EPUBReadingOrderItem> readingOrder(
+    final EPUBPackage epubPackage)
+  {
+    Objects.requireNonNull(epubPackage, "epubPackage");
+
+    final var index = this.packageIndexOf(epubPackage);
+    final var existing = this.readingOrders.getAcquire(index);
+    if (existing != null) {
+      return existing;
+    }
+
+    /*
+     * Resolving the reading order is idempotent, so if two threads race
+     * here, both results are equal and either may be published.
+     */
+
+    final var resolved = this.resolveReadingOrder(epubPackage);
+    final var witness =
+      this.readingOrders.compareAndExchangeRelease(index, null, resolved);
+    return witness != null ? witness : resolved;
+  }
+
+  private int packageIndexOf(
+    final EPUBPackage epubPackage)
+  {
+    final var packages = this.container.packages();
+    for (var index = 0; index < packages.size(); ++index) {
+      if (packages.get(index) == epubPackage) {
+        return index;
+      }
+    }
+
+    final var index = packages.indexOf(epubPackage);
+    if (index < 0) {
+      throw new IllegalArgumentException(
+        "Package does not belong to this EPUB");
+    }
+    return index;
+  }
+
+  private List<EPUBReadingOrderItem> resolveReadingOrder(
+    final EPUBPackage epubPackage)
+  {
+    final var manifestItems =
+      epubPackage.manifest().itemsById();
+    final var spineItems =
+      epubPackage.spine().items();
+    final var items =
+      new ArrayList<EPUBReadingOrderItem>(spineItems.size());
+
+    for (var index = 0; index < spineItems.size(); ++index) {
+      final var spineItem = spineItems.get(index);
+      final var manifestItem = manifestItems.get(spineItem.reference());
+      if (manifestItem == null) {
+        continue;
+      }
+
+      final var entry = this.file.getEntry(manifestItem.realPath());
+      if (entry == null) {
+        continue;
+      }
+
+      items.add(
+        EPUBReadingOrderItem.builder()
+          .setIndex(index)
+          .setSpineItem(spineItem)
+          .setManifestItem(manifestItem)
+          .setFile(new ZipHandle(this, entry))
+          .build()
+      );
+    }
+    return List.copyOf(items);
   }
 
   @Override
@@ -71,4 +242,67 @@ public final class EPUB implements EPUBType
   {
     this.file.close();
   }
+
+  private static final class InflateListener
+    implements EPUBCountingInputStream.ListenerType
+  {
+    private final ZipArchiveEntry entry;
+    private final EPUBEventFileInflate event;
+    private final EPUBParseMetricsType metrics;
+
+    InflateListener(
+      final ZipArchiveEntry inEntry,
+      final EPUBEventFileInflate inEvent,
+      final EPUBParseMetricsType inMetrics)
+    {
+      this.entry = inEntry;
+      this.event = inEvent;
+      this.metrics = inMetrics;
+    }
+
+    @Override
+    public void onBytesRead(
+      final long total,
+      final long bytes)
+    {
+
+    }
+
+    @Override
+    public void onClosed(
+      final long total)
+    {
+      this.metrics.onEntryBytesInflated(total);
+
+      if (this.event == null) {
+        return;
+      }
+      this.event.end();
+      if (this.event.shouldCommit()) {
+        this.event.setName(this.entry.getName());
+        this.event.setCompressedSize(this.entry.getCompressedSize());
+        this.event.setSize(this.entry.getSize());
+        this.event.setBytesRead(total);
+        this.event.commit();
+      }
+    }
+  }
+
+  private record ZipHandle(
+    EPUB owner,
+    ZipArchiveEntry entry)
+    implements EPUBFileHandleType
+  {
+    @Override
+    public String name()
+    {
+      return this.entry.getName();
+    }
+
+    @Override
+    public String toString()
+    {
+      return "[ZipHandle " + this.entry.getName() + "]";
+    }
+  }
 }
@@ -0,0 +1,327 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.api.EPUBManifest;
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpine;
+import com.io7m.boxwood.api.EPUBSpineItem;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.io7m.boxwood.vanilla.internal.EPUBBinaryWriter.FLAG_ID;
+import static com.io7m.boxwood.vanilla.internal.EPUBBinaryWriter.FLAG_REFINES;
+import static com.io7m.boxwood.vanilla.internal.EPUBBinaryWriter.FLAG_SCHEME;
+
+/**
+ * The binary package reader.
+ *
+ * @see com.io7m.boxwood.vanilla.EPUBPackageCodec
+ */
+
+public final class EPUBBinaryReader
+{
+  private final ByteBuffer buffer;
+  private String[] strings;
+
+  private EPUBBinaryReader(
+    final ByteBuffer inBuffer)
+  {
+    this.buffer =
+      Objects.requireNonNull(inBuffer, "buffer")
+        .duplicate()
+        .order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Decode a list of packages from the given buffer.
+   *
+   * @param magic   The expected magic number
+   * @param version The expected format version
+   * @param buffer  The buffer
+   *
+   * @return The decoded packages
+   *
+   * @throws IOException If the buffer does not contain a valid encoded stream
+   */
+
+  public static List<EPUBPackage> decode(
+    final int magic,
+    final int version,
+    final ByteBuffer buffer)
+    throws IOException
+  {
+    final var reader = new EPUBBinaryReader(buffer);
+    try {
+      final var packages = reader.read(magic, version);
+      buffer.position(reader.buffer.position());
+      return packages;
+    } catch (final BufferUnderflowException e) {
+      throw new IOException("Truncated package data", e);
+    }
+  }
+
+  private List<EPUBPackage> read(
+    final int magic,
+    final int version)
+    throws IOException
+  {
+    final var receivedMagic = this.buffer.getInt();
+    if (receivedMagic != magic) {
+      throw new IOException(String.format(
+        "Unrecognized magic number 0x%08x (expected 0x%08x)",
+        Integer.valueOf(receivedMagic),
+        Integer.valueOf(magic)
+      ));
+    }
+
+    final var receivedVersion = this.readVarInt();
+    if (receivedVersion != version) {
+      throw new IOException(String.format(
+        "Unsupported format version %d (expected %d)",
+        Integer.valueOf(receivedVersion),
+        Integer.valueOf(version)
+      ));
+    }
+
+    this.readStringTable();
+
+    final var packageCount = this.readCount();
+    final var packages = new ArrayList<EPUBPackage>(packageCount);
+    for (var index = 0; index < packageCount; ++index) {
+      packages.add(this.readPackage());
+    }
+    return List.copyOf(packages);
+  }
+
+  private void readStringTable()
+    throws IOException
+  {
+    final var count = this.readCount();
+    this.strings = new String[count];
+
+    for (var index = 0; index < count; ++index) {
+      final var length = this.readCount();
+      final var position = this.buffer.position();
+      if (length > this.buffer.remaining()) {
+        throw new BufferUnderflowException();
+      }
+
+      /*
+       * Decode directly from a view of the underlying storage of the buffer;
+       * there's no need to copy the encoded bytes anywhere first.
+       */
+
+      final var text =
+        StandardCharsets.UTF_8.decode(this.buffer.slice(position, length))
+          .toString();
+
+      this.strings[index] = text;
+      this.buffer.position(position + length);
+    }
+  }
+
+  private EPUBPackage readPackage()
+    throws IOException
+  {
+    final var uniqueIdentifierReference = this.readString();
+    final var metadata = this.readMetadata();
+    final var manifest = this.readManifest();
+    final var spine = this.readSpine();
+
+    return EPUBPackage.builder()
+      .setUniqueIdentifierReference(uniqueIdentifierReference)
+      .setMetadata(metadata)
+      .setManifest(manifest)
+      .setSpine(spine)
+      .build();
+  }
+
+  private EPUBMetadata readMetadata()
+    throws IOException
+  {
+    final var propertyCount = this.readCount();
+    final var properties =
+      new ArrayList<EPUBMetadataProperty>(propertyCount);
+
+    for (var index = 0; index < propertyCount; ++index) {
+      final var name = this.readString();
+      final var flags = this.readVarInt();
+      final var refines = this.readStringIf(flags, FLAG_REFINES);
+      final var id = this.readStringIf(flags, FLAG_ID);
+      final var scheme = this.readStringIf(flags, FLAG_SCHEME);
+      final var value = this.readString();
+
+      properties.add(
+        EPUBMetadataProperty.builder()
+          .setName(name)
+          .setRefines(refines)
+          .setId(id)
+          .setScheme(scheme)
+          .setValue(value)
+          .build()
+      );
+    }
+
+    final var legacyCount = this.readCount();
+    final var legacyProperties =
+      new ArrayList<EPUBMetadataLegacyProperty>(legacyCount);
+
+    for (var index = 0; index < legacyCount; ++index) {
+      final var name = this.readString();
+      final var content = this.readString();
+      legacyProperties.add(
+        EPUBMetadataLegacyProperty.builder()
+          .setName(name)
+          .setContent(content)
+          .build()
+      );
+    }
+
+    return EPUBMetadata.builder()
+      .setProperties(properties)
+      .setLegacyProperties(legacyProperties)
+      .build();
+  }
+
+  private EPUBManifest readManifest()
+    throws IOException
+  {
+    final var itemCount = this.readCount();
+    final var items = new ArrayList<EPUBManifestItem>(itemCount);
+
+    for (var index = 0; index < itemCount; ++index) {
+      final var realPath = this.readString();
+      final var href = this.readString();
+      final var id = this.readString();
+      final var mediaType = this.readString();
+
+      final var propertyCount = this.readCount();
+      final var properties = new ArrayList<String>(propertyCount);
+      for (var propertyIndex = 0; propertyIndex < propertyCount; ++propertyIndex) {
+        properties.add(this.readString());
+      }
+
+      items.add(
+        EPUBManifestItem.builder()
+          .setRealPath(realPath)
+          .setHref(href)
+          .setId(id)
+          .setMediaType(mediaType)
+          .setProperties(properties)
+          .build()
+      );
+    }
+
+    return EPUBManifest.builder()
+      .setItems(items)
+      .build();
+  }
+
+  private EPUBSpine readSpine()
+    throws IOException
+  {
+    final var itemCount = this.readCount();
+    final var items = new ArrayList<EPUBSpineItem>(itemCount);
+
+    for (var index = 0; index < itemCount; ++index) {
+      items.add(
+        EPUBSpineItem.builder()
+          .setReference(this.readString())
+          .build()
+      );
+    }
+
+    return EPUBSpine.builder()
+      .setItems(items)
+      .build();
+  }
+
+  private Optional<String> readStringIf(
+    final int flags,
+    final int flag)
+    throws IOException
+  {
+    if ((flags & flag) == flag) {
+      return Optional.of(this.readString());
+    }
+    return Optional.empty();
+  }
+
+  private String readString()
+    throws IOException
+  {
+    final var index = this.readVarInt();
+    if (index < 0 || index >= this.strings.length) {
+      throw new IOException(String.format(
+        "String index %d out of range [0, %d)",
+        Integer.valueOf(index),
+        Integer.valueOf(this.strings.length)
+      ));
+    }
+    return this.strings[index];
+  }
+
+  /*
+   * Counts determine the sizes of allocated lists, so a count can never
+   * be larger than the number of bytes remaining in the buffer (every
+   * counted value occupies at least one byte).
+   */
+
+  private int readCount()
+    throws IOException
+  {
+    final var count = this.readVarInt();
+    if (count < 0 || count > this.buffer.remaining()) {
+      throw new IOException(String.format(
+        "Count %d exceeds the remaining data size %d",
+        Integer.valueOf(count),
+        Integer.valueOf(this.buffer.remaining())
+      ));
+    }
+    return count;
+  }
+
+  private int readVarInt()
+    throws IOException
+  {
+    var result = 0;
+    for (var shift = 0; shift < 35; shift += 7) {
+      final var b = this.buffer.get();
+      if (shift == 28 && (b & 0xf0) != 0) {
+        throw new IOException("Malformed variable-length integer");
+      }
+      result |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.api.EPUBManifest;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The binary package writer.
+ *
+ * @see com.io7m.boxwood.vanilla.EPUBPackageCodec
+ */
+
+public final class EPUBBinaryWriter
+{
+  static final int FLAG_REFINES = 0b001;
+  static final int FLAG_ID = 0b010;
+  static final int FLAG_SCHEME = 0b100;
+
+  private final HashMap<String, Integer> stringIndices;
+  private final ByteSink strings;
+  private final ByteSink body;
+
+  private EPUBBinaryWriter()
+  {
+    this.stringIndices = new HashMap<>(256);
+    this.strings = new ByteSink(4096);
+    this.body = new ByteSink(4096);
+  }
+
+  /**
+   * Encode the given list of packages.
+   *
+   * @param magic    The magic number
+   * @param version  The format version
+   * @param packages The packages
+   *
+   * @return The encoded packages
+   */
+
+  public static byte[] encode(
+    final int magic,
+    final int version,
+    final List<EPUBPackage> packages)
+  {
+    Objects.requireNonNull(packages, "packages");
+
+    final var writer = new EPUBBinaryWriter();
+    writer.body.writeVarInt(packages.size());
+    for (final var epubPackage : packages) {
+      writer.writePackage(epubPackage);
+    }
+
+    final var output = new ByteSink(
+      16 + writer.strings.size + writer.body.size);
+    output.writeInt(magic);
+    output.writeVarInt(version);
+    output.writeVarInt(writer.stringIndices.size());
+    output.writeBytes(writer.strings.data, writer.strings.size);
+    output.writeBytes(writer.body.data, writer.body.size);
+    return Arrays.copyOf(output.data, output.size);
+  }
+
+  private void writePackage(
+    final EPUBPackage epubPackage)
+  {
+    this.writeString(epubPackage.uniqueIdentifierReference());
+    this.writeMetadata(epubPackage.metadata());
+    this.writeManifest(epubPackage.manifest());
+    this.writeSpine(epubPackage.spine());
+  }
+
+  private void writeMetadata(
+    final EPUBMetadata metadata)
+  {
+    final var properties = metadata.properties();
+    this.body.writeVarInt(properties.size());
+    for (final var property : properties) {
+      final var refines = property.refines();
+      final var id = property.id();
+      final var scheme = property.scheme();
+
+      var flags = 0;
+      if (refines.isPresent()) {
+        flags |= FLAG_REFINES;
+      }
+      if (id.isPresent()) {
+        flags |= FLAG_ID;
+      }
+      if (scheme.isPresent()) {
+        flags |= FLAG_SCHEME;
+      }
+
+      this.writeString(property.name());
+      this.body.writeVarInt(flags);
+      this.writeStringOpt(refines);
+      this.writeStringOpt(id);
+      this.writeStringOpt(scheme);
+      this.writeString(property.value());
+    }
+
+    final var legacyProperties = metadata.legacyProperties();
+    this.body.writeVarInt(legacyProperties.size());
+    for (final var property : legacyProperties) {
+      this.writeString(property.name());
+      this.writeString(property.content());
+    }
+  }
+
+  private void writeManifest(
+    final EPUBManifest manifest)
+  {
+    final var items = manifest.items();
+    this.body.writeVarInt(items.size());
+    for (final var item : items) {
+      this.writeString(item.realPath());
+      this.writeString(item.href());
+      this.writeString(item.id());
+      this.writeString(item.mediaType());
+
+      final var properties = item.properties();
+      this.body.writeVarInt(properties.size());
+      for (final var property : properties) {
+        this.writeString(property);
+      }
+    }
+  }
+
+  private void writeSpine(
+    final EPUBSpine spine)
+  {
+    final var items = spine.items();
+    this.body.writeVarInt(items.size());
+    for (final var item : items) {
+      this.writeString(item.reference());
+    }
+  }
+
+  private void writeStringOpt(
+    final Optional<String> text)
+  {
+    if (text.isPresent()) {
+      this.writeString(text.get());
+    }
+  }
+
+  private void writeString(
+    final String text)
+  {
+    final var existing = this.stringIndices.get(text);
+    if (existing != null) {
+      this.body.writeVarInt(existing.intValue());
+      return;
+    }
+
+    final var index = this.stringIndices.size();
+    this.stringIndices.put(text, Integer.valueOf(index));
+
+    final var bytes = text.getBytes(StandardCharsets.UTF_8);
+    this.strings.writeVarInt(bytes.length);
+    this.strings.writeBytes(bytes, bytes.length);
+    this.body.writeVarInt(index);
+  }
+
+  private static final class ByteSink
+  {
+    private byte[] data;
+    private int size;
+
+    ByteSink(
+      final int capacity)
+    {
+      this.data = new byte[capacity];
+      this.size = 0;
+    }
+
+    private void reserve(
+      final int count)
+    {
+      final var required = this.size + count;
+      if (required > this.data.length) {
+        this.data = Arrays.copyOf(
+          this.data,
+          Math.max(required, this.data.length * 2)
+        );
+      }
+    }
+
+    void writeInt(
+      final int value)
+    {
+      this.reserve(4);
+      this.data[this.size] = (byte) (value >>> 24);
+      this.data[this.size + 1] = (byte) (value >>> 16);
+      this.data[this.size + 2] = (byte) (value >>> 8);
+      this.data[this.size + 3] = (byte) value;
+      this.size += 4;
+    }
+
+    void writeVarInt(
+      final int value)
+    {
+      this.reserve(5);
+
+      var remaining = value;
+      while ((remaining & ~0x7f) != 0) {
+        this.data[this.size] = (byte) ((remaining & 0x7f) | 0x80);
+        ++this.size;
+        remaining >>>= 7;
+      }
+      this.data[this.size] = (byte) remaining;
+      ++this.size;
+    }
+
+    void writeBytes(
+      final byte[] bytes,
+      final int count)
+    {
+      this.reserve(count);
+      System.arraycopy(bytes, 0, this.data, this.size, count);
+      this.size += count;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The cancellation state of a single parse. The deadline is converted to
+ * a {@link System#nanoTime()} value when the parse begins, so that checking
+ * it does not require reading the wall clock.
+ */
+
+public final class EPUBCancellation
+{
+  private static final Duration MAXIMUM_REMAINING =
+    Duration.ofDays(36_500L);
+
+  private final BooleanSupplier cancelled;
+  private final boolean hasDeadline;
+  private final long deadlineNanos;
+  private volatile boolean cancelledLocally;
+
+  private EPUBCancellation(
+    final BooleanSupplier inCancelled,
+    final boolean inHasDeadline,
+    final long inDeadlineNanos)
+  {
+    this.cancelled =
+      Objects.requireNonNull(inCancelled, "cancelled");
+    this.hasDeadline = inHasDeadline;
+    this.deadlineNanos = inDeadlineNanos;
+  }
+
+  /**
+   * @return A cancellation state that is never cancelled by anything other
+   * than {@link #cancel()}
+   */
+
+  public static EPUBCancellation create()
+  {
+    return create(() -> false, Optional.empty());
+  }
+
+  /**
+   * Create a cancellation state.
+   *
+   * @param cancelled A function that returns {@code true} on cancellation
+   * @param deadline  The deadline, if any
+   *
+   * @return A cancellation state
+   */
+
+  public static EPUBCancellation create(
+    final BooleanSupplier cancelled,
+    final Optional<Instant> deadline)
+  {
+    Objects.requireNonNull(cancelled, "cancelled");
+    Objects.requireNonNull(deadline, "deadline");
+
+    if (deadline.isEmpty()) {
+      return new EPUBCancellation(cancelled, false, 0L);
+    }
+
+    final var now = System.nanoTime();
+    final var remaining = Duration.between(Instant.now(), deadline.get());
+    if (remaining.isNegative()) {
+      return new EPUBCancellation(cancelled, true, now);
+    }
+
+    /*
+     * A deadline so far in the future that it cannot be represented in
+     * nanoseconds is treated as no deadline at all.
+     */
+
+    if (remaining.compareTo(MAXIMUM_REMAINING) > 0) {
+      return new EPUBCancellation(cancelled, false, 0L);
+    }
+    return new EPUBCancellation(cancelled, true, now + remaining.toNanos());
+  }
+
+  /**
+   * Cancel the parse.
+   */
+
+  public void cancel()
+  {
+    this.cancelledLocally = true;
+  }
+
+  /**
+   * Check that the parse has been neither cancelled nor has exceeded its
+   * deadline.
+   *
+   * @throws EPUBParseCancelledException If the parse should be abandoned
+   */
+
+  public void check()
+    throws EPUBParseCancelledException
+  {
+    if (this.cancelledLocally || this.cancelled.getAsBoolean()) {
+      throw new EPUBParseCancelledException(EPUBParseErrorType.Kind.CANCELLED);
+    }
+    if (this.hasDeadline && System.nanoTime() - this.deadlineNanos >= 0L) {
+      throw new EPUBParseCancelledException(
+        EPUBParseErrorType.Kind.DEADLINE_EXCEEDED);
+    }
+  }
+}
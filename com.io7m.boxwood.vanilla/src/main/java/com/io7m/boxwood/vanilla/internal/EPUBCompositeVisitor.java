@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBSpineItem;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A visitor that passes everything to each of a list of visitors in turn.
+ */
+
+public final class EPUBCompositeVisitor implements EPUBPackageVisitorType
+{
+  private final List<EPUBPackageVisitorType> visitors;
+
+  /**
+   * A visitor that passes everything to each of a list of visitors in turn.
+   *
+   * @param inVisitors The visitors
+   */
+
+  public EPUBCompositeVisitor(
+    final List<EPUBPackageVisitorType> inVisitors)
+  {
+    this.visitors =
+      List.copyOf(Objects.requireNonNull(inVisitors, "visitors"));
+  }
+
+  @Override
+  public void onPackageStart(
+    final String packageFile)
+  {
+    for (final var visitor : this.visitors) {
+      visitor.onPackageStart(packageFile);
+    }
+  }
+
+  @Override
+  public void onMetadataProperty(
+    final EPUBMetadataProperty property)
+  {
+    for (final var visitor : this.visitors) {
+      visitor.onMetadataProperty(property);
+    }
+  }
+
+  @Override
+  public void onMetadataLegacyProperty(
+    final EPUBMetadataLegacyProperty property)
+  {
+    for (final var visitor : this.visitors) {
+      visitor.onMetadataLegacyProperty(property);
+    }
+  }
+
+  @Override
+  public void onManifestItem(
+    final EPUBManifestItem item)
+  {
+    for (final var visitor : this.visitors) {
+      visitor.onManifestItem(item);
+    }
+  }
+
+  @Override
+  public void onSpineItem(
+    final EPUBSpineItem item)
+  {
+    for (final var visitor : this.visitors) {
+      visitor.onSpineItem(item);
+    }
+  }
+
+  @Override
+  public void onPackageEnd(
+    final String packageFile)
+  {
+    for (final var visitor : this.visitors) {
+      visitor.onPackageEnd(packageFile);
+    }
+  }
+}
@@ -17,6 +17,8 @@
 package com.io7m.boxwood.vanilla.internal;
 
 import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+import com.io7m.jlexing.core.LexicalPosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -41,21 +43,53 @@ public final class EPUBContainer
     LoggerFactory.getLogger(EPUBContainer.class);
 
   private final List<EPUBPackage> epubPackages;
+  private final List<String> packageFiles;
 
   private EPUBContainer(
-    final List<EPUBPackage> inEpubPackages)
+    final List<EPUBPackage> inEpubPackages,
+    final List<String> inPackageFiles)
   {
     this.epubPackages =
       Objects.requireNonNull(inEpubPackages, "epubPackages");
+    this.packageFiles =
+      Objects.requireNonNull(inPackageFiles, "packageFiles");
+  }
+
+  /**
+   * A root file declared by a container.
+   *
+   * @param path    The path of the package file within the container
+   * @param lexical The lexical position of the declaration
+   */
+
+  public record RootFile(
+    String path,
+    LexicalPosition<URI> lexical)
+  {
+    /**
+     * A root file declared by a container.
+     */
+
+    public RootFile
+    {
+      Objects.requireNonNull(path, "path");
+      Objects.requireNonNull(lexical, "lexical");
+    }
   }
 
   /**
    * Create an EPUB container.
    *
-   * @param stream     The input stream
-   * @param errors     The error consumer
-   * @param sourceFile The source file name
-   * @param subFiles   The sub file retriever
+   * @param stream       The input stream
+   * @param errors       The error consumer
+   * @param stringPool   The string pool
+   * @param cancellation The cancellation state
+   * @param limits       The resource limits
+   * @param visitor      The visitor that receives package contents
+   * @param retain       {@code true} if all package contents should be
+   *                     retained
+   * @param sourceFile   The source file name
+   * @param subFiles     The sub file retriever
    *
    * @return An EPUB container
    *
@@ -65,17 +99,58 @@ public final class EPUBContainer
 
   public static EPUBContainer create(
     final EPUBErrorLogger errors,
+    final EPUBStringPool stringPool,
+    final EPUBCancellation cancellation,
+    final EPUBLimits limits,
+    final EPUBPackageVisitorType visitor,
+    final boolean retain,
     final EPUBSubFileRetrieverType subFiles,
     final URI sourceFile,
     final InputStream stream)
     throws IOException, EPUBXMLException
   {
+    return parsePackages(
+      errors,
+      stringPool,
+      cancellation,
+      limits,
+      visitor,
+      retain,
+      subFiles,
+      sourceFile,
+      parseRootFiles(errors, limits, sourceFile, stream)
+    );
+  }
+
+  /**
+   * Parse the container file, returning the package files that it declares.
+   *
+   * @param errors     The error consumer
+   * @param limits     The resource limits
+   * @param sourceFile The source file name
+   * @param stream     The input stream
+   *
+   * @return The declared root files
+   *
+   * @throws IOException      On I/O errors
+   * @throws EPUBXMLException On XML parser errors
+   */
+
+  public static List<RootFile> parseRootFiles(
+    final EPUBErrorLogger errors,
+    final EPUBLimits limits,
+    final URI sourceFile,
+    final InputStream stream)
+    throws IOException, EPUBXMLException
+  {
+    Objects.requireNonNull(errors, "errors");
+    Objects.requireNonNull(limits, "limits");
     Objects.requireNonNull(stream, "stream");
-    Objects.requireNonNull(subFiles, "subFiles");
     Objects.requireNonNull(sourceFile, "sourceFile");
 
     try {
-      final var document = EPUBPositionalXML.readXML(sourceFile, stream);
+      final var document =
+        EPUBPositionalXML.readXML(sourceFile, limits, stream);
       final var root = document.getDocumentElement();
       final var rootName = root.getNodeName();
       if (!Objects.equals(rootName, "container")) {
@@ -97,7 +172,7 @@ public final class EPUBContainer
         throw new EPUBXMLExceptionMissingElement();
       }
 
-      final var epubPackages = new ArrayList<EPUBPackage>(rootFileList.size());
+      final var results = new ArrayList<RootFile>(rootFileList.size());
       for (final var rootFile : rootFileList) {
         if (!rootFile.hasAttribute("full-path")) {
           errors.formattedXMLError(
@@ -109,26 +184,12 @@ public final class EPUBContainer
           continue;
         }
 
-        final var subFileName = rootFile.getAttribute("full-path");
-        try (var subStream = subFiles.retrieveSubFile(subFileName)) {
-          epubPackages.add(
-            EPUBPackageParser.parse(
-              errors,
-              sourceFile,
-              subFileName,
-              subStream
-            )
-          );
-        } catch (final FileNotFoundException e) {
-          errors.formattedXMLError(
-            rootFile,
-            "epub.error.container.rootFileNonexistent",
-            subFileName
-          );
-        }
+        results.add(new RootFile(
+          rootFile.getAttribute("full-path"),
+          EPUBPositionalXML.lexicalOf(rootFile)
+        ));
       }
-
-      return new EPUBContainer(List.copyOf(epubPackages));
+      return List.copyOf(results);
     } catch (final SAXParseException e) {
       LOG.debug("parse exception: ", e);
       errors.exceptionError(e);
@@ -143,6 +204,95 @@ public final class EPUBContainer
     }
   }
 
+  /**
+   * Parse the given package files.
+   *
+   * @param errors       The error consumer
+   * @param stringPool   The string pool
+   * @param cancellation The cancellation state
+   * @param limits       The resource limits
+   * @param visitor      The visitor that receives package contents
+   * @param retain       {@code true} if all package contents should be
+   *                     retained
+   * @param subFiles     The sub file retriever
+   * @param sourceFile   The source file name
+   * @param rootFiles    The root files declared by the container
+   *
+   * @return An EPUB container
+   *
+   * @throws IOException      On I/O errors
+   * @throws EPUBXMLException On XML parser errors
+   */
+
+  public static EPUBContainer parsePackages(
+    final EPUBErrorLogger errors,
+    final EPUBStringPool stringPool,
+    final EPUBCancellation cancellation,
+    final EPUBLimits limits,
+    final EPUBPackageVisitorType visitor,
+    final boolean retain,
+    final EPUBSubFileRetrieverType subFiles,
+    final URI sourceFile,
+    final List<RootFile> rootFiles)
+    throws IOException, EPUBXMLException
+  {
+    Objects.requireNonNull(errors, "errors");
+    Objects.requireNonNull(stringPool, "stringPool");
+    Objects.requireNonNull(cancellation, "cancellation");
+    Objects.requireNonNull(limits, "limits");
+    Objects.requireNonNull(visitor, "visitor");
+    Objects.requireNonNull(subFiles, "subFiles");
+    Objects.requireNonNull(sourceFile, "sourceFile");
+    Objects.requireNonNull(rootFiles, "rootFiles");
+
+    final var epubPackages = new ArrayList<EPUBPackage>(rootFiles.size());
+    final var packageFiles = new ArrayList<String>(rootFiles.size());
+    for (final var rootFile : rootFiles) {
+      final var subFileName = rootFile.path();
+      final var event = new EPUBEventPackageParse();
+      event.begin();
+      try (var subStream = subFiles.retrieveSubFile(subFileName)) {
+        final var epubPackage =
+          EPUBPackageParser.parse(
+            errors,
+            stringPool,
+            cancellation,
+            limits,
+            visitor,
+            retain,
+            sourceFile,
+            subFileName,
+            subStream
+          );
+        epubPackages.add(epubPackage);
+        packageFiles.add(subFileName);
+
+        event.end();
+        if (event.shouldCommit()) {
+          event.setUri(sourceFile.toString());
+          event.setPackageFile(subFileName);
+          event.setManifestItems(epubPackage.manifest().items().size());
+          event.setSpineItems(epubPackage.spine().items().size());
+          if (subStream instanceof final EPUBCountingInputStream counting) {
+            event.setBytes(counting.count());
+          }
+          event.commit();
+        }
+      } catch (final FileNotFoundException e) {
+        errors.formattedError(
+          rootFile.lexical(),
+          "epub.error.container.rootFileNonexistent",
+          subFileName
+        );
+      }
+    }
+
+    return new EPUBContainer(
+      List.copyOf(epubPackages),
+      List.copyOf(packageFiles)
+    );
+  }
+
   /**
    * @return The list of packages in the EPUB
    */
@@ -151,4 +301,14 @@ public final class EPUBContainer
   {
     return this.epubPackages;
   }
+
+  /**
+   * @return The names of the package files in the EPUB, in the same order as
+   * {@link #packages()}
+   */
+
+  public List<String> packageFiles()
+  {
+    return this.packageFiles;
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A stream that counts the bytes read through it. This is the only place
+ * where decompressed bytes are counted: progress reporting, resource
+ * limits, metrics and JFR events all observe the count through a
+ * {@link ListenerType}.
+ */
+
+final class EPUBCountingInputStream extends FilterInputStream
+{
+  private final ListenerType listener;
+  private long count;
+  private boolean closed;
+
+  EPUBCountingInputStream(
+    final InputStream inStream,
+    final ListenerType inListener)
+  {
+    super(Objects.requireNonNull(inStream, "stream"));
+    this.listener = Objects.requireNonNull(inListener, "listener");
+  }
+
+  /**
+   * A receiver of byte counts.
+   */
+
+  interface ListenerType
+  {
+    /**
+     * Bytes have been read from the stream.
+     *
+     * @param total The number of bytes read so far, including {@code bytes}
+     * @param bytes The number of bytes just read
+     *
+     * @throws IOException On errors
+     */
+
+    void onBytesRead(
+      long total,
+      long bytes)
+      throws IOException;
+
+    /**
+     * The stream has been closed. This is called at most once.
+     *
+     * @param total The number of bytes read
+     */
+
+    default void onClosed(
+      final long total)
+    {
+
+    }
+  }
+
+  /**
+   * @return The number of bytes read so far
+   */
+
+  long count()
+  {
+    return this.count;
+  }
+
+  private void counted(
+    final long bytes)
+    throws IOException
+  {
+    if (bytes > 0L) {
+      this.count += bytes;
+      this.listener.onBytesRead(this.count, bytes);
+    }
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var r = super.read();
+    if (r >= 0) {
+      this.counted(1L);
+    }
+    return r;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var r = super.read(buffer, offset, length);
+    this.counted(r);
+    return r;
+  }
+
+  @Override
+  public long skip(
+    final long n)
+    throws IOException
+  {
+    final var r = super.skip(n);
+    this.counted(r);
+    return r;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      super.close();
+    } finally {
+      if (!this.closed) {
+        this.closed = true;
+        this.listener.onClosed(this.count);
+      }
+    }
+  }
+}
@@ -17,6 +17,8 @@
 package com.io7m.boxwood.vanilla.internal;
 
 import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseErrorFormatterType;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
 import com.io7m.boxwood.vanilla.EPUBStringsType;
 import com.io7m.jlexing.core.LexicalPosition;
 import org.slf4j.Logger;
@@ -25,7 +27,9 @@ import org.w3c.dom.Node;
 import org.xml.sax.SAXParseException;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static com.io7m.boxwood.parser.api.EPUBParseErrorType.Severity.ERROR;
@@ -40,8 +44,10 @@ public final class EPUBErrorLogger
   private static final Logger LOG =
     LoggerFactory.getLogger(EPUBErrorLogger.class);
 
-  private final EPUBStringsType strings;
+  private static final String EXCEPTION_CODE = "epub.error.exception";
+
   private final Consumer<EPUBParseError> errors;
+  private final EPUBParseErrorFormatterType formatter;
   private URI source;
 
   /**
@@ -55,10 +61,26 @@ public final class EPUBErrorLogger
     final EPUBStringsType inStrings,
     final Consumer<EPUBParseError> inErrors)
   {
-    this.strings =
-      Objects.requireNonNull(inStrings, "strings");
+    Objects.requireNonNull(inStrings, "strings");
     this.errors =
       Objects.requireNonNull(inErrors, "errors");
+
+    /*
+     * Errors outlive the logger, and so the formatter must only capture
+     * the strings. Capturing the logger would retain the error receiver,
+     * and every error that it has received, for as long as any error is
+     * reachable.
+     */
+
+    this.formatter =
+      (code, arguments) -> inStrings.format(code, arguments.toArray());
+  }
+
+  private static String messageOf(
+    final Exception e)
+  {
+    return Objects.requireNonNullElseGet(
+      e.getMessage(), () -> e.getClass().getName());
   }
 
   private void receive(
@@ -96,7 +118,9 @@ public final class EPUBErrorLogger
     this.receive(
       EPUBParseError.builder()
         .setSeverity(WARNING)
-        .setMessage(this.strings.format(id, args))
+        .setCode(id)
+        .setArguments(Arrays.asList(args))
+        .setFormatter(this.formatter)
         .setLexical(position)
         .build()
     );
@@ -150,7 +174,36 @@ public final class EPUBErrorLogger
     this.receive(
       EPUBParseError.builder()
         .setSeverity(ERROR)
-        .setMessage(this.strings.format(id, args))
+        .setCode(id)
+        .setArguments(Arrays.asList(args))
+        .setFormatter(this.formatter)
+        .setLexical(position)
+        .build()
+    );
+  }
+
+  /**
+   * Log a formatted error of the given kind.
+   *
+   * @param kind     The kind of error
+   * @param position The lexical position
+   * @param id       The error string ID
+   * @param args     The error arguments
+   */
+
+  public void formattedError(
+    final EPUBParseErrorType.Kind kind,
+    final LexicalPosition<URI> position,
+    final String id,
+    final Object... args)
+  {
+    this.receive(
+      EPUBParseError.builder()
+        .setSeverity(ERROR)
+        .setKind(kind)
+        .setCode(id)
+        .setArguments(Arrays.asList(args))
+        .setFormatter(this.formatter)
         .setLexical(position)
         .build()
     );
@@ -168,12 +221,17 @@ public final class EPUBErrorLogger
     this.receive(
       EPUBParseError.builder()
         .setSeverity(ERROR)
-        .setMessage(e.getMessage())
+        .setCode(EXCEPTION_CODE)
+        .addArguments(messageOf(e))
+        .setFormatter(this.formatter)
         .setLexical(
           LexicalPosition.<URI>builder()
             .setLine(e.getLineNumber())
             .setColumn(e.getColumnNumber())
-            .setFile(this.source)
+            .setFile(
+              Optional.ofNullable(e.getSystemId())
+                .map(URI::create)
+                .or(() -> Optional.ofNullable(this.source)))
             .build()
         ).build()
     );
@@ -191,12 +249,14 @@ public final class EPUBErrorLogger
     this.receive(
       EPUBParseError.builder()
         .setSeverity(ERROR)
-        .setMessage(e.getMessage())
+        .setCode(EXCEPTION_CODE)
+        .addArguments(messageOf(e))
+        .setFormatter(this.formatter)
         .setLexical(
           LexicalPosition.<URI>builder()
             .setLine(0)
             .setColumn(0)
-            .setFile(this.source)
+            .setFile(Optional.ofNullable(this.source))
             .build()
         ).build()
     );
@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParseError;
+import com.io7m.boxwood.parser.api.EPUBParseErrorPolicy;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.io7m.boxwood.parser.api.EPUBParseErrorType.Severity.ERROR;
+
+/**
+ * The receiver of the errors of a parser, applying the error policy of the
+ * parse.
+ */
+
+public final class EPUBErrorSink implements Consumer<EPUBParseError>
+{
+  private final EPUBParseErrorPolicy policy;
+  private final ArrayList<EPUBParseError> errors;
+  private final HashMap<Key, Integer> repeated;
+  private int[] occurrences;
+  private boolean abandoned;
+  private boolean capped;
+
+  /**
+   * Create an error sink.
+   *
+   * @param inPolicy The error policy
+   */
+
+  public EPUBErrorSink(
+    final EPUBParseErrorPolicy inPolicy)
+  {
+    this.policy = Objects.requireNonNull(inPolicy, "policy");
+    this.errors = new ArrayList<>();
+    this.repeated = new HashMap<>();
+    this.occurrences = new int[0];
+  }
+
+  private record Key(
+    String code,
+    EPUBParseErrorType.Severity severity)
+  {
+
+  }
+
+  /**
+   * @return The recorded errors
+   */
+
+  public List<EPUBParseError> errors()
+  {
+    return this.errors;
+  }
+
+  /**
+   * Discard all recorded errors.
+   */
+
+  public void clear()
+  {
+    this.errors.clear();
+    this.repeated.clear();
+    this.occurrences = new int[0];
+    this.abandoned = false;
+    this.capped = false;
+  }
+
+  /**
+   * @return {@code true} if the parse was abandoned because it produced too
+   * many errors
+   */
+
+  public boolean capped()
+  {
+    return this.capped;
+  }
+
+  /**
+   * @return The error policy
+   */
+
+  public EPUBParseErrorPolicy policy()
+  {
+    return this.policy;
+  }
+
+  /**
+   * Record the number of occurrences of each aggregated error.
+   */
+
+  public void flush()
+  {
+    for (final var index : this.repeated.values()) {
+      final var i = index.intValue();
+      final var count = this.occurrences[i];
+      if (count > 1) {
+        this.errors.set(i, this.errors.get(i).withOccurrences(count));
+      }
+    }
+  }
+
+  @Override
+  public void accept(
+    final EPUBParseError error)
+  {
+    Objects.requireNonNull(error, "error");
+
+    /*
+     * Once the parse has been abandoned, nothing more is recorded except
+     * the error that explains why the parse was stopped.
+     */
+
+    if (this.abandoned) {
+      if (error.kind() != EPUBParseErrorType.Kind.GENERAL) {
+        this.errors.add(error);
+      }
+      return;
+    }
+
+    final var aggregating = this.policy.aggregateRepeated();
+    if (aggregating && this.isRepeated(error)) {
+      return;
+    }
+
+    if (this.errors.size() >= this.policy.maximumErrors()) {
+      this.abandoned = true;
+      this.capped = true;
+      throw new EPUBParseAbandonedException("maximumErrors");
+    }
+
+    if (aggregating) {
+      this.register(error);
+    }
+    this.errors.add(error);
+
+    if (this.policy.failFast() && error.severity() == ERROR) {
+      this.abandoned = true;
+      throw new EPUBParseAbandonedException("failFast");
+    }
+  }
+
+  private boolean isRepeated(
+    final EPUBParseError error)
+  {
+    final var existing =
+      this.repeated.get(new Key(error.code(), error.severity()));
+    if (existing != null) {
+      ++this.occurrences[existing.intValue()];
+      return true;
+    }
+    return false;
+  }
+
+  private void register(
+    final EPUBParseError error)
+  {
+    final var index = this.errors.size();
+    this.repeated.put(
+      new Key(error.code(), error.severity()), Integer.valueOf(index));
+    if (index >= this.occurrences.length) {
+      final var grown = new int[Math.max(8, index * 2)];
+      System.arraycopy(this.occurrences, 0, grown, 0, this.occurrences.length);
+      this.occurrences = grown;
+    }
+    this.occurrences[index] = 1;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when an archive is opened, covering the entry count
+ * preflight and the reading of the central directory.
+ */
+
+@Name("com.io7m.boxwood.ArchiveOpen")
+@Label("Archive Open")
+@Category({"io7m", "Boxwood"})
+@Description("An EPUB archive was opened")
+@StackTrace(false)
+public final class EPUBEventArchiveOpen extends Event
+{
+  @Label("URI")
+  @Description("The URI of the archive")
+  private String uri;
+
+  @Label("Archive Size")
+  @Description("The size of the archive")
+  @DataAmount(DataAmount.BYTES)
+  private long archiveSize;
+
+  @Label("Entries")
+  @Description("The number of entries in the archive, or -1 if unknown")
+  private long entries;
+
+  @Label("Succeeded")
+  @Description("True if the archive could be opened")
+  private boolean succeeded;
+
+  /**
+   * A JFR event recorded when an archive is opened.
+   */
+
+  public EPUBEventArchiveOpen()
+  {
+
+  }
+
+  /**
+   * Set the URI of the archive.
+   *
+   * @param value The value
+   */
+
+  void setUri(
+    final String value)
+  {
+    this.uri = value;
+  }
+
+  /**
+   * Set the size of the archive.
+   *
+   * @param value The value
+   */
+
+  void setArchiveSize(
+    final long value)
+  {
+    this.archiveSize = value;
+  }
+
+  /**
+   * Set the number of entries in the archive, or -1 if unknown.
+   *
+   * @param value The value
+   */
+
+  void setEntries(
+    final long value)
+  {
+    this.entries = value;
+  }
+
+  /**
+   * Set whether the archive could be opened.
+   *
+   * @param value The value
+   */
+
+  void setSucceeded(
+    final boolean value)
+  {
+    this.succeeded = value;
+  }
+}
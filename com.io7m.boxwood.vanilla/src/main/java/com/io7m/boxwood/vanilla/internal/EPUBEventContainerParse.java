@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when {@code META-INF/container.xml} is parsed, or
+ * when a cached result is used instead.
+ */
+
+@Name("com.io7m.boxwood.ContainerParse")
+@Label("Container Parse")
+@Category({"io7m", "Boxwood"})
+@Description("The container file of an EPUB was parsed")
+@StackTrace(false)
+public final class EPUBEventContainerParse extends Event
+{
+  @Label("URI")
+  @Description("The URI of the archive")
+  private String uri;
+
+  @Label("Compressed Size")
+  @Description("The compressed size of the container file")
+  @DataAmount(DataAmount.BYTES)
+  private long compressedSize;
+
+  @Label("Size")
+  @Description("The uncompressed size of the container file")
+  @DataAmount(DataAmount.BYTES)
+  private long size;
+
+  @Label("Root Files")
+  @Description("The number of root files declared in the container file")
+  private int rootFiles;
+
+  @Label("Cached")
+  @Description("True if a cached parse result was used")
+  private boolean cached;
+
+  /**
+   * A JFR event recorded when the container file is parsed.
+   */
+
+  public EPUBEventContainerParse()
+  {
+
+  }
+
+  /**
+   * Set the URI of the archive.
+   *
+   * @param value The value
+   */
+
+  void setUri(
+    final String value)
+  {
+    this.uri = value;
+  }
+
+  /**
+   * Set the compressed size of the container file.
+   *
+   * @param value The value
+   */
+
+  void setCompressedSize(
+    final long value)
+  {
+    this.compressedSize = value;
+  }
+
+  /**
+   * Set the uncompressed size of the container file.
+   *
+   * @param value The value
+   */
+
+  void setSize(
+    final long value)
+  {
+    this.size = value;
+  }
+
+  /**
+   * Set the number of root files declared in the container file.
+   *
+   * @param value The value
+   */
+
+  void setRootFiles(
+    final int value)
+  {
+    this.rootFiles = value;
+  }
+
+  /**
+   * Set whether a cached parse result was used.
+   *
+   * @param value The value
+   */
+
+  void setCached(
+    final boolean value)
+  {
+    this.cached = value;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when a stream returned from
+ * {@link EPUB#openFile(String)} is closed. The duration of the event covers
+ * the whole lifetime of the stream.
+ */
+
+@Name("com.io7m.boxwood.FileInflate")
+@Label("File Inflate")
+@Category({"io7m", "Boxwood"})
+@Description("A file was read from an EPUB archive")
+@StackTrace(false)
+public final class EPUBEventFileInflate extends Event
+{
+  @Label("Name")
+  @Description("The name of the file within the archive")
+  private String name;
+
+  @Label("Compressed Size")
+  @Description("The compressed size of the file")
+  @DataAmount(DataAmount.BYTES)
+  private long compressedSize;
+
+  @Label("Size")
+  @Description("The uncompressed size of the file")
+  @DataAmount(DataAmount.BYTES)
+  private long size;
+
+  @Label("Bytes Read")
+  @Description("The number of uncompressed bytes actually read")
+  @DataAmount(DataAmount.BYTES)
+  private long bytesRead;
+
+  /**
+   * A JFR event recorded when a stream is closed.
+   */
+
+  public EPUBEventFileInflate()
+  {
+
+  }
+
+  /**
+   * Set the name of the file within the archive.
+   *
+   * @param value The value
+   */
+
+  void setName(
+    final String value)
+  {
+    this.name = value;
+  }
+
+  /**
+   * Set the compressed size of the file.
+   *
+   * @param value The value
+   */
+
+  void setCompressedSize(
+    final long value)
+  {
+    this.compressedSize = value;
+  }
+
+  /**
+   * Set the uncompressed size of the file.
+   *
+   * @param value The value
+   */
+
+  void setSize(
+    final long value)
+  {
+    this.size = value;
+  }
+
+  /**
+   * Set the number of uncompressed bytes actually read.
+   *
+   * @param value The value
+   */
+
+  void setBytesRead(
+    final long value)
+  {
+    this.bytesRead = value;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when the manifest items of all packages are checked
+ * against the entries of the archive.
+ */
+
+@Name("com.io7m.boxwood.ManifestCheck")
+@Label("Manifest Check")
+@Category({"io7m", "Boxwood"})
+@Description("The manifest items of an EPUB were checked for existence")
+@StackTrace(false)
+public final class EPUBEventManifestCheck extends Event
+{
+  @Label("URI")
+  @Description("The URI of the archive")
+  private String uri;
+
+  @Label("Items")
+  @Description("The number of manifest items checked")
+  private long items;
+
+  @Label("Missing")
+  @Description("The number of manifest items that referred to missing files")
+  private long missing;
+
+  /**
+   * A JFR event recorded when the manifest items are checked.
+   */
+
+  public EPUBEventManifestCheck()
+  {
+
+  }
+
+  /**
+   * Set the URI of the archive.
+   *
+   * @param value The value
+   */
+
+  void setUri(
+    final String value)
+  {
+    this.uri = value;
+  }
+
+  /**
+   * Set the number of manifest items checked.
+   *
+   * @param value The value
+   */
+
+  void setItems(
+    final long value)
+  {
+    this.items = value;
+  }
+
+  /**
+   * Set the number of manifest items that referred to missing files.
+   *
+   * @param value The value
+   */
+
+  void setMissing(
+    final long value)
+  {
+    this.missing = value;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event recorded when a single package file is parsed.
+ */
+
+@Name("com.io7m.boxwood.PackageParse")
+@Label("Package Parse")
+@Category({"io7m", "Boxwood"})
+@Description("A package file of an EPUB was parsed")
+@StackTrace(false)
+public final class EPUBEventPackageParse extends Event
+{
+  @Label("Container URI")
+  @Description("The URI of the container file that declared the package")
+  private String uri;
+
+  @Label("Package File")
+  @Description("The name of the package file within the archive")
+  private String packageFile;
+
+  @Label("Bytes")
+  @Description("The number of uncompressed bytes read from the package file")
+  @DataAmount(DataAmount.BYTES)
+  private long bytes;
+
+  @Label("Manifest Items")
+  @Description("The number of manifest items retained from the package")
+  private int manifestItems;
+
+  @Label("Spine Items")
+  @Description("The number of spine items retained from the package")
+  private int spineItems;
+
+  /**
+   * A JFR event recorded when a single package file is parsed.
+   */
+
+  public EPUBEventPackageParse()
+  {
+
+  }
+
+  /**
+   * Set the URI of the container file that declared the package.
+   *
+   * @param value The value
+   */
+
+  void setUri(
+    final String value)
+  {
+    this.uri = value;
+  }
+
+  /**
+   * Set the name of the package file within the archive.
+   *
+   * @param value The value
+   */
+
+  void setPackageFile(
+    final String value)
+  {
+    this.packageFile = value;
+  }
+
+  /**
+   * Set the number of uncompressed bytes read from the package file.
+   *
+   * @param value The value
+   */
+
+  void setBytes(
+    final long value)
+  {
+    this.bytes = value;
+  }
+
+  /**
+   * Set the number of manifest items retained from the package.
+   *
+   * @param value The value
+   */
+
+  void setManifestItems(
+    final int value)
+  {
+    this.manifestItems = value;
+  }
+
+  /**
+   * Set the number of spine items retained from the package.
+   *
+   * @param value The value
+   */
+
+  void setSpineItems(
+    final int value)
+  {
+    this.spineItems = value;
+  }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
+import com.io7m.boxwood.vanilla.EPUBChannelStatistics;
+import com.io7m.boxwood.vanilla.EPUBInstrumentedChannelType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Functions to create instrumented channels.
+ */
+
+public final class EPUBInstrumentedChannels
+{
+  private static final int READ_SIZE_BUCKETS = 32;
+
+  private EPUBInstrumentedChannels()
+  {
+
+  }
+
+  /**
+   * Wrap a channel, forwarding reads and seeks to the given metrics
+   * receiver as they happen.
+   *
+   * @param channel The channel
+   * @param metrics The metrics receiver
+   *
+   * @return An instrumented channel
+   */
+
+  public static EPUBInstrumentedChannelType wrap(
+    final SeekableByteChannel channel,
+    final EPUBParseMetricsType metrics)
+  {
+    Objects.requireNonNull(channel, "channel");
+    Objects.requireNonNull(metrics, "metrics");
+
+    final var counters = new Counters(metrics);
+    if (channel instanceof final FileChannel fileChannel) {
+      return new InstrumentedFileChannel(fileChannel, counters);
+    }
+    return new InstrumentedByteChannel(channel, counters);
+  }
+
+  private static final class Counters
+  {
+    private final EPUBParseMetricsType metrics;
+    private final LongAdder readCalls;
+    private final LongAdder bytesRead;
+    private final LongAdder positionCalls;
+    private final LongAdder positionQueries;
+    private final LongAdder sizeCalls;
+    private final LongAdder seeks;
+    private final LongAdder seekDistance;
+    private final AtomicLongArray readSizes;
+    private final AtomicLong nextPosition;
+
+    Counters(
+      final EPUBParseMetricsType inMetrics)
+    {
+      this.metrics = inMetrics;
+      this.readCalls = new LongAdder();
+      this.bytesRead = new LongAdder();
+      this.positionCalls = new LongAdder();
+      this.positionQueries = new LongAdder();
+      this.sizeCalls = new LongAdder();
+      this.seeks = new LongAdder();
+      this.seekDistance = new LongAdder();
+      this.readSizes = new AtomicLongArray(READ_SIZE_BUCKETS);
+      this.nextPosition = new AtomicLong();
+    }
+
+    private static int bucketOf(
+      final long size)
+    {
+      if (size <= 0L) {
+        return 0;
+      }
+      return Math.min(
+        READ_SIZE_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(size));
+    }
+
+    void onRead(
+      final long position,
+      final long result)
+    {
+      final var size = Math.max(0L, result);
+      this.readCalls.increment();
+      this.bytesRead.add(size);
+      this.readSizes.incrementAndGet(bucketOf(result));
+
+      final var previous = this.nextPosition.getAndSet(position + size);
+      if (previous != position) {
+        final var distance = Math.abs(position - previous);
+        this.seeks.increment();
+        this.seekDistance.add(distance);
+        this.metrics.onChannelSeek(distance);
+      }
+      this.metrics.onChannelBytesRead(size);
+    }
+
+    EPUBChannelStatistics snapshot()
+    {
+      final var sizes = new ArrayList<Long>(READ_SIZE_BUCKETS);
+      for (var index = 0; index < READ_SIZE_BUCKETS; ++index) {
+        sizes.add(Long.valueOf(this.readSizes.get(index)));
+      }
+
+      return EPUBChannelStatistics.builder()
+        .setReadCalls(this.readCalls.sum())
+        .setBytesRead(this.bytesRead.sum())
+        .setPositionCalls(this.positionCalls.sum())
+        .setPositionQueries(this.positionQueries.sum())
+        .setSizeCalls(this.sizeCalls.sum())
+        .setSeeks(this.seeks.sum())
+        .setSeekDistance(this.seekDistance.sum())
+        .setReadSizes(sizes)
+        .build();
+    }
+  }
+
+  private static final class InstrumentedByteChannel
+    implements EPUBInstrumentedChannelType
+  {
+    private final SeekableByteChannel delegate;
+    private final Counters counters;
+
+    InstrumentedByteChannel(
+      final SeekableByteChannel inDelegate,
+      final Counters inCounters)
+    {
+      this.delegate = inDelegate;
+      this.counters = inCounters;
+    }
+
+    @Override
+    public EPUBChannelStatistics statistics()
+    {
+      return this.counters.snapshot();
+    }
+
+    @Override
+    public int read(
+      final ByteBuffer buffer)
+      throws IOException
+    {
+      final var position = this.delegate.position();
+      final var r = this.delegate.read(buffer);
+      this.counters.onRead(position, r);
+      return r;
+    }
+
+    @Override
+    public int write(
+      final ByteBuffer buffer)
+      throws IOException
+    {
+      return this.delegate.write(buffer);
+    }
+
+    @Override
+    public long position()
+      throws IOException
+    {
+      this.counters.positionQueries.increment();
+      return this.delegate.position();
+    }
+
+    @Override
+    public SeekableByteChannel position(
+      final long newPosition)
+      throws IOException
+    {
+      this.counters.positionCalls.increment();
+      this.delegate.position(newPosition);
+      return this;
+    }
+
+    @Override
+    public long size()
+      throws IOException
+    {
+      this.counters.sizeCalls.increment();
+      return this.delegate.size();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(
+      final long size)
+      throws IOException
+    {
+      this.delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+      return this.delegate.isOpen();
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      this.delegate.close();
+    }
+  }
+
+  private static final class InstrumentedFileChannel
+    extends FileChannel
+    implements EPUBInstrumentedChannelType
+  {
+    private final FileChannel delegate;
+    private final Counters counters;
+
+    InstrumentedFileChannel(
+      final FileChannel inDelegate,
+      final Counters inCounters)
+    {
+      this.delegate = inDelegate;
+      this.counters = inCounters;
+    }
+
+    @Override
+    public EPUBChannelStatistics statistics()
+    {
+      return this.counters.snapshot();
+    }
+
+    @Override
+    public int read(
+      final ByteBuffer buffer)
+      throws IOException
+    {
+      final var position = this.delegate.position();
+      final var r = this.delegate.read(buffer);
+      this.counters.onRead(position, r);
+      return r;
+    }
+
+    @Override
+    public long read(
+      final ByteBuffer[] buffers,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      final var position = this.delegate.position();
+      final var r = this.delegate.read(buffers, offset, length);
+      this.counters.onRead(position, r);
+      return r;
+    }
+
+    @Override
+    public int read(
+      final ByteBuffer buffer,
+      final long position)
+      throws IOException
+    {
+      final var r = this.delegate.read(buffer, position);
+      this.counters.onRead(position, r);
+      return r;
+    }
+
+    @Override
+    public long transferTo(
+      final long position,
+      final long count,
+      final WritableByteChannel target)
+      throws IOException
+    {
+      final var r = this.delegate.transferTo(position, count, target);
+      this.counters.onRead(position, r);
+      return r;
+    }
+
+    @Override
+    public int write(
+      final ByteBuffer buffer)
+      throws IOException
+    {
+      return this.delegate.write(buffer);
+    }
+
+    @Override
+    public long write(
+      final ByteBuffer[] buffers,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      return this.delegate.write(buffers, offset, length);
+    }
+
+    @Override
+    public int write(
+      final ByteBuffer buffer,
+      final long position)
+      throws IOException
+    {
+      return this.delegate.write(buffer, position);
+    }
+
+    @Override
+    public long transferFrom(
+      final ReadableByteChannel source,
+      final long position,
+      final long count)
+      throws IOException
+    {
+      return this.delegate.transferFrom(source, position, count);
+    }
+
+    @Override
+    public long position()
+      throws IOException
+    {
+      this.counters.positionQueries.increment();
+      return this.delegate.position();
+    }
+
+    @Override
+    public FileChannel position(
+      final long newPosition)
+      throws IOException
+    {
+      this.counters.positionCalls.increment();
+      this.delegate.position(newPosition);
+      return this;
+    }
+
+    @Override
+    public long size()
+      throws IOException
+    {
+      this.counters.sizeCalls.increment();
+      return this.delegate.size();
+    }
+
+    @Override
+    public FileChannel truncate(
+      final long size)
+      throws IOException
+    {
+      this.delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public void force(
+      final boolean metaData)
+      throws IOException
+    {
+      this.delegate.force(metaData);
+    }
+
+    @Override
+    public MappedByteBuffer map(
+      final MapMode mode,
+      final long position,
+      final long size)
+      throws IOException
+    {
+      return this.delegate.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(
+      final long position,
+      final long size,
+      final boolean shared)
+      throws IOException
+    {
+      return this.delegate.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(
+      final long position,
+      final long size,
+      final boolean shared)
+      throws IOException
+    {
+      return this.delegate.tryLock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel()
+      throws IOException
+    {
+      this.delegate.close();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.vanilla.EPUBLatencySnapshot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, in the style of
+ * HdrHistogram. Each power-of-two range of values is divided into
+ * {@code 32} equal buckets, so any recorded value is reported with a
+ * relative error of at most about 3%. Values above roughly two hours are
+ * counted in the last bucket, although the exact maximum is retained.
+ */
+
+public final class EPUBLatencyHistogram
+{
+  private static final int SUB_BITS = 5;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private static final int MAXIMUM_EXPONENT = 43;
+  private static final int BUCKETS =
+    SUB_COUNT + (MAXIMUM_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+  private final AtomicLongArray buckets;
+  private final LongAdder count;
+  private final LongAdder total;
+  private final AtomicLong maximum;
+
+  /**
+   * Create an empty histogram.
+   */
+
+  public EPUBLatencyHistogram()
+  {
+    this.buckets = new AtomicLongArray(BUCKETS);
+    this.count = new LongAdder();
+    this.total = new LongAdder();
+    this.maximum = new AtomicLong();
+  }
+
+  static int bucketOf(
+    final long value)
+  {
+    if (value < SUB_COUNT) {
+      return (int) Math.max(0L, value);
+    }
+
+    final var exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAXIMUM_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    final var shift = exponent - SUB_BITS;
+    final var sub = (int) (value >>> shift) - SUB_COUNT;
+    return SUB_COUNT + shift * SUB_COUNT + sub;
+  }
+
+  static long highestValueOf(
+    final int bucket)
+  {
+    if (bucket < SUB_COUNT) {
+      return bucket;
+    }
+
+    final var shift = (bucket - SUB_COUNT) / SUB_COUNT;
+    final var sub = (bucket - SUB_COUNT) % SUB_COUNT;
+    final var lowest = (long) (SUB_COUNT + sub) << shift;
+    return lowest + (1L << shift) - 1L;
+  }
+
+  /**
+   * Record a value.
+   *
+   * @param nanos The value in nanoseconds
+   */
+
+  public void record(
+    final long nanos)
+  {
+    final var value = Math.max(0L, nanos);
+    this.buckets.incrementAndGet(bucketOf(value));
+    this.count.increment();
+    this.total.add(value);
+    this.maximum.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Take a snapshot of the histogram. Values recorded concurrently with the
+   * snapshot may or may not be included.
+   *
+   * @return A snapshot
+   */
+
+  public EPUBLatencySnapshot snapshot()
+  {
+    final var counts = new long[BUCKETS];
+    var recorded = 0L;
+    for (var index = 0; index < BUCKETS; ++index) {
+      counts[index] = this.buckets.get(index);
+      recorded += counts[index];
+    }
+
+    final var max = this.maximum.get();
+    return EPUBLatencySnapshot.builder()
+      .setCount(recorded)
+      .setTotalNanos(this.total.sum())
+      .setMaximumNanos(max)
+      .setP50Nanos(percentile(counts, recorded, max, 0.50))
+      .setP90Nanos(percentile(counts, recorded, max, 0.90))
+      .setP99Nanos(percentile(counts, recorded, max, 0.99))
+      .setP999Nanos(percentile(counts, recorded, max, 0.999))
+      .build();
+  }
+
+  private static long percentile(
+    final long[] counts,
+    final long recorded,
+    final long maximum,
+    final double fraction)
+  {
+    if (recorded == 0L) {
+      return 0L;
+    }
+
+    final var rank = Math.max(1L, (long) Math.ceil(fraction * recorded));
+    var seen = 0L;
+    for (var index = 0; index < counts.length; ++index) {
+      seen += counts[index];
+      if (seen >= rank) {
+        if (index == BUCKETS - 1) {
+          return maximum;
+        }
+        return Math.min(maximum, highestValueOf(index));
+      }
+    }
+    return maximum;
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.jlexing.core.LexicalPosition;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The enforcement of the resource limits of a single parse. Each method
+ * logs a precise error and then raises
+ * {@link EPUBParseAbandonedException} when a limit is exceeded.
+ */
+
+public final class EPUBLimits
+{
+  /**
+   * The decompressed size below which compression ratios are not checked.
+   */
+
+  private static final long RATIO_MINIMUM_SIZE = 64L * 1024L;
+
+  private final EPUBParseLimits limits;
+  private final EPUBErrorLogger errors;
+  private long elementsChecked;
+
+  /**
+   * The enforcement of resource limits.
+   *
+   * @param inLimits The limits
+   * @param inErrors The error logger
+   */
+
+  public EPUBLimits(
+    final EPUBParseLimits inLimits,
+    final EPUBErrorLogger inErrors)
+  {
+    this.limits =
+      Objects.requireNonNull(inLimits, "limits");
+    this.errors =
+      Objects.requireNonNull(inErrors, "errors");
+  }
+
+  /**
+   * @return The number of XML elements checked so far, across all files
+   */
+
+  public long elementsChecked()
+  {
+    return this.elementsChecked;
+  }
+
+  /**
+   * @return The limits
+   */
+
+  public EPUBParseLimits limits()
+  {
+    return this.limits;
+  }
+
+  private EPUBParseAbandonedException exceeded(
+    final LexicalPosition<URI> position,
+    final String id,
+    final Object... args)
+  {
+    this.errors.formattedError(
+      EPUBParseErrorType.Kind.LIMIT_EXCEEDED, position, id, args);
+    return new EPUBParseAbandonedException(id);
+  }
+
+  private static LexicalPosition<URI> positionOf(
+    final Locator locator)
+  {
+    final var systemId = locator.getSystemId();
+    return LexicalPosition.of(
+      locator.getLineNumber(),
+      locator.getColumnNumber(),
+      Optional.ofNullable(systemId).map(URI::create)
+    );
+  }
+
+  /**
+   * Check the number of entries in an archive.
+   *
+   * @param position The position of the archive
+   * @param entries  The number of entries
+   */
+
+  public void checkEntries(
+    final LexicalPosition<URI> position,
+    final long entries)
+  {
+    final var maximum = this.limits.maximumEntries();
+    if (entries > maximum) {
+      throw this.exceeded(
+        position,
+        "epub.error.limit.entries",
+        Long.valueOf(entries),
+        Long.valueOf(maximum)
+      );
+    }
+  }
+
+  /**
+   * Check an element that has just been opened in an XML file.
+   *
+   * @param locator    The locator for the current position
+   * @param elements   The number of elements seen so far, including this one
+   * @param depth      The depth of the element, where the root is at depth 1
+   * @param qName      The name of the element
+   * @param attributes The attributes of the element
+   */
+
+  public void checkElement(
+    final Locator locator,
+    final int elements,
+    final int depth,
+    final String qName,
+    final Attributes attributes)
+  {
+    ++this.elementsChecked;
+    if (elements > this.limits.maximumElements()) {
+      throw this.exceeded(
+        positionOf(locator),
+        "epub.error.limit.elements",
+        Integer.valueOf(this.limits.maximumElements())
+      );
+    }
+
+    if (depth > this.limits.maximumDepth()) {
+      throw this.exceeded(
+        positionOf(locator),
+        "epub.error.limit.depth",
+        qName,
+        Integer.valueOf(this.limits.maximumDepth())
+      );
+    }
+
+    final var maximumLength = this.limits.maximumAttributeLength();
+    final var count = attributes.getLength();
+    for (var index = 0; index < count; ++index) {
+      final var length = attributes.getValue(index).length();
+      if (length > maximumLength) {
+        throw this.exceeded(
+          positionOf(locator),
+          "epub.error.limit.attributeLength",
+          attributes.getQName(index),
+          qName,
+          Integer.valueOf(length),
+          Integer.valueOf(maximumLength)
+        );
+      }
+    }
+  }
+
+  /**
+   * Limit the number of bytes that can be read from the decompressed
+   * stream of an XML file.
+   *
+   * @param position       The position of the file
+   * @param name           The name of the file
+   * @param compressedSize The compressed size of the file, or {@code -1} if
+   *                       unknown
+   *
+   * @return A listener for a counting stream that enforces the size and
+   * compression ratio limits
+   */
+
+  EPUBCountingInputStream.ListenerType xmlStreamLimit(
+    final LexicalPosition<URI> position,
+    final String name,
+    final long compressedSize)
+  {
+    Objects.requireNonNull(position, "position");
+    Objects.requireNonNull(name, "name");
+
+    final long maximumSize = this.limits.maximumXMLSize();
+    final long maximumRatioSize =
+      ratioLimit(compressedSize, this.limits.maximumCompressionRatio());
+
+    return (total, bytes) -> {
+      if (total > maximumSize) {
+        throw this.exceeded(
+          position,
+          "epub.error.limit.size",
+          name,
+          Long.valueOf(maximumSize)
+        );
+      }
+      if (total > maximumRatioSize) {
+        throw this.exceeded(
+          position,
+          "epub.error.limit.compressionRatio",
+          name,
+          Double.valueOf(this.limits.maximumCompressionRatio())
+        );
+      }
+    };
+  }
+
+  /**
+   * Determine the decompressed size beyond which an entry exceeds a
+   * compression ratio.
+   *
+   * @param compressedSize The compressed size of the entry, or {@code -1} if
+   *                       unknown
+   * @param ratio          The maximum compression ratio
+   *
+   * @return The maximum decompressed size
+   */
+
+  static long ratioLimit(
+    final long compressedSize,
+    final double ratio)
+  {
+    if (compressedSize < 0L) {
+      return Long.MAX_VALUE;
+    }
+
+    final var ratioSize = (double) compressedSize * ratio;
+    return ratioSize >= (double) Long.MAX_VALUE
+      ? Long.MAX_VALUE
+      : Math.max(RATIO_MINIMUM_SIZE, (long) ratioSize);
+  }
+}
@@ -24,28 +24,41 @@ import com.io7m.boxwood.api.EPUBMetadataProperty;
 import com.io7m.boxwood.api.EPUBPackage;
 import com.io7m.boxwood.api.EPUBSpine;
 import com.io7m.boxwood.api.EPUBSpineItem;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.jlexing.core.LexicalPosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The EPUB package parser.
+ *
+ * The parser consumes the package document as a stream of SAX events, and
+ * hands each metadata property, manifest item, and spine item to a visitor
+ * as soon as it has been parsed. In retaining mode, the parser additionally
+ * collects everything into the returned package. In streaming mode, the
+ * parser retains only the values needed to compute the unique identifier
+ * and cover image of the package, and so consumes memory that does not grow
+ * with the size of the package. The one exception is a package whose
+ * manifest precedes its metadata: any manifest item could then turn out to
+ * be named by a legacy {@code cover} property, and so the manifest items
+ * are retained until the whole document has been read.
  */
 
 public final class EPUBPackageParser
@@ -53,18 +66,74 @@ public final class EPUBPackageParser
   private static final Logger LOG =
     LoggerFactory.getLogger(EPUBPackageParser.class);
 
-  private static final Pattern WHITESPACE =
-    Pattern.compile("\\s+");
+  private static final EPUBPackageVisitorType NO_VISITOR =
+    new EPUBPackageVisitorType()
+    {
+    };
 
   private EPUBPackageParser()
   {
 
   }
 
+  /**
+   * @return A visitor that ignores everything
+   */
+
+  public static EPUBPackageVisitorType noVisitor()
+  {
+    return NO_VISITOR;
+  }
+
+  /**
+   * Parse an EPUB package, retaining all package contents.
+   *
+   * @param errors          The error consumer
+   * @param stringPool      The string pool used to canonicalize
+   *                        frequently repeated strings
+   * @param sourceFile      The source file
+   * @param packageFileName The package file name
+   * @param stream          The input stream
+   *
+   * @return A parsed package
+   *
+   * @throws IOException      On I/O errors
+   * @throws EPUBXMLException On XML errors
+   */
+
+  public static EPUBPackage parse(
+    final EPUBErrorLogger errors,
+    final EPUBStringPool stringPool,
+    final URI sourceFile,
+    final String packageFileName,
+    final InputStream stream)
+    throws IOException, EPUBXMLException
+  {
+    return parse(
+      errors,
+      stringPool,
+      EPUBCancellation.create(),
+      new EPUBLimits(EPUBParseLimits.builder().build(), errors),
+      NO_VISITOR,
+      true,
+      sourceFile,
+      packageFileName,
+      stream
+    );
+  }
+
   /**
    * Parse an EPUB package.
    *
    * @param errors          The error consumer
+   * @param stringPool      The string pool used to canonicalize
+   *                        frequently repeated strings
+   * @param cancellation    The cancellation state, checked as each element
+   *                        is parsed
+   * @param limits          The resource limits
+   * @param visitor         The visitor that receives package contents
+   * @param retain          {@code true} if all package contents should be
+   *                        retained in the returned package
    * @param sourceFile      The source file
    * @param packageFileName The package file name
    * @param stream          The input stream
@@ -77,54 +146,45 @@ public final class EPUBPackageParser
 
   public static EPUBPackage parse(
     final EPUBErrorLogger errors,
+    final EPUBStringPool stringPool,
+    final EPUBCancellation cancellation,
+    final EPUBLimits limits,
+    final EPUBPackageVisitorType visitor,
+    final boolean retain,
     final URI sourceFile,
     final String packageFileName,
     final InputStream stream)
     throws IOException, EPUBXMLException
   {
-    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(errors, "errors");
+    Objects.requireNonNull(stringPool, "stringPool");
+    Objects.requireNonNull(cancellation, "cancellation");
+    Objects.requireNonNull(limits, "limits");
+    Objects.requireNonNull(visitor, "visitor");
     Objects.requireNonNull(sourceFile, "sourceFile");
+    Objects.requireNonNull(packageFileName, "packageFileName");
+    Objects.requireNonNull(stream, "stream");
 
-    try {
-      final var document = EPUBPositionalXML.readXML(sourceFile, stream);
-      final var root = document.getDocumentElement();
-      final var rootName = root.getNodeName();
-      if (!Objects.equals(rootName, "package")) {
-        errors.formattedXMLError(
-          root, "epub.error.package.rootNotPackage", rootName
-        );
-        throw new EPUBXMLExceptionMissingElement();
-      }
-
-      final var uniqueIdRef =
-        requireUniqueIdRef(errors, root, rootName);
-      final var metadataNodeOpt =
-        EPUBXMLHelpers.requireChildNodeOpt(errors, root, "metadata");
-      final var manifestNodeOpt =
-        EPUBXMLHelpers.requireChildNodeOpt(errors, root, "manifest");
-      final var spineNodeOpt =
-        EPUBXMLHelpers.requireChildNodeOpt(errors, root, "spine");
-
-      final var metadata =
-        parseMetadata(errors, root, uniqueIdRef, metadataNodeOpt);
-      final var manifest =
-        parseManifest(errors, packageFileName, manifestNodeOpt);
-      final var spine =
-        parseSpine(errors, spineNodeOpt);
-
-      metadataNodeOpt.orElseThrow(
-        EPUBXMLExceptionMissingElement::new);
-      manifestNodeOpt.orElseThrow(
-        EPUBXMLExceptionMissingElement::new);
-      spineNodeOpt.orElseThrow(
-        EPUBXMLExceptionMissingElement::new);
+    final var handler =
+      new PackageHandler(
+        errors,
+        stringPool,
+        cancellation,
+        limits,
+        visitor,
+        retain,
+        packageFileName
+      );
 
-      return EPUBPackage.builder()
-        .setUniqueIdentifierReference(uniqueIdRef)
-        .setMetadata(metadata)
-        .setManifest(manifest)
-        .setSpine(spine)
-        .build();
+    visitor.onPackageStart(packageFileName);
+    try {
+      final var parser = SAXParserFactory.newInstance().newSAXParser();
+      final var inputSource = new InputSource(stream);
+      inputSource.setSystemId(sourceFile.toString());
+      parser.parse(inputSource, handler);
+      return handler.finish();
+    } catch (final InvalidRootException e) {
+      throw new EPUBXMLExceptionMissingElement();
     } catch (final SAXParseException e) {
       LOG.debug("parse exception: ", e);
       errors.exceptionError(e);
@@ -136,247 +196,348 @@ public final class EPUBPackageParser
     } catch (final ParserConfigurationException e) {
       LOG.debug("parser exception: ", e);
       throw new IllegalStateException(e);
+    } finally {
+      visitor.onPackageEnd(packageFileName);
     }
   }
 
-  private static String requireUniqueIdRef(
-    final EPUBErrorLogger errors,
-    final Element root,
-    final String rootName)
+  /**
+   * Raised to abandon parsing of a document that is not a package document.
+   */
+
+  private static final class InvalidRootException extends SAXException
   {
-    if (!root.hasAttribute("unique-identifier")) {
-      errors.formattedXMLError(
-        root,
-        "epub.error.xml.requireAttribute",
-        "unique-identifier",
-        rootName
-      );
-      return null;
+    InvalidRootException()
+    {
+      super("Invalid root element");
     }
-    return root.getAttribute("unique-identifier");
   }
 
-  private static EPUBSpine parseSpine(
-    final EPUBErrorLogger errors,
-    final Optional<Element> spineNodeOpt)
+  private enum Section
   {
-    if (spineNodeOpt.isEmpty()) {
-      return null;
+    NONE,
+    METADATA,
+    MANIFEST,
+    SPINE
+  }
+
+  private enum MetadataItemKind
+  {
+    NONE,
+    PROPERTY,
+    DUBLIN_CORE
+  }
+
+  private static final class PackageHandler extends DefaultHandler
+  {
+    private final EPUBErrorLogger errors;
+    private final EPUBStringPool stringPool;
+    private final EPUBCancellation cancellation;
+    private final EPUBLimits limits;
+    private final EPUBPackageVisitorType visitor;
+    private final boolean retain;
+    private final EPUBPathResolver resolver;
+    private final ArrayList<EPUBMetadataProperty> properties;
+    private final ArrayList<EPUBMetadataLegacyProperty> legacyProperties;
+    private final ArrayList<EPUBManifestItem> manifestItems;
+    private final ArrayList<EPUBSpineItem> spineItems;
+    private final HashSet<String> legacyCoverIds;
+    private final StringBuilder text;
+    private Locator locator;
+    private LexicalPosition<URI> rootPosition;
+    private String rootName;
+    private String uniqueIdRef;
+    private boolean uniqueIdFound;
+    private int depth;
+    private int elements;
+    private int metadataCount;
+    private int manifestCount;
+    private int spineCount;
+    private Section section;
+    private int sectionDepth;
+    private MetadataItemKind itemKind;
+    private String itemName;
+    private String itemId;
+    private String itemRefines;
+    private String itemScheme;
+
+    PackageHandler(
+      final EPUBErrorLogger inErrors,
+      final EPUBStringPool inStringPool,
+      final EPUBCancellation inCancellation,
+      final EPUBLimits inLimits,
+      final EPUBPackageVisitorType inVisitor,
+      final boolean inRetain,
+      final String packageFileName)
+    {
+      this.errors = inErrors;
+      this.stringPool = inStringPool;
+      this.cancellation = inCancellation;
+      this.limits = inLimits;
+      this.visitor = inVisitor;
+      this.retain = inRetain;
+      this.resolver = EPUBPathResolver.forPackage(packageFileName);
+      this.properties = new ArrayList<>();
+      this.legacyProperties = new ArrayList<>();
+      this.manifestItems = new ArrayList<>();
+      this.spineItems = new ArrayList<>();
+      this.legacyCoverIds = new HashSet<>();
+      this.text = new StringBuilder(128);
+      this.section = Section.NONE;
+      this.itemKind = MetadataItemKind.NONE;
     }
 
-    final var spineNode = spineNodeOpt.get();
-    final var childNodes = spineNode.getChildNodes();
-    final var items = new ArrayList<EPUBSpineItem>(childNodes.getLength());
+    private static String attributeOrEmpty(
+      final Attributes attributes,
+      final String name)
+    {
+      final var value = attributes.getValue(name);
+      return value == null ? "" : value;
+    }
 
-    for (int index = 0, size = childNodes.getLength(); index < size; ++index) {
-      final var childNode = childNodes.item(index);
-      if (!(childNode instanceof Element)) {
-        continue;
-      }
+    private static boolean hasAttribute(
+      final Attributes attributes,
+      final String name)
+    {
+      return attributes.getValue(name) != null;
+    }
 
-      final var elem = (Element) childNode;
-      final var tagName = elem.getTagName();
+    @Override
+    public void setDocumentLocator(
+      final Locator inLocator)
+    {
+      this.locator = inLocator;
+    }
 
-      switch (tagName) {
-        case "itemref": {
+    private LexicalPosition<URI> position()
+    {
+      return LexicalPosition.<URI>builder()
+        .setFile(URI.create(this.locator.getSystemId()))
+        .setLine(this.locator.getLineNumber())
+        .setColumn(this.locator.getColumnNumber())
+        .build();
+    }
 
-          /*
-           * The itemref value has a number of required parameters.
-           *
-           * See "https://www.w3.org/publishing/epub3/epub-packages.html#sec-itemref-elem"
-           */
+    @Override
+    public void startElement(
+      final String uri,
+      final String localName,
+      final String qName,
+      final Attributes attributes)
+      throws SAXException
+    {
+      this.cancellation.check();
+      ++this.depth;
+      ++this.elements;
+      this.limits.checkElement(
+        this.locator, this.elements, this.depth, qName, attributes);
+
+      if (this.depth == 1) {
+        this.startRoot(qName, attributes);
+        return;
+      }
 
-          if (!elem.hasAttribute("idref")) {
-            errors.formattedXMLError(
-              elem,
-              "epub.error.xml.requireAttribute",
-              "idref",
-              tagName
-            );
-            continue;
-          }
+      if (this.section != Section.NONE) {
+        if (this.depth == this.sectionDepth + 1) {
+          this.startSectionChild(qName, attributes);
+        }
+        return;
+      }
 
-          final var idRef =
-            elem.getAttribute("idref");
+      /*
+       * Sections are only recognized as direct children of the package
+       * element; a nested element such as collection/metadata is not the
+       * package metadata.
+       */
 
-          final var item =
-            EPUBSpineItem.builder()
-              .setReference(idRef)
-              .build();
+      if (this.depth != 2) {
+        return;
+      }
 
-          LOG.trace("spine: item: {}", item);
-          items.add(item);
-          break;
+      switch (qName) {
+        case "metadata" -> {
+          ++this.metadataCount;
+          this.startSection(Section.METADATA);
+        }
+        case "manifest" -> {
+          ++this.manifestCount;
+          this.startSection(Section.MANIFEST);
+        }
+        case "spine" -> {
+          ++this.spineCount;
+          this.startSection(Section.SPINE);
         }
+        default -> {
 
-        default: {
-          errors.formattedXMLError(
-            elem,
-            "epub.error.xml.unexpectedElement",
-            "spine",
-            tagName
-          );
-          break;
         }
       }
     }
 
-    final var spineBuilder = EPUBSpine.builder();
-    spineBuilder.setItems(items);
-    return spineBuilder.build();
-  }
-
-  private static EPUBManifest parseManifest(
-    final EPUBErrorLogger errors,
-    final String packageFileName,
-    final Optional<Element> manifestNodeOpt)
-  {
-    if (manifestNodeOpt.isEmpty()) {
-      return null;
+    private void startSection(
+      final Section newSection)
+    {
+      this.section = newSection;
+      this.sectionDepth = this.depth;
     }
 
-    final var baseURI = URI.create(packageFileName);
-    final var manifestNode = manifestNodeOpt.get();
-    final var childNodes = manifestNode.getChildNodes();
-    final var manifestItems =
-      new ArrayList<EPUBManifestItem>(childNodes.getLength());
-
-    for (int index = 0, size = childNodes.getLength(); index < size; ++index) {
-      final var childNode = childNodes.item(index);
-      if (!(childNode instanceof Element)) {
-        continue;
+    private void startRoot(
+      final String qName,
+      final Attributes attributes)
+      throws InvalidRootException
+    {
+      this.rootName = qName;
+      this.rootPosition = this.position();
+
+      if (!Objects.equals(qName, "package")) {
+        this.errors.formattedError(
+          this.rootPosition, "epub.error.package.rootNotPackage", qName
+        );
+        throw new InvalidRootException();
       }
 
-      final var elem = (Element) childNode;
-      final var tagName = elem.getTagName();
+      if (!hasAttribute(attributes, "unique-identifier")) {
+        this.errors.formattedError(
+          this.rootPosition,
+          "epub.error.xml.requireAttribute",
+          "unique-identifier",
+          qName
+        );
+        return;
+      }
 
-      switch (tagName) {
-        case "item": {
+      this.uniqueIdRef =
+        this.stringPool.intern(attributes.getValue("unique-identifier"));
+    }
 
-          /*
-           * The item attribute has a number of mandatory parameters.
-           *
-           * See: "https://www.w3.org/publishing/epub3/epub-packages.html#sec-item-elem"
-           */
+    private void startSectionChild(
+      final String qName,
+      final Attributes attributes)
+    {
+      switch (this.section) {
+        case METADATA -> this.startMetadataChild(qName, attributes);
+        case MANIFEST -> this.startManifestChild(qName, attributes);
+        case SPINE -> this.startSpineChild(qName, attributes);
+        case NONE -> {
 
-          if (!elem.hasAttribute("href")) {
-            errors.formattedXMLError(
-              elem,
-              "epub.error.xml.requireAttribute",
-              "href",
-              tagName
-            );
-            continue;
-          }
+        }
+      }
+    }
 
-          if (!elem.hasAttribute("id")) {
-            errors.formattedXMLError(
-              elem,
-              "epub.error.xml.requireAttribute",
-              "id",
-              tagName
-            );
-            continue;
-          }
+    private void startSpineChild(
+      final String tagName,
+      final Attributes attributes)
+    {
+      if (!Objects.equals(tagName, "itemref")) {
+        this.errors.formattedError(
+          this.position(),
+          "epub.error.xml.unexpectedElement",
+          "spine",
+          tagName
+        );
+        return;
+      }
 
-          if (!elem.hasAttribute("media-type")) {
-            errors.formattedXMLError(
-              elem,
-              "epub.error.xml.requireAttribute",
-              "media-type",
-              tagName
-            );
-            continue;
-          }
+      /*
+       * The itemref value has a number of required parameters.
+       *
+       * See "https://www.w3.org/publishing/epub3/epub-packages.html#sec-itemref-elem"
+       */
+
+      if (!hasAttribute(attributes, "idref")) {
+        this.errors.formattedError(
+          this.position(),
+          "epub.error.xml.requireAttribute",
+          "idref",
+          tagName
+        );
+        return;
+      }
 
-          final var baseFile =
-            elem.getAttribute("href");
-          final var realPath =
-            baseURI.resolve(baseFile).toString();
-          final var idValue =
-            elem.getAttribute("id");
-          final var mediaType =
-            elem.getAttribute("media-type");
-          final var propertyList =
-            spaceSeparatedListOf(elem.getAttribute("properties"));
-
-          final var item =
-            EPUBManifestItem.builder()
-              .setRealPath(realPath)
-              .setId(idValue)
-              .setHref(baseFile)
-              .setMediaType(mediaType)
-              .setProperties(propertyList)
-              .build();
-
-          LOG.trace("manifest: item: {}", item);
-          manifestItems.add(item);
-          break;
-        }
+      final var item =
+        EPUBSpineItem.builder()
+          .setReference(attributes.getValue("idref"))
+          .build();
 
-        default: {
+      LOG.trace("spine: item: {}", item);
+      this.visitor.onSpineItem(item);
+      if (this.retain) {
+        this.spineItems.add(item);
+      }
+    }
 
-          /*
-           * No other manifest items are allowed.
-           */
+    private void startManifestChild(
+      final String tagName,
+      final Attributes attributes)
+    {
+      if (!Objects.equals(tagName, "item")) {
+
+        /*
+         * No other manifest items are allowed.
+         */
+
+        this.errors.formattedError(
+          this.position(),
+          "epub.error.xml.unexpectedElement",
+          "manifest",
+          tagName
+        );
+        return;
+      }
 
-          errors.formattedXMLError(
-            elem,
-            "epub.error.xml.unexpectedElement",
-            "manifest",
+      /*
+       * The item attribute has a number of mandatory parameters.
+       *
+       * See: "https://www.w3.org/publishing/epub3/epub-packages.html#sec-item-elem"
+       */
+
+      for (final var required : List.of("href", "id", "media-type")) {
+        if (!hasAttribute(attributes, required)) {
+          this.errors.formattedError(
+            this.position(),
+            "epub.error.xml.requireAttribute",
+            required,
             tagName
           );
-          break;
+          return;
         }
       }
-    }
 
-    final var manifestBuilder = EPUBManifest.builder();
-    manifestBuilder.setItems(manifestItems);
-    return manifestBuilder.build();
-  }
-
-  private static Iterable<String> spaceSeparatedListOf(
-    final String properties)
-  {
-    if (properties == null) {
-      return List.of();
+      final var baseFile =
+        attributes.getValue("href");
+      final var item =
+        EPUBManifestItem.builder()
+          .setRealPath(this.resolver.resolve(baseFile))
+          .setId(attributes.getValue("id"))
+          .setHref(baseFile)
+          .setMediaType(
+            this.stringPool.intern(attributes.getValue("media-type")))
+          .setProperties(
+            spaceSeparatedListOf(
+              this.stringPool,
+              attributes.getValue("properties")))
+          .build();
+
+      LOG.trace("manifest: item: {}", item);
+      this.visitor.onManifestItem(item);
+      if (this.retain
+        || this.metadataCount == 0
+        || this.isCoverCandidate(item)) {
+        this.manifestItems.add(item);
+      }
     }
 
-    return Stream.of(WHITESPACE.split(properties))
-      .map(String::trim)
-      .collect(Collectors.toList());
-  }
-
-  private static EPUBMetadata parseMetadata(
-    final EPUBErrorLogger errors,
-    final Element packageNode,
-    final String uniqueIdRef,
-    final Optional<Element> metadataNodeOpt)
-  {
-    if (metadataNodeOpt.isEmpty()) {
-      return null;
+    private boolean isCoverCandidate(
+      final EPUBManifestItem item)
+    {
+      return item.isCoverImage() || this.legacyCoverIds.contains(item.id());
     }
 
-    final var metadataNode = metadataNodeOpt.get();
-    final var childNodes = metadataNode.getChildNodes();
-
-    final var legacyProperties =
-      new ArrayList<EPUBMetadataLegacyProperty>(childNodes.getLength());
-    final var properties =
-      new ArrayList<EPUBMetadataProperty>(childNodes.getLength());
-
-    for (int index = 0, size = childNodes.getLength(); index < size; ++index) {
-      final var childNode = childNodes.item(index);
-      if (!(childNode instanceof Element)) {
-        continue;
-      }
-
-      final var elem = (Element) childNode;
-      final var tagName = elem.getTagName();
-
+    private void startMetadataChild(
+      final String tagName,
+      final Attributes attributes)
+    {
       switch (tagName) {
-        case "meta": {
+        case "meta" -> {
 
           /*
            * The meta property might be a legacy meta property.
@@ -384,61 +545,38 @@ public final class EPUBPackageParser
            * See "http://idpf.org/epub/20/spec/OPF_2.0.1_draft.htm#Section2.2"
            */
 
-          if (elem.hasAttribute("content")
-            && elem.hasAttribute("name")) {
-            legacyProperties.add(
-              EPUBMetadataLegacyProperty.builder()
-                .setName(elem.getAttribute("name").trim())
-                .setContent(elem.getAttribute("content").trim())
-                .build()
-            );
-            continue;
+          if (hasAttribute(attributes, "content")
+            && hasAttribute(attributes, "name")) {
+            this.legacyProperty(attributes);
+            return;
           }
 
           /*
            * Otherwise, the meta property has a required attribute.
            */
 
-          if (!elem.hasAttribute("property")) {
-            errors.formattedXMLError(
-              elem,
+          if (!hasAttribute(attributes, "property")) {
+            this.errors.formattedError(
+              this.position(),
               "epub.error.xml.requireAttribute",
               "property",
               tagName
             );
-            continue;
+            return;
           }
 
-          final var name =
-            elem.getAttribute("property");
-          final var refines =
-            Optional.ofNullable(elem.getAttribute("refines"));
-          final var id =
-            Optional.ofNullable(elem.getAttribute("id"));
-          final var scheme =
-            Optional.ofNullable(elem.getAttribute("scheme"));
-          final var propertyValue =
-            elem.getTextContent();
-
-          final var property =
-            EPUBMetadataProperty.builder()
-              .setName(name)
-              .setRefines(refines)
-              .setId(id)
-              .setScheme(scheme)
-              .setValue(propertyValue)
-              .build();
-
-          LOG.trace("metadata: property: {}", property);
-          properties.add(property);
-          break;
+          this.startMetadataItem(
+            MetadataItemKind.PROPERTY,
+            attributes.getValue("property"),
+            attributes
+          );
         }
 
-        case "link": {
-          break;
+        case "link" -> {
+
         }
 
-        default: {
+        default -> {
 
           /*
            * If it's not a link and not a meta property, then behave as if
@@ -446,63 +584,218 @@ public final class EPUBPackageParser
            * bits of data into the property.
            */
 
-          final var idProp = Optional.ofNullable(elem.getAttribute("id"));
-          final var propertyBuilder = EPUBMetadataProperty.builder();
-          propertyBuilder.setName(tagName);
-          propertyBuilder.setId(idProp);
-          propertyBuilder.setValue(elem.getTextContent());
-          final var property = propertyBuilder.build();
-          LOG.trace("metadata: property: {}", property);
-          properties.add(property);
-          break;
+          this.startMetadataItem(
+            MetadataItemKind.DUBLIN_CORE,
+            tagName,
+            attributes
+          );
         }
       }
     }
 
-    /*
-     * If the unique-identifier attribute specifies a metadata property
-     * that doesn't exist, then fail the metadata as a whole (and therefore
-     * the entire package).
-     */
+    private void legacyProperty(
+      final Attributes attributes)
+    {
+      final var property =
+        EPUBMetadataLegacyProperty.builder()
+          .setName(
+            this.stringPool.intern(attributes.getValue("name").trim()))
+          .setContent(attributes.getValue("content").trim())
+          .build();
+
+      this.visitor.onMetadataLegacyProperty(property);
+      this.legacyProperties.add(property);
+      if (Objects.equals(property.name(), "cover")) {
+        this.legacyCoverIds.add(property.content());
+      }
+    }
 
-    if (!findRealUniqueIdentifierProperty(
-      errors,
-      packageNode,
-      uniqueIdRef,
-      properties)) {
-      return null;
+    private void startMetadataItem(
+      final MetadataItemKind kind,
+      final String name,
+      final Attributes attributes)
+    {
+      this.itemKind = kind;
+      this.itemName = this.stringPool.intern(name);
+      this.itemId = attributeOrEmpty(attributes, "id");
+      this.itemRefines = attributeOrEmpty(attributes, "refines");
+      this.itemScheme =
+        this.stringPool.intern(attributeOrEmpty(attributes, "scheme"));
+      this.text.setLength(0);
+    }
+
+    @Override
+    public void characters(
+      final char[] ch,
+      final int start,
+      final int length)
+    {
+      if (this.itemKind != MetadataItemKind.NONE) {
+        this.text.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(
+      final String uri,
+      final String localName,
+      final String qName)
+    {
+      if (this.section != Section.NONE) {
+        if (this.depth == this.sectionDepth + 1
+          && this.itemKind != MetadataItemKind.NONE) {
+          this.finishMetadataItem();
+        }
+        if (this.depth == this.sectionDepth) {
+          this.section = Section.NONE;
+        }
+      }
+      --this.depth;
     }
 
-    final var metadataBuilder = EPUBMetadata.builder();
-    metadataBuilder.setLegacyProperties(legacyProperties);
-    metadataBuilder.setProperties(properties);
-    return metadataBuilder.build();
+    private void finishMetadataItem()
+    {
+      final var builder = EPUBMetadataProperty.builder();
+      builder.setName(this.itemName);
+      builder.setId(this.itemId);
+      builder.setValue(this.text.toString());
+      if (this.itemKind == MetadataItemKind.PROPERTY) {
+        builder.setRefines(this.itemRefines);
+        builder.setScheme(this.itemScheme);
+      }
+
+      final var property = builder.build();
+      LOG.trace("metadata: property: {}", property);
+      this.visitor.onMetadataProperty(property);
+
+      final var isUniqueId =
+        this.uniqueIdRef != null
+          && Objects.equals(this.itemId, this.uniqueIdRef);
+
+      if (isUniqueId && !this.uniqueIdFound) {
+        this.uniqueIdFound = true;
+        if (!this.retain) {
+          this.properties.add(property);
+        }
+      }
+      if (this.retain) {
+        this.properties.add(property);
+      }
+
+      this.itemKind = MetadataItemKind.NONE;
+      this.text.setLength(0);
+    }
+
+    private boolean checkSectionCount(
+      final String name,
+      final int count)
+    {
+      if (count != 1) {
+        this.errors.formattedError(
+          this.rootPosition,
+          "epub.error.xml.requireNode",
+          name,
+          this.rootName,
+          Integer.valueOf(count)
+        );
+        return false;
+      }
+      return true;
+    }
+
+    EPUBPackage finish()
+      throws EPUBXMLExceptionMissingElement
+    {
+      final var metadataOk =
+        this.checkSectionCount("metadata", this.metadataCount);
+      final var manifestOk =
+        this.checkSectionCount("manifest", this.manifestCount);
+      final var spineOk =
+        this.checkSectionCount("spine", this.spineCount);
+
+      /*
+       * If the unique-identifier attribute specifies a metadata property
+       * that doesn't exist, then fail the metadata as a whole (and therefore
+       * the entire package).
+       */
+
+      if (metadataOk && this.uniqueIdRef != null && !this.uniqueIdFound) {
+        this.errors.formattedError(
+          this.rootPosition,
+          "epub.error.package.uniqueIdPropertyMissing",
+          this.uniqueIdRef
+        );
+      }
+
+      final var sectionsOk = metadataOk && manifestOk && spineOk;
+      if (!sectionsOk || !this.uniqueIdFound) {
+        throw new EPUBXMLExceptionMissingElement();
+      }
+
+      /*
+       * Manifest items that preceded the metadata were retained in case a
+       * legacy cover property named them; now that every legacy cover
+       * property is known, discard the items that cannot be the cover.
+       */
+
+      if (!this.retain) {
+        this.manifestItems.removeIf(item -> !this.isCoverCandidate(item));
+      }
+
+      return EPUBPackage.builder()
+        .setUniqueIdentifierReference(this.uniqueIdRef)
+        .setMetadata(
+          EPUBMetadata.builder()
+            .setProperties(this.properties)
+            .setLegacyProperties(this.legacyProperties)
+            .build())
+        .setManifest(
+          EPUBManifest.builder()
+            .setItems(this.manifestItems)
+            .build())
+        .setSpine(
+          EPUBSpine.builder()
+            .setItems(this.spineItems)
+            .build())
+        .build();
+    }
   }
 
-  private static boolean findRealUniqueIdentifierProperty(
-    final EPUBErrorLogger errors,
-    final Node packageNode,
-    final String uniqueIdRef,
-    final Collection<EPUBMetadataProperty> properties)
+  /**
+   * Split a whitespace-separated list of tokens. Empty tokens (produced by
+   * leading, trailing, or repeated whitespace, or by an absent attribute)
+   * are discarded.
+   */
+
+  private static List<String> spaceSeparatedListOf(
+    final EPUBStringPool stringPool,
+    final String properties)
   {
-    if (uniqueIdRef == null) {
-      return false;
+    if (properties == null || properties.isEmpty()) {
+      return List.of();
     }
 
-    final var uniqueIdRefOpt = Optional.of(uniqueIdRef);
-    final var uniqueIdPropertyOpt =
-      properties.stream()
-        .filter(property -> Objects.equals(property.id(), uniqueIdRefOpt))
-        .findFirst();
-
-    if (uniqueIdPropertyOpt.isEmpty()) {
-      errors.formattedXMLError(
-        packageNode,
-        "epub.error.package.uniqueIdPropertyMissing",
-        uniqueIdRef
-      );
-      return false;
+    final var tokens = new ArrayList<String>(2);
+    final var length = properties.length();
+    var index = 0;
+    while (index < length) {
+      while (index < length && isXMLSpace(properties.charAt(index))) {
+        ++index;
+      }
+      final var start = index;
+      while (index < length && !isXMLSpace(properties.charAt(index))) {
+        ++index;
+      }
+      if (index > start) {
+        tokens.add(stringPool.intern(properties.substring(start, index)));
+      }
     }
-    return true;
+    return tokens;
+  }
+
+  private static boolean isXMLSpace(
+    final char c)
+  {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+/**
+ * An exception raised to abandon a parse, such as when the parse has
+ * exceeded one of its resource limits, or when the error policy of the
+ * parse does not permit it to continue after an error. The error that
+ * explains why the parse was abandoned is logged before the exception is
+ * raised. The exception is unchecked so that it can escape from
+ * XML content handlers and input streams without being converted into an
+ * XML parse error.
+ */
+
+public final class EPUBParseAbandonedException extends RuntimeException
+{
+  /**
+   * An exception raised to abandon a parse.
+   *
+   * @param message The exception message
+   */
+
+  public EPUBParseAbandonedException(
+    final String message)
+  {
+    super(message, null, false, false);
+  }
+}
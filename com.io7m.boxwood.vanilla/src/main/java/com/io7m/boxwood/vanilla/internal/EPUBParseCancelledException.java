@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+
+import java.util.Objects;
+
+/**
+ * An exception raised to abandon a parse that has been cancelled or that
+ * has exceeded its deadline. The exception is unchecked so that it can
+ * escape from XML content handlers without being converted into an XML
+ * parse error.
+ */
+
+public final class EPUBParseCancelledException extends RuntimeException
+{
+  private final EPUBParseErrorType.Kind kind;
+
+  /**
+   * An exception raised to abandon a parse.
+   *
+   * @param inKind The kind of error that the exception represents, either
+   *               {@link EPUBParseErrorType.Kind#CANCELLED} or
+   *               {@link EPUBParseErrorType.Kind#DEADLINE_EXCEEDED}
+   */
+
+  public EPUBParseCancelledException(
+    final EPUBParseErrorType.Kind inKind)
+  {
+    super(Objects.requireNonNull(inKind, "kind").name(), null, false, false);
+    this.kind = switch (inKind) {
+      case CANCELLED, DEADLINE_EXCEEDED -> inKind;
+      case GENERAL, LIMIT_EXCEEDED -> throw new IllegalArgumentException(
+        "Not a cancellation kind: " + inKind);
+    };
+  }
+
+  /**
+   * @return The kind of error that the exception represents
+   */
+
+  public EPUBParseErrorType.Kind kind()
+  {
+    return this.kind;
+  }
+}
@@ -16,13 +16,25 @@
 
 package com.io7m.boxwood.vanilla.internal;
 
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBSpineItem;
 import com.io7m.boxwood.api.EPUBType;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+import com.io7m.boxwood.parser.api.EPUBPreview;
+import com.io7m.boxwood.parser.api.EPUBProgressiveParseType;
 import com.io7m.boxwood.parser.api.EPUBParseError;
-import com.io7m.boxwood.parser.api.EPUBParseEvent;
+import com.io7m.boxwood.parser.api.EPUBParseErrorType;
+import com.io7m.boxwood.parser.api.EPUBParseMetricsType;
+import com.io7m.boxwood.parser.api.EPUBParseProfile;
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
 import com.io7m.boxwood.parser.api.EPUBParseRequest;
 import com.io7m.boxwood.parser.api.EPUBParserType;
+import com.io7m.boxwood.vanilla.EPUBInstrumentedChannelType;
 import com.io7m.boxwood.vanilla.EPUBStringsType;
 import com.io7m.jlexing.core.LexicalPosition;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,10 +43,15 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * The EPUB parser implementation.
@@ -48,152 +65,206 @@ public final class EPUBParser implements EPUBParserType
   private static final String FILE_CONTAINER_XML =
     "META-INF/container.xml";
 
-  private final ArrayList<EPUBParseError> errors;
+  private final EPUBErrorSink errors;
   private final EPUBStringsType strings;
   private final EPUBErrorLogger errorLogger;
   private final EPUBParseRequest request;
-  private EPUBContainer container;
+  private final EPUBParserCache cache;
+  private final EPUBStringPool stringPool;
+  private final EPUBParseMetricsType metrics;
+  private Consumer<EPUBPreview> previewReceiver;
+  private Optional<EPUBParseProfile> profile;
 
   /**
    * The EPUB parser implementation.
    *
-   * @param inRequest The parse request
-   * @param inStrings The string resources
+   * @param inStrings    The string resources
+   * @param inCache      The parse result cache
+   * @param inStringPool The string pool
+   * @param inMetrics    The metrics receiver
+   * @param inRequest    The parse request
    */
 
   public EPUBParser(
     final EPUBStringsType inStrings,
+    final EPUBParserCache inCache,
+    final EPUBStringPool inStringPool,
+    final EPUBParseMetricsType inMetrics,
     final EPUBParseRequest inRequest)
   {
     this.strings =
       Objects.requireNonNull(inStrings, "strings");
+    this.cache =
+      Objects.requireNonNull(inCache, "cache");
+    this.stringPool =
+      Objects.requireNonNull(inStringPool, "stringPool");
+    this.metrics =
+      Objects.requireNonNull(inMetrics, "metrics");
     this.request =
       Objects.requireNonNull(inRequest, "request");
 
-    this.errors = new ArrayList<>();
-    this.errorLogger = new EPUBErrorLogger(this.strings, this.errors::add);
+    this.errors = new EPUBErrorSink(this.request.errorPolicy());
+    this.errorLogger = new EPUBErrorLogger(this.strings, this.errors);
+    this.profile = Optional.empty();
   }
 
-  private static InputStream lookupFileOrException(
-    final ZipFile file,
-    final String name)
-    throws IOException
+  @Override
+  public List<EPUBParseError> errors()
   {
-    final var entry = file.getEntry(name);
-    if (entry == null) {
-      throw new FileNotFoundException(name);
-    }
-    return file.getInputStream(entry);
+    return this.errors.errors();
   }
 
   @Override
-  public List<EPUBParseError> errors()
+  public Optional<EPUBParseProfile> profile()
   {
-    return this.errors;
+    return this.profile;
   }
 
   @Override
-  public Optional<EPUBType> execute()
-    throws IOException
+  public EPUBProgressiveParseType executeProgressive(
+    final Executor executor)
   {
-    this.errors.clear();
+    Objects.requireNonNull(executor, "executor");
 
-    this.request.events().accept(
-      EPUBParseEvent.builder()
-        .setProgress(0.0)
-        .setMessage(this.strings.format(
-          "epub.parse.starting",
-          this.request.uri()))
-        .build()
-    );
+    final var preview = new CompletableFuture<Optional<EPUBPreview>>();
+    final var result = new CompletableFuture<Optional<EPUBType>>();
 
-    try {
-      final ZipFile file;
+    executor.execute(() -> {
+      this.previewReceiver = p -> preview.complete(Optional.of(p));
       try {
-        file = new ZipFile(this.request.channel());
-      } catch (final IOException e) {
-        this.errorLogger.setSource(this.request.uri());
-        this.errorLogger.exceptionError(e);
-        return Optional.empty();
+        final var epub = this.execute();
+        preview.complete(Optional.empty());
+        result.complete(epub);
+      } catch (final IOException | RuntimeException e) {
+        preview.completeExceptionally(e);
+        result.completeExceptionally(e);
+      } finally {
+        this.previewReceiver = null;
       }
+    });
 
-      this.findContainer(file);
-      if (this.container == null) {
-        file.close();
-        return Optional.empty();
+    return new ProgressiveParse(preview, result);
+  }
+
+  private record ProgressiveParse(
+    CompletableFuture<Optional<EPUBPreview>> preview,
+    CompletableFuture<Optional<EPUBType>> result)
+    implements EPUBProgressiveParseType
+  {
+
+  }
+
+  @Override
+  public CompletableFuture<Optional<EPUBType>> executeAsync(
+    final Executor executor)
+  {
+    Objects.requireNonNull(executor, "executor");
+
+    final var execution = new Execution();
+    final var result = new CompletableFuture<Optional<EPUBType>>();
+    result.whenComplete((ignored, exception) -> {
+      if (result.isCancelled()) {
+        execution.cancellation.cancel();
       }
+    });
 
-      final var fileCount =
-        this.container.packages()
-          .stream()
-          .mapToInt(p -> p.manifest().items().size())
-          .reduce(Integer::sum)
-          .orElse(1);
-
-      var index = 0;
-      for (final var epubPackage : this.container.packages()) {
-        for (final var item : epubPackage.manifest().items()) {
-          final var progress = (double) index / (double) fileCount;
-          final var fileName = item.realPath();
-          this.request.events().accept(
-            EPUBParseEvent.builder()
-              .setProgress(progress)
-              .setMessage(this.strings.format(
-                "epub.parse.checkingManifestItem",
-                fileName))
-              .build()
-          );
+    CompletableFuture.runAsync(stage(execution, execution::open), executor)
+      .thenRunAsync(stage(execution, execution::parseContainer), executor)
+      .thenRunAsync(stage(execution, execution::parsePackages), executor)
+      .thenRunAsync(stage(execution, execution::checkManifests), executor)
+      .thenApply(ignored -> execution.result())
+      .whenComplete((epub, exception) -> {
+        execution.complete(result, epub, exception);
+      });
 
-          final var entry = file.getEntry(fileName);
-          if (entry == null) {
-            this.errorLogger.formattedError(
-              this.lexicalAtFile(fileName),
-              "epub.error.requiredFileMissing",
-              fileName
-            );
-          }
-          ++index;
-        }
+    return result;
+  }
+
+  private static long sizeOf(
+    final SeekableByteChannel channel)
+  {
+    try {
+      return channel.size();
+    } catch (final IOException e) {
+      return -1L;
+    }
+  }
+
+  private static void closeQuietly(
+    final EPUBType epub)
+  {
+    try {
+      epub.close();
+    } catch (final IOException e) {
+      LOG.debug("close: ", e);
+    }
+  }
+
+  private static Runnable stage(
+    final Execution execution,
+    final StageType stage)
+  {
+    return () -> {
+      try {
+        execution.run(stage);
+      } catch (final IOException e) {
+        throw new CompletionException(e);
       }
+    };
+  }
 
-      return Optional.of(new EPUB(file, this.container));
+  private interface StageType
+  {
+    void run()
+      throws IOException;
+  }
+
+  @Override
+  public Optional<EPUBType> execute()
+    throws IOException
+  {
+    final var execution = new Execution();
+    try {
+      execution.run(execution::open);
+      execution.run(execution::parseContainer);
+      execution.run(execution::parsePackages);
+      execution.run(execution::checkManifests);
+      return execution.result();
+    } catch (final EPUBParseCancelledException e) {
+      execution.cancelled(e);
+      return Optional.empty();
+    } catch (final EPUBParseAbandonedException e) {
+      execution.abandoned();
+      return Optional.empty();
+    } catch (final IOException | RuntimeException e) {
+      execution.abandon();
+      throw e;
     } finally {
-      this.request.events().accept(
-        EPUBParseEvent.builder()
-          .setProgress(1.0)
-          .setMessage(this.strings.format(
-            "epub.parse.finishing",
-            this.request.uri()))
-          .build()
-      );
+      execution.finish();
     }
   }
 
-  private void findContainer(
-    final ZipFile file)
-    throws IOException
+  private void previewCached(
+    final ZipFile file,
+    final EPUBContainer container)
   {
-    final var entry = file.getEntry(FILE_CONTAINER_XML);
-    if (entry == null) {
-      this.errorLogger.formattedError(
-        this.lexicalAtFile(FILE_CONTAINER_XML),
-        "epub.error.requiredFileMissing",
-        FILE_CONTAINER_XML
-      );
+    if (this.previewReceiver == null) {
       return;
     }
 
-    try (var stream = file.getInputStream(entry)) {
-      this.container =
-        EPUBContainer.create(
-          this.errorLogger,
-          name -> lookupFileOrException(file, name),
-          this.embeddedFile(FILE_CONTAINER_XML),
-          stream
-        );
-    } catch (final EPUBXMLException e) {
-      // Logged by the container
+    final var packages = container.packages();
+    if (packages.isEmpty()) {
+      return;
     }
+
+    this.previewReceiver.accept(
+      EPUBPreviewCollector.previewOf(
+        file,
+        this.request.limits(),
+        container.packageFiles().get(0),
+        packages.get(0)
+      )
+    );
   }
 
   private LexicalPosition<URI> lexicalAtFile(
@@ -211,6 +282,655 @@ public final class EPUBParser implements EPUBParserType
   private URI embeddedFile(
     final String fileName)
   {
-    return URI.create(String.format("%s/%s", this.request.uri(), fileName));
+    return URI.create(this.request.uri() + "/" + fileName);
+  }
+
+  /**
+   * The state of a single execution of the parser. An execution proceeds
+   * through a fixed sequence of stages, each of which does nothing if an
+   * earlier stage failed to produce the data that it requires. The stages
+   * may run on different threads, but never concurrently.
+   */
+
+  private final class Execution
+  {
+    private final EPUBCancellation cancellation;
+    private final EPUBLimits limits;
+    private final EPUBProgressReporter progress;
+    private final EPUBProfiler profiler;
+    private final EPUBInstrumentedChannelType instrumented;
+    private final SeekableByteChannel channel;
+    private long entriesInflated;
+    private ZipFile file;
+    private ZipArchiveEntry containerEntry;
+    private List<EPUBContainer.RootFile> rootFiles;
+    private EPUBContainer container;
+    private List<EPUBPackageVisitorType> visitors;
+    private boolean streaming;
+    private long archiveSize;
+    private int errorsBefore;
+    private long startNanos;
+    private long phaseNanos;
+    private EPUBParsePhase phase;
+    private boolean succeeded;
+
+    Execution()
+    {
+      this.cancellation =
+        EPUBCancellation.create(
+          EPUBParser.this.request.cancelled(),
+          EPUBParser.this.request.deadline()
+        );
+      this.limits =
+        new EPUBLimits(
+          EPUBParser.this.request.limits(),
+          EPUBParser.this.errorLogger
+        );
+      this.progress =
+        new EPUBProgressReporter(
+          EPUBParser.this.request.events(),
+          EPUBParser.this.request.progressInterval(),
+          EPUBParser.this.request.progressStep()
+        );
+
+      /*
+       * The channel is only instrumented if something will observe the
+       * counts. Instrumenting a file channel preserves the lock-free
+       * positional reads that the archive uses for file channels.
+       */
+
+      final var parser = EPUBParser.this;
+      final var profiled = parser.request.profiled();
+      this.profiler = profiled ? new EPUBProfiler() : null;
+      if (profiled || parser.metrics != EPUBParseMetricsType.none()) {
+        this.instrumented =
+          EPUBInstrumentedChannels.wrap(parser.request.channel(), parser.metrics);
+        this.channel = this.instrumented;
+      } else {
+        this.instrumented = null;
+        this.channel = parser.request.channel();
+      }
+    }
+
+    void run(
+      final StageType stage)
+      throws IOException
+    {
+      if (this.profiler == null) {
+        stage.run();
+        return;
+      }
+
+      this.profiler.stageStarted();
+      try {
+        stage.run();
+      } finally {
+        this.profiler.stageFinished(this.phase);
+      }
+    }
+
+    private void enterPhase(
+      final EPUBParsePhase next,
+      final long total)
+    {
+      final var now = System.nanoTime();
+      if (this.phase != null) {
+        final var nanos = now - this.phaseNanos;
+        EPUBParser.this.metrics.onPhaseCompleted(this.phase, nanos);
+        if (this.profiler != null) {
+          this.profiler.phaseCompleted(this.phase, nanos);
+        }
+      }
+      this.phase = next;
+      this.phaseNanos = now;
+      this.progress.begin(next, total);
+    }
+
+    private InputStream openXML(
+      final String name)
+      throws IOException
+    {
+      final var entry = this.file.getEntry(name);
+      if (entry == null) {
+        throw new FileNotFoundException(name);
+      }
+      return this.openXML(name, entry);
+    }
+
+    private InputStream openXML(
+      final String name,
+      final ZipArchiveEntry entry)
+      throws IOException
+    {
+      final var parser = EPUBParser.this;
+      ++this.entriesInflated;
+      parser.metrics.onEntryInflated();
+      return new EPUBCountingInputStream(
+        this.file.getInputStream(entry),
+        new XMLStreamListener(
+          this.limits.xmlStreamLimit(
+            parser.lexicalAtFile(name),
+            name,
+            entry.getCompressedSize()
+          ),
+          this.progress,
+          parser.metrics
+        )
+      );
+    }
+
+    void open()
+    {
+      final var parser = EPUBParser.this;
+      parser.errors.clear();
+      parser.profile = Optional.empty();
+      parser.metrics.onParseStarted();
+      this.enterPhase(EPUBParsePhase.STARTED, 0L);
+      this.startNanos = this.phaseNanos;
+
+      /*
+       * Opening the archive loads the whole central directory, so the number
+       * of entries is checked beforehand.
+       */
+
+      this.archiveSize = sizeOf(this.channel);
+      final var event = new EPUBEventArchiveOpen();
+      event.begin();
+      var entryCount = -1L;
+      try {
+        final var entries = EPUBZipPreflight.entryCount(this.channel);
+        if (entries.isPresent()) {
+          entryCount = entries.getAsLong();
+          this.limits.checkEntries(
+            LexicalPosition.of(0, 0, Optional.of(parser.request.uri())),
+            entryCount
+          );
+        }
+        this.file = this.readCentralDirectory(entryCount);
+      } catch (final IOException e) {
+        parser.errorLogger.setSource(parser.request.uri());
+        parser.errorLogger.exceptionError(e);
+      } finally {
+        event.end();
+        if (event.shouldCommit()) {
+          event.setUri(parser.request.uri().toString());
+          event.setArchiveSize(this.archiveSize);
+          event.setEntries(entryCount);
+          event.setSucceeded(this.file != null);
+          event.commit();
+        }
+      }
+    }
+
+    private ZipFile readCentralDirectory(
+      final long entryCount)
+      throws IOException
+    {
+      final var event = new EPUBEventCentralDirectoryRead();
+      event.begin();
+      final var zipFile = new ZipFile(this.channel);
+      event.end();
+      if (event.shouldCommit()) {
+        event.setUri(EPUBParser.this.request.uri().toString());
+        event.setArchiveSize(this.archiveSize);
+        event.setEntries(entryCount);
+        event.commit();
+      }
+      return zipFile;
+    }
+
+    void parseContainer()
+      throws IOException
+    {
+      if (this.file == null) {
+        return;
+      }
+
+      this.cancellation.check();
+      this.enterPhase(EPUBParsePhase.CONTAINER, 0L);
+      final var parser = EPUBParser.this;
+      this.containerEntry = this.file.getEntry(FILE_CONTAINER_XML);
+      if (this.containerEntry == null) {
+        parser.errorLogger.formattedError(
+          parser.lexicalAtFile(FILE_CONTAINER_XML),
+          "epub.error.requiredFileMissing",
+          FILE_CONTAINER_XML
+        );
+        return;
+      }
+
+      /*
+       * Streaming parses bypass the cache: the visitor must see the package
+       * contents, and the resulting packages are incomplete.
+       */
+
+      final var visitorOpt = parser.request.packageVisitor();
+      this.streaming = visitorOpt.isPresent();
+      this.visitors = new ArrayList<>(3);
+      if (this.progress.isEnabled()) {
+        this.visitors.add(new PackageProgressVisitor(this.progress));
+      }
+      if (parser.previewReceiver != null) {
+        this.visitors.add(
+          new EPUBPreviewCollector(
+            this.file,
+            parser.request.limits(),
+            parser.previewReceiver
+          ));
+      }
+      if (this.streaming) {
+        this.visitors.add(new CheckingVisitor(this.file, visitorOpt.get()));
+      }
+
+      /*
+       * A book that matches a cached fingerprint has already been parsed, and
+       * so none of the XML files need to be inflated or parsed again.
+       */
+
+      this.archiveSize = this.channel.size();
+      final var event = new EPUBEventContainerParse();
+      event.begin();
+      if (!this.streaming && this.findCached()) {
+        parser.previewCached(this.file, this.container);
+        this.commitContainerEvent(event, true);
+        return;
+      }
+
+      this.errorsBefore = parser.errors.errors().size();
+      final var entry = this.containerEntry;
+      try (var stream = this.openXML(FILE_CONTAINER_XML, entry)) {
+        this.rootFiles =
+          EPUBContainer.parseRootFiles(
+            parser.errorLogger,
+            this.limits,
+            parser.embeddedFile(FILE_CONTAINER_XML),
+            stream
+          );
+      } catch (final EPUBXMLException e) {
+        // Logged by the container
+      } finally {
+        this.commitContainerEvent(event, false);
+      }
+    }
+
+    private boolean findCached()
+    {
+      final var parser = EPUBParser.this;
+      final var cached =
+        parser.cache.find(this.file, this.archiveSize, this.containerEntry);
+      if (cached.isPresent()) {
+        parser.metrics.onCacheHit();
+        this.container = cached.get();
+        return true;
+      }
+      if (parser.cache.isEnabled()) {
+        parser.metrics.onCacheMiss();
+      }
+      return false;
+    }
+
+    private void commitContainerEvent(
+      final EPUBEventContainerParse event,
+      final boolean cached)
+    {
+      event.end();
+      if (event.shouldCommit()) {
+        event.setUri(EPUBParser.this.request.uri().toString());
+        event.setCompressedSize(this.containerEntry.getCompressedSize());
+        event.setSize(this.containerEntry.getSize());
+        event.setCached(cached);
+        if (cached) {
+          event.setRootFiles(this.container.packages().size());
+        } else if (this.rootFiles != null) {
+          event.setRootFiles(this.rootFiles.size());
+        }
+        event.commit();
+      }
+    }
+
+    void parsePackages()
+      throws IOException
+    {
+      if (this.rootFiles == null) {
+        return;
+      }
+
+      this.cancellation.check();
+      this.enterPhase(EPUBParsePhase.PACKAGES, this.rootFiles.size());
+      final var parser = EPUBParser.this;
+      try {
+        this.container =
+          EPUBContainer.parsePackages(
+            parser.errorLogger,
+            parser.stringPool,
+            this.cancellation,
+            this.limits,
+            new EPUBCompositeVisitor(this.visitors),
+            !this.streaming,
+            this::openXML,
+            parser.embeddedFile(FILE_CONTAINER_XML),
+            this.rootFiles
+          );
+      } catch (final EPUBXMLException e) {
+        // Logged by the container
+      }
+
+      if (!this.streaming
+        && this.container != null
+        && parser.errors.errors().size() == this.errorsBefore) {
+        parser.cache.store(
+          this.file, this.archiveSize, this.containerEntry, this.container);
+      }
+    }
+
+    void checkManifests()
+    {
+      /*
+       * In streaming mode, manifest items were checked as they were parsed.
+       */
+
+      if (this.container == null || this.streaming) {
+        return;
+      }
+
+      final var parser = EPUBParser.this;
+      var itemCount = 0L;
+      if (this.progress.isEnabled()) {
+        for (final var epubPackage : this.container.packages()) {
+          itemCount += epubPackage.manifest().items().size();
+        }
+      }
+      this.enterPhase(EPUBParsePhase.MANIFEST, itemCount);
+
+      final var event = new EPUBEventManifestCheck();
+      event.begin();
+      var items = 0L;
+      var missing = 0L;
+      try {
+        for (final var epubPackage : this.container.packages()) {
+          for (final var item : epubPackage.manifest().items()) {
+            this.cancellation.check();
+            this.progress.advance(1L);
+            ++items;
+            final var fileName = item.realPath();
+            final var entry = this.file.getEntry(fileName);
+            if (entry == null) {
+              ++missing;
+              parser.errorLogger.formattedError(
+                parser.lexicalAtFile(fileName),
+                "epub.error.requiredFileMissing",
+                fileName
+              );
+            }
+          }
+        }
+      } finally {
+        event.end();
+        if (event.shouldCommit()) {
+          event.setUri(parser.request.uri().toString());
+          event.setItems(items);
+          event.setMissing(missing);
+          event.commit();
+        }
+      }
+    }
+
+    Optional<EPUBType> result()
+    {
+      if (this.file == null) {
+        return Optional.empty();
+      }
+
+      if (this.container == null) {
+        this.abandon();
+        return Optional.empty();
+      }
+
+      this.succeeded = true;
+      return Optional.of(
+        new EPUB(this.file, this.container, EPUBParser.this.metrics));
+    }
+
+    void cancelled(
+      final EPUBParseCancelledException e)
+    {
+      final var parser = EPUBParser.this;
+      final var id = switch (e.kind()) {
+        case DEADLINE_EXCEEDED -> "epub.error.deadlineExceeded";
+        case CANCELLED -> "epub.error.cancelled";
+        case GENERAL, LIMIT_EXCEEDED -> throw new IllegalStateException(
+          "Unexpected cancellation kind: " + e.kind());
+      };
+
+      this.abandon();
+      try {
+        parser.errorLogger.formattedError(
+          e.kind(),
+          LexicalPosition.of(0, 0, Optional.of(parser.request.uri())),
+          id,
+          parser.request.uri()
+        );
+      } catch (final EPUBParseAbandonedException ignored) {
+        // The error policy does not permit any more errors
+      }
+    }
+
+    void abandoned()
+    {
+      final var parser = EPUBParser.this;
+      this.abandon();
+      if (parser.errors.capped()) {
+        parser.errorLogger.formattedError(
+          EPUBParseErrorType.Kind.LIMIT_EXCEEDED,
+          LexicalPosition.of(0, 0, Optional.of(parser.request.uri())),
+          "epub.error.limit.errors",
+          Integer.valueOf(parser.errors.policy().maximumErrors())
+        );
+      }
+    }
+
+    void complete(
+      final CompletableFuture<Optional<EPUBType>> future,
+      final Optional<EPUBType> epub,
+      final Throwable exception)
+    {
+      final var cause =
+        exception instanceof CompletionException
+          ? exception.getCause()
+          : exception;
+
+      if (cause == null) {
+        this.finish();
+        if (!future.complete(epub)) {
+          epub.ifPresent(EPUBParser::closeQuietly);
+        }
+        return;
+      }
+
+      if (cause instanceof final EPUBParseCancelledException e) {
+        this.cancelled(e);
+        this.finish();
+        future.complete(Optional.empty());
+        return;
+      }
+
+      if (cause instanceof EPUBParseAbandonedException) {
+        this.abandoned();
+        this.finish();
+        future.complete(Optional.empty());
+        return;
+      }
+
+      this.abandon();
+      this.finish();
+      future.completeExceptionally(cause);
+    }
+
+    void abandon()
+    {
+      if (this.file != null) {
+        try {
+          this.file.close();
+        } catch (final IOException e) {
+          LOG.debug("close: ", e);
+        }
+      }
+    }
+
+    void finish()
+    {
+      final var parser = EPUBParser.this;
+      parser.errors.flush();
+      this.enterPhase(EPUBParsePhase.FINISHED, 0L);
+
+      for (final var error : parser.errors.errors()) {
+        parser.metrics.onError(error);
+      }
+      final var wallNanos = this.phaseNanos - this.startNanos;
+      parser.metrics.onParseFinished(this.succeeded, wallNanos);
+
+      if (this.profiler != null) {
+        parser.profile = Optional.of(
+          this.profiler.build(
+            wallNanos,
+            this.instrumented.statistics(),
+            this.archiveSize,
+            this.entriesInflated,
+            this.limits.elementsChecked()
+          )
+        );
+      }
+    }
+  }
+
+  /**
+   * A visitor that counts the packages that have been parsed.
+   */
+
+  private static final class PackageProgressVisitor
+    implements EPUBPackageVisitorType
+  {
+    private final EPUBProgressReporter progress;
+
+    PackageProgressVisitor(
+      final EPUBProgressReporter inProgress)
+    {
+      this.progress = inProgress;
+    }
+
+    @Override
+    public void onPackageEnd(
+      final String packageFile)
+    {
+      this.progress.advance(1L);
+    }
+  }
+
+  /**
+   * The listener for the stream of every XML file inflated by a parse.
+   */
+
+  private static final class XMLStreamListener
+    implements EPUBCountingInputStream.ListenerType
+  {
+    private final EPUBCountingInputStream.ListenerType limit;
+    private final EPUBProgressReporter progress;
+    private final EPUBParseMetricsType metrics;
+
+    XMLStreamListener(
+      final EPUBCountingInputStream.ListenerType inLimit,
+      final EPUBProgressReporter inProgress,
+      final EPUBParseMetricsType inMetrics)
+    {
+      this.limit = inLimit;
+      this.progress = inProgress;
+      this.metrics = inMetrics;
+    }
+
+    @Override
+    public void onBytesRead(
+      final long total,
+      final long bytes)
+      throws IOException
+    {
+      this.limit.onBytesRead(total, bytes);
+      this.progress.addBytes(bytes);
+    }
+
+    @Override
+    public void onClosed(
+      final long total)
+    {
+      this.metrics.onEntryBytesInflated(total);
+    }
+  }
+
+  /**
+   * A visitor that checks that each manifest item refers to a file that
+   * exists, before passing the item on to the visitor in the request.
+   */
+
+  private final class CheckingVisitor implements EPUBPackageVisitorType
+  {
+    private final ZipFile file;
+    private final EPUBPackageVisitorType delegate;
+
+    CheckingVisitor(
+      final ZipFile inFile,
+      final EPUBPackageVisitorType inDelegate)
+    {
+      this.file = inFile;
+      this.delegate = inDelegate;
+    }
+
+    @Override
+    public void onPackageStart(
+      final String packageFile)
+    {
+      this.delegate.onPackageStart(packageFile);
+    }
+
+    @Override
+    public void onMetadataProperty(
+      final EPUBMetadataProperty property)
+    {
+      this.delegate.onMetadataProperty(property);
+    }
+
+    @Override
+    public void onMetadataLegacyProperty(
+      final EPUBMetadataLegacyProperty property)
+    {
+      this.delegate.onMetadataLegacyProperty(property);
+    }
+
+    @Override
+    public void onManifestItem(
+      final EPUBManifestItem item)
+    {
+      final var fileName = item.realPath();
+      if (this.file.getEntry(fileName) == null) {
+        EPUBParser.this.errorLogger.formattedError(
+          EPUBParser.this.lexicalAtFile(fileName),
+          "epub.error.requiredFileMissing",
+          fileName
+        );
+      }
+      this.delegate.onManifestItem(item);
+    }
+
+    @Override
+    public void onSpineItem(
+      final EPUBSpineItem item)
+    {
+      this.delegate.onSpineItem(item);
+    }
+
+    @Override
+    public void onPackageEnd(
+      final String packageFile)
+    {
+      this.delegate.onPackageEnd(packageFile);
+    }
   }
 }
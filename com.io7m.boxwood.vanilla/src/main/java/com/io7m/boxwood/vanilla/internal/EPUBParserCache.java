@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.vanilla.EPUBParserCacheConfiguration;
+import com.io7m.boxwood.vanilla.EPUBParserCacheStatistics;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A bounded cache of parsed containers, keyed by fingerprints taken from the
+ * central directory of each archive. Computing and checking a fingerprint
+ * never inflates any archive entries.
+ *
+ * @see EPUBParserCacheConfiguration
+ */
+
+public final class EPUBParserCache
+{
+  private final boolean enabled;
+  private final int maximumEntries;
+  private final long maximumWeight;
+  private final LinkedHashMap<Key, Entry> entries;
+  private long weight;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private EPUBParserCache(
+    final boolean inEnabled,
+    final int inMaximumEntries,
+    final long inMaximumWeight)
+  {
+    this.enabled = inEnabled;
+    this.maximumEntries = inMaximumEntries;
+    this.maximumWeight = inMaximumWeight;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Create a new cache.
+   *
+   * @param configuration The cache configuration
+   *
+   * @return A new cache
+   */
+
+  public static EPUBParserCache create(
+    final EPUBParserCacheConfiguration configuration)
+  {
+    Objects.requireNonNull(configuration, "configuration");
+    return new EPUBParserCache(
+      true,
+      configuration.maximumEntries(),
+      configuration.maximumWeight()
+    );
+  }
+
+  /**
+   * @return A cache that never holds anything
+   */
+
+  public static EPUBParserCache disabled()
+  {
+    return new EPUBParserCache(false, 0, 0L);
+  }
+
+  private static Key keyOf(
+    final long archiveSize,
+    final ZipArchiveEntry containerEntry)
+  {
+    return new Key(
+      archiveSize,
+      containerEntry.getCrc(),
+      containerEntry.getSize()
+    );
+  }
+
+  private static long weightOf(
+    final EPUBContainer container)
+  {
+    var weight = 1L;
+    for (final var epubPackage : container.packages()) {
+      weight += epubPackage.metadata().properties().size();
+      weight += epubPackage.metadata().legacyProperties().size();
+      weight += epubPackage.manifest().items().size();
+      weight += epubPackage.spine().items().size();
+    }
+    return weight;
+  }
+
+  private static boolean hasKnownChecksum(
+    final ZipArchiveEntry entry)
+  {
+    return entry.getCrc() != -1L && entry.getSize() != -1L;
+  }
+
+  /**
+   * @return {@code true} if the cache is enabled
+   */
+
+  public boolean isEnabled()
+  {
+    return this.enabled;
+  }
+
+  /**
+   * Find a cached container for the given archive.
+   *
+   * @param file           The archive
+   * @param archiveSize    The size of the archive
+   * @param containerEntry The {@code META-INF/container.xml} entry
+   *
+   * @return A cached container, if one matches the archive
+   */
+
+  public Optional<EPUBContainer> find(
+    final ZipFile file,
+    final long archiveSize,
+    final ZipArchiveEntry containerEntry)
+  {
+    if (!this.enabled) {
+      return Optional.empty();
+    }
+
+    synchronized (this.entries) {
+      final var entry =
+        this.entries.get(keyOf(archiveSize, containerEntry));
+
+      if (entry != null && entry.matches(file)) {
+        ++this.hits;
+        return Optional.of(entry.container());
+      }
+
+      ++this.misses;
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Store a parsed container for the given archive.
+   *
+   * @param file           The archive
+   * @param archiveSize    The size of the archive
+   * @param containerEntry The {@code META-INF/container.xml} entry
+   * @param container      The parsed container
+   */
+
+  public void store(
+    final ZipFile file,
+    final long archiveSize,
+    final ZipArchiveEntry containerEntry,
+    final EPUBContainer container)
+  {
+    if (!this.enabled) {
+      return;
+    }
+    if (!hasKnownChecksum(containerEntry)) {
+      return;
+    }
+
+    final var packageFiles = container.packageFiles();
+    final var fingerprints = new ArrayList<PackageFingerprint>(packageFiles.size());
+    for (final var name : packageFiles) {
+      final var packageEntry = file.getEntry(name);
+      if (packageEntry == null || !hasKnownChecksum(packageEntry)) {
+        return;
+      }
+      fingerprints.add(new PackageFingerprint(
+        name,
+        packageEntry.getCrc(),
+        packageEntry.getSize()
+      ));
+    }
+
+    final var entryWeight = weightOf(container);
+    if (entryWeight > this.maximumWeight) {
+      return;
+    }
+
+    final var entry =
+      new Entry(List.copyOf(fingerprints), container, entryWeight);
+
+    synchronized (this.entries) {
+      final var previous =
+        this.entries.put(keyOf(archiveSize, containerEntry), entry);
+      if (previous != null) {
+        this.weight -= previous.weight();
+      }
+      this.weight += entryWeight;
+      this.evictIfNecessary();
+    }
+  }
+
+  private void evictIfNecessary()
+  {
+    final var iterator = this.entries.values().iterator();
+    while (this.entries.size() > this.maximumEntries
+      || this.weight > this.maximumWeight) {
+      final var eldest = iterator.next();
+      iterator.remove();
+      this.weight -= eldest.weight();
+      ++this.evictions;
+    }
+  }
+
+  /**
+   * Remove all entries from the cache.
+   */
+
+  public void clear()
+  {
+    synchronized (this.entries) {
+      this.evictions += this.entries.size();
+      this.entries.clear();
+      this.weight = 0L;
+    }
+  }
+
+  /**
+   * @return A snapshot of the cache statistics
+   */
+
+  public EPUBParserCacheStatistics statistics()
+  {
+    synchronized (this.entries) {
+      return EPUBParserCacheStatistics.builder()
+        .setHits(this.hits)
+        .setMisses(this.misses)
+        .setEvictions(this.evictions)
+        .setEntries(this.entries.size())
+        .setWeight(this.weight)
+        .build();
+    }
+  }
+
+  private record Key(
+    long archiveSize,
+    long containerCrc,
+    long containerSize)
+  {
+
+  }
+
+  private record PackageFingerprint(
+    String name,
+    long crc,
+    long size)
+  {
+    boolean matches(
+      final ZipFile file)
+    {
+      final var entry = file.getEntry(this.name);
+      return entry != null
+        && entry.getCrc() == this.crc
+        && entry.getSize() == this.size;
+    }
+  }
+
+  private record Entry(
+    List<PackageFingerprint> packageFiles,
+    EPUBContainer container,
+    long weight)
+  {
+    boolean matches(
+      final ZipFile file)
+    {
+      for (final var packageFile : this.packageFiles) {
+        if (!packageFile.matches(file)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A resolver of manifest {@code href} values relative to a package file.
+ *
+ * The resolver produces the names of entries within the container: the
+ * href is resolved against the directory holding the package file, any
+ * fragment or query is removed, percent-encoded sequences are decoded as
+ * UTF-8, and {@code .} and {@code ..} segments are removed. References that
+ * include a URI scheme (such as remote resources) are returned unchanged.
+ */
+
+public final class EPUBPathResolver
+{
+  private final String baseDirectory;
+
+  private EPUBPathResolver(
+    final String inBaseDirectory)
+  {
+    this.baseDirectory =
+      Objects.requireNonNull(inBaseDirectory, "baseDirectory");
+  }
+
+  /**
+   * Create a resolver for hrefs that appear in the given package file.
+   *
+   * @param packageFileName The name of the package file within the container
+   *
+   * @return A path resolver
+   */
+
+  public static EPUBPathResolver forPackage(
+    final String packageFileName)
+  {
+    Objects.requireNonNull(packageFileName, "packageFileName");
+
+    final var slash = packageFileName.lastIndexOf('/');
+    return new EPUBPathResolver(
+      slash >= 0 ? packageFileName.substring(0, slash + 1) : ""
+    );
+  }
+
+  /**
+   * Resolve an href.
+   *
+   * @param href The href
+   *
+   * @return The name of the container entry to which the href refers
+   */
+
+  public String resolve(
+    final String href)
+  {
+    Objects.requireNonNull(href, "href");
+
+    if (hasScheme(href)) {
+      return href;
+    }
+
+    final var end = pathEnd(href);
+    final var path = href.substring(0, end);
+
+    /*
+     * The common case of a plain relative path that needs no decoding and
+     * no normalization is handled with a single concatenation.
+     */
+
+    if (isPlain(path)) {
+      return this.baseDirectory.concat(path);
+    }
+
+    final var decoded = percentDecode(path);
+    final String combined;
+    if (decoded.startsWith("/")) {
+      combined = decoded;
+    } else {
+      combined = this.baseDirectory.concat(decoded);
+    }
+    return normalize(combined);
+  }
+
+  private static boolean hasScheme(
+    final String href)
+  {
+    final var length = href.length();
+    if (length == 0 || !isAsciiLetter(href.charAt(0))) {
+      return false;
+    }
+
+    for (var index = 1; index < length; ++index) {
+      final var c = href.charAt(index);
+      if (c == ':') {
+        return true;
+      }
+      if (!isSchemeCharacter(c)) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSchemeCharacter(
+    final char c)
+  {
+    if (isAsciiLetter(c) || (c >= '0' && c <= '9')) {
+      return true;
+    }
+    return c == '+' || c == '-' || c == '.';
+  }
+
+  private static boolean isAsciiLetter(
+    final char c)
+  {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static int pathEnd(
+    final String href)
+  {
+    for (var index = 0; index < href.length(); ++index) {
+      final var c = href.charAt(index);
+      if (c == '#' || c == '?') {
+        return index;
+      }
+    }
+    return href.length();
+  }
+
+  private static boolean isPlain(
+    final String path)
+  {
+    if (path.isEmpty() || path.charAt(0) == '/') {
+      return false;
+    }
+
+    var segmentStart = true;
+    for (var index = 0; index < path.length(); ++index) {
+      final var c = path.charAt(index);
+      if (c == '%') {
+        return false;
+      }
+      if (c == '/') {
+        if (segmentStart) {
+          return false;
+        }
+        segmentStart = true;
+        continue;
+      }
+      if (c == '.' && segmentStart) {
+        return false;
+      }
+      segmentStart = false;
+    }
+    return true;
+  }
+
+  private static int hexValue(
+    final char c)
+  {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * Decode percent-encoded sequences as UTF-8. Malformed escapes, and
+   * escapes that do not decode to valid UTF-8, are left as they are.
+   */
+
+  private static String percentDecode(
+    final String path)
+  {
+    if (path.indexOf('%') < 0) {
+      return path;
+    }
+
+    final var result = new StringBuilder(path.length());
+    final var bytes = ByteBuffer.allocate(path.length());
+    var index = 0;
+    while (index < path.length()) {
+      final var c = path.charAt(index);
+      if (c != '%') {
+        result.append(c);
+        ++index;
+        continue;
+      }
+
+      final var runStart = index;
+      bytes.clear();
+      while (index + 2 < path.length() && path.charAt(index) == '%') {
+        final var hi = hexValue(path.charAt(index + 1));
+        final var lo = hexValue(path.charAt(index + 2));
+        if (hi < 0 || lo < 0) {
+          break;
+        }
+        bytes.put((byte) ((hi << 4) | lo));
+        index += 3;
+      }
+
+      if (index == runStart) {
+        result.append(c);
+        ++index;
+        continue;
+      }
+
+      bytes.flip();
+      final var decoded = decodeUTF8(bytes);
+      if (decoded == null) {
+        result.append(path, runStart, index);
+      } else {
+        result.append(decoded);
+      }
+    }
+    return result.toString();
+  }
+
+  private static CharBuffer decodeUTF8(
+    final ByteBuffer bytes)
+  {
+    try {
+      return StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPORT)
+        .onUnmappableCharacter(CodingErrorAction.REPORT)
+        .decode(bytes);
+    } catch (final CharacterCodingException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Remove empty, {@code .}, and {@code ..} segments from a path. Leading
+   * {@code ..} segments that would escape the root of the container are
+   * discarded.
+   */
+
+  private static String normalize(
+    final String path)
+  {
+    final var result = new StringBuilder(path.length());
+    final var length = path.length();
+    var index = 0;
+
+    while (index < length) {
+      var next = path.indexOf('/', index);
+      if (next < 0) {
+        next = length;
+      }
+
+      final var segmentLength = next - index;
+      if (segmentLength == 0 || isDot(path, index, segmentLength)) {
+        index = next + 1;
+        continue;
+      }
+
+      if (isDotDot(path, index, segmentLength)) {
+        final var lastSlash = result.lastIndexOf("/");
+        result.setLength(Math.max(lastSlash, 0));
+        index = next + 1;
+        continue;
+      }
+
+      if (!result.isEmpty()) {
+        result.append('/');
+      }
+      result.append(path, index, next);
+      index = next + 1;
+    }
+
+    /*
+     * A path that named a directory retains its trailing slash.
+     */
+
+    if (path.endsWith("/") && !result.isEmpty()) {
+      result.append('/');
+    }
+    return result.toString();
+  }
+
+  private static boolean isDot(
+    final String path,
+    final int index,
+    final int length)
+  {
+    return length == 1 && path.charAt(index) == '.';
+  }
+
+  private static boolean isDotDot(
+    final String path,
+    final int index,
+    final int length)
+  {
+    return length == 2
+      && path.charAt(index) == '.'
+      && path.charAt(index + 1) == '.';
+  }
+}
@@ -66,6 +66,7 @@ public final class EPUBPositionalXML
    * Parse a document, preserving lexical information.
    *
    * @param source The source URI
+   * @param limits The resource limits
    * @param stream The input stream
    *
    * @return A parsed document
@@ -77,6 +78,7 @@ public final class EPUBPositionalXML
 
   public static Document readXML(
     final URI source,
+    final EPUBLimits limits,
     final InputStream stream)
     throws IOException, SAXException, ParserConfigurationException
   {
@@ -95,7 +97,7 @@ public final class EPUBPositionalXML
 
     final var docBuilder = docBuilderFactory.newDocumentBuilder();
     final var document = docBuilder.newDocument();
-    final DefaultHandler handler = new PositionalXMLHandler(document);
+    final DefaultHandler handler = new PositionalXMLHandler(document, limits);
 
     final var inputSource = new InputSource(stream);
     inputSource.setSystemId(source.toString());
@@ -108,12 +110,16 @@ public final class EPUBPositionalXML
     private final LinkedList<Element> elementStack;
     private final StringBuilder textBuffer;
     private final Document document;
+    private final EPUBLimits limits;
     private Locator locator;
+    private int elements;
 
     PositionalXMLHandler(
-      final Document inDocument)
+      final Document inDocument,
+      final EPUBLimits inLimits)
     {
       this.document = inDocument;
+      this.limits = inLimits;
       this.elementStack = new LinkedList<Element>();
       this.textBuffer = new StringBuilder(128);
     }
@@ -133,6 +139,15 @@ public final class EPUBPositionalXML
       final Attributes attributes)
       throws SAXException
     {
+      ++this.elements;
+      this.limits.checkElement(
+        this.locator,
+        this.elements,
+        this.elementStack.size() + 1,
+        qName,
+        attributes
+      );
+
       this.addTextIfNeeded();
       final var e = this.document.createElement(qName);
       for (var index = 0; index < attributes.getLength(); ++index) {
@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.api.EPUBManifestItem;
+import com.io7m.boxwood.api.EPUBMetadata;
+import com.io7m.boxwood.api.EPUBMetadataLegacyProperty;
+import com.io7m.boxwood.api.EPUBMetadataProperty;
+import com.io7m.boxwood.api.EPUBPackage;
+import com.io7m.boxwood.api.EPUBSpineItem;
+import com.io7m.boxwood.parser.api.EPUBPackageVisitorType;
+import com.io7m.boxwood.parser.api.EPUBParseLimits;
+import com.io7m.boxwood.parser.api.EPUBPreview;
+import com.io7m.boxwood.parser.api.EPUBPreviewCoverOpenerType;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A visitor that produces a preview of the first package in a book as soon
+ * as the metadata and cover image of the package are known.
+ *
+ * The cover image is known as soon as a manifest item with the
+ * {@code cover-image} property is seen. Otherwise, as the package might
+ * still declare such an item, an item named by a legacy {@code cover}
+ * metadata property is only used once the whole manifest has been seen.
+ *
+ * The cover image itself is never read by the collector: previews open it
+ * on demand, subject to the limits of the parse.
+ */
+
+public final class EPUBPreviewCollector implements EPUBPackageVisitorType
+{
+  private final CoverOpener opener;
+  private final Consumer<EPUBPreview> receiver;
+  private final ArrayList<EPUBMetadataProperty> properties;
+  private final ArrayList<EPUBMetadataLegacyProperty> legacyProperties;
+  private String packageFile;
+  private String legacyCoverId;
+  private EPUBManifestItem legacyCover;
+  private boolean published;
+
+  /**
+   * Create a preview collector.
+   *
+   * @param inFile     The archive containing the book
+   * @param inLimits   The limits of the parse
+   * @param inReceiver The receiver of the preview
+   */
+
+  public EPUBPreviewCollector(
+    final ZipFile inFile,
+    final EPUBParseLimits inLimits,
+    final Consumer<EPUBPreview> inReceiver)
+  {
+    this.opener =
+      new CoverOpener(
+        Objects.requireNonNull(inFile, "file"),
+        Objects.requireNonNull(inLimits, "limits")
+      );
+    this.receiver =
+      Objects.requireNonNull(inReceiver, "receiver");
+    this.properties = new ArrayList<>();
+    this.legacyProperties = new ArrayList<>();
+  }
+
+  /**
+   * Produce a preview from an already-parsed package.
+   *
+   * @param file        The archive containing the book
+   * @param limits      The limits of the parse
+   * @param packageFile The name of the package file
+   * @param epubPackage The package
+   *
+   * @return A preview
+   */
+
+  public static EPUBPreview previewOf(
+    final ZipFile file,
+    final EPUBParseLimits limits,
+    final String packageFile,
+    final EPUBPackage epubPackage)
+  {
+    return EPUBPreview.builder()
+      .setPackageFile(packageFile)
+      .setMetadata(epubPackage.metadata())
+      .setCoverImage(epubPackage.coverImage())
+      .setCoverImageOpener(new CoverOpener(file, limits))
+      .build();
+  }
+
+  private void publish(
+    final Optional<EPUBManifestItem> cover)
+  {
+    if (this.published) {
+      return;
+    }
+    this.published = true;
+
+    final var metadata =
+      EPUBMetadata.builder()
+        .setProperties(this.properties)
+        .setLegacyProperties(this.legacyProperties)
+        .build();
+
+    this.receiver.accept(
+      EPUBPreview.builder()
+        .setPackageFile(this.packageFile)
+        .setMetadata(metadata)
+        .setCoverImage(cover)
+        .setCoverImageOpener(this.opener)
+        .build()
+    );
+  }
+
+  @Override
+  public void onPackageStart(
+    final String inPackageFile)
+  {
+    if (this.packageFile == null) {
+      this.packageFile = inPackageFile;
+    }
+  }
+
+  @Override
+  public void onMetadataProperty(
+    final EPUBMetadataProperty property)
+  {
+    if (!this.published) {
+      this.properties.add(property);
+    }
+  }
+
+  @Override
+  public void onMetadataLegacyProperty(
+    final EPUBMetadataLegacyProperty property)
+  {
+    if (!this.published) {
+      this.legacyProperties.add(property);
+      if (this.legacyCoverId == null
+        && Objects.equals(property.name(), "cover")) {
+        this.legacyCoverId = property.content();
+      }
+    }
+  }
+
+  @Override
+  public void onManifestItem(
+    final EPUBManifestItem item)
+  {
+    if (this.published) {
+      return;
+    }
+    if (item.isCoverImage()) {
+      this.publish(Optional.of(item));
+      return;
+    }
+    if (this.legacyCover == null
+      && Objects.equals(this.legacyCoverId, item.id())) {
+      this.legacyCover = item;
+    }
+  }
+
+  @Override
+  public void onSpineItem(
+    final EPUBSpineItem item)
+  {
+    this.publish(Optional.ofNullable(this.legacyCover));
+  }
+
+  @Override
+  public void onPackageEnd(
+    final String inPackageFile)
+  {
+    this.publish(Optional.ofNullable(this.legacyCover));
+  }
+
+  /**
+   * Open cover images through the size and compression ratio limits. The
+   * limits raise ordinary I/O exceptions rather than abandoning the parse,
+   * as the cover image may be read at any time.
+   */
+
+  private record CoverOpener(
+    ZipFile file,
+    EPUBParseLimits limits)
+    implements EPUBPreviewCoverOpenerType
+  {
+    @Override
+    public InputStream openCoverImage(
+      final EPUBManifestItem item)
+      throws IOException
+    {
+      final var name = item.realPath();
+      final var entry = this.file.getEntry(name);
+      if (entry == null) {
+        throw new NoSuchFileException(name);
+      }
+
+      final var maximumSize =
+        this.limits.maximumCoverImageSize();
+      final var ratio =
+        this.limits.maximumCompressionRatio();
+      final var maximumRatioSize =
+        EPUBLimits.ratioLimit(entry.getCompressedSize(), ratio);
+
+      return new EPUBCountingInputStream(
+        this.file.getInputStream(entry),
+        (total, bytes) -> {
+          if (total > maximumSize) {
+            throw new IOException(
+              "The cover image %s is larger than the limit of %d bytes"
+                .formatted(name, Long.valueOf(maximumSize)));
+          }
+          if (total > maximumRatioSize) {
+            throw new IOException(
+              "The cover image %s exceeds the compression ratio limit of %s"
+                .formatted(name, Double.valueOf(ratio)));
+          }
+        }
+      );
+    }
+  }
+}
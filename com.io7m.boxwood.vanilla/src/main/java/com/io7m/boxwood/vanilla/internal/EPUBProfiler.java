@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+import com.io7m.boxwood.parser.api.EPUBParsePhaseProfile;
+import com.io7m.boxwood.parser.api.EPUBParseProfile;
+import com.io7m.boxwood.vanilla.EPUBChannelStatistics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+
+/**
+ * The accumulation of a profile for a single parse. The stages of a parse
+ * may run on different threads, and so CPU time and allocations are sampled
+ * at the start and end of each stage on the thread that runs it, and are
+ * attributed to the phase that is current when the stage ends.
+ */
+
+final class EPUBProfiler
+{
+  private static final ThreadMXBean THREADS =
+    ManagementFactory.getThreadMXBean();
+
+  private final EnumMap<EPUBParsePhase, long[]> phases;
+  private boolean cpuSupported;
+  private boolean allocationSupported;
+  private long cpuStart;
+  private long allocationStart;
+
+  EPUBProfiler()
+  {
+    this.phases = new EnumMap<>(EPUBParsePhase.class);
+    this.cpuSupported = THREADS.isCurrentThreadCpuTimeSupported();
+    this.allocationSupported =
+      THREADS instanceof final com.sun.management.ThreadMXBean sun
+        && sun.isThreadAllocatedMemorySupported();
+  }
+
+  private static long allocatedBytes()
+  {
+    return ((com.sun.management.ThreadMXBean) THREADS)
+      .getCurrentThreadAllocatedBytes();
+  }
+
+  private long[] phase(
+    final EPUBParsePhase phase)
+  {
+    return this.phases.computeIfAbsent(phase, k -> new long[3]);
+  }
+
+  void stageStarted()
+  {
+    if (this.cpuSupported) {
+      this.cpuStart = THREADS.getCurrentThreadCpuTime();
+      this.cpuSupported = this.cpuStart >= 0L;
+    }
+    if (this.allocationSupported) {
+      this.allocationStart = allocatedBytes();
+      this.allocationSupported = this.allocationStart >= 0L;
+    }
+  }
+
+  void stageFinished(
+    final EPUBParsePhase current)
+  {
+    if (current == null || current == EPUBParsePhase.FINISHED) {
+      return;
+    }
+
+    final var values = this.phase(current);
+    if (this.cpuSupported) {
+      values[1] += THREADS.getCurrentThreadCpuTime() - this.cpuStart;
+    }
+    if (this.allocationSupported) {
+      values[2] += allocatedBytes() - this.allocationStart;
+    }
+  }
+
+  void phaseCompleted(
+    final EPUBParsePhase phase,
+    final long nanos)
+  {
+    this.phase(phase)[0] += nanos;
+  }
+
+  EPUBParseProfile build(
+    final long wallNanos,
+    final EPUBChannelStatistics channel,
+    final long archiveSize,
+    final long entriesInflated,
+    final long xmlElements)
+  {
+    final var builder = EPUBParseProfile.builder();
+    for (final var entry : this.phases.entrySet()) {
+      final var values = entry.getValue();
+      builder.putPhases(
+        entry.getKey(),
+        EPUBParsePhaseProfile.builder()
+          .setWallNanos(values[0])
+          .setCpuNanos(this.cpuSupported ? values[1] : -1L)
+          .setAllocatedBytes(this.allocationSupported ? values[2] : -1L)
+          .build()
+      );
+    }
+
+    return builder
+      .setWallNanos(wallNanos)
+      .setChannelReads(channel.readCalls())
+      .setChannelSeeks(channel.seeks())
+      .setChannelSeekDistance(channel.seekDistance())
+      .setChannelBytesRead(channel.bytesRead())
+      .setArchiveSize(archiveSize)
+      .setEntriesInflated(entriesInflated)
+      .setXmlElements(xmlElements)
+      .build();
+  }
+}
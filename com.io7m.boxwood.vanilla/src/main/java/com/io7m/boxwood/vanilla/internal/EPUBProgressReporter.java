@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import com.io7m.boxwood.parser.api.EPUBParseEvent;
+import com.io7m.boxwood.parser.api.EPUBParsePhase;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The progress of a single parse. Progress events are raised when a phase
+ * begins, once when a phase completes, and otherwise at a limited rate. If
+ * there is no receiver of events, every method returns immediately.
+ */
+
+public final class EPUBProgressReporter
+{
+  private final Consumer<EPUBParseEvent> receiver;
+  private final long intervalNanos;
+  private final double step;
+  private EPUBParsePhase phase;
+  private long total;
+  private long processed;
+  private long bytes;
+  private long lastNanos;
+  private double lastFraction;
+  private boolean completePublished;
+
+  /**
+   * Create a progress reporter.
+   *
+   * @param inReceiver The receiver of events, if any
+   * @param inInterval The minimum interval between events within a phase
+   * @param inStep     The fraction of a phase by which progress must advance
+   *                   to raise an event before the interval has elapsed
+   */
+
+  public EPUBProgressReporter(
+    final Optional<Consumer<EPUBParseEvent>> inReceiver,
+    final Duration inInterval,
+    final double inStep)
+  {
+    this.receiver =
+      Objects.requireNonNull(inReceiver, "receiver").orElse(null);
+    this.intervalNanos =
+      Objects.requireNonNull(inInterval, "interval").toNanos();
+    this.step = inStep;
+    this.phase = EPUBParsePhase.STARTED;
+  }
+
+  /**
+   * @return {@code true} if there is a receiver of events
+   */
+
+  public boolean isEnabled()
+  {
+    return this.receiver != null;
+  }
+
+  /**
+   * Begin a phase. An event is always raised.
+   *
+   * @param newPhase The phase
+   * @param newTotal The number of items in the phase
+   */
+
+  public void begin(
+    final EPUBParsePhase newPhase,
+    final long newTotal)
+  {
+    if (this.receiver == null) {
+      return;
+    }
+
+    this.phase = newPhase;
+    this.total = newTotal;
+    this.processed = 0L;
+    this.publish(System.nanoTime(), 0.0);
+  }
+
+  /**
+   * Record that items of the current phase have been processed.
+   *
+   * @param items The number of items
+   */
+
+  public void advance(
+    final long items)
+  {
+    if (this.receiver == null) {
+      return;
+    }
+
+    this.processed += items;
+    this.publishIfDue();
+  }
+
+  /**
+   * Record that bytes of decompressed XML have been read.
+   *
+   * @param count The number of bytes
+   */
+
+  public void addBytes(
+    final long count)
+  {
+    if (this.receiver == null) {
+      return;
+    }
+
+    if (count > 0L) {
+      this.bytes += count;
+      this.publishIfDue();
+    }
+  }
+
+  private void publishIfDue()
+  {
+    final var fraction =
+      this.total > 0L ? (double) this.processed / (double) this.total : 0.0;
+    final var now = System.nanoTime();
+    final var completing = this.isComplete() && !this.completePublished;
+
+    if (completing
+      || now - this.lastNanos >= this.intervalNanos
+      || fraction - this.lastFraction >= this.step) {
+      this.publish(now, fraction);
+    }
+  }
+
+  private boolean isComplete()
+  {
+    return this.total > 0L && this.processed >= this.total;
+  }
+
+  private void publish(
+    final long now,
+    final double fraction)
+  {
+    this.lastNanos = now;
+    this.lastFraction = fraction;
+    this.completePublished = this.isComplete();
+    this.receiver.accept(
+      EPUBParseEvent.builder()
+        .setPhase(this.phase)
+        .setItemsProcessed(this.processed)
+        .setItemsTotal(this.total)
+        .setBytesProcessed(this.bytes)
+        .build()
+    );
+  }
+}
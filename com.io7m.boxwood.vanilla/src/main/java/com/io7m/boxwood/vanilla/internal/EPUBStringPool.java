@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, concurrent string canonicalization pool.
+ *
+ * The pool is a direct-mapped table of strings: a string is hashed to a
+ * single slot, and if the slot holds an equal string, that string is
+ * returned in place of the given one. Otherwise, the given string replaces
+ * the slot contents. The pool therefore never grows beyond its fixed number
+ * of slots, needs no locking, and frequently occurring strings naturally
+ * remain in the pool while rare strings are displaced.
+ */
+
+public final class EPUBStringPool
+{
+  private static final int MAXIMUM_SIZE = 1 << 30;
+
+  private static final EPUBStringPool DISABLED =
+    new EPUBStringPool(new AtomicReferenceArray<>(0));
+
+  private final AtomicReferenceArray<String> slots;
+  private final int mask;
+
+  private EPUBStringPool(
+    final AtomicReferenceArray<String> inSlots)
+  {
+    this.slots = Objects.requireNonNull(inSlots, "slots");
+    this.mask = inSlots.length() - 1;
+  }
+
+  /**
+   * Create a pool with at least the given number of slots. The number of
+   * slots is rounded up to the next power of two.
+   *
+   * @param size The minimum number of slots; {@code 0} disables pooling
+   *
+   * @return A new pool
+   */
+
+  public static EPUBStringPool create(
+    final int size)
+  {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size must be non-negative: " + size);
+    }
+    if (size == 0) {
+      return DISABLED;
+    }
+
+    final var clamped = Math.min(size, MAXIMUM_SIZE);
+    final var lower = Integer.highestOneBit(clamped);
+    final var capacity = lower == clamped ? clamped : lower << 1;
+    return new EPUBStringPool(new AtomicReferenceArray<>(capacity));
+  }
+
+  /**
+   * @return The number of slots in the pool
+   */
+
+  public int size()
+  {
+    return this.slots.length();
+  }
+
+  /**
+   * Canonicalize the given string.
+   *
+   * @param text The string
+   *
+   * @return A string equal to {@code text}, shared with earlier callers if possible
+   */
+
+  public String intern(
+    final String text)
+  {
+    if (this.mask < 0 || text == null) {
+      return text;
+    }
+
+    final var hash = text.hashCode();
+    final var slot = (hash ^ (hash >>> 16)) & this.mask;
+    final var existing = this.slots.getAcquire(slot);
+    if (existing != null && existing.equals(text)) {
+      return existing;
+    }
+
+    this.slots.setRelease(slot, text);
+    return text;
+  }
+}
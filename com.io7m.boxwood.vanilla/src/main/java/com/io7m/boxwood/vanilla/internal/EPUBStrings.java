@@ -19,21 +19,28 @@ package com.io7m.boxwood.vanilla.internal;
 import com.io7m.boxwood.vanilla.EPUBStringsType;
 
 import java.text.MessageFormat;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The default string provider.
+ * The default string provider. Compiled message formats are cached, as
+ * parsing a message pattern costs far more than applying it. The cache is
+ * bounded by the number of messages in the resource bundle, and each
+ * instance serves the single locale of its bundle.
  */
 
 public final class EPUBStrings implements EPUBStringsType
 {
   private final ResourceBundle resources;
+  private final ConcurrentHashMap<String, MessageFormat> formats;
 
   private EPUBStrings(
     final ResourceBundle inResources)
   {
     this.resources = Objects.requireNonNull(inResources, "resources");
+    this.formats = new ConcurrentHashMap<>();
   }
 
   /**
@@ -60,6 +67,29 @@ public final class EPUBStrings implements EPUBStringsType
   {
     Objects.requireNonNull(id, "id");
     Objects.requireNonNull(args, "args");
-    return MessageFormat.format(this.resources.getString(id), args);
+
+    final var format =
+      this.formats.computeIfAbsent(id, this::compile);
+
+    /*
+     * Message formats are not thread-safe, but formatting is cheap enough
+     * that contention on a single message is not a concern.
+     */
+
+    synchronized (format) {
+      return format.format(args);
+    }
+  }
+
+  private MessageFormat compile(
+    final String id)
+  {
+    final var locale = this.resources.getLocale();
+    return new MessageFormat(
+      this.resources.getString(id),
+      Objects.equals(locale, Locale.ROOT)
+        ? Locale.getDefault(Locale.Category.FORMAT)
+        : locale
+    );
   }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.boxwood.vanilla.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.util.OptionalLong;
+
+/**
+ * A cheap inspection of the end of a ZIP archive, performed before the
+ * central directory is loaded.
+ */
+
+public final class EPUBZipPreflight
+{
+  private static final int EOCD_SIGNATURE = 0x06054b50;
+  private static final int EOCD_SIZE = 22;
+  private static final int EOCD_MAXIMUM_COMMENT = 0xffff;
+  private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+  private static final int ZIP64_LOCATOR_SIZE = 20;
+  private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+  private static final int ZIP64_EOCD_SIZE = 56;
+
+  private EPUBZipPreflight()
+  {
+
+  }
+
+  /**
+   * Read the total number of entries declared by the end of central
+   * directory record of an archive. The position of the channel is
+   * restored afterwards.
+   *
+   * @param channel The archive
+   *
+   * @return The number of entries, or nothing if the archive does not have
+   * a recognizable end of central directory record
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static OptionalLong entryCount(
+    final SeekableByteChannel channel)
+    throws IOException
+  {
+    final var position = channel.position();
+    try {
+      return entryCountAt(channel);
+    } finally {
+      channel.position(position);
+    }
+  }
+
+  private static OptionalLong entryCountAt(
+    final SeekableByteChannel channel)
+    throws IOException
+  {
+    final var size = channel.size();
+    if (size < EOCD_SIZE) {
+      return OptionalLong.empty();
+    }
+
+    /*
+     * Almost every archive has no comment, and so the record is usually
+     * exactly at the end of the archive. Otherwise, search backwards through
+     * the largest region that could contain the record and a comment.
+     */
+
+    var eocd = findEOCD(channel, size, EOCD_SIZE);
+    if (eocd < 0L) {
+      eocd = findEOCD(
+        channel,
+        size,
+        (int) Math.min(size, EOCD_SIZE + EOCD_MAXIMUM_COMMENT));
+    }
+    if (eocd < 0L) {
+      return OptionalLong.empty();
+    }
+
+    final var record = read(channel, eocd, EOCD_SIZE);
+    final var entries = Short.toUnsignedLong(record.getShort(10));
+    if (entries != 0xffffL || eocd < ZIP64_LOCATOR_SIZE) {
+      return OptionalLong.of(entries);
+    }
+    return zip64EntryCount(channel, size, eocd, entries);
+  }
+
+  /**
+   * An archive with too many entries for the end of central directory record
+   * may have a ZIP64 record that holds the real number of entries.
+   */
+
+  private static OptionalLong zip64EntryCount(
+    final SeekableByteChannel channel,
+    final long size,
+    final long eocd,
+    final long entries)
+    throws IOException
+  {
+    final var locator =
+      read(channel, eocd - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+    if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+      return OptionalLong.of(entries);
+    }
+
+    final var zip64Offset = locator.getLong(8);
+    if (zip64Offset < 0L || zip64Offset > size - ZIP64_EOCD_SIZE) {
+      return OptionalLong.empty();
+    }
+
+    final var zip64 = read(channel, zip64Offset, ZIP64_EOCD_SIZE);
+    if (zip64.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(zip64.getLong(32));
+  }
+
+  private static long findEOCD(
+    final SeekableByteChannel channel,
+    final long size,
+    final int window)
+    throws IOException
+  {
+    final var start = size - window;
+    final var buffer = read(channel, start, window);
+    for (var index = window - EOCD_SIZE; index >= 0; --index) {
+      if (buffer.getInt(index) == EOCD_SIGNATURE) {
+        return start + index;
+      }
+    }
+    return -1L;
+  }
+
+  private static ByteBuffer read(
+    final SeekableByteChannel channel,
+    final long offset,
+    final int length)
+    throws IOException
+  {
+    final var buffer =
+      ByteBuffer.allocate(length)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    channel.position(offset);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        break;
+      }
+    }
+    buffer.flip();
+    if (buffer.remaining() < length) {
+      throw new IOException(
+        "Unexpected end of archive at offset %d".formatted(
+          Long.valueOf(offset)));
+    }
+    return buffer;
+  }
+}
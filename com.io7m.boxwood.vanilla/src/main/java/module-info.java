@@ -20,6 +20,8 @@
 
 module com.io7m.boxwood.vanilla
 {
+  requires static com.io7m.immutables.style;
+  requires static org.immutables.value;
   requires static org.osgi.annotation.bundle;
   requires static org.osgi.annotation.versioning;
   requires static org.osgi.service.component.annotations;
@@ -28,6 +30,9 @@ module com.io7m.boxwood.vanilla
   requires transitive com.io7m.boxwood.parser.api;
 
   requires java.xml;
+  requires java.management;
+  requires jdk.jfr;
+  requires jdk.management;
   requires org.apache.commons.compress;
   requires org.slf4j;
 